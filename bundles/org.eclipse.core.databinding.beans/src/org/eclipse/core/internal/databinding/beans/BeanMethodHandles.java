@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.internal.databinding.beans;
+
+import java.beans.PropertyChangeListener;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches method handles for the accessor methods of bean properties and for
+ * the listener registration methods of bean classes, so that reading and
+ * writing a property or hooking a listener does not have to look up and invoke
+ * the methods reflectively every time.
+ * <p>
+ * The caches are attached to the bean classes with {@link ClassValue}, so they
+ * do not prevent the classes from being unloaded.
+ * </p>
+ */
+/* package */ final class BeanMethodHandles {
+
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private static final MethodType LISTENER_TYPE = MethodType.methodType(void.class, Object.class, String.class,
+			PropertyChangeListener.class);
+
+	/**
+	 * The handles of the accessor methods declared by a class.
+	 */
+	private static final ClassValue<Map<Method, MethodHandle>> ACCESSORS = new ClassValue<>() {
+		@Override
+		protected Map<Method, MethodHandle> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	/**
+	 * The listener registration methods of a bean class.
+	 */
+	private static final ClassValue<ListenerMethods> LISTENER_METHODS = new ClassValue<>() {
+		@Override
+		protected ListenerMethods computeValue(Class<?> type) {
+			return new ListenerMethods(type);
+		}
+	};
+
+	/**
+	 * The <code>addPropertyChangeListener</code> and
+	 * <code>removePropertyChangeListener</code> methods of a bean class.
+	 */
+	static final class ListenerMethods {
+		private final Class<?> beanClass;
+
+		private volatile MethodHandle add;
+
+		private volatile MethodHandle remove;
+
+		ListenerMethods(Class<?> beanClass) {
+			this.beanClass = beanClass;
+		}
+
+		/**
+		 * Returns a handle of type
+		 * <code>(Object, String, PropertyChangeListener)void</code> invoking
+		 * <code>addPropertyChangeListener</code>.
+		 *
+		 * @throws NoSuchMethodException
+		 *             if the class has no such method
+		 */
+		MethodHandle getAdd() throws NoSuchMethodException, IllegalAccessException {
+			MethodHandle result = add;
+			if (result == null) {
+				add = result = lookup("addPropertyChangeListener"); //$NON-NLS-1$
+			}
+			return result;
+		}
+
+		/**
+		 * Returns a handle of type
+		 * <code>(Object, String, PropertyChangeListener)void</code> invoking
+		 * <code>removePropertyChangeListener</code>.
+		 *
+		 * @throws NoSuchMethodException
+		 *             if the class has no such method
+		 */
+		MethodHandle getRemove() throws NoSuchMethodException, IllegalAccessException {
+			MethodHandle result = remove;
+			if (result == null) {
+				remove = result = lookup("removePropertyChangeListener"); //$NON-NLS-1$
+			}
+			return result;
+		}
+
+		/**
+		 * Uses the method with the property name if there is one, and the
+		 * unnamed version otherwise.
+		 */
+		private MethodHandle lookup(String methodName) throws NoSuchMethodException, IllegalAccessException {
+			Method method;
+			boolean named;
+			try {
+				method = beanClass.getMethod(methodName, String.class, PropertyChangeListener.class);
+				named = true;
+			} catch (NoSuchMethodException e) {
+				method = beanClass.getMethod(methodName, PropertyChangeListener.class);
+				named = false;
+			}
+			BeanPropertyHelper.setAccessible(method);
+			MethodHandle handle = MethodHandles.lookup().unreflect(method);
+			if (!named) {
+				handle = MethodHandles.dropArguments(handle, 1, String.class);
+			}
+			return handle.asType(LISTENER_TYPE);
+		}
+	}
+
+	private BeanMethodHandles() {
+		// not to be instantiated
+	}
+
+	/**
+	 * Returns a handle of type <code>(Object)Object</code> invoking the given
+	 * read method.
+	 */
+	static MethodHandle getGetter(Method readMethod) throws IllegalAccessException {
+		return getAccessor(readMethod, GETTER_TYPE);
+	}
+
+	/**
+	 * Returns a handle of type <code>(Object, Object)void</code> invoking the
+	 * given write method.
+	 */
+	static MethodHandle getSetter(Method writeMethod) throws IllegalAccessException {
+		return getAccessor(writeMethod, SETTER_TYPE);
+	}
+
+	/**
+	 * Returns the listener registration methods of the given bean class.
+	 */
+	static ListenerMethods getListenerMethods(Class<?> beanClass) {
+		return LISTENER_METHODS.get(beanClass);
+	}
+
+	/**
+	 * Returns whether the given value can be passed to the given parameter
+	 * without a conversion other than unboxing. Method handles do not apply
+	 * the widening conversions of reflective invocation.
+	 */
+	static boolean isExactArgument(Class<?> parameterType, Object value) {
+		if (!parameterType.isPrimitive()) {
+			return value == null || parameterType.isInstance(value);
+		}
+		return value != null && MethodType.methodType(parameterType).wrap().returnType() == value.getClass();
+	}
+
+	private static MethodHandle getAccessor(Method method, MethodType type) throws IllegalAccessException {
+		Map<Method, MethodHandle> accessors = ACCESSORS.get(method.getDeclaringClass());
+		MethodHandle handle = accessors.get(method);
+		if (handle == null) {
+			BeanPropertyHelper.setAccessible(method);
+			handle = MethodHandles.lookup().unreflect(method).asType(type);
+			accessors.put(method, handle);
+		}
+		return handle;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2018 Matthew Hall and others.
+ * Copyright (c) 2008, 2024 Matthew Hall and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,6 +21,7 @@ import java.beans.BeanInfo;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
@@ -56,8 +57,14 @@ public class BeanPropertyHelper {
 						"Missing public setter method for " //$NON-NLS-1$
 								+ propertyDescriptor.getName() + " property"); //$NON-NLS-1$
 			}
-			setAccessible(writeMethod);
-			writeMethod.invoke(source, value);
+			if (writeMethod.getDeclaringClass().isInstance(source)
+					&& BeanMethodHandles.isExactArgument(writeMethod.getParameterTypes()[0], value)) {
+				invokeSetter(BeanMethodHandles.getSetter(writeMethod), source, value);
+			} else {
+				// let reflection convert the value or report the mismatch
+				setAccessible(writeMethod);
+				writeMethod.invoke(source, value);
+			}
 		} catch (InvocationTargetException e) {
 			/*
 			 * InvocationTargetException wraps any exception thrown by the
@@ -91,6 +98,10 @@ public class BeanPropertyHelper {
 				throw new IllegalArgumentException(propertyDescriptor.getName()
 						+ " property does not have a read method."); //$NON-NLS-1$
 			}
+			if (readMethod.getDeclaringClass().isInstance(source)) {
+				return invokeGetter(BeanMethodHandles.getGetter(readMethod), source);
+			}
+			// let reflection report the mismatch
 			setAccessible(readMethod);
 			return readMethod.invoke(source);
 		} catch (InvocationTargetException e) {
@@ -110,6 +121,31 @@ public class BeanPropertyHelper {
 		}
 	}
 
+	/**
+	 * Invokes a getter obtained from {@link BeanMethodHandles}, wrapping any
+	 * exception thrown by it like reflective invocation does.
+	 */
+	private static Object invokeGetter(MethodHandle getter, Object source) throws InvocationTargetException {
+		try {
+			return getter.invokeExact(source);
+		} catch (Throwable e) {
+			throw new InvocationTargetException(e);
+		}
+	}
+
+	/**
+	 * Invokes a setter obtained from {@link BeanMethodHandles}, wrapping any
+	 * exception thrown by it like reflective invocation does.
+	 */
+	private static void invokeSetter(MethodHandle setter, Object source, Object value)
+			throws InvocationTargetException {
+		try {
+			setter.invokeExact(source, value);
+		} catch (Throwable e) {
+			throw new InvocationTargetException(e);
+		}
+	}
+
 	/**
 	 * Wrapper around deprecated {@link Method#isAccessible}. Using that method is
 	 * still the right thing to do, even in presence of the new methods
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2018 IBM Corporation and others.
+ * Copyright (c) 2005, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,10 +15,10 @@
 package org.eclipse.core.internal.databinding.beans;
 
 import java.beans.PropertyChangeListener;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
 
 import org.eclipse.core.databinding.util.Policy;
+import org.eclipse.core.internal.databinding.beans.BeanMethodHandles.ListenerMethods;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
@@ -41,8 +41,7 @@ public class BeanPropertyListenerSupport {
 		Assert.isNotNull(bean, "Bean cannot be null"); //$NON-NLS-1$
 		Assert.isNotNull(listener, "Listener cannot be null"); //$NON-NLS-1$
 		Assert.isNotNull(propertyName, "Property name cannot be null"); //$NON-NLS-1$
-		processListener(bean, propertyName, listener,
-				"addPropertyChangeListener", "Could not attach listener to ");//$NON-NLS-1$ //$NON-NLS-2$
+		processListener(bean, propertyName, listener, true, "Could not attach listener to "); //$NON-NLS-1$
 	}
 
 	/**
@@ -54,54 +53,42 @@ public class BeanPropertyListenerSupport {
 		Assert.isNotNull(listener, "Listener cannot be null"); //$NON-NLS-1$
 		Assert.isNotNull(propertyName, "Property name cannot be null"); //$NON-NLS-1$
 
-		processListener(
-				bean,
-				propertyName,
-				listener,
-				"removePropertyChangeListener", "Cound not remove listener from "); //$NON-NLS-1$ //$NON-NLS-2$
+		processListener(bean, propertyName, listener, false, "Cound not remove listener from "); //$NON-NLS-1$
 	}
 
 	/**
-	 * Invokes the method for the provided <code>methodName</code> attempting to
-	 * first use the method with the property name and then the unnamed version.
+	 * Invokes the listener method of the bean, attempting to first use the
+	 * method with the property name and then the unnamed version. The methods
+	 * are looked up once per bean class.
 	 *
 	 * @param bean
 	 *            object to invoke the method on
-	 * @param methodName
-	 *            either addPropertyChangeListener or
-	 *            removePropertyChangeListener
+	 * @param add
+	 *            <code>true</code> to invoke addPropertyChangeListener,
+	 *            <code>false</code> to invoke removePropertyChangeListener
 	 * @param message
 	 *            string that will be prefixed to the target in an error message
 	 *
 	 * @return <code>true</code> if the method was invoked successfully
 	 */
 	private static boolean processListener(Object bean, String propertyName,
-			PropertyChangeListener listener, String methodName, String message) {
-		Method method = null;
-		Object[] parameters = null;
+			PropertyChangeListener listener, boolean add, String message) {
+		MethodHandle method = null;
 
 		try {
-			try {
-				method = bean.getClass().getMethod(methodName, String.class, PropertyChangeListener.class);
-
-				parameters = new Object[] { propertyName, listener };
-			} catch (NoSuchMethodException e) {
-				method = bean.getClass().getMethod(methodName, PropertyChangeListener.class);
-
-				parameters = new Object[] { listener };
-			}
+			ListenerMethods methods = BeanMethodHandles.getListenerMethods(bean.getClass());
+			method = add ? methods.getAdd() : methods.getRemove();
 		} catch (SecurityException e) {
 			// ignore
-		} catch (NoSuchMethodException e) {
+		} catch (NoSuchMethodException | IllegalAccessException e) {
 			log(IStatus.WARNING, message + bean, e);
 		}
 
 		if (method != null) {
-			BeanPropertyHelper.setAccessible(method);
 			try {
-				method.invoke(bean, parameters);
+				method.invokeExact(bean, propertyName, listener);
 				return true;
-			} catch (IllegalArgumentException | IllegalAccessException | InvocationTargetException e) {
+			} catch (Throwable e) {
 				log(IStatus.WARNING, message + bean, e);
 			}
 		}
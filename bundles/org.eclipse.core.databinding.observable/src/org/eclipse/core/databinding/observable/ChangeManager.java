@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2016 IBM Corporation and others.
+ * Copyright (c) 2006, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,19 +17,62 @@
 
 package org.eclipse.core.databinding.observable;
 
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+
+import org.eclipse.core.internal.databinding.observable.PropagationScheduler;
 import org.eclipse.core.runtime.Assert;
-import org.eclipse.core.runtime.ListenerList;
 
 /**
  * Listener management implementation. Exposed to subclasses in form of
  * {@link AbstractObservable} and {@link ChangeSupport}.
+ * <p>
+ * The listeners of each listener type are kept in an array which is replaced
+ * on every change, so that events are fired without copying the listeners
+ * and listeners may be added and removed while an event is fired.
+ * </p>
  *
  * @since 1.0
  */
 /* package */class ChangeManager {
 
-	ListenerList<IObservablesListener>[] listenerLists = null;
-	Object listenerTypes[] = null;
+	private static final IObservablesListener[] NO_LISTENERS = new IObservablesListener[0];
+
+	/**
+	 * Set while the next listener added on a thread is to be held weakly, see
+	 * {@link #addWeakly(Runnable)}
+	 */
+	private static final ThreadLocal<Boolean> addWeakly = new ThreadLocal<>();
+
+	/**
+	 * A listener held weakly. It is removed once the listener has been garbage
+	 * collected.
+	 */
+	private static final class WeakListener extends WeakReference<IObservablesListener>
+			implements IObservablesListener {
+		WeakListener(IObservablesListener listener) {
+			super(listener);
+		}
+	}
+
+	/**
+	 * The listeners by listener type. The arrays are never modified but
+	 * replaced, so that events can be fired without locking. Listeners are
+	 * added and removed while holding the lock of this object.
+	 */
+	volatile IObservablesListener[][] listeners = null;
+
+	/**
+	 * The listener types, written after {@link #listeners} when a type is
+	 * added
+	 */
+	volatile Object listenerTypes[] = null;
+
+	/**
+	 * The number of listeners other than dispose listeners
+	 */
+	private volatile int listenerCount;
+
 	private final Realm realm;
 
 	/**
@@ -40,33 +83,61 @@ import org.eclipse.core.runtime.ListenerList;
 		this.realm = realm;
 	}
 
+	/**
+	 * Runs the given runnable, holding the first listener it adds to a change
+	 * manager weakly.
+	 *
+	 * @param addListener the runnable adding a listener
+	 */
+	static void addWeakly(Runnable addListener) {
+		addWeakly.set(Boolean.TRUE);
+		try {
+			addListener.run();
+		} finally {
+			addWeakly.remove();
+		}
+	}
+
 	/**
 	 * @param listenerType arbitrary object to identify a type of the listener
 	 * @param listener     the listener to add; not <code>null</code>
 	 */
-	@SuppressWarnings("unchecked")
 	protected void addListener(Object listenerType,
 			IObservablesListener listener) {
-		int listenerTypeIndex = findListenerTypeIndex(listenerType);
-		if (listenerTypeIndex == -1) {
-			int length;
-			if (listenerTypes == null) {
-				length = 0;
-				listenerTypes = new Object[1];
-				listenerLists = new ListenerList[1];
-			} else {
-				length = listenerTypes.length;
-				System.arraycopy(listenerTypes, 0,
-						listenerTypes = new Object[length + 1], 0, length);
-				System.arraycopy(listenerLists, 0,
-						listenerLists = new ListenerList[length + 1], 0, length);
-			}
-			listenerTypes[length] = listenerType;
-			listenerLists[length] = new ListenerList<>();
-			listenerTypeIndex = length;
+		// only the first listener, not the ones added by firstListenerAdded()
+		boolean weak = addWeakly.get() != null;
+		if (weak) {
+			addWeakly.remove();
 		}
 		boolean hadListeners = hasListeners();
-		listenerLists[listenerTypeIndex].add(listener);
+		synchronized (this) {
+			int listenerTypeIndex = findListenerTypeIndex(listenerType);
+			if (listenerTypeIndex == -1) {
+				int length = listenerTypes == null ? 0 : listenerTypes.length;
+				IObservablesListener[][] newListeners = new IObservablesListener[length + 1][];
+				Object[] newListenerTypes = new Object[length + 1];
+				if (length > 0) {
+					System.arraycopy(listeners, 0, newListeners, 0, length);
+					System.arraycopy(listenerTypes, 0, newListenerTypes, 0, length);
+				}
+				newListeners[length] = NO_LISTENERS;
+				newListenerTypes[length] = listenerType;
+				// a thread finding the new type also finds its listeners
+				listeners = newListeners;
+				listenerTypes = newListenerTypes;
+				listenerTypeIndex = length;
+			}
+			IObservablesListener[] current = listeners[listenerTypeIndex];
+			if (indexOf(current, listener) != -1) {
+				return;
+			}
+			IObservablesListener[] updated = Arrays.copyOf(current, current.length + 1);
+			updated[current.length] = weak ? new WeakListener(listener) : listener;
+			setListeners(listenerTypeIndex, updated);
+			if (listenerType != DisposeEvent.TYPE) {
+				listenerCount++;
+			}
+		}
 		if (!hadListeners && hasListeners()) {
 			firstListenerAdded();
 		}
@@ -78,31 +149,101 @@ import org.eclipse.core.runtime.ListenerList;
 	 */
 	protected void removeListener(Object listenerType,
 			IObservablesListener listener) {
-		int listenerTypeIndex = findListenerTypeIndex(listenerType);
-		if (listenerTypeIndex != -1) {
-			boolean hadListeners = hasListeners();
-			listenerLists[listenerTypeIndex].remove(listener);
-			if (listenerLists[listenerTypeIndex].isEmpty()) {
-				if (hadListeners && !hasListeners()) {
-					this.lastListenerRemoved();
+		boolean hadListeners = hasListeners();
+		synchronized (this) {
+			int listenerTypeIndex = findListenerTypeIndex(listenerType);
+			if (listenerTypeIndex == -1) {
+				return;
+			}
+			IObservablesListener[] current = listeners[listenerTypeIndex];
+			int index = indexOf(current, listener);
+			if (index == -1) {
+				return;
+			}
+			IObservablesListener[] updated = NO_LISTENERS;
+			if (current.length > 1) {
+				updated = new IObservablesListener[current.length - 1];
+				System.arraycopy(current, 0, updated, 0, index);
+				System.arraycopy(current, index + 1, updated, index, updated.length - index);
+			}
+			setListeners(listenerTypeIndex, updated);
+			if (listenerType != DisposeEvent.TYPE) {
+				listenerCount--;
+			}
+		}
+		if (hadListeners && !hasListeners()) {
+			lastListenerRemoved();
+		}
+	}
+
+	/**
+	 * Removes the weakly held listeners of the given type which have been
+	 * garbage collected.
+	 */
+	private void removeClearedListeners(Object listenerType) {
+		boolean hadListeners = hasListeners();
+		synchronized (this) {
+			int listenerTypeIndex = findListenerTypeIndex(listenerType);
+			if (listenerTypeIndex == -1) {
+				return;
+			}
+			IObservablesListener[] current = listeners[listenerTypeIndex];
+			IObservablesListener[] updated = new IObservablesListener[current.length];
+			int length = 0;
+			for (IObservablesListener listener : current) {
+				if (!(listener instanceof WeakListener weakListener) || weakListener.get() != null) {
+					updated[length++] = listener;
 				}
 			}
+			if (length == current.length) {
+				return;
+			}
+			setListeners(listenerTypeIndex, length == 0 ? NO_LISTENERS : Arrays.copyOf(updated, length));
+			if (listenerType != DisposeEvent.TYPE) {
+				listenerCount -= current.length - length;
+			}
+		}
+		if (hadListeners && !hasListeners()) {
+			lastListenerRemoved();
 		}
 	}
 
+	/**
+	 * Replaces the listeners of the listener type at the given index. Must be
+	 * called while holding the lock of this object.
+	 */
+	private void setListeners(int listenerTypeIndex, IObservablesListener[] updated) {
+		IObservablesListener[][] newListeners = listeners.clone();
+		newListeners[listenerTypeIndex] = updated;
+		listeners = newListeners;
+	}
+
+	/**
+	 * Returns the index of the listener equal to the given one, like
+	 * {@link org.eclipse.core.runtime.ListenerList} compares listeners.
+	 */
+	private static int indexOf(IObservablesListener[] listeners, IObservablesListener listener) {
+		for (int i = 0; i < listeners.length; i++) {
+			IObservablesListener other = listeners[i];
+			if (other instanceof WeakListener weakListener) {
+				other = weakListener.get();
+			}
+			if (listener.equals(other)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
 	protected boolean hasListeners() {
-		if (listenerTypes != null)
-			for (int i = 0; i < listenerTypes.length; i++)
-				if (listenerTypes[i] != DisposeEvent.TYPE)
-					if (listenerLists[i].size() > 0)
-						return true;
-		return false;
+		return listenerCount > 0;
 	}
 
 	private int findListenerTypeIndex(Object listenerType) {
-		if (listenerTypes != null) {
-			for (int i = 0; i < listenerTypes.length; i++) {
-				if (listenerTypes[i] == listenerType) {
+		Object[] types = listenerTypes;
+		if (types != null) {
+			for (int i = 0; i < types.length; i++) {
+				if (types[i] == listenerType) {
 					return i;
 				}
 			}
@@ -111,13 +252,65 @@ import org.eclipse.core.runtime.ListenerList;
 	}
 
 	protected void fireEvent(ObservableEvent event) {
+		RealmBatch batch = realm.batch;
+		if (batch != null && batch.defer(this, event)) {
+			return;
+		}
+		dispatchEvent(event);
+	}
+
+	/**
+	 * Notifies the listeners of the given event right away.
+	 *
+	 * @param event the event
+	 */
+	void dispatchEvent(ObservableEvent event) {
 		Object listenerType = event.getListenerType();
 		int listenerTypeIndex = findListenerTypeIndex(listenerType);
-		if (listenerTypeIndex != -1) {
-			for (IObservablesListener listener : listenerLists[listenerTypeIndex]) {
-				event.dispatch(listener);
+		IObservablesListener[][] allListeners = listeners;
+		if (listenerTypeIndex == -1 || allListeners == null) {
+			// no listeners of this type were ever added, or disposed
+			return;
+		}
+		IObservablesListener[] current = allListeners[listenerTypeIndex];
+		if (current.length == 0) {
+			return;
+		}
+		boolean cleared = false;
+		if (current.length == 1) {
+			// Computed observables scheduled by a single listener can be
+			// notified right after it, so the scheduler is not needed
+			cleared = !dispatch(event, current[0]);
+		} else {
+			PropagationScheduler scheduler = PropagationScheduler.enter();
+			try {
+				for (IObservablesListener listener : current) {
+					if (!dispatch(event, listener)) {
+						cleared = true;
+					}
+				}
+			} finally {
+				scheduler.exit();
+			}
+		}
+		if (cleared) {
+			removeClearedListeners(listenerType);
+		}
+	}
+
+	/**
+	 * @return <code>false</code> if the listener is held weakly and has been
+	 *         garbage collected
+	 */
+	private static boolean dispatch(ObservableEvent event, IObservablesListener listener) {
+		if (listener instanceof WeakListener weakListener) {
+			listener = weakListener.get();
+			if (listener == null) {
+				return false;
 			}
 		}
+		event.dispatch(listener);
+		return true;
 	}
 
 	protected void firstListenerAdded() {
@@ -127,8 +320,9 @@ import org.eclipse.core.runtime.ListenerList;
 	}
 
 	public void dispose() {
-		listenerLists = null;
+		listeners = null;
 		listenerTypes = null;
+		listenerCount = 0;
 	}
 
 	/**
@@ -141,8 +335,9 @@ import org.eclipse.core.runtime.ListenerList;
 	@Override
 	protected Object clone() throws CloneNotSupportedException {
 		ChangeManager duplicate = (ChangeManager) super.clone();
-		duplicate.listenerLists = null;
+		duplicate.listeners = null;
 		duplicate.listenerTypes = null;
+		duplicate.listenerCount = 0;
 		return duplicate;
 	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2015 IBM Corporation and others.
+ * Copyright (c) 2006, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,7 @@
 package org.eclipse.core.databinding.observable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -25,6 +26,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.RandomAccess;
 import java.util.Set;
 
 import org.eclipse.core.databinding.observable.list.ListDiff;
@@ -228,7 +230,7 @@ public class Diffs {
 	 */
 	public static <E> ListDiff<E> computeListDiff(List<? extends E> oldList, List<? extends E> newList) {
 		List<ListDiffEntry<E>> diffEntries = new ArrayList<>();
-		createListDiffs(new ArrayList<>(oldList), newList, diffEntries);
+		createListDiffs(randomAccess(oldList), randomAccess(newList), diffEntries);
 		return createListDiff(diffEntries);
 	}
 
@@ -263,92 +265,263 @@ public class Diffs {
 	}
 
 	/**
-	 * adapted from EMF's ListDifferenceAnalyzer
+	 * Computes a minimal sequence of additions, removals and moves transforming
+	 * oldList into newList. The common prefix and suffix are skipped. In the
+	 * remaining range, each old element is matched with an unused equal element
+	 * of the new list, and the longest increasing subsequence of the matches is
+	 * kept in place. Unmatched old elements are removed, unmatched new elements
+	 * are added, and every other matched element is moved once, as a removal
+	 * immediately followed by an addition, so that
+	 * {@link ListDiff#accept(org.eclipse.core.databinding.observable.list.ListDiffVisitor)}
+	 * reports a move. The time is O((N+M) log N) with hashed elements.
 	 */
-	private static <E> void createListDiffs(List<E> oldList, List<? extends E> newList,
+	private static <E> void createListDiffs(List<? extends E> oldList, List<? extends E> newList,
 			List<ListDiffEntry<E>> listDiffs) {
-		int index = 0;
-		for (E newValue : newList) {
-			if (oldList.size() <= index) {
-				// append newValue to newList
-				listDiffs.add(createListDiffEntry(index, true, newValue));
+		int oldEnd = oldList.size();
+		int newEnd = newList.size();
+		int start = 0;
+		while (start < oldEnd && start < newEnd && Objects.equals(oldList.get(start), newList.get(start))) {
+			start++;
+		}
+		while (oldEnd > start && newEnd > start
+				&& Objects.equals(oldList.get(oldEnd - 1), newList.get(newEnd - 1))) {
+			oldEnd--;
+			newEnd--;
+		}
+		if (start == oldEnd) {
+			// pure insertion, including appends
+			for (int i = start; i < newEnd; i++) {
+				listDiffs.add(createListDiffEntry(i, true, newList.get(i)));
+			}
+			return;
+		}
+		if (start == newEnd) {
+			// pure removal, from the back so that the positions stay valid
+			for (int i = oldEnd; i > start;) {
+				listDiffs.add(createListDiffEntry(--i, false, oldList.get(i)));
+			}
+			return;
+		}
+
+		int oldLength = oldEnd - start;
+		int newLength = newEnd - start;
+
+		// Chains the positions of equal new elements, the map holds the first
+		// unused one
+		Map<E, Integer> firstNewIndex = new HashMap<>();
+		int[] nextNewIndex = new int[newLength];
+		for (int j = newLength - 1; j >= 0; j--) {
+			Integer next = firstNewIndex.put(newList.get(start + j), Integer.valueOf(j));
+			nextNewIndex[j] = next == null ? -1 : next.intValue();
+		}
+		int[] matches = new int[oldLength];
+		int[] oldIndexOfNew = new int[newLength];
+		Arrays.fill(oldIndexOfNew, -1);
+		for (int i = 0; i < oldLength; i++) {
+			E oldValue = oldList.get(start + i);
+			Integer match = firstNewIndex.get(oldValue);
+			if (match == null) {
+				matches[i] = -1;
 			} else {
-				boolean done;
-				do {
-					done = true;
-					E oldValue = oldList.get(index);
-					if (oldValue == null ? newValue != null : !oldValue
-							.equals(newValue)) {
-						int oldIndexOfNewValue = listIndexOf(oldList, newValue,
-								index);
-						if (oldIndexOfNewValue != -1) {
-							int newIndexOfOldValue = listIndexOf(newList,
-									oldValue, index);
-							if (newIndexOfOldValue == -1) {
-								// removing oldValue from list[index]
-								listDiffs.add(createListDiffEntry(index, false,
-										oldValue));
-								oldList.remove(index);
-								done = false;
-							} else if (newIndexOfOldValue > oldIndexOfNewValue) {
-								// moving oldValue from list[index] to
-								// [newIndexOfOldValue]
-								if (oldList.size() <= newIndexOfOldValue) {
-									// The element cannot be moved to the
-									// correct index
-									// now, however later iterations will insert
-									// elements
-									// in front of it, eventually moving it into
-									// the
-									// correct spot.
-									newIndexOfOldValue = oldList.size() - 1;
-								}
-								listDiffs.add(createListDiffEntry(index, false,
-										oldValue));
-								oldList.remove(index);
-								listDiffs.add(createListDiffEntry(
-										newIndexOfOldValue, true, oldValue));
-								oldList.add(newIndexOfOldValue, oldValue);
-								done = false;
-							} else {
-								// move newValue from list[oldIndexOfNewValue]
-								// to [index]
-								listDiffs.add(createListDiffEntry(
-										oldIndexOfNewValue, false, newValue));
-								oldList.remove(oldIndexOfNewValue);
-								listDiffs.add(createListDiffEntry(index, true,
-										newValue));
-								oldList.add(index, newValue);
-							}
-						} else {
-							// add newValue at list[index]
-							oldList.add(index, newValue);
-							listDiffs.add(createListDiffEntry(index, true,
-									newValue));
-						}
-					}
-				} while (!done);
-			}
-			++index;
-		}
-		for (int i = oldList.size(); i > index;) {
-			// remove excess trailing elements not present in newList
-			listDiffs.add(createListDiffEntry(--i, false, oldList.get(i)));
+				int j = match.intValue();
+				matches[i] = j;
+				oldIndexOfNew[j] = i;
+				if (nextNewIndex[j] == -1) {
+					firstNewIndex.remove(oldValue);
+				} else {
+					firstNewIndex.put(oldValue, Integer.valueOf(nextNewIndex[j]));
+				}
+			}
+		}
+
+		boolean[] kept = new boolean[oldLength];
+		markLongestIncreasingSubsequence(matches, kept);
+
+		// The old elements which are not yet in their final place are kept in a
+		// tree of slots ordered like the current list. Every old element has a
+		// slot at its old index. A moved element which is in the way of the
+		// next element in place is moved forward, right before the first element
+		// in place that follows it in the new list, so every moved element has
+		// a second slot there, ordered by the new index.
+		int keptCount = 0;
+		int[] keptMatches = new int[oldLength];
+		int[] keptOldIndices = new int[oldLength];
+		for (int i = 0; i < oldLength; i++) {
+			if (kept[i]) {
+				keptMatches[keptCount] = matches[i];
+				keptOldIndices[keptCount++] = i;
+			}
+		}
+		long[] slotKeys = new long[2 * oldLength];
+		long[] forwardKeys = new long[oldLength];
+		int slotCount = 0;
+		for (int i = 0; i < oldLength; i++) {
+			slotKeys[slotCount++] = slotKey(i, 1, 0, newLength);
+			if (matches[i] != -1 && !kept[i]) {
+				int anchor = Arrays.binarySearch(keptMatches, 0, keptCount, matches[i]);
+				anchor = -anchor - 1;
+				int anchorOldIndex = anchor < keptCount ? keptOldIndices[anchor] : oldLength;
+				forwardKeys[i] = slotKey(anchorOldIndex, 0, matches[i], newLength);
+				slotKeys[slotCount++] = forwardKeys[i];
+			}
+		}
+		Arrays.sort(slotKeys, 0, slotCount);
+		int[] slots = new int[oldLength];
+		int[] forwardSlots = new int[oldLength];
+		int[] elementOfSlot = new int[slotCount];
+		SlotTree tree = new SlotTree(slotCount);
+		for (int i = 0; i < oldLength; i++) {
+			slots[i] = Arrays.binarySearch(slotKeys, 0, slotCount, slotKey(i, 1, 0, newLength));
+			elementOfSlot[slots[i]] = i;
+			tree.set(slots[i], true);
+			if (matches[i] != -1 && !kept[i]) {
+				forwardSlots[i] = Arrays.binarySearch(slotKeys, 0, slotCount, forwardKeys[i]);
+				elementOfSlot[forwardSlots[i]] = i;
+			}
+		}
+		boolean[] movedForward = new boolean[oldLength];
+
+		int front = 0;
+		for (int j = 0; j < newLength; j++) {
+			int position = start + j;
+			int i = oldIndexOfNew[j];
+			if (i == -1) {
+				listDiffs.add(createListDiffEntry(position, true, newList.get(start + j)));
+				continue;
+			}
+			// Clear the way for the element in front of the remaining old
+			// elements
+			while (true) {
+				while (front < slotCount && !tree.get(front)) {
+					front++;
+				}
+				if (front == slotCount) {
+					break;
+				}
+				int e = elementOfSlot[front];
+				if (e == i || kept[e] || movedForward[e]) {
+					break;
+				}
+				if (matches[e] == -1) {
+					listDiffs.add(createListDiffEntry(position, false, oldList.get(start + e)));
+					tree.set(front, false);
+					continue;
+				}
+				// an element moved to a later position
+				tree.set(front, false);
+				tree.set(forwardSlots[e], true);
+				movedForward[e] = true;
+				slots[e] = forwardSlots[e];
+				int offset = tree.count(forwardSlots[e]);
+				if (offset > 0) {
+					E element = oldList.get(start + e);
+					listDiffs.add(createListDiffEntry(position, false, element));
+					listDiffs.add(createListDiffEntry(position + offset, true, element));
+				}
+			}
+			int offset = tree.count(slots[i]);
+			tree.set(slots[i], false);
+			if (offset > 0) {
+				// an element moved to an earlier position
+				E element = oldList.get(start + i);
+				listDiffs.add(createListDiffEntry(position + offset, false, element));
+				listDiffs.add(createListDiffEntry(position, true, element));
+			}
+		}
+
+		// only unmatched old elements are left, remove them from the back
+		int position = newEnd + tree.count(slotCount);
+		for (int slot = slotCount; slot > 0;) {
+			if (tree.get(--slot)) {
+				listDiffs.add(createListDiffEntry(--position, false, oldList.get(start + elementOfSlot[slot])));
+			}
 		}
 	}
 
+	private static long slotKey(int oldIndex, int order, int newIndex, int newLength) {
+		return ((long) oldIndex * 2 + order) * newLength + newIndex;
+	}
+
 	/**
-	 * @return the index, or -1 if not found
+	 * A Fenwick tree counting the occupied slots before a slot.
 	 */
-	private static <E> int listIndexOf(List<E> list, Object object, int index) {
-		int size = list.size();
-		for (int i = index; i < size; i++) {
-			Object candidate = list.get(i);
-			if (candidate == null ? object == null : candidate.equals(object)) {
-				return i;
+	private static final class SlotTree {
+		private final boolean[] occupied;
+
+		private final int[] counts;
+
+		SlotTree(int size) {
+			occupied = new boolean[size];
+			counts = new int[size + 1];
+		}
+
+		boolean get(int slot) {
+			return occupied[slot];
+		}
+
+		void set(int slot, boolean value) {
+			if (occupied[slot] == value) {
+				return;
 			}
+			occupied[slot] = value;
+			int delta = value ? 1 : -1;
+			for (int node = slot + 1; node < counts.length; node += Integer.lowestOneBit(node)) {
+				counts[node] += delta;
+			}
+		}
+
+		/**
+		 * Returns the number of occupied slots before the given slot.
+		 */
+		int count(int slot) {
+			int count = 0;
+			for (int node = slot; node > 0; node -= Integer.lowestOneBit(node)) {
+				count += counts[node];
+			}
+			return count;
+		}
+	}
+
+	private static <E> List<? extends E> randomAccess(List<? extends E> list) {
+		return list instanceof RandomAccess ? list : new ArrayList<>(list);
+	}
+
+	/**
+	 * Marks the old elements of the longest strictly increasing subsequence of
+	 * the given matches, ignoring the unmatched entries (-1), in O(N log N). Of
+	 * subsequences of the same length, the one keeping the earliest old elements
+	 * in place is preferred.
+	 */
+	private static void markLongestIncreasingSubsequence(int[] matches, boolean[] kept) {
+		// Searching from the back, heads[k] is the index of the largest match
+		// starting an increasing subsequence of length k + 1
+		int[] heads = new int[matches.length];
+		int[] successors = new int[matches.length];
+		int length = 0;
+		for (int i = matches.length - 1; i >= 0; i--) {
+			int match = matches[i];
+			if (match == -1) {
+				continue;
+			}
+			int low = 0;
+			int high = length;
+			while (low < high) {
+				int middle = (low + high) >>> 1;
+				if (matches[heads[middle]] > match) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+			successors[i] = low == 0 ? -1 : heads[low - 1];
+			heads[low] = i;
+			if (low == length) {
+				length++;
+			}
+		}
+		for (int i = length == 0 ? -1 : heads[length - 1]; i != -1; i = successors[i]) {
+			kept[i] = true;
 		}
-		return -1;
 	}
 
 	/**
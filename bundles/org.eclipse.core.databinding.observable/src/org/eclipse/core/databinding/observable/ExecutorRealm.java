@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.databinding.observable;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+
+import org.eclipse.core.runtime.Assert;
+
+/**
+ * A realm running its runnables on the threads of an {@link Executor}, one at
+ * a time and in the order they were submitted. This allows to keep model
+ * observables, and the conversion and validation of the bindings updating the
+ * UI from them, off the UI thread.
+ * <p>
+ * The executor may be shared with other work and may use several threads; the
+ * realm never submits more than one task to it at a time. While a runnable of
+ * the realm is running, the realm is current on that thread, and it is the
+ * default realm, so that observables created by the runnable belong to it.
+ * </p>
+ * <p>
+ * When binding observables of this realm to UI observables, consider
+ * throttling the updates of the UI with
+ * <code>UpdateValueStrategy.setThrottleDelay(int)</code>.
+ * </p>
+ *
+ * @since 1.14
+ */
+public class ExecutorRealm extends Realm {
+
+	/**
+	 * The number of runnables to run before the executor is given the chance to
+	 * run other tasks
+	 */
+	private static final int RUNNABLES_PER_TASK = 256;
+
+	private final Executor executor;
+
+	private final ArrayDeque<Runnable> queue = new ArrayDeque<>();
+
+	/**
+	 * Whether a task draining the queue is submitted to the executor, guarded
+	 * by {@link #queue}
+	 */
+	private boolean submitted;
+
+	/**
+	 * The thread currently running the runnables of this realm, or
+	 * <code>null</code>
+	 */
+	private volatile Thread currentThread;
+
+	private final Runnable drainTask = this::drain;
+
+	/**
+	 * Creates a realm running its runnables on the given executor.
+	 *
+	 * @param executor the executor; not <code>null</code>
+	 */
+	public ExecutorRealm(Executor executor) {
+		Assert.isNotNull(executor, "Executor cannot be null"); //$NON-NLS-1$
+		this.executor = executor;
+	}
+
+	@Override
+	public boolean isCurrent() {
+		return currentThread == Thread.currentThread();
+	}
+
+	@Override
+	public void asyncExec(Runnable runnable) {
+		synchronized (queue) {
+			queue.add(runnable);
+			if (submitted) {
+				return;
+			}
+			submitted = true;
+		}
+		try {
+			executor.execute(drainTask);
+		} catch (RuntimeException e) {
+			// for example a RejectedExecutionException of an executor that was
+			// shut down, the runnable is not run
+			synchronized (queue) {
+				queue.removeLastOccurrence(runnable);
+			}
+			resetSubmitted();
+			throw e;
+		}
+	}
+
+	/**
+	 * Allows a later runnable to submit the task again, after the executor
+	 * did not accept it.
+	 */
+	private void resetSubmitted() {
+		synchronized (queue) {
+			submitted = false;
+		}
+	}
+
+	@Override
+	protected void syncExec(Runnable runnable) {
+		if (isCurrent()) {
+			safeRun(runnable);
+		} else {
+			super.syncExec(runnable);
+		}
+	}
+
+	private void drain() {
+		boolean[] resubmit = new boolean[1];
+		runWithDefault(this, () -> resubmit[0] = runQueued());
+		if (resubmit[0]) {
+			// give other tasks of the executor a chance
+			try {
+				executor.execute(drainTask);
+			} catch (RuntimeException e) {
+				resetSubmitted();
+				throw e;
+			}
+		}
+	}
+
+	/**
+	 * Runs the queued runnables.
+	 *
+	 * @return whether runnables are left in the queue
+	 */
+	private boolean runQueued() {
+		currentThread = Thread.currentThread();
+		for (int i = 0;; i++) {
+			Runnable runnable;
+			synchronized (queue) {
+				if (queue.isEmpty() || i == RUNNABLES_PER_TASK) {
+					// before another task can be submitted
+					currentThread = null;
+					submitted = !queue.isEmpty();
+					return submitted;
+				}
+				runnable = queue.poll();
+			}
+			safeRun(runnable);
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2015 IBM Corporation and others.
+ * Copyright (c) 2005, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,10 +15,9 @@
  *******************************************************************************/
 package org.eclipse.core.databinding.observable;
 
-import java.util.Set;
+import java.util.Arrays;
 
 import org.eclipse.core.databinding.util.Policy;
-import org.eclipse.core.internal.databinding.identity.IdentitySet;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
@@ -64,20 +63,243 @@ import org.eclipse.core.runtime.Status;
 public class ObservableTracker {
 
 	/**
-	 * Threadlocal storage pointing to the current Set of IObservables, or null
-	 * if none. Note that this is actually the top of a stack. Whenever a method
-	 * changes the current value, it remembers the old value as a local variable
-	 * and restores the old value when the method exits.
+	 * The observables read or created within one invocation of
+	 * {@link ObservableTracker#runAndMonitor} or
+	 * {@link ObservableTracker#runAndCollect}. Frames are reused, so that
+	 * tracking the dependencies of a computation does not allocate anything but
+	 * the resulting array.
 	 */
-	private static ThreadLocal<IChangeListener> currentChangeListener = new ThreadLocal<>();
+	private static final class Frame {
+		private static final int INITIAL_CAPACITY = 16;
 
-	private static ThreadLocal<IStaleListener> currentStaleListener = new ThreadLocal<>();
+		/**
+		 * State of an observable read by the previous run only
+		 */
+		private static final byte UNREAD = 0;
 
-	private static ThreadLocal<Set<IObservable>> currentGetterCalledSet = new ThreadLocal<>();
+		/**
+		 * State of an observable read by this and the previous run
+		 */
+		private static final byte PREVIOUS = 1;
 
-	private static ThreadLocal<Set<IObservable>> currentObservableCreatedSet = new ThreadLocal<>();
+		/**
+		 * State of an observable read by this run only
+		 */
+		private static final byte NEW = 2;
 
-	private static ThreadLocal<Integer> currentIgnoreCount = new ThreadLocal<>();
+		/**
+		 * The enclosing frame on the stack, or the next free frame
+		 */
+		Frame next;
+
+		IChangeListener changeListener;
+
+		IStaleListener staleListener;
+
+		private IObservable[] previousObservables;
+
+		private int previousReadCount;
+
+		/**
+		 * The observables in the order they were read
+		 */
+		private IObservable[] observables = new IObservable[INITIAL_CAPACITY];
+
+		private int size;
+
+		/**
+		 * Identity hash table with linear probing of the observables read by
+		 * this and the previous run
+		 */
+		private IObservable[] table = new IObservable[INITIAL_CAPACITY];
+
+		/**
+		 * The states of the observables in the table
+		 */
+		private byte[] states = new byte[INITIAL_CAPACITY];
+
+		private int tableSize;
+
+		void start(IObservable[] previous) {
+			previousObservables = previous;
+			if (previous != null) {
+				for (IObservable observable : previous) {
+					int index = indexOf(observable);
+					if (table[index] == null) {
+						insert(index, observable, UNREAD);
+					}
+				}
+			}
+		}
+
+		/**
+		 * Records that the given observable was read.
+		 *
+		 * @return whether the observable was neither read by this nor by the
+		 *         previous run
+		 */
+		boolean add(IObservable observable) {
+			int index = indexOf(observable);
+			if (table[index] == null) {
+				insert(index, observable, NEW);
+				append(observable);
+				return true;
+			}
+			if (states[index] == UNREAD) {
+				states[index] = PREVIOUS;
+				previousReadCount++;
+				append(observable);
+			}
+			return false;
+		}
+
+		/**
+		 * Removes the listeners from the observables of the previous run that
+		 * were not read by this run.
+		 */
+		void removeUnreadListeners() {
+			if (previousObservables == null || previousReadCount == previousObservables.length) {
+				return;
+			}
+			for (IObservable observable : previousObservables) {
+				if (states[indexOf(observable)] == UNREAD) {
+					removeListeners(observable);
+				}
+			}
+		}
+
+		/**
+		 * Removes the listeners from the observables that were not read by the
+		 * previous run, after the runnable failed.
+		 */
+		void removeNewListeners() {
+			for (int i = 0; i < size; i++) {
+				if (states[indexOf(observables[i])] == NEW) {
+					removeListeners(observables[i]);
+				}
+			}
+		}
+
+		private void removeListeners(IObservable observable) {
+			if (changeListener != null) {
+				observable.removeChangeListener(changeListener);
+			}
+			if (staleListener != null) {
+				observable.removeStaleListener(staleListener);
+			}
+		}
+
+		IObservable[] toArray() {
+			if (previousObservables != null && size == previousObservables.length
+					&& previousReadCount == size) {
+				return previousObservables;
+			}
+			return Arrays.copyOf(observables, size);
+		}
+
+		void clear() {
+			next = null;
+			changeListener = null;
+			staleListener = null;
+			previousObservables = null;
+			previousReadCount = 0;
+			if (observables.length > 1024) {
+				// do not hold on to the memory of an exceptional computation
+				observables = new IObservable[INITIAL_CAPACITY];
+				table = new IObservable[INITIAL_CAPACITY];
+				states = new byte[INITIAL_CAPACITY];
+			} else {
+				Arrays.fill(observables, 0, size, null);
+				if (tableSize > 0) {
+					Arrays.fill(table, null);
+					Arrays.fill(states, UNREAD);
+				}
+			}
+			size = 0;
+			tableSize = 0;
+		}
+
+		private void append(IObservable observable) {
+			if (size == observables.length) {
+				observables = Arrays.copyOf(observables, size * 2);
+			}
+			observables[size++] = observable;
+		}
+
+		private int indexOf(IObservable observable) {
+			int mask = table.length - 1;
+			int index = System.identityHashCode(observable) * 0x9E3779B9 >>> 16 & mask;
+			while (table[index] != null && table[index] != observable) {
+				index = (index + 1) & mask;
+			}
+			return index;
+		}
+
+		private void insert(int index, IObservable observable, byte state) {
+			table[index] = observable;
+			states[index] = state;
+			if (++tableSize * 2 > table.length) {
+				IObservable[] oldTable = table;
+				byte[] oldStates = states;
+				table = new IObservable[oldTable.length * 2];
+				states = new byte[oldTable.length * 2];
+				for (int i = 0; i < oldTable.length; i++) {
+					if (oldTable[i] != null) {
+						int newIndex = indexOf(oldTable[i]);
+						table[newIndex] = oldTable[i];
+						states[newIndex] = oldStates[i];
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * The tracking state of a thread.
+	 */
+	private static final class State {
+		/**
+		 * The top of the stack of {@link ObservableTracker#runAndMonitor}
+		 * frames, or <code>null</code> if none
+		 */
+		Frame monitorFrame;
+
+		/**
+		 * The top of the stack of {@link ObservableTracker#runAndCollect}
+		 * frames, or <code>null</code> if none
+		 */
+		Frame collectFrame;
+
+		/**
+		 * Frames that can be reused
+		 */
+		private Frame freeFrames;
+
+		int ignoreCount;
+
+		Frame obtainFrame() {
+			Frame frame = freeFrames;
+			if (frame == null) {
+				return new Frame();
+			}
+			freeFrames = frame.next;
+			frame.next = null;
+			return frame;
+		}
+
+		void releaseFrame(Frame frame) {
+			frame.clear();
+			frame.next = freeFrames;
+			freeFrames = frame;
+		}
+	}
+
+	/**
+	 * The tracking state of each thread. Whenever a method pushes a frame, it
+	 * remembers the previous top of the stack and restores it when the method
+	 * exits.
+	 */
+	private static final ThreadLocal<State> currentState = ThreadLocal.withInitial(State::new);
 
 	/**
 	 * Invokes the given runnable, and returns the set of IObservables that were
@@ -97,31 +319,73 @@ public class ObservableTracker {
 	 */
 	public static IObservable[] runAndMonitor(Runnable runnable,
 			IChangeListener changeListener, IStaleListener staleListener) {
-		// Remember the previous value in the listener stack
-		Set<IObservable> lastObservableSet = currentGetterCalledSet.get();
-		IChangeListener lastChangeListener = currentChangeListener.get();
-		IStaleListener lastStaleListener = currentStaleListener.get();
-		Integer lastIgnore = currentIgnoreCount.get();
-
-		Set<IObservable> observableSet = new IdentitySet<>();
-		// Push the new listeners to the top of the stack
-		currentGetterCalledSet.set(observableSet);
-		currentChangeListener.set(changeListener);
-		currentStaleListener.set(staleListener);
-		currentIgnoreCount.remove();
+		return runAndMonitor(runnable, changeListener, staleListener, null);
+	}
+
+	/**
+	 * Invokes the given runnable again, and returns the set of IObservables
+	 * that were read by the runnable. The given listeners must still be
+	 * registered with the observables read by the previous run. They are only
+	 * added to the observables that were not read by the previous run, and
+	 * removed from the observables of the previous run that were not read
+	 * this time. A recomputation reading the same observables as the previous
+	 * one therefore neither adds nor removes listeners, and returns the
+	 * previous array.
+	 * <p>
+	 * If the runnable calls this method recursively, the result will not
+	 * contain IObservables that were used within the inner runnable.
+	 * </p>
+	 *
+	 * @param runnable
+	 *            runnable to execute
+	 * @param changeListener
+	 *            listener to register with all accessed observables, or
+	 *            <code>null</code> if no change listener is to be registered
+	 * @param staleListener
+	 *            listener to register with all accessed observables, or
+	 *            <code>null</code> if no stale listener is to be registered
+	 * @param previousObservables
+	 *            the result of the previous run, whose observables the
+	 *            listeners are registered with, or <code>null</code> if there
+	 *            was no previous run. If the runnable throws an exception, the
+	 *            listeners stay registered with exactly these observables.
+	 * @return an array of unique observable objects, identical to
+	 *         <code>previousObservables</code> if the same observables were
+	 *         read
+	 * @since 1.14
+	 */
+	public static IObservable[] runAndMonitor(Runnable runnable, IChangeListener changeListener,
+			IStaleListener staleListener, IObservable[] previousObservables) {
+		State state = currentState.get();
+		// Remember the previous frame and ignore count
+		Frame lastFrame = state.monitorFrame;
+		int lastIgnore = state.ignoreCount;
+
+		Frame frame = state.obtainFrame();
+		frame.changeListener = changeListener;
+		frame.staleListener = staleListener;
+		frame.start(previousObservables);
+		// Push the new frame to the top of the stack
+		frame.next = lastFrame;
+		state.monitorFrame = frame;
+		state.ignoreCount = 0;
+		boolean completed = false;
 		try {
 			runnable.run();
+			frame.removeUnreadListeners();
+			completed = true;
+			return frame.toArray();
 		} finally {
-			// Pop the new listener off the top of the stack (by restoring the
-			// previous listener)
-			currentGetterCalledSet.set(lastObservableSet);
-			currentChangeListener.set(lastChangeListener);
-			currentStaleListener.set(lastStaleListener);
-			checkUnmatchedIgnore(runnable);
-			currentIgnoreCount.set(lastIgnore);
+			if (!completed) {
+				frame.removeNewListeners();
+			}
+			// Pop the frame off the top of the stack (by restoring the
+			// previous frame)
+			state.monitorFrame = lastFrame;
+			checkUnmatchedIgnore(state, runnable);
+			state.ignoreCount = lastIgnore;
+			state.releaseFrame(frame);
 		}
-
-		return observableSet.toArray(new IObservable[observableSet.size()]);
 	}
 
 	/**
@@ -141,34 +405,36 @@ public class ObservableTracker {
 	 * @since 1.2
 	 */
 	public static IObservable[] runAndCollect(Runnable runnable) {
-		Set<IObservable> lastObservableCreatedSet = currentObservableCreatedSet.get();
-		Integer lastIgnore = currentIgnoreCount.get();
+		State state = currentState.get();
+		Frame lastFrame = state.collectFrame;
+		int lastIgnore = state.ignoreCount;
 
-		Set<IObservable> observableSet = new IdentitySet<>();
-		// Push the new listeners to the top of the stack
-		currentObservableCreatedSet.set(observableSet);
-		currentIgnoreCount.remove();
+		Frame frame = state.obtainFrame();
+		// Push the new frame to the top of the stack
+		frame.next = lastFrame;
+		state.collectFrame = frame;
+		state.ignoreCount = 0;
 		try {
 			runnable.run();
+			return frame.toArray();
 		} finally {
-			// Pop the new listener off the top of the stack (by restoring the
-			// previous listener)
-			currentObservableCreatedSet.set(lastObservableCreatedSet);
-			checkUnmatchedIgnore(runnable);
-			currentIgnoreCount.set(lastIgnore);
+			// Pop the frame off the top of the stack (by restoring the
+			// previous frame)
+			state.collectFrame = lastFrame;
+			checkUnmatchedIgnore(state, runnable);
+			state.ignoreCount = lastIgnore;
+			state.releaseFrame(frame);
 		}
-
-		return observableSet.toArray(new IObservable[observableSet.size()]);
 	}
 
-	private static void checkUnmatchedIgnore(Runnable runnable) {
-		if (isIgnore()) {
+	private static void checkUnmatchedIgnore(State state, Runnable runnable) {
+		if (state.ignoreCount > 0) {
 			Policy.getLog()
 					.log(new Status(
 							IStatus.ERROR,
 							Policy.JFACE_DATABINDING,
 							"There were " //$NON-NLS-1$
-									+ currentIgnoreCount.get()
+									+ state.ignoreCount
 									+ " unmatched setIgnore(true) invocations in runnable " //$NON-NLS-1$
 									+ runnable));
 		}
@@ -193,19 +459,13 @@ public class ObservableTracker {
 	 * @since 1.3
 	 */
 	public static void setIgnore(boolean ignore) {
-		Integer lastCount = currentIgnoreCount.get();
-
-		int newCount = (lastCount == null ? 0 : lastCount.intValue())
-				+ (ignore ? 1 : -1);
+		State state = currentState.get();
+		int newCount = state.ignoreCount + (ignore ? 1 : -1);
 
 		if (newCount < 0)
 			throw new IllegalStateException("Ignore count is already zero"); //$NON-NLS-1$
 
-		if (newCount == 0) {
-			currentIgnoreCount.remove();
-		} else {
-			currentIgnoreCount.set(Integer.valueOf(newCount));
-		}
+		state.ignoreCount = newCount;
 	}
 
 	/**
@@ -235,10 +495,6 @@ public class ObservableTracker {
 				+ Integer.toHexString(System.identityHashCode(observable));
 	}
 
-	private static boolean isIgnore() {
-		return currentIgnoreCount.get() != null;
-	}
-
 	/**
 	 * Notifies the ObservableTracker that an observable was read from. The
 	 * JavaDoc for methods that invoke this method should include the following
@@ -258,16 +514,17 @@ public class ObservableTracker {
 			Assert.isTrue(false, "Getter called outside realm of observable " //$NON-NLS-1$
 					+ toString(observable));
 
-		if (isIgnore())
+		State state = currentState.get();
+		Frame frame = state.monitorFrame;
+		if (frame == null || state.ignoreCount > 0)
 			return;
 
-		Set<IObservable> getterCalledSet = currentGetterCalledSet.get();
-		if (getterCalledSet != null && getterCalledSet.add(observable)) {
+		if (frame.add(observable)) {
 			// If anyone is listening for observable usage...
-			IChangeListener changeListener = currentChangeListener.get();
+			IChangeListener changeListener = frame.changeListener;
 			if (changeListener != null)
 				observable.addChangeListener(changeListener);
-			IStaleListener staleListener = currentStaleListener.get();
+			IStaleListener staleListener = frame.staleListener;
 			if (staleListener != null)
 				observable.addStaleListener(staleListener);
 		}
@@ -281,11 +538,10 @@ public class ObservableTracker {
 	 * @since 1.2
 	 */
 	public static void observableCreated(IObservable observable) {
-		if (isIgnore())
-			return;
-		Set<IObservable> observableCreatedSet = currentObservableCreatedSet.get();
-		if (observableCreatedSet != null) {
-			observableCreatedSet.add(observable);
+		State state = currentState.get();
+		Frame frame = state.collectFrame;
+		if (frame != null && state.ignoreCount == 0) {
+			frame.add(observable);
 		}
 	}
 }
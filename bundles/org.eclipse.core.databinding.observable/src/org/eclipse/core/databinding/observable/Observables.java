@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2019 Cerner Corporation and others.
+ * Copyright (c) 2006, 2024 Cerner Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -28,6 +28,7 @@ import org.eclipse.core.databinding.observable.list.IListChangeListener;
 import org.eclipse.core.databinding.observable.list.IObservableList;
 import org.eclipse.core.databinding.observable.list.ObservableList;
 import org.eclipse.core.databinding.observable.map.DecoratingObservableMap;
+import org.eclipse.core.databinding.observable.map.IMapChangeListener;
 import org.eclipse.core.databinding.observable.map.IObservableMap;
 import org.eclipse.core.databinding.observable.masterdetail.IObservableFactory;
 import org.eclipse.core.databinding.observable.masterdetail.MasterDetailObservables;
@@ -37,6 +38,7 @@ import org.eclipse.core.databinding.observable.set.ISetChangeListener;
 import org.eclipse.core.databinding.observable.set.ObservableSet;
 import org.eclipse.core.databinding.observable.value.DecoratingObservableValue;
 import org.eclipse.core.databinding.observable.value.IObservableValue;
+import org.eclipse.core.databinding.observable.value.IValueChangeListener;
 import org.eclipse.core.databinding.observable.value.IVetoableValue;
 import org.eclipse.core.databinding.observable.value.ValueChangingEvent;
 import org.eclipse.core.internal.databinding.observable.ConstantObservableValue;
@@ -783,4 +785,92 @@ public class Observables {
 		destination.setValue(source.getValue());
 		source.addValueChangeListener(event -> destination.setValue(event.diff.getNewValue()));
 	}
+
+	/**
+	 * Adds the given change listener to the given observable, holding the
+	 * listener weakly. Once the listener is only referenced by observables and
+	 * has been garbage collected, it no longer receives events and is removed
+	 * from the observable, as if it had been removed with
+	 * {@link IObservable#removeChangeListener(IChangeListener)}. It can also be
+	 * removed that way explicitly.
+	 * <p>
+	 * This keeps listeners whose owner was abandoned without being disposed,
+	 * for example a binding whose widgets are gone, from receiving and slowing
+	 * down the events of long-lived observables. The owner of the listener must
+	 * reference it as long as it is to be notified; a lambda which is only
+	 * passed to this method may be collected right away.
+	 * </p>
+	 * <p>
+	 * Observables which do not extend {@link AbstractObservable} or use a
+	 * {@link ChangeSupport} hold the listener strongly.
+	 * </p>
+	 *
+	 * @param observable the observable
+	 * @param listener   the listener to add; not <code>null</code>
+	 * @since 1.14
+	 */
+	public static void addWeakChangeListener(IObservable observable, IChangeListener listener) {
+		ChangeManager.addWeakly(() -> observable.addChangeListener(listener));
+	}
+
+	/**
+	 * Adds the given value change listener to the given observable, holding the
+	 * listener weakly, see
+	 * {@link #addWeakChangeListener(IObservable, IChangeListener)}.
+	 *
+	 * @param <T>        the value type
+	 * @param observable the observable
+	 * @param listener   the listener to add; not <code>null</code>
+	 * @since 1.14
+	 */
+	public static <T> void addWeakValueChangeListener(IObservableValue<T> observable,
+			IValueChangeListener<? super T> listener) {
+		ChangeManager.addWeakly(() -> observable.addValueChangeListener(listener));
+	}
+
+	/**
+	 * Adds the given list change listener to the given observable, holding the
+	 * listener weakly, see
+	 * {@link #addWeakChangeListener(IObservable, IChangeListener)}.
+	 *
+	 * @param <E>        the element type
+	 * @param observable the observable
+	 * @param listener   the listener to add; not <code>null</code>
+	 * @since 1.14
+	 */
+	public static <E> void addWeakListChangeListener(IObservableList<E> observable,
+			IListChangeListener<? super E> listener) {
+		ChangeManager.addWeakly(() -> observable.addListChangeListener(listener));
+	}
+
+	/**
+	 * Adds the given set change listener to the given observable, holding the
+	 * listener weakly, see
+	 * {@link #addWeakChangeListener(IObservable, IChangeListener)}.
+	 *
+	 * @param <E>        the element type
+	 * @param observable the observable
+	 * @param listener   the listener to add; not <code>null</code>
+	 * @since 1.14
+	 */
+	public static <E> void addWeakSetChangeListener(IObservableSet<E> observable,
+			ISetChangeListener<? super E> listener) {
+		ChangeManager.addWeakly(() -> observable.addSetChangeListener(listener));
+	}
+
+	/**
+	 * Adds the given map change listener to the given observable, holding the
+	 * listener weakly, see
+	 * {@link #addWeakChangeListener(IObservable, IChangeListener)}.
+	 *
+	 * @param <K>        the key type
+	 * @param <V>        the value type
+	 * @param observable the observable
+	 * @param listener   the listener to add; not <code>null</code>
+	 * @since 1.14
+	 */
+	public static <K, V> void addWeakMapChangeListener(IObservableMap<K, V> observable,
+			IMapChangeListener<? super K, ? super V> listener) {
+		ChangeManager.addWeakly(() -> observable.addMapChangeListener(listener));
+	}
 }
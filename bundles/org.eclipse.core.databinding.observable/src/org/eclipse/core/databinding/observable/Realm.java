@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2015 IBM Corporation and others.
+ * Copyright (c) 2006, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,6 +22,7 @@ import java.util.TimerTask;
 
 import org.eclipse.core.databinding.util.Policy;
 import org.eclipse.core.internal.databinding.observable.Queue;
+import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.SafeRunner;
@@ -128,6 +129,12 @@ public abstract class Realm {
 
 	Queue workQueue = new Queue();
 
+	/**
+	 * The batch collecting the events of this realm, <code>null</code> if no
+	 * batch is running.
+	 */
+	RealmBatch batch;
+
 	/**
 	 * Runs the given runnable. If an exception occurs within the runnable, it is
 	 * logged and not re-thrown. If the runnable implements {@link ISafeRunnable},
@@ -324,6 +331,44 @@ public abstract class Realm {
 		}
 	}
 
+	/**
+	 * Runs the given runnable and defers the change events fired by the
+	 * observables of this realm until the runnable has completed. The change
+	 * events of each observable are then merged, so that each listener of an
+	 * observable is notified at most once, with a diff describing all changes
+	 * made by the runnable. Vetoable events such as
+	 * {@link org.eclipse.core.databinding.observable.value.ValueChangingEvent}
+	 * are still fired right away.
+	 * <p>
+	 * Listeners are not notified while the runnable is running, so observables
+	 * derived from the changed observables, such as computed values, are only
+	 * updated after the batch. Nested batches are part of the outermost batch.
+	 * If the runnable throws an exception, the events collected so far are
+	 * fired before the exception is propagated.
+	 * </p>
+	 * <p>
+	 * This method must be called from within this realm.
+	 * </p>
+	 *
+	 * @param runnable {@link Runnable} to execute
+	 * @since 1.14
+	 */
+	public void batch(Runnable runnable) {
+		Assert.isTrue(isCurrent(), "This method must be called from within the realm"); //$NON-NLS-1$
+		if (batch != null) {
+			runnable.run();
+			return;
+		}
+		RealmBatch newBatch = new RealmBatch();
+		batch = newBatch;
+		try {
+			runnable.run();
+		} finally {
+			batch = null;
+			newBatch.fire();
+		}
+	}
+
 	/**
 	 * Sets the provided <code>realm</code> as the default for the duration of
 	 * {@link Runnable#run()} and resets the previous realm after completion.
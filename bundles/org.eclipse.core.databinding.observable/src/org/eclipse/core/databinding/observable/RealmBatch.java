@@ -0,0 +1,413 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.databinding.observable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+
+import org.eclipse.core.databinding.observable.list.ListChangeEvent;
+import org.eclipse.core.databinding.observable.list.ListDiff;
+import org.eclipse.core.databinding.observable.list.ListDiffEntry;
+import org.eclipse.core.databinding.observable.map.MapChangeEvent;
+import org.eclipse.core.databinding.observable.map.MapDiff;
+import org.eclipse.core.databinding.observable.set.SetChangeEvent;
+import org.eclipse.core.databinding.observable.set.SetDiff;
+import org.eclipse.core.databinding.observable.value.ValueChangeEvent;
+import org.eclipse.core.internal.databinding.observable.PropagationScheduler;
+
+/**
+ * Collects the change events fired in a realm during
+ * {@link Realm#batch(Runnable)} and fires them when the batch ends, merged so
+ * that each listener type of an observable is notified at most once.
+ */
+/* package */ final class RealmBatch {
+
+	private final Thread thread = Thread.currentThread();
+
+	/**
+	 * The deferred events by change manager and listener type. Observable
+	 * collections implement equals by their content, so the managers are
+	 * compared by identity.
+	 */
+	private final Map<ChangeManager, Map<Object, ObservableEvent>> events = new IdentityHashMap<>();
+
+	/**
+	 * The change managers in the order they first fired an event.
+	 */
+	private final List<ChangeManager> managers = new ArrayList<>();
+
+	/**
+	 * Defers the given event if it can be merged.
+	 *
+	 * @param manager the change manager firing the event
+	 * @param event   the event
+	 * @return <code>true</code> if the event was deferred, <code>false</code>
+	 *         if it has to be fired now
+	 */
+	boolean defer(ChangeManager manager, ObservableEvent event) {
+		if (thread != Thread.currentThread() || !isMergeable(event)) {
+			return false;
+		}
+		Map<Object, ObservableEvent> managerEvents = events.get(manager);
+		if (managerEvents == null) {
+			managerEvents = new LinkedHashMap<>(4);
+			events.put(manager, managerEvents);
+			managers.add(manager);
+		}
+		managerEvents.merge(event.getListenerType(), event, RealmBatch::merge);
+		return true;
+	}
+
+	/**
+	 * Fires the deferred events.
+	 */
+	void fire() {
+		// computed observables are notified once after all events
+		PropagationScheduler scheduler = PropagationScheduler.enter();
+		try {
+			for (ChangeManager manager : managers) {
+				for (ObservableEvent event : events.get(manager).values()) {
+					manager.dispatchEvent(event);
+				}
+			}
+		} finally {
+			events.clear();
+			managers.clear();
+			scheduler.exit();
+		}
+	}
+
+	private static boolean isMergeable(ObservableEvent event) {
+		// other events, for example vetoable ValueChangingEvents, must be fired
+		// right away
+		return event instanceof ChangeEvent || event instanceof StaleEvent || event instanceof ValueChangeEvent
+				|| event instanceof ListChangeEvent || event instanceof SetChangeEvent
+				|| event instanceof MapChangeEvent;
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static ObservableEvent merge(ObservableEvent first, ObservableEvent second) {
+		if (first instanceof ValueChangeEvent valueEvent) {
+			ValueChangeEvent other = (ValueChangeEvent) second;
+			if (Objects.equals(valueEvent.diff.getOldValue(), other.diff.getNewValue())) {
+				// the value is back, a null result drops the deferred event
+				return null;
+			}
+			return new ValueChangeEvent(valueEvent.getObservableValue(),
+					Diffs.createValueDiff(valueEvent.diff.getOldValue(), other.diff.getNewValue()));
+		}
+		if (first instanceof ListChangeEvent listEvent) {
+			return new ListChangeEvent(listEvent.getObservableList(),
+					mergeListDiffs(listEvent.diff, ((ListChangeEvent) second).diff));
+		}
+		if (first instanceof SetChangeEvent setEvent) {
+			return new SetChangeEvent(setEvent.getObservableSet(),
+					mergeSetDiffs(setEvent.diff, ((SetChangeEvent) second).diff));
+		}
+		if (first instanceof MapChangeEvent mapEvent) {
+			return new MapChangeEvent(mapEvent.getObservableMap(),
+					mergeMapDiffs(mapEvent.diff, ((MapChangeEvent) second).diff));
+		}
+		// change and stale events carry no data
+		return first;
+	}
+
+	private static <E> ListDiff<E> mergeListDiffs(ListDiff<E> first, ListDiff<E> second) {
+		MergedListDiff<E> merged;
+		if (first instanceof MergedListDiff<E> mergedFirst) {
+			merged = mergedFirst;
+		} else {
+			merged = new MergedListDiff<>();
+			merged.append(first);
+		}
+		merged.append(second);
+		return merged;
+	}
+
+	/**
+	 * The merged changes of a list. The entries of the merged diffs apply one
+	 * after another. They are only recorded during the batch, and replaced by
+	 * an equivalent sequence of removals followed by additions when they are
+	 * first read, so that elements added and removed again during the batch
+	 * are not reported.
+	 */
+	private static final class MergedListDiff<E> extends ListDiff<E> {
+		private List<ListDiffEntry<E>> entries = new ArrayList<>();
+
+		private ListDiffEntry<E>[] differences;
+
+		void append(ListDiff<E> diff) {
+			for (ListDiffEntry<E> entry : diff.getDifferences()) {
+				entries.add(entry);
+			}
+		}
+
+		@Override
+		public ListDiffEntry<E>[] getDifferences() {
+			if (differences == null) {
+				differences = normalize(entries);
+				entries = null;
+			}
+			return differences;
+		}
+
+		private static <E> ListDiffEntry<E>[] normalize(List<ListDiffEntry<E>> entries) {
+			// The entries only touch a prefix of the list, which is long
+			// enough to stay longer than every position after the removals.
+			// Its elements are simulated by their old positions and the added
+			// elements by their entries, in a tree that shifts the positions.
+			int length = 0;
+			int removals = 0;
+			for (ListDiffEntry<E> entry : entries) {
+				length = Math.max(length, entry.getPosition() + 1);
+				if (!entry.isAddition()) {
+					removals++;
+				}
+			}
+			length += removals;
+			PositionTree tree = new PositionTree(length + entries.size() - removals);
+			for (int i = 0; i < length; i++) {
+				tree.add(tree.size(), i);
+			}
+			List<ListDiffEntry<E>> additions = new ArrayList<>(entries.size() - removals);
+			List<ListDiffEntry<E>> removedEntries = new ArrayList<>();
+			for (int i = 0; i < length; i++) {
+				removedEntries.add(null);
+			}
+			for (ListDiffEntry<E> entry : entries) {
+				if (entry.isAddition()) {
+					tree.add(entry.getPosition(), length + additions.size());
+					additions.add(entry);
+				} else {
+					int node = tree.remove(entry.getPosition());
+					if (node < length) {
+						removedEntries.set(node, entry);
+					}
+				}
+			}
+
+			List<ListDiffEntry<E>> result = new ArrayList<>();
+			// from the back, so that the old positions stay valid
+			for (int i = length - 1; i >= 0; i--) {
+				ListDiffEntry<E> removal = removedEntries.get(i);
+				if (removal != null) {
+					result.add(Diffs.createListDiffEntry(i, false, removal.getElement()));
+				}
+			}
+			int[] nodes = tree.toArray();
+			for (int i = 0; i < nodes.length; i++) {
+				if (nodes[i] >= length) {
+					result.add(Diffs.createListDiffEntry(i, true, additions.get(nodes[i] - length).getElement()));
+				}
+			}
+			@SuppressWarnings("unchecked")
+			ListDiffEntry<E>[] array = (ListDiffEntry<E>[]) new ListDiffEntry<?>[result.size()];
+			return result.toArray(array);
+		}
+	}
+
+	/**
+	 * A list of node numbers which shifts the positions of the following nodes
+	 * when a node is added or removed, in O(log N). It is a treap ordered by
+	 * position, in which every node knows the size of its subtree.
+	 */
+	private static final class PositionTree {
+		private final int[] left;
+
+		private final int[] right;
+
+		private final int[] sizes;
+
+		private final int[] priorities;
+
+		private int root = -1;
+
+		/**
+		 * The trees returned by {@link #split(int, int)}
+		 */
+		private int splitLeft;
+
+		private int splitRight;
+
+		PositionTree(int capacity) {
+			left = new int[capacity];
+			right = new int[capacity];
+			sizes = new int[capacity];
+			priorities = new int[capacity];
+			Random random = new Random(capacity);
+			for (int i = 0; i < capacity; i++) {
+				priorities[i] = random.nextInt();
+			}
+		}
+
+		int size() {
+			return size(root);
+		}
+
+		/**
+		 * Inserts the given node, which must not be in the tree, at the given
+		 * position.
+		 */
+		void add(int position, int node) {
+			left[node] = -1;
+			right[node] = -1;
+			sizes[node] = 1;
+			split(root, position);
+			int rest = splitRight;
+			root = merge(merge(splitLeft, node), rest);
+		}
+
+		/**
+		 * Removes the node at the given position and returns it.
+		 */
+		int remove(int position) {
+			split(root, position);
+			int before = splitLeft;
+			split(splitRight, 1);
+			root = merge(before, splitRight);
+			return splitLeft;
+		}
+
+		int[] toArray() {
+			int[] result = new int[size()];
+			int count = 0;
+			int[] stack = new int[result.length];
+			int depth = 0;
+			int node = root;
+			while (node != -1 || depth > 0) {
+				while (node != -1) {
+					stack[depth++] = node;
+					node = left[node];
+				}
+				node = stack[--depth];
+				result[count++] = node;
+				node = right[node];
+			}
+			return result;
+		}
+
+		private int size(int node) {
+			return node == -1 ? 0 : sizes[node];
+		}
+
+		/**
+		 * Splits the given tree into the first <code>count</code> nodes and the
+		 * rest, stored in {@link #splitLeft} and {@link #splitRight}.
+		 */
+		private void split(int node, int count) {
+			if (node == -1) {
+				splitLeft = -1;
+				splitRight = -1;
+			} else if (size(left[node]) < count) {
+				split(right[node], count - size(left[node]) - 1);
+				right[node] = splitLeft;
+				sizes[node] = size(left[node]) + 1 + size(right[node]);
+				splitLeft = node;
+			} else {
+				split(left[node], count);
+				left[node] = splitRight;
+				sizes[node] = size(left[node]) + 1 + size(right[node]);
+				splitRight = node;
+			}
+		}
+
+		private int merge(int first, int second) {
+			if (first == -1) {
+				return second;
+			}
+			if (second == -1) {
+				return first;
+			}
+			if (priorities[first] > priorities[second]) {
+				right[first] = merge(right[first], second);
+				sizes[first] = size(left[first]) + 1 + size(right[first]);
+				return first;
+			}
+			left[second] = merge(first, left[second]);
+			sizes[second] = size(left[second]) + 1 + size(right[second]);
+			return second;
+		}
+	}
+
+	private static <E> SetDiff<E> mergeSetDiffs(SetDiff<E> first, SetDiff<E> second) {
+		Set<E> additions = new LinkedHashSet<>(first.getAdditions());
+		Set<E> removals = new LinkedHashSet<>(first.getRemovals());
+		for (E element : second.getRemovals()) {
+			// an element added by the first diff was never there
+			if (!additions.remove(element)) {
+				removals.add(element);
+			}
+		}
+		for (E element : second.getAdditions()) {
+			// an element removed by the first diff is back
+			if (!removals.remove(element)) {
+				additions.add(element);
+			}
+		}
+		return Diffs.createSetDiff(additions, removals);
+	}
+
+	private static <K, V> MapDiff<K, V> mergeMapDiffs(MapDiff<K, V> first, MapDiff<K, V> second) {
+		// the state before the first and after the second diff, absent keys are
+		// not contained
+		Map<K, V> oldValues = new HashMap<>();
+		Map<K, V> newValues = new HashMap<>();
+		Set<K> keys = new LinkedHashSet<>();
+		for (MapDiff<K, V> diff : List.of(first, second)) {
+			for (K key : diff.getAddedKeys()) {
+				keys.add(key);
+				newValues.put(key, diff.getNewValue(key));
+			}
+			for (K key : diff.getChangedKeys()) {
+				if (keys.add(key)) {
+					oldValues.put(key, diff.getOldValue(key));
+				}
+				newValues.put(key, diff.getNewValue(key));
+			}
+			for (K key : diff.getRemovedKeys()) {
+				if (keys.add(key)) {
+					oldValues.put(key, diff.getOldValue(key));
+				}
+				newValues.remove(key);
+			}
+		}
+		Set<K> addedKeys = new HashSet<>();
+		Set<K> removedKeys = new HashSet<>();
+		Set<K> changedKeys = new HashSet<>();
+		for (K key : keys) {
+			boolean hadKey = oldValues.containsKey(key);
+			boolean hasKey = newValues.containsKey(key);
+			if (hadKey && hasKey) {
+				if (!Objects.equals(oldValues.get(key), newValues.get(key))) {
+					changedKeys.add(key);
+				}
+			} else if (hasKey) {
+				addedKeys.add(key);
+			} else if (hadKey) {
+				removedKeys.add(key);
+			}
+		}
+		return Diffs.createMapDiff(addedKeys, removedKeys, changedKeys, oldValues, newValues);
+	}
+}
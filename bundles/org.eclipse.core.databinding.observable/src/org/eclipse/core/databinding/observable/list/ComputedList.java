@@ -1,5 +1,5 @@
 /************************************************************************************************************
- * Copyright (c) 2007, 2017 Matthew Hall and others.
+ * Copyright (c) 2007, 2024 Matthew Hall and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -32,6 +32,7 @@ import org.eclipse.core.databinding.observable.ObservableTracker;
 import org.eclipse.core.databinding.observable.Realm;
 import org.eclipse.core.databinding.observable.StaleEvent;
 import org.eclipse.core.databinding.observable.value.IObservableValue;
+import org.eclipse.core.internal.databinding.observable.PropagationScheduler;
 
 /**
  * A lazily calculated list that automatically computes and registers listeners
@@ -90,6 +91,21 @@ public abstract class ComputedList<E> extends AbstractObservableList<E> {
 
 	private IObservable[] dependencies = new IObservable[0];
 
+	/**
+	 * The dependencies of the previous calculation, which we keep listening to
+	 * while dirty, so that a recalculation reading the same observables does
+	 * not have to add and remove listeners. <code>null</code> if none.
+	 */
+	private IObservable[] previousDependencies = null;
+
+	/**
+	 * The list before the scheduled change, <code>null</code> if no change
+	 * event is scheduled
+	 */
+	private List<E> scheduledOldList;
+
+	private long calculationCount;
+
 	/**
 	 * Factory method to create {@link ComputedList} objects in an easy manner.
 	 * <p>
@@ -178,11 +194,17 @@ public abstract class ComputedList<E> extends AbstractObservableList<E> {
 	 * The IChangeListener is attached to every dependency.
 	 * </p>
 	 */
-	private class PrivateInterface implements Runnable, IChangeListener,
+	private class PrivateInterface extends PropagationScheduler.Node implements Runnable, IChangeListener,
 			IStaleListener {
 		@Override
 		public void run() {
-			cachedList = calculate();
+			calculationCount++;
+			PropagationScheduler.Node parent = PropagationScheduler.beginCalculation(this);
+			try {
+				cachedList = calculate();
+			} finally {
+				PropagationScheduler.endCalculation(this, parent);
+			}
 			if (cachedList == null)
 				cachedList = Collections.EMPTY_LIST;
 		}
@@ -197,6 +219,25 @@ public abstract class ComputedList<E> extends AbstractObservableList<E> {
 		public void handleChange(ChangeEvent event) {
 			makeDirty();
 		}
+
+		@Override
+		protected void propagate() {
+			final List<E> oldList = scheduledOldList;
+			scheduledOldList = null;
+			// Fire the "dirty" event. This implementation recomputes the new
+			// list lazily.
+			fireListChange(new ListDiff<E>() {
+				ListDiffEntry<E>[] differences;
+
+				@Override
+				public ListDiffEntry<E>[] getDifferences() {
+					if (differences == null) {
+						differences = Diffs.computeListDiff(oldList, getList()).getDifferences();
+					}
+					return differences;
+				}
+			});
+		}
 	}
 
 	private PrivateInterface privateInterface = new PrivateInterface();
@@ -225,8 +266,9 @@ public abstract class ComputedList<E> extends AbstractObservableList<E> {
 			// - Run the calculate method
 			// - While doing so, add any observable that is touched to the
 			// dependencies list
-			IObservable[] newDependencies = ObservableTracker.runAndMonitor(
-					privateInterface, privateInterface, null);
+			IObservable[] newDependencies = ObservableTracker.runAndMonitor(privateInterface, privateInterface,
+					privateInterface, previousDependencies);
+			previousDependencies = null;
 
 			// If any dependencies are stale, a stale event will be fired here
 			// even if we were already stale before recomputing. This is in case
@@ -239,12 +281,6 @@ public abstract class ComputedList<E> extends AbstractObservableList<E> {
 				}
 			}
 
-			if (!stale) {
-				for (IObservable newDependency : newDependencies) {
-					newDependency.addStaleListener(privateInterface);
-				}
-			}
-
 			dependencies = newDependencies;
 
 			dirty = false;
@@ -273,23 +309,41 @@ public abstract class ComputedList<E> extends AbstractObservableList<E> {
 
 			makeStale();
 
-			stopListening();
+			keepOrStopListening();
 
-			// copy the old list
-			final List<E> oldList = new ArrayList<>(cachedList);
-			// Fire the "dirty" event. This implementation recomputes the new
-			// list lazily.
-			fireListChange(new ListDiff<E>() {
-				ListDiffEntry<E>[] differences;
+			// The event is fired once all computed observables affected by the
+			// same change are dirty, see PropagationScheduler
+			if (scheduledOldList == null) {
+				// copy the old list
+				scheduledOldList = new ArrayList<>(cachedList);
+				PropagationScheduler.schedule(privateInterface);
+			}
+		}
+	}
 
-				@Override
-				public ListDiffEntry<E>[] getDifferences() {
-					if (differences == null) {
-						differences = Diffs.computeListDiff(oldList, getList()).getDifferences();
-					}
-					return differences;
-				}
-			});
+	/**
+	 * Returns how often the list has been calculated. Computed lists are
+	 * recalculated at most once per change of their dependencies, so this
+	 * count is useful to profile the dependency graph of an application.
+	 *
+	 * @return the number of calls to {@link #calculate()}
+	 * @since 1.14
+	 */
+	public long getCalculationCount() {
+		return calculationCount;
+	}
+
+	/**
+	 * Keeps listening to the dependencies while somebody listens to us, so
+	 * that the next calculation can reuse the listeners, see
+	 * {@link ObservableTracker#runAndMonitor(Runnable, IChangeListener, IStaleListener, IObservable[])}.
+	 */
+	private void keepOrStopListening() {
+		if (dependencies != null && hasListeners()) {
+			previousDependencies = dependencies;
+			dependencies = null;
+		} else {
+			stopListening();
 		}
 	}
 
@@ -301,6 +355,13 @@ public abstract class ComputedList<E> extends AbstractObservableList<E> {
 			}
 			dependencies = null;
 		}
+		if (previousDependencies != null) {
+			for (IObservable observable : previousDependencies) {
+				observable.removeChangeListener(privateInterface);
+				observable.removeStaleListener(privateInterface);
+			}
+			previousDependencies = null;
+		}
 	}
 
 	private void makeStale() {
@@ -0,0 +1,298 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.databinding.observable.list;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.eclipse.core.databinding.observable.Diffs;
+import org.eclipse.core.databinding.observable.IChangeListener;
+import org.eclipse.core.databinding.observable.IDisposeListener;
+import org.eclipse.core.databinding.observable.IStaleListener;
+import org.eclipse.core.databinding.observable.ObservableTracker;
+
+/**
+ * An unmodifiable observable list containing the elements of a source list
+ * which match a filter, in the order of the source list.
+ * <p>
+ * Unlike a {@link ComputedList} filtering the source list, this list does not
+ * filter the whole source list again on every change. The filter is only
+ * applied to the elements added to the source list, and the change events of
+ * this list only contain the filtered elements that were added or removed.
+ * </p>
+ * <p>
+ * This list only updates its elements from the change events of the source
+ * list while it has listeners itself, and while it does, it is disposed
+ * together with the source list. Without listeners, the filtered elements are
+ * cached on access and dropped on the next change of the source list, like a
+ * {@link ComputedList} does.
+ * The filter is expected to give the same result for an element as long as it
+ * is contained in the source list; call {@link #setFilter(Predicate)} to apply
+ * a changed filter.
+ * </p>
+ *
+ * @param <E> the type of the elements in the list
+ *
+ * @since 1.14
+ */
+public class FilteredObservableList<E> extends AbstractObservableList<E> {
+	private final IObservableList<E> source;
+
+	private Predicate<? super E> filter;
+
+	/**
+	 * The source elements which match the filter, <code>null</code> while this
+	 * list has no listeners
+	 */
+	private List<E> elements;
+
+	/**
+	 * Whether the source element at an index matches the filter
+	 */
+	private boolean[] matches;
+
+	private int sourceSize;
+
+	/**
+	 * The filtered elements computed while this list has no listeners,
+	 * <code>null</code> if the source list changed since
+	 */
+	private List<E> snapshot;
+
+	private final IChangeListener snapshotListener = event -> dropSnapshot();
+
+	private final IListChangeListener<E> listChangeListener = event -> handleListChange(event.diff);
+
+	private final IStaleListener staleListener = event -> fireStale();
+
+	private final IDisposeListener disposeListener = event -> dispose();
+
+	/**
+	 * Creates a list of the elements of the given source list which match the
+	 * given filter, in the realm of the source list.
+	 *
+	 * @param source the source list
+	 * @param filter the filter
+	 */
+	public FilteredObservableList(IObservableList<E> source, Predicate<? super E> filter) {
+		super(source.getRealm());
+		this.source = source;
+		this.filter = filter;
+	}
+
+	/**
+	 * Returns the source list.
+	 *
+	 * @return the source list
+	 */
+	public IObservableList<E> getSource() {
+		return source;
+	}
+
+	/**
+	 * Applies the given filter to the elements of the source list. Fires a list
+	 * change event containing only the elements whose match changed.
+	 *
+	 * @param filter the new filter
+	 */
+	public void setFilter(Predicate<? super E> filter) {
+		checkRealm();
+		this.filter = filter;
+		if (elements == null) {
+			dropSnapshot();
+			return;
+		}
+		List<ListDiffEntry<E>> entries = new ArrayList<>();
+		ObservableTracker.runAndIgnore(() -> {
+			int index = 0;
+			for (int i = 0; i < sourceSize; i++) {
+				E element = source.get(i);
+				boolean match = filter.test(element);
+				if (match != matches[i]) {
+					matches[i] = match;
+					if (match) {
+						elements.add(index, element);
+					} else {
+						elements.remove(index);
+					}
+					entries.add(Diffs.createListDiffEntry(index, match, element));
+				}
+				if (match) {
+					index++;
+				}
+			}
+		});
+		if (!entries.isEmpty()) {
+			fireListChange(Diffs.createListDiff(entries));
+		}
+	}
+
+	@Override
+	protected void firstListenerAdded() {
+		super.firstListenerAdded();
+		dropSnapshot();
+		elements = new ArrayList<>();
+		matches = new boolean[16];
+		sourceSize = 0;
+		ObservableTracker.runAndIgnore(() -> {
+			for (E element : source) {
+				boolean match = filter.test(element);
+				insertMatch(sourceSize, match);
+				if (match) {
+					elements.add(element);
+				}
+			}
+		});
+		source.addListChangeListener(listChangeListener);
+		source.addStaleListener(staleListener);
+		source.addDisposeListener(disposeListener);
+	}
+
+	@Override
+	protected void lastListenerRemoved() {
+		super.lastListenerRemoved();
+		removeSourceListeners();
+		elements = null;
+		matches = null;
+	}
+
+	private void removeSourceListeners() {
+		if (elements != null && !source.isDisposed()) {
+			source.removeListChangeListener(listChangeListener);
+			source.removeStaleListener(staleListener);
+			source.removeDisposeListener(disposeListener);
+		}
+	}
+
+	private void handleListChange(ListDiff<? extends E> diff) {
+		List<ListDiffEntry<E>> entries = new ArrayList<>();
+		ObservableTracker.runAndIgnore(() -> {
+			for (ListDiffEntry<? extends E> entry : diff.getDifferences()) {
+				int position = entry.getPosition();
+				E element = entry.getElement();
+				int index = countMatches(position);
+				if (entry.isAddition()) {
+					boolean match = filter.test(element);
+					insertMatch(position, match);
+					if (match) {
+						elements.add(index, element);
+						entries.add(Diffs.createListDiffEntry(index, true, element));
+					}
+				} else {
+					if (matches[position]) {
+						entries.add(Diffs.createListDiffEntry(index, false, elements.remove(index)));
+					}
+					removeMatch(position);
+				}
+			}
+		});
+		if (!entries.isEmpty()) {
+			fireListChange(Diffs.createListDiff(entries));
+		}
+	}
+
+	/**
+	 * Returns the number of source elements before the given index that match
+	 * the filter, which is the index in this list of the element at the given
+	 * source index.
+	 */
+	private int countMatches(int sourceIndex) {
+		int count = 0;
+		for (int i = 0; i < sourceIndex; i++) {
+			if (matches[i]) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private void insertMatch(int sourceIndex, boolean match) {
+		if (sourceSize == matches.length) {
+			matches = Arrays.copyOf(matches, sourceSize * 2);
+		}
+		System.arraycopy(matches, sourceIndex, matches, sourceIndex + 1, sourceSize - sourceIndex);
+		matches[sourceIndex] = match;
+		sourceSize++;
+	}
+
+	private void removeMatch(int sourceIndex) {
+		sourceSize--;
+		System.arraycopy(matches, sourceIndex + 1, matches, sourceIndex, sourceSize - sourceIndex);
+		matches[sourceSize] = false;
+	}
+
+	/**
+	 * Returns the elements of this list, filtering the source list if this
+	 * list has no listeners and the source list changed since the last access.
+	 */
+	private List<E> getElements() {
+		if (elements != null) {
+			return elements;
+		}
+		if (snapshot == null) {
+			List<E> result = new ArrayList<>();
+			ObservableTracker.runAndIgnore(() -> {
+				for (E element : source) {
+					if (filter.test(element)) {
+						result.add(element);
+					}
+				}
+			});
+			snapshot = result;
+			source.addChangeListener(snapshotListener);
+		}
+		return snapshot;
+	}
+
+	private void dropSnapshot() {
+		if (snapshot != null) {
+			snapshot = null;
+			if (!source.isDisposed()) {
+				source.removeChangeListener(snapshotListener);
+			}
+		}
+	}
+
+	@Override
+	protected int doGetSize() {
+		return getElements().size();
+	}
+
+	@Override
+	public E get(int index) {
+		ObservableTracker.getterCalled(this);
+		return getElements().get(index);
+	}
+
+	@Override
+	public Object getElementType() {
+		return source.getElementType();
+	}
+
+	@Override
+	public boolean isStale() {
+		ObservableTracker.getterCalled(this);
+		return source.isStale();
+	}
+
+	@Override
+	public synchronized void dispose() {
+		removeSourceListeners();
+		dropSnapshot();
+		super.dispose();
+	}
+}
@@ -0,0 +1,304 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.databinding.observable.list;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.core.databinding.observable.Diffs;
+import org.eclipse.core.databinding.observable.IChangeListener;
+import org.eclipse.core.databinding.observable.IDisposeListener;
+import org.eclipse.core.databinding.observable.IStaleListener;
+import org.eclipse.core.databinding.observable.ObservableTracker;
+
+/**
+ * An unmodifiable observable list containing the elements of a source list,
+ * sorted by a comparator.
+ * <p>
+ * Unlike a {@link ComputedList} sorting the source list, this list does not
+ * sort the whole source list again on every change. Elements added to the
+ * source list are inserted at the position found by a binary search, and the
+ * change events of this list only contain the elements that were added or
+ * removed. Moving an element within the source list does not change this list
+ * at all.
+ * </p>
+ * <p>
+ * The sort is stable when the whole source list is sorted, that is when this
+ * list starts listening to the source list and in
+ * {@link #setComparator(Comparator)}: elements which are equal according to
+ * the comparator are then in the order of the source list. An element added
+ * to the source list later is placed after the elements equal to it,
+ * regardless of its position in the source list, so the order of equal
+ * elements is only guaranteed to follow the source list if elements are only
+ * added at its end.
+ * </p>
+ * <p>
+ * This list only updates its elements from the change events of the source
+ * list while it has listeners itself, and while it does, it is disposed
+ * together with the source list. Without listeners, the sorted elements are
+ * cached on access and dropped on the next change of the source list, like a
+ * {@link ComputedList} does.
+ * The comparator is expected to give the same result for two elements as long
+ * as they are contained in the source list; call
+ * {@link #setComparator(Comparator)} to apply a changed order.
+ * </p>
+ *
+ * @param <E> the type of the elements in the list
+ *
+ * @since 1.14
+ */
+public class SortedObservableList<E> extends AbstractObservableList<E> {
+	private final IObservableList<E> source;
+
+	private Comparator<? super E> comparator;
+
+	/**
+	 * The source elements in sorted order, <code>null</code> while this list
+	 * has no listeners
+	 */
+	private List<E> elements;
+
+	/**
+	 * The sorted elements computed while this list has no listeners,
+	 * <code>null</code> if the source list changed since
+	 */
+	private List<E> snapshot;
+
+	private final IChangeListener snapshotListener = event -> dropSnapshot();
+
+	private final IListChangeListener<E> listChangeListener = event -> handleListChange(event.diff);
+
+	private final IStaleListener staleListener = event -> fireStale();
+
+	private final IDisposeListener disposeListener = event -> dispose();
+
+	/**
+	 * Creates a list of the elements of the given source list sorted by the
+	 * given comparator, in the realm of the source list.
+	 *
+	 * @param source     the source list
+	 * @param comparator the comparator
+	 */
+	public SortedObservableList(IObservableList<E> source, Comparator<? super E> comparator) {
+		super(source.getRealm());
+		this.source = source;
+		this.comparator = comparator;
+	}
+
+	/**
+	 * Returns the source list.
+	 *
+	 * @return the source list
+	 */
+	public IObservableList<E> getSource() {
+		return source;
+	}
+
+	/**
+	 * Sorts the elements of the source list by the given comparator. Fires a
+	 * list change event containing the minimal changes, see
+	 * {@link Diffs#computeListDiff(List, List)}.
+	 *
+	 * @param comparator the new comparator
+	 */
+	public void setComparator(Comparator<? super E> comparator) {
+		checkRealm();
+		this.comparator = comparator;
+		if (elements == null) {
+			dropSnapshot();
+			return;
+		}
+		List<E> oldElements = elements;
+		elements = sortSource(comparator);
+		ListDiff<E> diff = Diffs.computeListDiff(oldElements, elements);
+		if (!diff.isEmpty()) {
+			fireListChange(diff);
+		}
+	}
+
+	@Override
+	protected void firstListenerAdded() {
+		super.firstListenerAdded();
+		elements = snapshot != null ? snapshot : sortSource(comparator);
+		dropSnapshot();
+		source.addListChangeListener(listChangeListener);
+		source.addStaleListener(staleListener);
+		source.addDisposeListener(disposeListener);
+	}
+
+	@Override
+	protected void lastListenerRemoved() {
+		super.lastListenerRemoved();
+		removeSourceListeners();
+		elements = null;
+	}
+
+	private void removeSourceListeners() {
+		if (elements != null && !source.isDisposed()) {
+			source.removeListChangeListener(listChangeListener);
+			source.removeStaleListener(staleListener);
+			source.removeDisposeListener(disposeListener);
+		}
+	}
+
+	/**
+	 * Returns the elements of this list, sorting the source list if this list
+	 * has no listeners and the source list changed since the last access.
+	 */
+	private List<E> getElements() {
+		if (elements != null) {
+			return elements;
+		}
+		if (snapshot == null) {
+			snapshot = sortSource(comparator);
+			source.addChangeListener(snapshotListener);
+		}
+		return snapshot;
+	}
+
+	private void dropSnapshot() {
+		if (snapshot != null) {
+			snapshot = null;
+			if (!source.isDisposed()) {
+				source.removeChangeListener(snapshotListener);
+			}
+		}
+	}
+
+	private List<E> sortSource(Comparator<? super E> sortComparator) {
+		List<E> result = new ArrayList<>();
+		ObservableTracker.runAndIgnore(() -> result.addAll(source));
+		// List.sort is stable
+		result.sort(sortComparator);
+		return result;
+	}
+
+	private void handleListChange(ListDiff<? extends E> diff) {
+		// Count how often each element was added to or removed from the source
+		// list, so that an element moved within the source list stays in place
+		Map<E, int[]> counts = new IdentityHashMap<>();
+		List<E> changed = new ArrayList<>();
+		for (ListDiffEntry<? extends E> entry : diff.getDifferences()) {
+			E element = entry.getElement();
+			int[] count = counts.get(element);
+			if (count == null) {
+				count = new int[1];
+				counts.put(element, count);
+				changed.add(element);
+			}
+			count[0] += entry.isAddition() ? 1 : -1;
+		}
+
+		List<ListDiffEntry<E>> entries = new ArrayList<>();
+		ObservableTracker.runAndIgnore(() -> {
+			for (E element : changed) {
+				for (int i = counts.get(element)[0]; i < 0; i++) {
+					int index = indexOfRemoved(element);
+					elements.remove(index);
+					entries.add(Diffs.createListDiffEntry(index, false, element));
+				}
+			}
+			for (E element : changed) {
+				for (int i = counts.get(element)[0]; i > 0; i--) {
+					int index = insertionIndex(element);
+					elements.add(index, element);
+					entries.add(Diffs.createListDiffEntry(index, true, element));
+				}
+			}
+		});
+		if (!entries.isEmpty()) {
+			fireListChange(Diffs.createListDiff(entries));
+		}
+	}
+
+	/**
+	 * Returns the index after the last element comparing equal to the given
+	 * element.
+	 */
+	private int insertionIndex(E element) {
+		int low = 0;
+		int high = elements.size();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (comparator.compare(elements.get(mid), element) <= 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Returns the index of the given element, preferring the identical
+	 * element among the elements comparing equal to it.
+	 */
+	private int indexOfRemoved(E element) {
+		int end = insertionIndex(element);
+		int equalIndex = -1;
+		for (int i = end - 1; i >= 0 && comparator.compare(elements.get(i), element) == 0; i--) {
+			E candidate = elements.get(i);
+			if (candidate == element) {
+				return i;
+			}
+			if (equalIndex == -1 && Objects.equals(candidate, element)) {
+				equalIndex = i;
+			}
+		}
+		if (equalIndex != -1) {
+			return equalIndex;
+		}
+		// the comparator is not consistent with the source list
+		for (int i = 0; i < elements.size(); i++) {
+			if (Objects.equals(elements.get(i), element)) {
+				return i;
+			}
+		}
+		throw new IllegalStateException("Removed element not found: " + element); //$NON-NLS-1$
+	}
+
+	@Override
+	protected int doGetSize() {
+		return getElements().size();
+	}
+
+	@Override
+	public E get(int index) {
+		ObservableTracker.getterCalled(this);
+		return getElements().get(index);
+	}
+
+	@Override
+	public Object getElementType() {
+		return source.getElementType();
+	}
+
+	@Override
+	public boolean isStale() {
+		ObservableTracker.getterCalled(this);
+		return source.isStale();
+	}
+
+	@Override
+	public synchronized void dispose() {
+		removeSourceListeners();
+		dropSnapshot();
+		super.dispose();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2015 IBM Corporation and others.
+ * Copyright (c) 2006, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -156,7 +156,10 @@ public class WritableMap<K, V> extends ObservableMap<K, V> {
 	@Override
 	public void clear() {
 		checkRealm();
-		if (!isEmpty()) {
+		if (!hasListeners()) {
+			// nobody is interested in the diff
+			wrappedMap.clear();
+		} else if (!isEmpty()) {
 			Map<K, V> copy = new HashMap<>(wrappedMap);
 			wrappedMap.clear();
 			fireMapChange(Diffs.createMapDiffRemoveAll(copy));
@@ -170,6 +173,10 @@ public class WritableMap<K, V> extends ObservableMap<K, V> {
 	@Override
 	public void putAll(Map<? extends K, ? extends V> map) {
 		checkRealm();
+		if (!hasListeners()) {
+			wrappedMap.putAll(map);
+			return;
+		}
 		Set<K> addedKeys = new HashSet<>(map.size());
 		Map<K, V> changes = new HashMap<>(map.size());
 		for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2017 Matthew Hall and others.
+ * Copyright (c) 2008, 2024 Matthew Hall and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -31,6 +31,7 @@ import org.eclipse.core.databinding.observable.ObservableTracker;
 import org.eclipse.core.databinding.observable.Realm;
 import org.eclipse.core.databinding.observable.StaleEvent;
 import org.eclipse.core.databinding.observable.value.IObservableValue;
+import org.eclipse.core.internal.databinding.observable.PropagationScheduler;
 
 /**
  * A lazily calculated set that automatically computes and registers listeners
@@ -86,6 +87,21 @@ public abstract class ComputedSet<E> extends AbstractObservableSet<E> {
 
 	private IObservable[] dependencies = new IObservable[0];
 
+	/**
+	 * The dependencies of the previous calculation, which we keep listening to
+	 * while dirty, so that a recalculation reading the same observables does
+	 * not have to add and remove listeners. <code>null</code> if none.
+	 */
+	private IObservable[] previousDependencies = null;
+
+	/**
+	 * The set before the scheduled change, <code>null</code> if no change
+	 * event is scheduled
+	 */
+	private Set<E> scheduledOldSet;
+
+	private long calculationCount;
+
 	/**
 	 * Factory method to create {@link ComputedSet} objects in an easy manner.
 	 * <p>
@@ -174,11 +190,17 @@ public abstract class ComputedSet<E> extends AbstractObservableSet<E> {
 	 * The IChangeListener is attached to every dependency.
 	 * </p>
 	 */
-	private class PrivateInterface implements Runnable, IChangeListener,
+	private class PrivateInterface extends PropagationScheduler.Node implements Runnable, IChangeListener,
 			IStaleListener {
 		@Override
 		public void run() {
-			cachedSet = calculate();
+			calculationCount++;
+			PropagationScheduler.Node parent = PropagationScheduler.beginCalculation(this);
+			try {
+				cachedSet = calculate();
+			} finally {
+				PropagationScheduler.endCalculation(this, parent);
+			}
 			if (cachedSet == null)
 				cachedSet = Collections.EMPTY_SET;
 		}
@@ -193,6 +215,33 @@ public abstract class ComputedSet<E> extends AbstractObservableSet<E> {
 		public void handleChange(ChangeEvent event) {
 			makeDirty();
 		}
+
+		@Override
+		protected void propagate() {
+			final Set<E> oldSet = scheduledOldSet;
+			scheduledOldSet = null;
+			// Fire the "dirty" event. This implementation recomputes the new
+			// set lazily.
+			fireSetChange(new SetDiff<E>() {
+				SetDiff<E> delegate;
+
+				private SetDiff<E> getDelegate() {
+					if (delegate == null)
+						delegate = Diffs.computeLazySetDiff(oldSet, getSet());
+					return delegate;
+				}
+
+				@Override
+				public Set<E> getAdditions() {
+					return getDelegate().getAdditions();
+				}
+
+				@Override
+				public Set<E> getRemovals() {
+					return getDelegate().getRemovals();
+				}
+			});
+		}
 	}
 
 	private PrivateInterface privateInterface = new PrivateInterface();
@@ -219,8 +268,9 @@ public abstract class ComputedSet<E> extends AbstractObservableSet<E> {
 			// - Run the calculate method
 			// - While doing so, add any observable that is touched to the
 			// dependencies list
-			IObservable[] newDependencies = ObservableTracker.runAndMonitor(
-privateInterface, privateInterface, null);
+			IObservable[] newDependencies = ObservableTracker.runAndMonitor(privateInterface, privateInterface,
+					privateInterface, previousDependencies);
+			previousDependencies = null;
 
 			// If any dependencies are stale, a stale event will be fired here
 			// even if we were already stale before recomputing. This is in case
@@ -233,12 +283,6 @@ privateInterface, privateInterface, null);
 				}
 			}
 
-			if (!stale) {
-				for (IObservable newDependency : newDependencies) {
-					newDependency.addStaleListener(privateInterface);
-				}
-			}
-
 			dependencies = newDependencies;
 
 			dirty = false;
@@ -265,32 +309,45 @@ privateInterface, privateInterface, null);
 			// bug 414297: moved before makeStale(), as cachedSet may be
 			// overwritten
 			// in makeStale() if a listener calls isStale()
-			final Set<E> oldSet = new HashSet<>(cachedSet);
+			boolean schedule = scheduledOldSet == null;
+			if (schedule) {
+				scheduledOldSet = new HashSet<>(cachedSet);
+			}
 			makeStale();
 
-			stopListening();
+			keepOrStopListening();
 
-			// Fire the "dirty" event. This implementation recomputes the new
-			// set lazily.
-			fireSetChange(new SetDiff<E>() {
-				SetDiff<E> delegate;
-
-				private SetDiff<E> getDelegate() {
-					if (delegate == null)
-						delegate = Diffs.computeSetDiff(oldSet, getSet());
-					return delegate;
-				}
+			// The event is fired once all computed observables affected by the
+			// same change are dirty, see PropagationScheduler
+			if (schedule) {
+				PropagationScheduler.schedule(privateInterface);
+			}
+		}
+	}
 
-				@Override
-				public Set<E> getAdditions() {
-					return getDelegate().getAdditions();
-				}
+	/**
+	 * Returns how often the set has been calculated. Computed sets are
+	 * recalculated at most once per change of their dependencies, so this
+	 * count is useful to profile the dependency graph of an application.
+	 *
+	 * @return the number of calls to {@link #calculate()}
+	 * @since 1.14
+	 */
+	public long getCalculationCount() {
+		return calculationCount;
+	}
 
-				@Override
-				public Set<E> getRemovals() {
-					return getDelegate().getRemovals();
-				}
-			});
+	/**
+	 * Keeps listening to the dependencies while somebody listens to us, so
+	 * that the next calculation can reuse the listeners, see
+	 * {@link ObservableTracker#runAndMonitor(Runnable, IChangeListener, IStaleListener, IObservable[])}.
+	 */
+	private void keepOrStopListening() {
+		if (dependencies != null && hasListeners()) {
+			previousDependencies = dependencies;
+			dependencies = null;
+		} else {
+			stopListening();
 		}
 	}
 
@@ -302,6 +359,13 @@ privateInterface, privateInterface, null);
 			}
 			dependencies = null;
 		}
+		if (previousDependencies != null) {
+			for (IObservable observable : previousDependencies) {
+				observable.removeChangeListener(privateInterface);
+				observable.removeStaleListener(privateInterface);
+			}
+			previousDependencies = null;
+		}
 	}
 
 	private void makeStale() {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006-2008, 2015 IBM Corporation and others.
+ * Copyright (c) 2006-2008, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -103,6 +103,10 @@ public class WritableSet<E> extends ObservableSet<E> {
 	@Override
 	public boolean addAll(Collection<? extends E> c) {
 		getterCalled();
+		if (!hasListeners()) {
+			// nobody is interested in the diff
+			return wrappedSet.addAll(c);
+		}
 		Set<E> additions = new HashSet<>();
 		Iterator<? extends E> it = c.iterator();
 		while (it.hasNext()) {
@@ -136,6 +140,9 @@ public class WritableSet<E> extends ObservableSet<E> {
 	@Override
 	public boolean removeAll(Collection<?> c) {
 		getterCalled();
+		if (!hasListeners()) {
+			return wrappedSet.removeAll(c);
+		}
 		Set<E> removes = new HashSet<>();
 		Iterator<?> it = c.iterator();
 		while (it.hasNext()) {
@@ -155,6 +162,9 @@ public class WritableSet<E> extends ObservableSet<E> {
 	@Override
 	public boolean retainAll(Collection<?> c) {
 		getterCalled();
+		if (!hasListeners()) {
+			return wrappedSet.retainAll(c);
+		}
 		Set<E> removes = new HashSet<>();
 		Iterator<E> it = wrappedSet.iterator();
 		while (it.hasNext()) {
@@ -175,6 +185,10 @@ public class WritableSet<E> extends ObservableSet<E> {
 	@Override
 	public void clear() {
 		getterCalled();
+		if (!hasListeners()) {
+			wrappedSet.clear();
+			return;
+		}
 		Set<E> removes = new HashSet<>(wrappedSet);
 		Set<E> additions = Collections.emptySet();
 		wrappedSet.clear();
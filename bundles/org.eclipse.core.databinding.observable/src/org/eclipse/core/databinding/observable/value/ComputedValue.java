@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2017 IBM Corporation and others.
+ * Copyright (c) 2005, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -28,6 +28,7 @@ import org.eclipse.core.databinding.observable.ObservableTracker;
 import org.eclipse.core.databinding.observable.Realm;
 import org.eclipse.core.databinding.observable.StaleEvent;
 import org.eclipse.core.databinding.observable.list.IObservableList;
+import org.eclipse.core.internal.databinding.observable.PropagationScheduler;
 
 /**
  * A Lazily calculated value that automatically computes and registers listeners
@@ -86,6 +87,25 @@ public abstract class ComputedValue<T> extends AbstractObservableValue<T> {
 	 */
 	private IObservable[] dependencies = null;
 
+	/**
+	 * The dependencies of the previous calculation, which we keep listening to
+	 * while dirty, so that a recalculation reading the same observables does
+	 * not have to add and remove listeners. <code>null</code> if none.
+	 */
+	private IObservable[] previousDependencies = null;
+
+	/**
+	 * Whether the change event of this value is scheduled
+	 */
+	private boolean scheduled = false;
+
+	/**
+	 * The value before the scheduled change
+	 */
+	private T scheduledOldValue = null;
+
+	private long calculationCount;
+
 	/**
 	 * Factory method to create {@link ComputedValue} objects in an easy manner.
 	 * <p>
@@ -161,11 +181,39 @@ public abstract class ComputedValue<T> extends AbstractObservableValue<T> {
 	 * The IChangeListener is attached to every dependency.
 	 * </p>
 	 */
-	private class PrivateInterface implements Runnable, IChangeListener,
+	private class PrivateInterface extends PropagationScheduler.Node implements Runnable, IChangeListener,
 			IStaleListener {
 		@Override
 		public void run() {
-			cachedValue = calculate();
+			calculationCount++;
+			PropagationScheduler.Node parent = PropagationScheduler.beginCalculation(this);
+			try {
+				cachedValue = calculate();
+			} finally {
+				PropagationScheduler.endCalculation(this, parent);
+			}
+		}
+
+		@Override
+		protected void propagate() {
+			scheduled = false;
+			// copy the old value
+			final T oldValue = scheduledOldValue;
+			scheduledOldValue = null;
+			// Fire the "dirty" event. This implementation recomputes the new
+			// value lazily.
+			fireValueChange(new ValueDiff<T>() {
+
+				@Override
+				public T getOldValue() {
+					return oldValue;
+				}
+
+				@Override
+				public T getNewValue() {
+					return getValue();
+				}
+			});
 		}
 
 		@Override
@@ -193,16 +241,15 @@ public abstract class ComputedValue<T> extends AbstractObservableValue<T> {
 			// - Run the calculate method
 			// - While doing so, add any observable that is touched to the
 			// dependencies list
-			IObservable[] newDependencies = ObservableTracker.runAndMonitor(
-					privateInterface, privateInterface, null);
+			IObservable[] newDependencies = ObservableTracker.runAndMonitor(privateInterface, privateInterface,
+					privateInterface, previousDependencies);
+			previousDependencies = null;
 
 			stale = false;
 			for (IObservable observable : newDependencies) {
-				// Add a change listener to the new dependency.
 				if (observable.isStale()) {
 					stale = true;
-				} else {
-					observable.addStaleListener(privateInterface);
+					break;
 				}
 			}
 
@@ -228,24 +275,41 @@ public abstract class ComputedValue<T> extends AbstractObservableValue<T> {
 		if (!dirty) {
 			dirty = true;
 
-			stopListening();
+			keepOrStopListening();
 
-			// copy the old value
-			final T oldValue = cachedValue;
-			// Fire the "dirty" event. This implementation recomputes the new
-			// value lazily.
-			fireValueChange(new ValueDiff<T>() {
+			// The event is fired once all computed observables affected by the
+			// same change are dirty, see PropagationScheduler
+			if (!scheduled) {
+				scheduled = true;
+				scheduledOldValue = cachedValue;
+				PropagationScheduler.schedule(privateInterface);
+			}
+		}
+	}
 
-				@Override
-				public T getOldValue() {
-					return oldValue;
-				}
+	/**
+	 * Returns how often the value has been calculated. Computed values are
+	 * recalculated at most once per change of their dependencies, so this
+	 * count is useful to profile the dependency graph of an application.
+	 *
+	 * @return the number of calls to {@link #calculate()}
+	 * @since 1.14
+	 */
+	public long getCalculationCount() {
+		return calculationCount;
+	}
 
-				@Override
-				public T getNewValue() {
-					return getValue();
-				}
-			});
+	/**
+	 * Keeps listening to the dependencies while somebody listens to us, so
+	 * that the next calculation can reuse the listeners, see
+	 * {@link ObservableTracker#runAndMonitor(Runnable, IChangeListener, IStaleListener, IObservable[])}.
+	 */
+	private void keepOrStopListening() {
+		if (dependencies != null && hasListeners()) {
+			previousDependencies = dependencies;
+			dependencies = null;
+		} else {
+			stopListening();
 		}
 	}
 
@@ -258,6 +322,13 @@ public abstract class ComputedValue<T> extends AbstractObservableValue<T> {
 			}
 			dependencies = null;
 		}
+		if (previousDependencies != null) {
+			for (IObservable observable : previousDependencies) {
+				observable.removeChangeListener(privateInterface);
+				observable.removeStaleListener(privateInterface);
+			}
+			previousDependencies = null;
+		}
 	}
 
 	@Override
@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.internal.databinding.observable;
+
+import java.util.PriorityQueue;
+
+/**
+ * Orders the change notifications of computed observables, so that a computed
+ * observable depending on other computed observables is notified after all of
+ * them.
+ * <p>
+ * When a dependency of a computed observable changes, the computed observable
+ * only marks itself dirty and {@link #schedule(Node) schedules} its change
+ * event. The scheduled events are fired when the outermost event dispatch of
+ * the thread has completed, lowest level first. The level of a node is one
+ * more than the highest level of the nodes it depends on. The dependencies
+ * are learned when a node is calculated while another node is calculated, and
+ * when a node is made dirty by the event of another node. In a diamond shaped
+ * dependency graph, all computed observables depending on a changed
+ * observable are therefore dirty before the listeners of any of them run, so
+ * no listener sees an inconsistent intermediate state, and each computed
+ * observable is notified and recomputed once per change.
+ * </p>
+ * <p>
+ * An event dispatch to a single listener does not need to be bracketed by
+ * {@link #enter()} and {@link #exit()}: the events scheduled by the listener
+ * can be fired right away, as no other listener of the event is left to make
+ * a computed observable dirty.
+ * </p>
+ */
+public final class PropagationScheduler {
+
+	/**
+	 * A computed observable taking part in the propagation.
+	 */
+	public abstract static class Node {
+		int level = 1;
+
+		/**
+		 * Fires the change event of the dirty computed observable.
+		 */
+		protected abstract void propagate();
+	}
+
+	private static final class Scheduled implements Comparable<Scheduled> {
+		final Node node;
+
+		final int level;
+
+		final long sequence;
+
+		Scheduled(Node node, int level, long sequence) {
+			this.node = node;
+			this.level = level;
+			this.sequence = sequence;
+		}
+
+		@Override
+		public int compareTo(Scheduled other) {
+			if (level != other.level) {
+				return Integer.compare(level, other.level);
+			}
+			return Long.compare(sequence, other.sequence);
+		}
+	}
+
+	private static final ThreadLocal<PropagationScheduler> CURRENT = ThreadLocal
+			.withInitial(PropagationScheduler::new);
+
+	private final PriorityQueue<Scheduled> queue = new PriorityQueue<>();
+
+	/**
+	 * The number of event dispatches in progress, including the flush of the
+	 * queue.
+	 */
+	private int depth;
+
+	/**
+	 * The level of the node whose event is fired, 0 outside of a flush.
+	 */
+	private int currentLevel;
+
+	private long sequence;
+
+	/**
+	 * The node being calculated, <code>null</code> if none.
+	 */
+	private Node calculating;
+
+	private PropagationScheduler() {
+	}
+
+	/**
+	 * Marks the start of an event dispatch on the current thread. Must be
+	 * followed by a call to {@link #exit()} on the returned scheduler.
+	 *
+	 * @return the scheduler of the current thread
+	 */
+	public static PropagationScheduler enter() {
+		PropagationScheduler scheduler = CURRENT.get();
+		scheduler.depth++;
+		return scheduler;
+	}
+
+	/**
+	 * Marks the end of an event dispatch, firing the scheduled events if it was
+	 * the outermost one.
+	 */
+	public void exit() {
+		if (--depth == 0 && !queue.isEmpty()) {
+			flush();
+		}
+	}
+
+	/**
+	 * Marks the start of the calculation of the given node. Must be followed by
+	 * a call to {@link #endCalculation(Node, Node)}.
+	 *
+	 * @param node the node
+	 * @return the node whose calculation was in progress, to be passed to
+	 *         {@link #endCalculation(Node, Node)}
+	 */
+	public static Node beginCalculation(Node node) {
+		PropagationScheduler scheduler = CURRENT.get();
+		Node parent = scheduler.calculating;
+		scheduler.calculating = node;
+		return parent;
+	}
+
+	/**
+	 * Marks the end of the calculation of the given node. The node whose
+	 * calculation was interrupted depends on the node.
+	 *
+	 * @param node   the node
+	 * @param parent the result of {@link #beginCalculation(Node)}
+	 */
+	public static void endCalculation(Node node, Node parent) {
+		CURRENT.get().calculating = parent;
+		if (parent != null) {
+			parent.level = Math.max(parent.level, node.level + 1);
+		}
+	}
+
+	/**
+	 * Schedules the change event of the given dirty node. The event is fired
+	 * right away if no event dispatch is in progress.
+	 *
+	 * @param node the node
+	 */
+	public static void schedule(Node node) {
+		PropagationScheduler scheduler = CURRENT.get();
+		node.level = Math.max(node.level, scheduler.currentLevel + 1);
+		scheduler.queue.add(new Scheduled(node, node.level, scheduler.sequence++));
+		if (scheduler.depth == 0) {
+			scheduler.flush();
+		}
+	}
+
+	private void flush() {
+		depth++;
+		int previousLevel = currentLevel;
+		try {
+			Scheduled next;
+			while ((next = queue.poll()) != null) {
+				currentLevel = next.level;
+				next.node.propagate();
+			}
+		} finally {
+			currentLevel = previousLevel;
+			depth--;
+			if (depth == 0 && !queue.isEmpty()) {
+				// a listener threw an exception, the other nodes still have to
+				// be notified
+				flush();
+			}
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2017 Matthew Hall and others.
+ * Copyright (c) 2008, 2024 Matthew Hall and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -58,9 +58,14 @@ public class DetailObservableMap<M, K, V> extends ObservableMap<K, V>implements
 			return;
 		ObservableTracker.setIgnore(true);
 		try {
-			Map<K, V> oldMap = new HashMap<>(wrappedMap);
-			updateDetailMap();
-			fireMapChange(Diffs.computeMapDiff(oldMap, wrappedMap));
+			if (hasListeners()) {
+				Map<K, V> oldMap = new HashMap<>(wrappedMap);
+				updateDetailMap();
+				fireMapChange(Diffs.computeMapDiff(oldMap, wrappedMap));
+			} else {
+				// nobody is interested in the diff
+				updateDetailMap();
+			}
 		} finally {
 			ObservableTracker.setIgnore(false);
 		}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2017 IBM Corporation and others.
+ * Copyright (c) 2005, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -89,9 +89,14 @@ public class DetailObservableSet<M, E> extends ObservableSet<E>implements IObser
 			return;
 		ObservableTracker.setIgnore(true);
 		try {
-			Set<E> oldSet = new HashSet<>(wrappedSet);
-			updateInnerObservableSet();
-			fireSetChange(Diffs.computeSetDiff(oldSet, wrappedSet));
+			if (hasListeners()) {
+				Set<E> oldSet = new HashSet<>(wrappedSet);
+				updateInnerObservableSet();
+				fireSetChange(Diffs.computeSetDiff(oldSet, wrappedSet));
+			} else {
+				// nobody is interested in the diff
+				updateInnerObservableSet();
+			}
 		} finally {
 			ObservableTracker.setIgnore(false);
 		}
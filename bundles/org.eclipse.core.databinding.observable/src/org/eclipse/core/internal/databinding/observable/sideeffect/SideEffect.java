@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015 Google, Inc. and others.
+ * Copyright (c) 2015, 2024 Google, Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -88,6 +88,11 @@ public final class SideEffect implements ISideEffect {
 	 * realm.asyncExec
 	 */
 	private boolean asyncScheduled;
+	/**
+	 * True while {@link #runnable} is executing. Changes made by the runnable
+	 * itself do not dirty the side-effect.
+	 */
+	private boolean running;
 	private int pauseDepth;
 	private Runnable runnable;
 	/**
@@ -184,31 +189,40 @@ public final class SideEffect implements ISideEffect {
 	private void update() {
 		if (dirty && pauseDepth <= 0) {
 			dirty = false;
-			// Hold a reference to the old dependencies to prevent them from
-			// being garbage collected until we've computed the new set. In the
-			// event that a dependency is lazily created, this prevents it from
-			// being destroyed and immediately recreated.
-
-			// Stop listening for dependency changes.
-			stopListening();
+			// Keep listening to the old dependencies while running, so that
+			// a dependency which is read again keeps its listener. In the
+			// event that a dependency is lazily created, this also prevents it
+			// from being destroyed and immediately recreated.
+			IObservable[] oldDependencies = dependencies;
+			dependencies = null;
 
 			// This line will do the following:
 			// - Run the calculate method
 			// - While doing so, add any observable that is touched to the
-			// dependencies list
-			IObservable[] newDependencies = ObservableTracker.runAndMonitor(runnable, null, null);
-
-			// If the side-effect disposed itself, exit without attaching any
-			// listeners.
-			if (isDisposed()) {
-				return;
-			}
-
-			for (IObservable next : newDependencies) {
-				next.addChangeListener(privateInterface);
+			// dependencies list and listen to it
+			IObservable[] newDependencies;
+			running = true;
+			try {
+				newDependencies = ObservableTracker.runAndMonitor(runnable, privateInterface, null,
+						oldDependencies);
+			} catch (RuntimeException | Error e) {
+				dependencies = oldDependencies;
+				if (isDisposed()) {
+					stopListening();
+					dependencies = null;
+				}
+				throw e;
+			} finally {
+				running = false;
 			}
 
 			dependencies = newDependencies;
+
+			// If the side-effect disposed itself, stop listening again.
+			if (isDisposed()) {
+				stopListening();
+				dependencies = null;
+			}
 		}
 	}
 
@@ -284,7 +298,7 @@ public final class SideEffect implements ISideEffect {
 	}
 
 	private void markDirtyInternal() {
-		if (!dirty) {
+		if (!dirty && !running) {
 			dirty = true;
 
 			if (pauseDepth <= 0) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2017 Matthew Hall and others.
+ * Copyright (c) 2008, 2024 Matthew Hall and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -112,7 +112,7 @@ public class SimplePropertyObservableMap<S, K, V> extends AbstractObservableMap<
 		if (listener != null)
 			listener.removeFrom(source);
 
-		cachedMap.clear();
+		// not cleared, a diff fired before may still refer to it
 		cachedMap = null;
 		stale = false;
 	}
@@ -315,7 +315,7 @@ public class SimplePropertyObservableMap<S, K, V> extends AbstractObservableMap<
 			Map<K, V> oldMap = cachedMap;
 			Map<K, V> newMap = cachedMap = new HashMap<>(getMap());
 			if (diff == null)
-				diff = Diffs.computeMapDiff(oldMap, newMap);
+				diff = Diffs.computeLazyMapDiff(oldMap, newMap);
 			if (!diff.isEmpty() || stale) {
 				stale = false;
 				fireMapChange(diff);
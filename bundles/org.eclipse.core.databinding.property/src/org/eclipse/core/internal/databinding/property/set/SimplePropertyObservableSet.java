@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2017 Matthew Hall and others.
+ * Copyright (c) 2008, 2024 Matthew Hall and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -91,7 +91,7 @@ public class SimplePropertyObservableSet<S, E> extends AbstractObservableSet<E>
 		if (listener != null)
 			listener.removeFrom(source);
 
-		cachedSet.clear();
+		// not cleared, a diff fired before may still refer to it
 		cachedSet = null;
 		stale = false;
 	}
@@ -327,7 +327,7 @@ public class SimplePropertyObservableSet<S, E> extends AbstractObservableSet<E>
 			Set<E> oldSet = cachedSet;
 			Set<E> newSet = cachedSet = new HashSet<>(getSet());
 			if (diff == null)
-				diff = Diffs.computeSetDiff(oldSet, newSet);
+				diff = Diffs.computeLazySetDiff(oldSet, newSet);
 			if (!diff.isEmpty() || stale) {
 				stale = false;
 				fireSetChange(diff);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2017 IBM Corporation and others.
+ * Copyright (c) 2007, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -99,6 +99,13 @@ import org.eclipse.core.runtime.Status;
  * {@link #POLICY_NEVER}, {@link #POLICY_CONVERT}, {@link #POLICY_ON_REQUEST},
  * {@link #POLICY_UPDATE}).
  * </p>
+ * <p>
+ * Throttling:<br>
+ * When the destination observable belongs to another realm than the source
+ * observable, for example a UI observable bound to a model observable of an
+ * {@link org.eclipse.core.databinding.observable.ExecutorRealm}, the updates
+ * of the destination can be throttled with {@link #setThrottleDelay(int)}.
+ * </p>
  *
  * @param <S> the type of the value on the source side (i.e. the model side if
  *            this is a model-to-target update and the target side if this is a
@@ -164,6 +171,8 @@ public class UpdateValueStrategy<S, D> extends UpdateStrategy<S, D> {
 
 	private int updatePolicy;
 
+	private int throttleDelay = -1;
+
 	private static ValidatorRegistry validatorRegistry = new ValidatorRegistry();
 	private static ConcurrentMap<IConverter<?, ?>, IValidator<?>> validatorsByConverter = new ConcurrentHashMap<>();
 
@@ -371,6 +380,43 @@ public class UpdateValueStrategy<S, D> extends UpdateStrategy<S, D> {
 		return updatePolicy;
 	}
 
+	/**
+	 * Sets the minimum number of milliseconds between two updates of the
+	 * destination observable, if the destination belongs to another realm than
+	 * the source. The value is validated and converted in the realm of the
+	 * source as usual, but only the latest converted value is handed over to
+	 * the realm of the destination. Values converted while an update of the
+	 * destination is pending replace the pending value, so stale intermediate
+	 * values are never set.
+	 * <p>
+	 * A delay of 16 milliseconds limits the updates of a UI observable to about
+	 * one per frame. A delay of 0 does not delay the updates, but still drops
+	 * the values that are superseded before the realm of the destination gets
+	 * to them. A negative delay, the default, hands over every value.
+	 * </p>
+	 *
+	 * @param milliseconds the delay in milliseconds, or -1 to disable
+	 *                     throttling
+	 * @return the receiver, to enable method call chaining
+	 * @since 1.14
+	 */
+	public UpdateValueStrategy<S, D> setThrottleDelay(int milliseconds) {
+		this.throttleDelay = milliseconds;
+		return this;
+	}
+
+	/**
+	 * Returns the minimum number of milliseconds between two updates of a
+	 * destination in another realm, see {@link #setThrottleDelay(int)}.
+	 *
+	 * @return the delay in milliseconds, or a negative number if the updates
+	 *         are not throttled
+	 * @since 1.14
+	 */
+	public int getThrottleDelay() {
+		return throttleDelay;
+	}
+
 	/**
 	 * Sets the validator to be invoked after the source value is converted to the
 	 * type of the destination observable.
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 IBM Corporation and others.
+ * Copyright (c) 2007, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -39,6 +39,13 @@ class ValueBinding<M, T> extends Binding {
 
 	private boolean updatingTarget;
 	private boolean updatingModel;
+
+	/**
+	 * The pending throttled updates of the target and the model, created on
+	 * demand
+	 */
+	private ThrottledUpdate throttledTargetUpdate;
+	private ThrottledUpdate throttledModelUpdate;
 	private IValueChangeListener<T> targetChangeListener = new IValueChangeListener<>() {
 		@Override
 		public void handleValueChange(ValueChangeEvent<? extends T> event) {
@@ -195,8 +202,7 @@ class ValueBinding<M, T> extends Binding {
 				}
 
 				// Set value
-				destinationRealmReached = true;
-				execAfterDisposalCheck(destination, () -> {
+				Runnable setValue = () -> {
 					if (destination == target) {
 						updatingTarget = true;
 					} else {
@@ -214,7 +220,15 @@ class ValueBinding<M, T> extends Binding {
 						}
 						setValidationStatus(multiStatus);
 					}
-				});
+				};
+				int throttleDelay = updateValueStrategy.getThrottleDelay();
+				if (throttleDelay >= 0 && !destination.getRealm().isCurrent()) {
+					getThrottledUpdate(destination).schedule(setValue, throttleDelay);
+					destinationRealmReached = true;
+				} else {
+					destinationRealmReached = true;
+					execAfterDisposalCheck(destination, setValue);
+				}
 			} catch (Exception ex) {
 				// This check is necessary as in 3.2.2 Status
 				// doesn't accept a null message (bug 177264).
@@ -223,6 +237,10 @@ class ValueBinding<M, T> extends Binding {
 						new Status(IStatus.ERROR, Policy.JFACE_DATABINDING, IStatus.ERROR, message, ex));
 			} finally {
 				if (!destinationRealmReached) {
+					if (multiStatus.matches(IStatus.ERROR | IStatus.CANCEL)) {
+						// a pending older value must not replace this status
+						cancelThrottledUpdate(destination);
+					}
 					setValidationStatus(multiStatus);
 				}
 
@@ -240,6 +258,79 @@ class ValueBinding<M, T> extends Binding {
 		doUpdate(target, model, targetToModel, true, true);
 	}
 
+	private synchronized ThrottledUpdate getThrottledUpdate(IObservableValue<?> destination) {
+		if (destination == target) {
+			if (throttledTargetUpdate == null) {
+				throttledTargetUpdate = new ThrottledUpdate(destination);
+			}
+			return throttledTargetUpdate;
+		}
+		if (throttledModelUpdate == null) {
+			throttledModelUpdate = new ThrottledUpdate(destination);
+		}
+		return throttledModelUpdate;
+	}
+
+	private synchronized void cancelThrottledUpdate(IObservableValue<?> destination) {
+		ThrottledUpdate throttledUpdate = destination == target ? throttledTargetUpdate : throttledModelUpdate;
+		if (throttledUpdate != null) {
+			throttledUpdate.cancel();
+		}
+	}
+
+	/**
+	 * Hands the latest update of a destination over to its realm, at most once
+	 * per delay. Updates superseded by a later update are dropped.
+	 */
+	private final class ThrottledUpdate implements Runnable {
+		private final IObservableValue<?> destination;
+
+		/**
+		 * The latest update, or <code>null</code> if none is pending
+		 */
+		private Runnable pending;
+
+		ThrottledUpdate(IObservableValue<?> destination) {
+			this.destination = destination;
+		}
+
+		void schedule(Runnable update, int delay) {
+			synchronized (this) {
+				boolean scheduled = pending != null;
+				pending = update;
+				if (scheduled) {
+					return;
+				}
+			}
+			try {
+				destination.getRealm().timerExec(delay, this);
+			} catch (RuntimeException e) {
+				// the realm does not accept runnables, e.g. because its
+				// executor was shut down, later updates have to try again
+				synchronized (this) {
+					pending = null;
+				}
+				throw e;
+			}
+		}
+
+		synchronized void cancel() {
+			pending = null;
+		}
+
+		@Override
+		public void run() {
+			Runnable update;
+			synchronized (this) {
+				update = pending;
+				pending = null;
+			}
+			if (update != null && !isDisposed() && !destination.isDisposed()) {
+				update.run();
+			}
+		}
+	}
+
 	private void setValidationStatus(final IStatus status) {
 		validationStatusObservable.getRealm().exec(() -> validationStatusObservable.setValue(status));
 	}
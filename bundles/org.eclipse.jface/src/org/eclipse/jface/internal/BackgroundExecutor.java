@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.jface.internal;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Internal executor for the background work of JFace, such as prefetching
+ * images, refreshing viewers and sorting deferred content. It runs the tasks
+ * in submission order on a small pool of daemon threads, which time out when
+ * idle.
+ * <p>
+ * The pool has at most four threads, so a task must not run for long. A task
+ * with more work to do must submit itself again rather than loop, so that it
+ * does not hold up the tasks of other clients.
+ * </p>
+ */
+public final class BackgroundExecutor {
+
+	private static final Executor EXECUTOR;
+
+	static {
+		int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 5, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), runnable -> {
+					Thread thread = new Thread(runnable, "JFace Background Worker"); //$NON-NLS-1$
+					thread.setDaemon(true);
+					thread.setPriority(Thread.NORM_PRIORITY - 1);
+					return thread;
+				});
+		executor.allowCoreThreadTimeOut(true);
+		EXECUTOR = executor;
+	}
+
+	private BackgroundExecutor() {
+		// not to be instantiated
+	}
+
+	/**
+	 * Returns the shared executor.
+	 *
+	 * @return the executor
+	 */
+	public static Executor getExecutor() {
+		return EXECUTOR;
+	}
+}
@@ -0,0 +1,310 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.resource;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import org.eclipse.swt.graphics.ImageData;
+
+/**
+ * A size-bounded cache of decoded {@link ImageData}, keyed by an immutable key
+ * and a zoom level. The default instance is used by the image descriptors
+ * created with {@link ImageDescriptor#createFromURL(java.net.URL)} for bundle
+ * resources, and by {@link org.eclipse.jface.viewers.DecorationOverlayIcon}
+ * for the composed overlay images, so that the same icon is decoded only once
+ * per zoom level.
+ * <p>
+ * The least recently used entries are evicted when the total size of the
+ * cached image data exceeds the maximum size. The image data is only softly
+ * referenced, so the garbage collector may evict entries as well when memory
+ * runs low. The cache hands out copies of the cached image data, so callers
+ * may modify the returned data.
+ * </p>
+ * <p>
+ * This class is thread safe. The loader is called outside of the lock of the
+ * cache, so an image may be loaded more than once when it is requested by
+ * several threads at the same time.
+ * </p>
+ *
+ * @since 3.35
+ */
+public final class ImageDataCache {
+
+	/**
+	 * The default maximum size in bytes of the default instance, can be
+	 * overridden with the system property
+	 * <code>org.eclipse.jface.resource.imageDataCacheSize</code>.
+	 */
+	private static final long DEFAULT_MAXIMUM_SIZE = 32L * 1024 * 1024;
+
+	/**
+	 * The size accounted for an image that could not be loaded.
+	 */
+	private static final int MISSING_SIZE = 64;
+
+	private static final ImageDataCache DEFAULT = new ImageDataCache(
+			Long.getLong("org.eclipse.jface.resource.imageDataCacheSize", DEFAULT_MAXIMUM_SIZE).longValue()); //$NON-NLS-1$
+
+	private static final class CacheKey {
+		private final Object key;
+
+		private final int zoom;
+
+		CacheKey(Object key, int zoom) {
+			this.key = key;
+			this.zoom = zoom;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof CacheKey other)) {
+				return false;
+			}
+			return zoom == other.zoom && key.equals(other.key);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * key.hashCode() + zoom;
+		}
+	}
+
+	private static final class Entry extends SoftReference<ImageData> {
+		final CacheKey key;
+
+		final long size;
+
+		/**
+		 * Whether the loader returned <code>null</code> for the key.
+		 */
+		final boolean missing;
+
+		Entry(CacheKey key, ImageData data, ReferenceQueue<ImageData> queue) {
+			super(data, queue);
+			this.key = key;
+			this.size = data == null ? MISSING_SIZE : sizeOf(data);
+			this.missing = data == null;
+		}
+	}
+
+	private final Map<CacheKey, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+	private final ReferenceQueue<ImageData> queue = new ReferenceQueue<>();
+
+	private long maximumSize;
+
+	private long size;
+
+	private long hitCount;
+
+	private long missCount;
+
+	private long evictionCount;
+
+	/**
+	 * Returns the cache shared by the image descriptors of this process.
+	 *
+	 * @return the default cache
+	 */
+	public static ImageDataCache getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * Creates a cache with the given maximum size.
+	 *
+	 * @param maximumSize the maximum number of bytes of image data to keep, 0
+	 *                    to disable the cache
+	 */
+	public ImageDataCache(long maximumSize) {
+		setMaximumSize(maximumSize);
+	}
+
+	/**
+	 * Returns a copy of the image data for the given key and zoom level. If the
+	 * data is not cached, it is obtained from the given loader and remembered.
+	 * A <code>null</code> result of the loader is remembered as well.
+	 *
+	 * @param key    the key of the image, must be immutable and implement
+	 *               <code>equals</code> and <code>hashCode</code>
+	 * @param zoom   the zoom level
+	 * @param loader the function loading the image data for a zoom level
+	 * @return the image data or <code>null</code> if the loader returned
+	 *         <code>null</code>
+	 */
+	public ImageData get(Object key, int zoom, IntFunction<ImageData> loader) {
+		CacheKey cacheKey = new CacheKey(key, zoom);
+		synchronized (this) {
+			expungeClearedEntries();
+			Entry entry = entries.get(cacheKey);
+			if (entry != null) {
+				ImageData data = entry.get();
+				if (data != null || entry.missing) {
+					hitCount++;
+					return data == null ? null : (ImageData) data.clone();
+				}
+			}
+			missCount++;
+		}
+		ImageData data = loader.apply(zoom);
+		synchronized (this) {
+			if (maximumSize > 0) {
+				Entry entry = new Entry(cacheKey, data, queue);
+				if (entry.size <= maximumSize) {
+					removeEntry(entries.put(cacheKey, entry));
+					size += entry.size;
+					trimToSize(maximumSize);
+				}
+			}
+		}
+		return data == null ? null : (ImageData) data.clone();
+	}
+
+	/**
+	 * Removes the image data of the given key for all zoom levels.
+	 *
+	 * @param key the key of the image
+	 */
+	public synchronized void remove(Object key) {
+		for (Iterator<Entry> iterator = entries.values().iterator(); iterator.hasNext();) {
+			Entry entry = iterator.next();
+			if (entry.key.key.equals(key)) {
+				iterator.remove();
+				size -= entry.size;
+			}
+		}
+	}
+
+	/**
+	 * Removes all entries from the cache. The statistics are not reset.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+		size = 0;
+		expungeClearedEntries();
+	}
+
+	/**
+	 * Sets the maximum number of bytes of image data to keep, evicting the least
+	 * recently used entries if necessary.
+	 *
+	 * @param maximumSize the maximum size in bytes, 0 to disable the cache
+	 */
+	public synchronized void setMaximumSize(long maximumSize) {
+		if (maximumSize < 0) {
+			throw new IllegalArgumentException("Negative maximum size: " + maximumSize); //$NON-NLS-1$
+		}
+		this.maximumSize = maximumSize;
+		trimToSize(maximumSize);
+	}
+
+	/**
+	 * Returns the maximum number of bytes of image data to keep.
+	 *
+	 * @return the maximum size in bytes, 0 if the cache is disabled
+	 */
+	public synchronized long getMaximumSize() {
+		return maximumSize;
+	}
+
+	/**
+	 * Returns the number of bytes of the cached image data.
+	 *
+	 * @return the size of the cache in bytes
+	 */
+	public synchronized long getSize() {
+		expungeClearedEntries();
+		return size;
+	}
+
+	/**
+	 * Returns how often requested image data was found in the cache.
+	 *
+	 * @return the number of hits
+	 */
+	public synchronized long getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * Returns how often requested image data had to be loaded.
+	 *
+	 * @return the number of misses
+	 */
+	public synchronized long getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * Returns how many entries were evicted because the cache exceeded its
+	 * maximum size or because the garbage collector reclaimed their data.
+	 *
+	 * @return the number of evictions
+	 */
+	public synchronized long getEvictionCount() {
+		return evictionCount;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "ImageDataCache(entries=" + entries.size() + ", size=" + size + ", hits=" + hitCount //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ ", misses=" + missCount + ", evictions=" + evictionCount + ')'; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private void trimToSize(long maximum) {
+		for (Iterator<Entry> iterator = entries.values().iterator(); size > maximum && iterator.hasNext();) {
+			Entry entry = iterator.next();
+			iterator.remove();
+			size -= entry.size;
+			evictionCount++;
+		}
+	}
+
+	/**
+	 * Removes the entries whose image data was reclaimed by the garbage
+	 * collector.
+	 */
+	private void expungeClearedEntries() {
+		Entry entry;
+		while ((entry = (Entry) queue.poll()) != null) {
+			if (entries.get(entry.key) == entry) {
+				entries.remove(entry.key);
+				size -= entry.size;
+				evictionCount++;
+			}
+		}
+	}
+
+	private void removeEntry(Entry entry) {
+		if (entry != null) {
+			size -= entry.size;
+		}
+	}
+
+	private static long sizeOf(ImageData data) {
+		long result = data.data == null ? 0 : data.data.length;
+		if (data.maskData != null) {
+			result += data.maskData.length;
+		}
+		if (data.alphaData != null) {
+			result += data.alphaData.length;
+		}
+		return result;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,6 +16,8 @@ package org.eclipse.jface.resource;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
 import org.eclipse.swt.SWTException;
@@ -204,6 +206,27 @@ public abstract class ImageDescriptor extends DeviceResourceDescriptor<Image> {
 		return new DeferredImageDescriptor(useMissingImage, supplier);
 	}
 
+	/**
+	 * Decodes the image data of the given descriptors in parallel on background
+	 * threads and keeps it in the {@link ImageDataCache}, so that creating their
+	 * images later on the display thread does not have to load and decode the
+	 * image files. The image data is loaded at 100% and at the given zoom
+	 * level. Only descriptors created with {@link #createFromURL(URL)} for
+	 * resources other than files are prefetched, the others are ignored.
+	 * <p>
+	 * This method does not block. Failures are not reported; they are reported
+	 * when the image is created.
+	 * </p>
+	 *
+	 * @param descriptors the image descriptors
+	 * @param zoom        the zoom level the images will be shown at
+	 * @return a future that completes when all image data has been loaded
+	 * @since 3.35
+	 */
+	public static CompletableFuture<Void> prefetch(Collection<? extends ImageDescriptor> descriptors, int zoom) {
+		return ImagePrefetcher.prefetch(descriptors, zoom);
+	}
+
 	/**
 	 * Convenient method to create an ImageDescriptor from an URI
 	 *
@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.resource;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.jface.internal.BackgroundExecutor;
+
+/**
+ * Decodes the image data of image descriptors on background threads, so that
+ * the image data is found in the {@link ImageDataCache} when the images are
+ * created on the display thread. See
+ * {@link ImageDescriptor#prefetch(Collection, int)}.
+ */
+/* package */ final class ImagePrefetcher {
+
+	private ImagePrefetcher() {
+		// not to be instantiated
+	}
+
+	static CompletableFuture<Void> prefetch(Collection<? extends ImageDescriptor> descriptors, int zoom) {
+		Set<URLImageDescriptor> cachedDescriptors = new LinkedHashSet<>();
+		for (ImageDescriptor descriptor : descriptors) {
+			// the image data of other descriptors would be decoded again
+			if (descriptor instanceof URLImageDescriptor urlDescriptor && urlDescriptor.isImageDataCached()) {
+				cachedDescriptors.add(urlDescriptor);
+			}
+		}
+		List<CompletableFuture<Void>> futures = new ArrayList<>(cachedDescriptors.size());
+		for (URLImageDescriptor descriptor : cachedDescriptors) {
+			futures.add(CompletableFuture.runAsync(() -> load(descriptor, zoom), BackgroundExecutor.getExecutor()));
+		}
+		return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()]));
+	}
+
+	private static void load(ImageDescriptor descriptor, int zoom) {
+		try {
+			// SWT always asks for the data at 100% when creating an image
+			descriptor.getImageData(100);
+			if (zoom != 100) {
+				descriptor.getImageData(zoom);
+			}
+		} catch (RuntimeException e) {
+			// the failure is reported when the image is created
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -128,7 +128,7 @@ class URLImageDescriptor extends ImageDescriptor implements IAdaptable {
 	@Deprecated
 	@Override
 	public ImageData getImageData() {
-		return getImageData(getURL(url));
+		return getImageData(url, 100);
 	}
 
 	@Override
@@ -137,6 +137,31 @@ class URLImageDescriptor extends ImageDescriptor implements IAdaptable {
 	}
 
 	private static ImageData getImageData(String url, int zoom) {
+		if (isCached(url)) {
+			return ImageDataCache.getDefault().get(url, zoom, z -> loadImageData(url, z));
+		}
+		return loadImageData(url, zoom);
+	}
+
+	/**
+	 * Returns whether the image data of this descriptor is kept in the
+	 * {@link ImageDataCache}.
+	 */
+	boolean isImageDataCached() {
+		return isCached(url);
+	}
+
+	/**
+	 * Returns whether the image data of the given URL is kept in the
+	 * {@link ImageDataCache}. Files may change, so only the data of other URLs,
+	 * for instance bundle resources, is cached.
+	 */
+	private static boolean isCached(String url) {
+		return !url.regionMatches(true, 0, FILE_PROTOCOL + ':', 0, FILE_PROTOCOL.length() + 1)
+				&& ImageDataCache.getDefault().getMaximumSize() > 0;
+	}
+
+	private static ImageData loadImageData(String url, int zoom) {
 		URL tempURL = getURL(url);
 		if (tempURL != null) {
 			if (zoom == 100) {
@@ -298,7 +323,8 @@ class URLImageDescriptor extends ImageDescriptor implements IAdaptable {
 		}
 		try {
 			if (InternalPolicy.DEBUG_LOAD_URL_IMAGE_DESCRIPTOR_2x) {
-				if (!InternalPolicy.DEBUG_LOAD_URL_IMAGE_DESCRIPTOR_DIRECTLY) {
+				// cached image data is cheaper than letting SWT load the file
+				if (!InternalPolicy.DEBUG_LOAD_URL_IMAGE_DESCRIPTOR_DIRECTLY && !isCached(url)) {
 					try {
 						// We really want a fresh ImageFileNameProvider instance to make
 						// sure the code that uses created images can use equals(),
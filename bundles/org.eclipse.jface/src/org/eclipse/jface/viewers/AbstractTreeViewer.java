@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -692,6 +692,22 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 		return result;
 	}
 
+	@Override
+	Object[] getBackgroundRefreshParents() {
+		Object[] parents = super.getBackgroundRefreshParents();
+		if (parents == null || getComparator() instanceof TreePathViewerSorter) {
+			return null; // sorting needs the tree paths of the items
+		}
+		if (getContentProvider() instanceof ITreeContentProvider) {
+			Object[] expanded = getExpandedElements();
+			Object[] result = new Object[expanded.length + 1];
+			result[0] = parents[0];
+			System.arraycopy(expanded, 0, result, 1, expanded.length);
+			return result;
+		}
+		return parents;
+	}
+
 	/**
 	 * Adds the given child element to this viewer as a child of the given parent
 	 * element. If this viewer does not have a sorter, the element is added at the
@@ -1456,29 +1472,14 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 					return super.getRawChildren(parent);
 				}
 				IContentProvider cp = getContentProvider();
-				if (cp instanceof ITreePathContentProvider tpcp) {
-					if (path == null) {
-						// A path was not provided so try and find one
-						Widget w = findItem(parent);
-						if (w instanceof Item item) {
-							path = getTreePathFromItem(item);
-						}
-						if (path == null) {
-							path = new TreePath(new Object[] { parent });
-						}
-					}
-					Object[] result = tpcp.getChildren(path);
-					if (result != null) {
-						assertElementsNotNull(parent, result);
-						return result;
-					}
-				} else if (cp instanceof ITreeContentProvider tcp) {
-					Object[] result = tcp.getChildren(parent);
-					if (result != null) {
-						assertElementsNotNull(parent, result);
-						return result;
+				if (cp instanceof ITreePathContentProvider && path == null) {
+					// A path was not provided so try and find one
+					Widget w = findItem(parent);
+					if (w instanceof Item item) {
+						path = getTreePathFromItem(item);
 					}
 				}
+				return fetchRawChildren(cp, path != null ? path : parent, false);
 			}
 			return new Object[0];
 		} finally {
@@ -1486,6 +1487,39 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 		}
 	}
 
+	@Override
+	Object[] fetchRawChildren(IContentProvider contentProvider, Object parentElementOrTreePath, boolean isRoot) {
+		if (isRoot) {
+			return super.fetchRawChildren(contentProvider, parentElementOrTreePath, isRoot);
+		}
+		Object parent;
+		TreePath path;
+		if (parentElementOrTreePath instanceof TreePath) {
+			path = (TreePath) parentElementOrTreePath;
+			parent = path.getLastSegment();
+		} else {
+			parent = parentElementOrTreePath;
+			path = null;
+		}
+		if (contentProvider instanceof ITreePathContentProvider tpcp) {
+			if (path == null) {
+				path = new TreePath(new Object[] { parent });
+			}
+			Object[] result = tpcp.getChildren(path);
+			if (result != null) {
+				assertElementsNotNull(parent, result);
+				return result;
+			}
+		} else if (contentProvider instanceof ITreeContentProvider tcp) {
+			Object[] result = tcp.getChildren(parent);
+			if (result != null) {
+				assertElementsNotNull(parent, result);
+				return result;
+			}
+		}
+		return new Object[0];
+	}
+
 	/**
 	 * Asserts that the given array of elements is itself non- <code>null</code>
 	 * and contains no <code>null</code> elements.
@@ -2922,46 +2956,36 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 			}
 		}
 
-		int min = Math.min(elementChildren.length, items.length);
-
-		// dispose of surplus items, optimizing for the case where elements have
-		// been deleted but not reordered, or all elements have been removed.
-		int numItemsToDispose = items.length - min;
-		if (numItemsToDispose > 0) {
-			CustomHashtable children = newHashtable(elementChildren.length * 2);
-			for (Object elementChild : elementChildren) {
-				children.put(elementChild, elementChild);
-			}
-			int i = 0;
-			while (numItemsToDispose > 0 && i < items.length) {
-				Object data = items[i].getData();
-				if (data == null || !children.containsKey(data)) {
-					if (data != null) {
-						disassociate(items[i]);
-					}
-					items[i].dispose();
-					if (i + 1 < items.length) {
-						// The components at positions i+1 through
-						// items.length-1 in the source array are copied into
-						// positions i through items.length-2
-						System.arraycopy(items, i + 1, items, i, items.length - (i+1));
-					}
-					numItemsToDispose--;
-				} else {
-					i++;
-				}
+		// find the item to reuse for each child element: items whose elements
+		// keep their relative order are reused for the same element, the
+		// remaining items are reused in place or disposed
+		int[] childItems = matchItems(items, elementChildren);
+		boolean[] reused = new boolean[items.length];
+		for (int itemIndex : childItems) {
+			if (itemIndex >= 0) {
+				reused[itemIndex] = true;
 			}
 		}
 
-		// compare first min items, and update item if necessary
 		// need to do it in two passes:
 		// 1: disassociate old items
 		// 2: associate new items
 		// because otherwise a later disassociate can remove a mapping made for
 		// a previous associate,
 		// making the map inconsistent
-		for (int i = 0; i < min; ++i) {
-			Item item = items[i];
+		for (int i = 0; i < items.length; i++) {
+			if (!reused[i]) {
+				if (items[i].getData() != null) {
+					disassociate(items[i]);
+				}
+				items[i].dispose();
+			}
+		}
+		for (int i = 0; i < elementChildren.length; ++i) {
+			if (childItems[i] < 0) {
+				continue;
+			}
+			Item item = items[childItems[i]];
 			Object oldElement = item.getData();
 			if (oldElement != null) {
 				Object newElement = elementChildren[i];
@@ -2971,10 +2995,7 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 						// although the elements
 						// may be equal, they may still have different labels
 						// or children
-						Object data = item.getData();
-						if (data != null) {
-							unmapElement(data, item);
-						}
+						unmapElement(oldElement, item);
 						item.setData(newElement);
 						mapElement(newElement, item);
 					} else {
@@ -2992,9 +3013,16 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 			}
 		}
 
-		for (int i = 0; i < min; ++i) {
-			Item item = items[i];
+		boolean created = false;
+		for (int i = 0; i < elementChildren.length; ++i) {
 			Object newElement = elementChildren[i];
+			if (childItems[i] < 0) {
+				// all items before this index are in place already
+				createTreeItem(widget, newElement, i);
+				created = true;
+				continue;
+			}
+			Item item = items[childItems[i]];
 			if (item.getData() == null) {
 				// old and new elements are not equal
 				associate(newElement, item);
@@ -3017,37 +3045,21 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 		// Need to call setExpanded for both expanded and unexpanded
 		// cases since the expanded state can change either way.
 		// This needs to be done in a second loop, see bug 148025.
-		for (int i = 0; i < min; ++i) {
-			Item item = items[i];
-			Object newElement = elementChildren[i];
-			setExpanded(item, expanded.containsKey(newElement));
-		}
-
-		// add any remaining elements
-		if (min < elementChildren.length) {
-			for (int i = min; i < elementChildren.length; ++i) {
-				createTreeItem(widget, elementChildren[i], -1);
-			}
-
-			// Need to restore expanded state in a separate pass
-			// because createTreeItem does not return the new item.
-			// Avoid doing this unless needed.
-			if (expanded.size() > 0) {
-				// get the items again, to include the new items
-				items = getChildren(widget);
-				for (int i = min; i < elementChildren.length; ++i) {
-					// Restore expanded state for items that changed position.
-					// Make sure setExpanded is called after updatePlus (called
-					// in createTreeItem), since
-					// setExpanded(false) fails if item has no children.
-					// Only need to call setExpanded if element was expanded
-					// since new items are initially unexpanded.
-					if (expanded.containsKey(elementChildren[i])) {
-						setExpanded(items[i], true);
-					}
+		// New items are initially unexpanded.
+		if (created && expanded.size() > 0) {
+			// get the items again, to include the new items
+			Item[] newItems = getChildren(widget);
+			for (int i = 0; i < elementChildren.length; ++i) {
+				if (childItems[i] < 0 && expanded.containsKey(elementChildren[i])) {
+					setExpanded(newItems[i], true);
 				}
 			}
 		}
+		for (int i = 0; i < elementChildren.length; ++i) {
+			if (childItems[i] >= 0) {
+				setExpanded(items[childItems[i]], expanded.containsKey(elementChildren[i]));
+			}
+		}
 
 		// WORKAROUND
 		if (widget == tree && oldCnt == 0 && getItemCount(tree) != 0) {
@@ -3057,6 +3069,102 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 		}
 	}
 
+	/**
+	 * Returns for each child element the index of the item to reuse for it, or
+	 * <code>-1</code> if a new item has to be created. The items are reused in
+	 * their order, as SWT items can not be moved. The longest run of items
+	 * whose elements keep their relative order is reused for the same
+	 * elements. Each other item is reused for a new element between the same
+	 * two of these items, so that as few items as possible change their
+	 * element.
+	 */
+	private int[] matchItems(Item[] items, Object[] elementChildren) {
+		int[] childItems = new int[elementChildren.length];
+		// fast path: the children did not change their order
+		int min = Math.min(items.length, elementChildren.length);
+		boolean inOrder = items.length == elementChildren.length;
+		for (int i = 0; i < min; i++) {
+			Object data = items[i].getData();
+			if (inOrder && (data == null || !equals(data, elementChildren[i]))) {
+				inOrder = false;
+			}
+			childItems[i] = i;
+		}
+		if (inOrder) {
+			return childItems;
+		}
+
+		CustomHashtable childIndexes = newHashtable(elementChildren.length * 2 + 1);
+		for (int i = elementChildren.length - 1; i >= 0; i--) {
+			// the first occurrence of equal elements wins
+			childIndexes.put(elementChildren[i], Integer.valueOf(i));
+		}
+		int[] itemChildIndexes = new int[items.length];
+		for (int i = 0; i < items.length; i++) {
+			Object data = items[i].getData();
+			Object index = data != null ? childIndexes.get(data) : null;
+			itemChildIndexes[i] = index != null ? ((Integer) index).intValue() : -1;
+		}
+
+		Arrays.fill(childItems, -1);
+		boolean[] kept = longestIncreasingSubsequence(itemChildIndexes);
+		// reuse the remaining items for the children between the same kept items
+		int item = 0;
+		int child = 0;
+		while (item < items.length || child < elementChildren.length) {
+			int nextKeptItem = item;
+			while (nextKeptItem < items.length && !kept[nextKeptItem]) {
+				nextKeptItem++;
+			}
+			int nextKeptChild = nextKeptItem < items.length ? itemChildIndexes[nextKeptItem] : elementChildren.length;
+			while (item < nextKeptItem && child < nextKeptChild) {
+				childItems[child++] = item++;
+			}
+			if (nextKeptItem < items.length) {
+				childItems[nextKeptChild] = nextKeptItem;
+			}
+			item = nextKeptItem + 1;
+			child = nextKeptChild + 1;
+		}
+		return childItems;
+	}
+
+	/**
+	 * Returns which of the given non-negative values form a longest strictly
+	 * increasing subsequence. Negative values are never part of it.
+	 */
+	private static boolean[] longestIncreasingSubsequence(int[] values) {
+		int[] tails = new int[values.length]; // index of the smallest tail per length
+		int[] predecessors = new int[values.length];
+		int length = 0;
+		for (int i = 0; i < values.length; i++) {
+			int value = values[i];
+			if (value < 0) {
+				continue;
+			}
+			int low = 0;
+			int high = length;
+			while (low < high) {
+				int mid = (low + high) >>> 1;
+				if (values[tails[mid]] < value) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+			predecessors[i] = low > 0 ? tails[low - 1] : -1;
+			tails[low] = i;
+			if (low == length) {
+				length++;
+			}
+		}
+		boolean[] result = new boolean[values.length];
+		for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = predecessors[i]) {
+			result[i] = true;
+		}
+		return result;
+	}
+
 	/** Returns true if children were pruned */
 	/*package*/ boolean optionallyPruneChildren(Item item, Object element) {
 		// need a dummy node if element is expandable;
@@ -3464,6 +3572,16 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 		}
 	}
 
+	/**
+	 * Returns whether {@link #isExpandable(Object)} consults the filters.
+	 *
+	 * @return <code>true</code> if the filters are consulted
+	 * @see #setExpandPreCheckFilters(boolean)
+	 */
+	boolean isExpandPreCheckFilters() {
+		return isExpandableCheckFilters;
+	}
+
 	/**
 	 * @return if the given widget's children has an expandable node at the end.
 	 */
@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.jface.viewers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.jface.internal.BackgroundExecutor;
+import org.eclipse.jface.util.Policy;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.SWTException;
+import org.eclipse.swt.graphics.Cursor;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * Fetches, filters and sorts the children of a structured viewer in a
+ * background thread for {@link StructuredViewer#refreshInBackground(boolean)}.
+ * The content provider, filters and comparator are captured when the refresh
+ * is created, so later changes to the viewer configuration do not affect a
+ * running refresh. The children are fetched with
+ * {@link StructuredViewer#fetchRawChildren(IContentProvider, Object, boolean)},
+ * the same code that backs {@link StructuredViewer#getRawChildren(Object)}.
+ * The busy state of the viewer is not set while fetching, it only guards
+ * reentrant calls in the UI thread, and the viewer cannot be called from the
+ * background thread anyway. The result is handed back to the viewer in the UI
+ * thread.
+ */
+/* package */ final class BackgroundRefresh {
+
+	/**
+	 * The children computed for the parents of a refresh.
+	 *
+	 * @param parents the parents, the first one is the root of the viewer
+	 * @param children the sorted and filtered children per parent
+	 * @param filteredOut pairs of arrays before and after each filter that
+	 *            removed elements, to be passed to the associate listener
+	 */
+	record Result(Object[] parents, Object[][] children, List<Object[][]> filteredOut) {
+	}
+
+	private final StructuredViewer viewer;
+	private final Object root;
+	private final Object[] parents;
+	private final boolean updateLabels;
+
+	private final IContentProvider contentProvider;
+	private final ViewerFilter[] filters;
+	private final ViewerComparator comparator;
+	private final boolean collectFilteredOut;
+
+	private volatile boolean canceled;
+
+	private Cursor previousCursor;
+
+	/**
+	 * Creates a refresh, must be called in the UI thread.
+	 *
+	 * @param viewer the viewer
+	 * @param parents the elements whose children are computed, starting with the
+	 *            root
+	 * @param updateLabels whether the labels of existing elements are updated
+	 * @param collectFilteredOut whether the elements removed by filters are
+	 *            remembered
+	 */
+	BackgroundRefresh(StructuredViewer viewer, Object[] parents, boolean updateLabels, boolean collectFilteredOut) {
+		this.viewer = viewer;
+		this.root = parents[0];
+		this.parents = parents;
+		this.updateLabels = updateLabels;
+		this.contentProvider = viewer.getContentProvider();
+		this.filters = viewer.getFilters();
+		this.comparator = viewer.getComparator();
+		this.collectFilteredOut = collectFilteredOut;
+	}
+
+	Object getRoot() {
+		return root;
+	}
+
+	boolean isUpdateLabels() {
+		return updateLabels;
+	}
+
+	/**
+	 * Shows the busy cursor and starts computing the children.
+	 */
+	void schedule() {
+		Control control = viewer.getControl();
+		previousCursor = control.getCursor();
+		control.setCursor(control.getDisplay().getSystemCursor(SWT.CURSOR_APPSTARTING));
+		Display display = control.getDisplay();
+		BackgroundExecutor.getExecutor().execute(() -> {
+			if (canceled) {
+				return;
+			}
+			Result result = computeResult();
+			if (canceled) {
+				return;
+			}
+			try {
+				display.asyncExec(() -> {
+					if (!canceled) {
+						done();
+						viewer.applyBackgroundRefresh(this, result);
+					}
+				});
+			} catch (SWTException e) {
+				// display has been disposed
+			}
+		});
+	}
+
+	/**
+	 * Cancels this refresh, must be called in the UI thread.
+	 */
+	void cancel() {
+		canceled = true;
+		done();
+	}
+
+	private void done() {
+		Control control = viewer.getControl();
+		if (control != null && !control.isDisposed()) {
+			control.setCursor(previousCursor);
+		}
+		previousCursor = null;
+	}
+
+	/*
+	 * Returns null if the children could not be computed.
+	 */
+	private Result computeResult() {
+		Object[][] children = new Object[parents.length][];
+		List<Object[][]> filteredOut = collectFilteredOut ? new ArrayList<>() : null;
+		try {
+			for (int i = 0; i < parents.length && !canceled; i++) {
+				children[i] = computeChildren(parents[i], i == 0, filteredOut);
+			}
+		} catch (RuntimeException e) {
+			Policy.getLog().log(new Status(IStatus.ERROR, Policy.JFACE, "Exception while refreshing a viewer in the background", e)); //$NON-NLS-1$
+			return null;
+		}
+		return new Result(parents, children, filteredOut);
+	}
+
+	private Object[] computeChildren(Object parent, boolean isRoot, List<Object[][]> filteredOut) {
+		Object[] result = viewer.fetchRawChildren(contentProvider, parent, isRoot);
+		if (result.length == 0) {
+			return new Object[0];
+		}
+		for (ViewerFilter filter : filters) {
+			Object[] filteredResult = filter.filter(viewer, parent, result);
+			if (filteredOut != null && filteredResult.length != result.length) {
+				filteredOut.add(new Object[][] { result, filteredResult });
+			}
+			result = filteredResult;
+		}
+		if (comparator != null) {
+			// be sure we're not modifying the original array from the model
+			result = result.clone();
+			comparator.sort(viewer, result);
+		}
+		return result;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2015 IBM Corporation and others.
+ * Copyright (c) 2006, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -75,6 +75,12 @@ public abstract class ColumnViewer extends StructuredViewer {
 
 	private Set<ExpandableNode> expandableNodes;
 
+	/**
+	 * Applies the coalesced label updates, or <code>null</code> if label
+	 * updates are applied immediately.
+	 */
+	private LabelUpdateCoalescer labelUpdateCoalescer;
+
 	// after logging for the first
 	// time
 
@@ -537,9 +543,46 @@ public abstract class ColumnViewer extends StructuredViewer {
 	public void update(Object element, String[] properties) {
 		if (checkBusy())
 			return;
+		if (labelUpdateCoalescer != null && properties == null) {
+			Assert.isNotNull(element);
+			labelUpdateCoalescer.add(element);
+			return;
+		}
 		super.update(element, properties);
 	}
 
+	/**
+	 * Sets whether full label updates are coalesced. When enabled, calls to
+	 * {@link #update(Object, String[])} and {@link #update(Object[], String[])}
+	 * with <code>null</code> properties, which includes the updates caused by
+	 * label provider and decorator changes, no longer update the items
+	 * immediately. The elements are collected and their items are updated
+	 * once per display frame with redraw turned off. An element that is
+	 * updated several times before the next frame is updated only once. Visible
+	 * rows are updated first; the remaining rows are spread over later frames
+	 * if there are too many of them. Updates with properties are still applied
+	 * immediately, since they may require the viewer to filter or sort again.
+	 * <p>
+	 * Coalescing is disabled by default. It is meant for viewers that receive
+	 * floods of label changes, for instance from decorators.
+	 * </p>
+	 *
+	 * @param coalesce <code>true</code> to coalesce label updates,
+	 *                 <code>false</code> to apply them immediately
+	 * @since 3.35
+	 */
+	public void setCoalesceLabelUpdates(boolean coalesce) {
+		if (coalesce == (labelUpdateCoalescer != null)) {
+			return;
+		}
+		if (coalesce) {
+			labelUpdateCoalescer = new LabelUpdateCoalescer(this);
+		} else {
+			labelUpdateCoalescer.dispose();
+			labelUpdateCoalescer = null;
+		}
+	}
+
 	/**
 	 * Sets the cell editors of this column viewer. If editing is not supported
 	 * by this viewer the call simply has no effect.
@@ -661,6 +704,9 @@ public abstract class ColumnViewer extends StructuredViewer {
 			((Control)event.widget).removeMouseListener(mouseListener);
 			mouseListener = null;
 		}
+		if (labelUpdateCoalescer != null) {
+			labelUpdateCoalescer.dispose();
+		}
 		super.handleDispose(event);
 	}
 
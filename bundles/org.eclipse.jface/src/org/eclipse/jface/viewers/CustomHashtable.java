@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,29 +21,21 @@ import java.util.NoSuchElementException;
 /**
  * CustomHashtable associates keys with values. Keys and values cannot be null.
  * The size of the Hashtable is the number of key/value pairs it contains.
- * The capacity is the number of key/value pairs the Hashtable can hold.
- * The load factor is a float value which determines how full the Hashtable
- * gets before expanding the capacity. If the load factor of the Hashtable
- * is exceeded, the capacity is doubled.
+ * The capacity is the number of key/value pairs the Hashtable can hold
+ * without expanding. If the capacity is exceeded, it is doubled.
  * <p>
  * CustomHashtable allows a custom comparator and hash code provider.
+ * </p>
+ * <p>
+ * The pairs are stored with open addressing and linear probing in plain
+ * arrays, so adding a pair does not allocate an entry object. The hash codes
+ * of the keys are remembered, so that growing the table and removing keys do
+ * not ask the comparer again, and keys with a different hash code are skipped
+ * without comparing them.
+ * </p>
  */
 /* package */final class CustomHashtable {
 
-	/**
-	 * HashMapEntry is an internal class which is used to hold the entries of a Hashtable.
-	 */
-	private static class HashMapEntry {
-		Object key, value;
-
-		HashMapEntry next;
-
-		HashMapEntry(Object theKey, Object theValue) {
-			key = theKey;
-			value = theValue;
-		}
-	}
-
 	private static final class EmptyEnumerator implements Enumeration {
 		@Override
 		public boolean hasMoreElements() {
@@ -59,25 +51,19 @@ import java.util.NoSuchElementException;
 	private class HashEnumerator implements Enumeration {
 		boolean key;
 
-		int start;
-
-		HashMapEntry entry;
+		int slot;
 
 		HashEnumerator(boolean isKey) {
 			key = isKey;
-			start = firstSlot;
 		}
 
 		@Override
 		public boolean hasMoreElements() {
-			if (entry != null) {
-				return true;
-			}
-			while (start <= lastSlot) {
-				if (elementData[start++] != null) {
-					entry = elementData[start - 1];
+			while (slot < hashes.length) {
+				if (table[slot << 1] != null) {
 					return true;
 				}
+				slot++;
 			}
 			return false;
 		}
@@ -85,26 +71,32 @@ import java.util.NoSuchElementException;
 		@Override
 		public Object nextElement() {
 			if (hasMoreElements()) {
-				Object result = key ? entry.key : entry.value;
-				entry = entry.next;
+				Object result = table[(slot << 1) + (key ? 0 : 1)];
+				slot++;
 				return result;
 			}
 			throw new NoSuchElementException();
 		}
 	}
 
+	private static final int MAXIMUM_SLOTS = 1 << 30;
+
 	transient int elementCount;
 
-	transient HashMapEntry[] elementData;
+	/**
+	 * The key of each slot followed by its value, a <code>null</code> key
+	 * marks a free slot. The number of slots is a power of two and at least
+	 * half of the slots are free.
+	 */
+	transient Object[] table;
 
-	private float loadFactor;
+	/**
+	 * The spread hash codes of the keys by slot.
+	 */
+	transient int[] hashes;
 
 	private int threshold;
 
-	transient int firstSlot = 0;
-
-	transient int lastSlot = -1;
-
 	transient private IElementComparer comparer;
 
 	private static final EmptyEnumerator emptyEnumerator = new EmptyEnumerator();
@@ -115,16 +107,14 @@ import java.util.NoSuchElementException;
 	public static final int DEFAULT_CAPACITY = 13;
 
 	/**
-	 * Constructs a new Hashtable using the default capacity
-	 * and load factor.
+	 * Constructs a new Hashtable using the default capacity.
 	 */
 	public CustomHashtable() {
-		this(13);
+		this(DEFAULT_CAPACITY);
 	}
 
 	/**
-	 * Constructs a new Hashtable using the specified capacity
-	 * and the default load factor.
+	 * Constructs a new Hashtable using the specified capacity.
 	 *
 	 * @param capacity the initial capacity
 	 */
@@ -155,15 +145,14 @@ import java.util.NoSuchElementException;
 	 *   <code>equals</code> and <code>hashCode</code> methods
 	 */
 	public CustomHashtable(int capacity, IElementComparer comparer) {
-		if (capacity >= 0) {
-			elementCount = 0;
-			elementData = new HashMapEntry[capacity == 0 ? 1 : capacity];
-			firstSlot = elementData.length;
-			loadFactor = 0.75f;
-			computeMaxSize();
-		} else {
+		if (capacity < 0) {
 			throw new IllegalArgumentException();
 		}
+		int slots = 2;
+		while (slots < MAXIMUM_SLOTS && slots / 2 < capacity) {
+			slots <<= 1;
+		}
+		allocate(slots);
 		this.comparer = comparer;
 	}
 
@@ -179,11 +168,10 @@ import java.util.NoSuchElementException;
 	 */
 	public CustomHashtable(CustomHashtable table, IElementComparer comparer) {
 		this(table.size() * 2, comparer);
-		for (int i = table.elementData.length; --i >= 0;) {
-			HashMapEntry entry = table.elementData[i];
-			while (entry != null) {
-				put(entry.key, entry.value);
-				entry = entry.next;
+		Object[] pairs = table.table;
+		for (int i = 0; i < pairs.length; i += 2) {
+			if (pairs[i] != null) {
+				put(pairs[i], pairs[i + 1]);
 			}
 		}
 	}
@@ -201,8 +189,10 @@ import java.util.NoSuchElementException;
 		return comparer;
 	}
 
-	private void computeMaxSize() {
-		threshold = (int) (elementData.length * loadFactor);
+	private void allocate(int slots) {
+		table = new Object[slots << 1];
+		hashes = new int[slots];
+		threshold = slots / 2;
 	}
 
 	/**
@@ -213,7 +203,7 @@ import java.util.NoSuchElementException;
 	 * @return		true if object is a key in this Hashtable, false otherwise
 	 */
 	public boolean containsKey(Object key) {
-		return getEntry(key) != null;
+		return indexOf(key, hash(key)) >= 0;
 	}
 
 	/**
@@ -239,47 +229,47 @@ import java.util.NoSuchElementException;
 	 *				does not exist
 	 */
 	public Object get(Object key) {
-		int index = (hashCode(key) & 0x7FFFFFFF) % elementData.length;
-		HashMapEntry entry = elementData[index];
-		while (entry != null) {
-			if (keyEquals(key, entry.key)) {
-				return entry.value;
-			}
-			entry = entry.next;
-		}
-		return null;
-	}
-
-	private HashMapEntry getEntry(Object key) {
-		int index = (hashCode(key) & 0x7FFFFFFF) % elementData.length;
-		HashMapEntry entry = elementData[index];
-		while (entry != null) {
-			if (keyEquals(key, entry.key)) {
-				return entry;
-			}
-			entry = entry.next;
-		}
-		return null;
+		int index = indexOf(key, hash(key));
+		return index >= 0 ? table[(index << 1) + 1] : null;
 	}
 
 	/**
-	 * Answers the hash code for the given key.
+	 * Returns the slot of the given key, or the bitwise complement of the free
+	 * slot ending the probe sequence if the key is not contained.
 	 */
-	private int hashCode(Object key) {
+	private int indexOf(Object key, int hash) {
+		Object[] table = this.table;
+		int[] hashes = this.hashes;
+		int mask = hashes.length - 1;
+		int index = hash & mask;
+		Object candidate;
 		if (comparer == null) {
-			return key.hashCode();
+			while ((candidate = table[index << 1]) != null) {
+				if (candidate == key || (hashes[index] == hash && key.equals(candidate))) {
+					return index;
+				}
+				index = (index + 1) & mask;
+			}
+		} else {
+			IElementComparer comparer = this.comparer;
+			while ((candidate = table[index << 1]) != null) {
+				if (candidate == key || (hashes[index] == hash && comparer.equals(key, candidate))) {
+					return index;
+				}
+				index = (index + 1) & mask;
+			}
 		}
-		return comparer.hashCode(key);
+		return ~index;
 	}
 
 	/**
-	 * Compares two keys for equality.
+	 * Answers the hash code for the given key, scrambled so that consecutive
+	 * hash codes do not end up in adjacent slots, and with the high bits
+	 * spread to the low bits that select the slot.
 	 */
-	private boolean keyEquals(Object a, Object b) {
-		if (comparer == null) {
-			return a.equals(b);
-		}
-		return comparer.equals(a, b);
+	private int hash(Object key) {
+		int hash = (comparer == null ? key.hashCode() : comparer.hashCode(key)) * 0x9E3779B9;
+		return hash ^ (hash >>> 16);
 	}
 
 	/**
@@ -307,66 +297,50 @@ import java.util.NoSuchElementException;
 	 *				not exist
 	 */
 	public Object put(Object key, Object value) {
-		if (key != null && value != null) {
-			int index = (hashCode(key) & 0x7FFFFFFF) % elementData.length;
-			HashMapEntry entry = elementData[index];
-			while (entry != null && !keyEquals(key, entry.key)) {
-				entry = entry.next;
-			}
-			if (entry == null) {
-				if (++elementCount > threshold) {
-					rehash();
-					index = (hashCode(key) & 0x7FFFFFFF) % elementData.length;
-				}
-				if (index < firstSlot) {
-					firstSlot = index;
-				}
-				if (index > lastSlot) {
-					lastSlot = index;
-				}
-				entry = new HashMapEntry(key, value);
-				entry.next = elementData[index];
-				elementData[index] = entry;
-				return null;
-			}
-			Object result = entry.value;
-			entry.key = key; // important to avoid hanging onto keys that are equal but "old" -- see bug 30607
-			entry.value = value;
+		if (key == null || value == null) {
+			throw new NullPointerException();
+		}
+		int hash = hash(key);
+		int index = indexOf(key, hash);
+		if (index >= 0) {
+			Object result = table[(index << 1) + 1];
+			table[index << 1] = key; // important to avoid hanging onto keys that are equal but "old" -- see bug 30607
+			table[(index << 1) + 1] = value;
 			return result;
 		}
-		throw new NullPointerException();
+		index = ~index;
+		table[index << 1] = key;
+		table[(index << 1) + 1] = value;
+		hashes[index] = hash;
+		if (++elementCount > threshold) {
+			rehash();
+		}
+		return null;
 	}
 
 	/**
 	 * Increases the capacity of this Hashtable. This method is sent when
-	 * the size of this Hashtable exceeds the load factor.
+	 * more than half of the slots are used.
 	 */
 	private void rehash() {
-		int length = elementData.length << 1;
-		if (length == 0) {
-			length = 1;
+		Object[] oldTable = table;
+		int[] oldHashes = hashes;
+		if (oldHashes.length == MAXIMUM_SLOTS) {
+			throw new IllegalStateException("Hashtable is full"); //$NON-NLS-1$
 		}
-		firstSlot = length;
-		lastSlot = -1;
-		HashMapEntry[] newData = new HashMapEntry[length];
-		for (int i = elementData.length; --i >= 0;) {
-			HashMapEntry entry = elementData[i];
-			while (entry != null) {
-				int index = (hashCode(entry.key) & 0x7FFFFFFF) % length;
-				if (index < firstSlot) {
-					firstSlot = index;
+		allocate(oldHashes.length << 1);
+		int mask = hashes.length - 1;
+		for (int i = 0; i < oldHashes.length; i++) {
+			if (oldTable[i << 1] != null) {
+				int index = oldHashes[i] & mask;
+				while (table[index << 1] != null) {
+					index = (index + 1) & mask;
 				}
-				if (index > lastSlot) {
-					lastSlot = index;
-				}
-				HashMapEntry next = entry.next;
-				entry.next = newData[index];
-				newData[index] = entry;
-				entry = next;
+				table[index << 1] = oldTable[i << 1];
+				table[(index << 1) + 1] = oldTable[(i << 1) + 1];
+				hashes[index] = oldHashes[i];
 			}
 		}
-		elementData = newData;
-		computeMaxSize();
 	}
 
 	/**
@@ -377,23 +351,32 @@ import java.util.NoSuchElementException;
 	 *				did not exist
 	 */
 	public Object remove(Object key) {
-		HashMapEntry last = null;
-		int index = (hashCode(key) & 0x7FFFFFFF) % elementData.length;
-		HashMapEntry entry = elementData[index];
-		while (entry != null && !keyEquals(key, entry.key)) {
-			last = entry;
-			entry = entry.next;
+		int index = indexOf(key, hash(key));
+		if (index < 0) {
+			return null;
 		}
-		if (entry != null) {
-			if (last == null) {
-				elementData[index] = entry.next;
-			} else {
-				last.next = entry.next;
+		Object result = table[(index << 1) + 1];
+		elementCount--;
+		// shift back the following keys of the probe sequence that may no
+		// longer be reachable, instead of leaving a marker in the free slot
+		int mask = hashes.length - 1;
+		int free = index;
+		int next = (free + 1) & mask;
+		while (table[next << 1] != null) {
+			int home = hashes[next] & mask;
+			// keep the key if its home slot lies cyclically in (free, next]
+			boolean reachable = free <= next ? free < home && home <= next : free < home || home <= next;
+			if (!reachable) {
+				table[free << 1] = table[next << 1];
+				table[(free << 1) + 1] = table[(next << 1) + 1];
+				hashes[free] = hashes[next];
+				free = next;
 			}
-			elementCount--;
-			return entry.value;
+			next = (next + 1) & mask;
 		}
-		return null;
+		table[free << 1] = null;
+		table[(free << 1) + 1] = null;
+		return result;
 	}
 
 	/**
@@ -413,14 +396,12 @@ import java.util.NoSuchElementException;
 
 		StringBuilder buffer = new StringBuilder();
 		buffer.append('{');
-		for (int i = elementData.length; --i >= 0;) {
-			HashMapEntry entry = elementData[i];
-			while (entry != null) {
-				buffer.append(entry.key);
+		for (int i = table.length - 2; i >= 0; i -= 2) {
+			if (table[i] != null) {
+				buffer.append(table[i]);
 				buffer.append('=');
-				buffer.append(entry.value);
+				buffer.append(table[i + 1]);
 				buffer.append(", "); //$NON-NLS-1$
-				entry = entry.next;
 			}
 		}
 		// Remove the last ", "
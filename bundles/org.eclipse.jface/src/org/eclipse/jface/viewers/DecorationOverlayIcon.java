@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2020 IBM Corporation and others.
+ * Copyright (c) 2006, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,11 +13,14 @@
  *******************************************************************************/
 package org.eclipse.jface.viewers;
 
+import java.net.URL;
 import java.util.Arrays;
 import java.util.Objects;
 import java.util.function.Supplier;
 
+import org.eclipse.core.runtime.IAdaptable;
 import org.eclipse.jface.resource.CompositeImageDescriptor;
+import org.eclipse.jface.resource.ImageDataCache;
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.ImageData;
@@ -37,6 +40,41 @@ import org.eclipse.swt.graphics.Point;
  */
 public class DecorationOverlayIcon extends CompositeImageDescriptor {
 
+	/**
+	 * The key of the composed image data in the {@link ImageDataCache}. Only
+	 * created for descriptors whose image data does not change and which do
+	 * not hold images, see {@link #isCacheable(ImageDescriptor)}.
+	 */
+	private static final class CompositeKey {
+		private final ImageDescriptor base;
+
+		private final ImageDescriptor[] overlays;
+
+		private final Point size;
+
+		CompositeKey(ImageDescriptor base, ImageDescriptor[] overlays, Point size) {
+			this.base = base;
+			this.overlays = overlays.clone();
+			this.size = size == null ? null : new Point(size.x, size.y);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof CompositeKey other)) {
+				return false;
+			}
+			return base.equals(other.base) && Arrays.equals(overlays, other.overlays)
+					&& Objects.equals(size, other.size);
+		}
+
+		@Override
+		public int hashCode() {
+			int result = base.hashCode();
+			result = 31 * result + Arrays.hashCode(overlays);
+			return 31 * result + Objects.hashCode(size);
+		}
+	}
+
 	private Object referenceImageOrDescriptor;
 
 	// the overlay images
@@ -49,6 +87,12 @@ public class DecorationOverlayIcon extends CompositeImageDescriptor {
 	 */
 	private Supplier<Point> size;
 
+	/**
+	 * The key of the composed image data in the {@link ImageDataCache},
+	 * <code>null</code> if it is not cached
+	 */
+	private CompositeKey cacheKey;
+
 	/**
 	 * Create the decoration overlay for the base image using the array of
 	 * provided overlays. The indices of the array correspond to the values
@@ -67,6 +111,8 @@ public class DecorationOverlayIcon extends CompositeImageDescriptor {
 		this.overlays = overlaysArray;
 		this.baseImageDataProvider = createCachedImageDataProvider(baseImage);
 		this.size = () -> sizeValue;
+		// the image may be disposed, and its handle reused by another image
+		this.cacheKey = null;
 	}
 
 	/**
@@ -119,6 +165,9 @@ public class DecorationOverlayIcon extends CompositeImageDescriptor {
 		this.referenceImageOrDescriptor = baseImageDescriptor;
 		this.overlays = createArrayFrom(overlayImageDescriptor, quadrant);
 		this.baseImageDataProvider = createCachedImageDataProvider(baseImageDescriptor);
+		if (isCacheable(baseImageDescriptor) && Arrays.stream(overlays).allMatch(DecorationOverlayIcon::isCacheable)) {
+			this.cacheKey = new CompositeKey(baseImageDescriptor, overlays, null);
+		}
 		this.size = () -> {
 			int zoomLevel = getZoomLevel();
 			if (zoomLevel != 0) {
@@ -203,6 +252,41 @@ public class DecorationOverlayIcon extends CompositeImageDescriptor {
 		return result;
 	}
 
+	/**
+	 * Returns whether the composed image data of the given descriptor may be
+	 * kept in the process wide {@link ImageDataCache}. That is the case for
+	 * descriptors of URLs other than files, which may change, and for overlay
+	 * icons of such descriptors. Other descriptors may hold an image, which the
+	 * cache would keep after it is disposed.
+	 */
+	private static boolean isCacheable(ImageDescriptor descriptor) {
+		if (descriptor == null) {
+			return true;
+		}
+		if (descriptor instanceof DecorationOverlayIcon overlayIcon) {
+			return overlayIcon.getClass() == DecorationOverlayIcon.class && overlayIcon.cacheKey != null;
+		}
+		if (descriptor instanceof IAdaptable adaptable) {
+			URL url = adaptable.getAdapter(URL.class);
+			return url != null && !"file".equalsIgnoreCase(url.getProtocol()); //$NON-NLS-1$
+		}
+		return false;
+	}
+
+	/**
+	 * The composed image data of bundle resources is kept in the
+	 * {@link ImageDataCache}, so the same combination of base image and
+	 * overlays is only composed once per zoom level.
+	 */
+	@Override
+	public ImageData getImageData(int zoom) {
+		// subclasses may draw differently
+		if (cacheKey == null || getClass() != DecorationOverlayIcon.class || !supportsZoomLevel(zoom)) {
+			return super.getImageData(zoom);
+		}
+		return ImageDataCache.getDefault().get(cacheKey, zoom, z -> super.getImageData(z));
+	}
+
 	@Override
 	protected void drawCompositeImage(int width, int height) {
 		if (overlays.length > IDecoration.UNDERLAY) {
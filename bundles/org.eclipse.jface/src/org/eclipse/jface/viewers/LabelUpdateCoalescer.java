@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.jface.viewers;
+
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+
+import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Item;
+import org.eclipse.swt.widgets.Scrollable;
+import org.eclipse.swt.widgets.Widget;
+
+/**
+ * Collects the label updates of a {@link ColumnViewer} and applies them once
+ * per display frame, see {@link ColumnViewer#setCoalesceLabelUpdates(boolean)}.
+ * An element that is updated several times before the next frame is only
+ * updated once. The rows that are visible are updated first, the others as
+ * long as the time budget of the frame allows, the rest in later frames.
+ */
+/* package */ final class LabelUpdateCoalescer {
+
+	/**
+	 * The delay before pending updates are applied, about one frame.
+	 */
+	private static final int FRAME_MILLIS = 16;
+
+	/**
+	 * The time to spend on updating rows that are not visible per frame.
+	 */
+	private static final long BUDGET_NANOS = 8_000_000;
+
+	private final ColumnViewer viewer;
+
+	private final Runnable flushRunnable = this::flush;
+
+	/**
+	 * The elements waiting for an update, <code>null</code> if none.
+	 */
+	private CustomHashtable pending;
+
+	private boolean scheduled;
+
+	LabelUpdateCoalescer(ColumnViewer viewer) {
+		this.viewer = viewer;
+	}
+
+	/**
+	 * Remembers that the label of the given element has to be updated.
+	 *
+	 * @param element the element
+	 */
+	void add(Object element) {
+		if (pending == null) {
+			pending = viewer.newHashtable(CustomHashtable.DEFAULT_CAPACITY);
+		}
+		pending.put(element, element);
+		if (!scheduled) {
+			scheduled = true;
+			viewer.getControl().getDisplay().timerExec(FRAME_MILLIS, flushRunnable);
+		}
+	}
+
+	/**
+	 * Forgets the pending updates.
+	 */
+	void dispose() {
+		pending = null;
+		if (scheduled) {
+			scheduled = false;
+			Control control = viewer.getControl();
+			if (control != null && !control.isDisposed()) {
+				control.getDisplay().timerExec(-1, flushRunnable);
+			}
+		}
+	}
+
+	private void flush() {
+		scheduled = false;
+		Control control = viewer.getControl();
+		CustomHashtable elements = pending;
+		pending = null;
+		if (elements == null || control == null || control.isDisposed()) {
+			return;
+		}
+		Rectangle clientArea = control instanceof Scrollable scrollable ? scrollable.getClientArea()
+				: control.getBounds();
+		List<Object> visibleElements = new ArrayList<>();
+		List<Widget> visibleItems = new ArrayList<>();
+		List<Object> otherElements = new ArrayList<>();
+		List<Widget> otherItems = new ArrayList<>();
+		for (Enumeration<?> e = elements.keys(); e.hasMoreElements();) {
+			Object element = e.nextElement();
+			for (Widget item : viewer.findItems(element)) {
+				if (item.isDisposed() || item == control) {
+					continue;
+				}
+				if (isVisible(item, clientArea)) {
+					visibleElements.add(element);
+					visibleItems.add(item);
+				} else {
+					otherElements.add(element);
+					otherItems.add(item);
+				}
+			}
+		}
+		if (visibleItems.isEmpty() && otherItems.isEmpty()) {
+			return;
+		}
+		boolean redraw = visibleItems.size() + otherItems.size() > 1;
+		if (redraw) {
+			control.setRedraw(false);
+		}
+		try {
+			for (int i = 0; i < visibleItems.size(); i++) {
+				updateItem(visibleItems.get(i), visibleElements.get(i));
+			}
+			long deadline = System.nanoTime() + BUDGET_NANOS;
+			for (int i = 0; i < otherItems.size(); i++) {
+				if (System.nanoTime() > deadline) {
+					// continue in the next frame
+					for (int j = i; j < otherItems.size(); j++) {
+						add(otherElements.get(j));
+					}
+					break;
+				}
+				updateItem(otherItems.get(i), otherElements.get(i));
+			}
+		} finally {
+			if (redraw) {
+				control.setRedraw(true);
+			}
+		}
+	}
+
+	private void updateItem(Widget item, Object element) {
+		// the item may have been disposed or reused by an earlier update
+		if (!item.isDisposed() && viewer.equals(item.getData(), element)) {
+			viewer.updateItem(item, element);
+		}
+	}
+
+	private boolean isVisible(Widget item, Rectangle clientArea) {
+		if (!(item instanceof Item)) {
+			return false;
+		}
+		ViewerRow row = viewer.getViewerRowFromItem(item);
+		return row != null && row.getBounds().intersects(clientArea);
+	}
+}
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.jface.viewers;
+
+/**
+ * Drives a virtual {@link TreeViewer} from a regular
+ * {@link ITreeContentProvider}, see
+ * {@link TreeViewer#setUseLazyContentAdapter(boolean)}. The filtered and
+ * sorted children of a parent are computed once and remembered until the
+ * viewer is refreshed, so that the items requested by <code>SWT.SetData</code>
+ * can be answered by index.
+ */
+/* package */ final class LazyTreeContentAdapter implements ILazyTreeContentProvider {
+
+	private final TreeViewer viewer;
+
+	private final ITreeContentProvider contentProvider;
+
+	/**
+	 * The sorted and filtered children by parent element.
+	 */
+	private CustomHashtable children;
+
+	/**
+	 * Creates an adapter for the given viewer and content provider.
+	 *
+	 * @param viewer the viewer
+	 * @param contentProvider the content provider of the viewer
+	 */
+	LazyTreeContentAdapter(TreeViewer viewer, ITreeContentProvider contentProvider) {
+		this.viewer = viewer;
+		this.contentProvider = contentProvider;
+	}
+
+	@Override
+	public void updateElement(Object parent, int index) {
+		Object[] elements = getChildren(parent);
+		if (index < elements.length) {
+			Object element = elements[index];
+			viewer.replace(parent, index, element);
+			viewer.setHasChildren(element, isExpandable(element));
+		}
+	}
+
+	/**
+	 * Returns whether the given element can be expanded, consulting the
+	 * filters like {@link AbstractTreeViewer#isExpandable(Object)} if
+	 * {@link AbstractTreeViewer#setExpandPreCheckFilters(boolean)} is enabled.
+	 * The filtered children are then remembered for when the element is
+	 * expanded.
+	 */
+	private boolean isExpandable(Object element) {
+		boolean hasChildren = contentProvider.hasChildren(element);
+		if (hasChildren && viewer.isExpandPreCheckFilters() && viewer.hasFilters()) {
+			return getChildren(element).length > 0;
+		}
+		return hasChildren;
+	}
+
+	@Override
+	public void updateChildCount(Object element, int currentChildCount) {
+		int count = getChildren(element).length;
+		if (count != currentChildCount) {
+			viewer.setChildCount(element, count);
+		}
+	}
+
+	@Override
+	public Object getParent(Object element) {
+		return contentProvider.getParent(element);
+	}
+
+	/**
+	 * Forgets the remembered children, to be called whenever the structure of
+	 * the viewer is refreshed.
+	 */
+	void clear() {
+		children = null;
+	}
+
+	/**
+	 * Returns the sorted and filtered children of the given parent.
+	 *
+	 * @param parent the parent element
+	 * @return the children, not to be modified
+	 */
+	Object[] getChildren(Object parent) {
+		if (parent == null) {
+			return new Object[0];
+		}
+		if (children == null) {
+			children = viewer.newHashtable(CustomHashtable.DEFAULT_CAPACITY);
+		}
+		Object[] result = (Object[]) children.get(parent);
+		if (result == null) {
+			result = viewer.getSortedChildren(parent);
+			children.put(parent, result);
+		}
+		return result;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -152,6 +152,18 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 	 */
 	private StructuredViewerInternals.AssociateListener associateListener;
 
+	/**
+	 * The background refresh that has not been applied yet, or
+	 * <code>null</code>.
+	 */
+	private BackgroundRefresh backgroundRefresh;
+
+	/**
+	 * The children computed by the background refresh that is being applied,
+	 * keyed by parent element, or <code>null</code>.
+	 */
+	private CustomHashtable prefetchedChildren;
+
 	/**
 	 * Empty array of widgets.
 	 */
@@ -934,13 +946,32 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 	 * @return the child elements
 	 */
 	protected Object[] getRawChildren(Object parent) {
+		IContentProvider cp = getContentProvider();
+		if (parent != null && cp != null) {
+			return fetchRawChildren(cp, parent, true);
+		}
+		return new Object[0];
+	}
+
+	/**
+	 * Returns the children of the given parent from the given content provider
+	 * without sorting and filtering them, like {@link #getRawChildren(Object)}.
+	 * This does not access the widgets or the busy state of the viewer, so it
+	 * is also used by {@link #refreshInBackground(boolean)}.
+	 *
+	 * @param contentProvider
+	 *            the content provider, not <code>null</code>
+	 * @param parentElementOrTreePath
+	 *            the parent element or path, not <code>null</code>
+	 * @param isRoot
+	 *            whether the parent is the root of the viewer
+	 * @return the child elements
+	 */
+	Object[] fetchRawChildren(IContentProvider contentProvider, Object parentElementOrTreePath, boolean isRoot) {
 		Object[] result = null;
-		if (parent != null) {
-			IStructuredContentProvider cp = (IStructuredContentProvider) getContentProvider();
-			if (cp != null) {
-				result = cp.getElements(parent);
-				assertElementsNotNull(result);
-			}
+		if (isRoot) {
+			result = ((IStructuredContentProvider) contentProvider).getElements(parentElementOrTreePath);
+			assertElementsNotNull(result);
 		}
 		return (result != null) ? result : new Object[0];
 	}
@@ -1022,6 +1053,10 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 	 * @return a sorted and filtered array of child elements
 	 */
 	protected Object[] getSortedChildren(Object parent) {
+		Object[] prefetched = getPrefetchedChildren(parent);
+		if (prefetched != null) {
+			return prefetched;
+		}
 		Object[] result = getFilteredChildren(parent);
 		if (sorter != null) {
 			// be sure we're not modifying the original array from the model
@@ -1274,7 +1309,7 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 				}
 			} else {
 				Widget[] widgets = (Widget[]) widgetOrWidgets;
-				int indexOfItem = Arrays.asList(widgets).indexOf(item);
+				int indexOfItem = indexOf(widgets, item);
 				if (indexOfItem == -1) {
 					int length = widgets.length;
 					System.arraycopy(widgets, 0,
@@ -1409,6 +1444,7 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 
 	@Override
 	public void refresh() {
+		cancelBackgroundRefresh();
 		Control control = getControl();
 		if (control != null) {
 			control.setRedraw(false);
@@ -1444,9 +1480,125 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 	 * @since 2.0
 	 */
 	public void refresh(boolean updateLabels) {
+		cancelBackgroundRefresh();
 		refresh(getRoot(), updateLabels);
 	}
 
+	/**
+	 * Refreshes this viewer like {@link #refresh(boolean)}, but fetches,
+	 * filters and sorts the children in a background thread. Only the
+	 * resulting changes are applied to the widgets in the UI thread. Until then
+	 * a busy cursor is shown on the control of this viewer.
+	 * <p>
+	 * The content provider, the filters and the comparator of this viewer, as
+	 * well as the label provider if the comparator uses it, are called outside
+	 * the UI thread and must be thread-safe. A background refresh is canceled by
+	 * a later call to this method, to <code>refresh()</code> or to
+	 * <code>refresh(boolean)</code>, and if the input of this viewer changes.
+	 * Changes made to this viewer by other means while the children are
+	 * computed may be overwritten when the result is applied.
+	 * </p>
+	 * <p>
+	 * Tree viewers compute the children of the root and of the expanded
+	 * elements in the background if their content provider is an
+	 * {@link ITreeContentProvider}. Other children are computed in the UI thread
+	 * as usual.
+	 * </p>
+	 * <p>
+	 * This method must be called in the UI thread.
+	 * </p>
+	 *
+	 * @param updateLabels
+	 *            <code>true</code> to update labels for existing elements,
+	 *            <code>false</code> to only update labels as needed, assuming
+	 *            that labels for existing elements are unchanged.
+	 * @since 3.35
+	 */
+	public void refreshInBackground(boolean updateLabels) {
+		cancelBackgroundRefresh();
+		Control control = getControl();
+		Object root = getRoot();
+		Object[] parents = root != null ? getBackgroundRefreshParents() : null;
+		if (control == null || control.isDisposed() || parents == null) {
+			refresh(updateLabels);
+			return;
+		}
+		backgroundRefresh = new BackgroundRefresh(this, parents, updateLabels, associateListener != null);
+		backgroundRefresh.schedule();
+	}
+
+	/**
+	 * Returns the elements whose children are computed by a background refresh,
+	 * starting with the root, or <code>null</code> if the children can only be
+	 * computed in the UI thread.
+	 *
+	 * @return the parent elements or <code>null</code>
+	 */
+	Object[] getBackgroundRefreshParents() {
+		if (!(getContentProvider() instanceof IStructuredContentProvider)) {
+			return null; // lazy content providers are driven by the widgets
+		}
+		return new Object[] { getRoot() };
+	}
+
+	/**
+	 * Applies the result of a background refresh, called in the UI thread.
+	 *
+	 * @param refresh the refresh
+	 * @param result the computed children or <code>null</code> if they could
+	 *            not be computed
+	 */
+	void applyBackgroundRefresh(BackgroundRefresh refresh, BackgroundRefresh.Result result) {
+		if (refresh != backgroundRefresh) {
+			return; // superseded
+		}
+		backgroundRefresh = null;
+		Control control = getControl();
+		if (control == null || control.isDisposed() || refresh.getRoot() != getRoot()) {
+			return;
+		}
+		if (result == null) {
+			refresh(refresh.isUpdateLabels());
+			return;
+		}
+		if (associateListener != null && result.filteredOut() != null) {
+			for (Object[][] filtered : result.filteredOut()) {
+				notifyFilteredOut(filtered[0], filtered[1]);
+			}
+		}
+		Object[] parents = result.parents();
+		prefetchedChildren = newHashtable(parents.length * 2 + 1);
+		for (int i = 0; i < parents.length; i++) {
+			prefetchedChildren.put(parents[i], result.children()[i]);
+		}
+		try {
+			refresh(refresh.isUpdateLabels());
+		} finally {
+			prefetchedChildren = null;
+		}
+	}
+
+	/**
+	 * Returns the children of the given parent computed by the background
+	 * refresh that is being applied.
+	 *
+	 * @param parent the parent element
+	 * @return the sorted and filtered children or <code>null</code> if not known
+	 */
+	final Object[] getPrefetchedChildren(Object parent) {
+		if (prefetchedChildren == null || parent == null) {
+			return null;
+		}
+		return (Object[]) prefetchedChildren.get(parent);
+	}
+
+	private void cancelBackgroundRefresh() {
+		if (backgroundRefresh != null) {
+			backgroundRefresh.cancel();
+			backgroundRefresh = null;
+		}
+	}
+
 	/**
 	 * Refreshes this viewer starting with the given element.
 	 * <p>
@@ -1905,12 +2057,15 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 				}
 			} else {
 				Widget[] widgets = (Widget[]) widgetOrWidgets;
-				int indexOfItem = Arrays.asList(widgets).indexOf(item);
+				int indexOfItem = indexOf(widgets, item);
 				if (indexOfItem == -1) {
 					return;
 				}
 				int length = widgets.length;
-				if (indexOfItem == 0) {
+				if (length == 2) {
+					// a single item is mapped without an array
+					elementMap.put(element, widgets[1 - indexOfItem]);
+				} else if (indexOfItem == 0) {
 					if(length == 1) {
 						elementMap.remove(element);
 					} else {
@@ -1928,6 +2083,15 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 		}
 	}
 
+	private static int indexOf(Widget[] widgets, Widget item) {
+		for (int i = 0; i < widgets.length; i++) {
+			if (widgets[i] == item) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
 	// flag to indicate that a full refresh took place. See bug 102440.
 	private boolean refreshOccurred;
 
@@ -2268,6 +2432,7 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 
 	@Override
 	protected void handleDispose(DisposeEvent event) {
+		cancelBackgroundRefresh();
 		super.handleDispose(event);
 		sorter = null;
 		comparer = null;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2020 IBM Corporation and others.
+ * Copyright (c) 2007, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,8 +16,10 @@
  *******************************************************************************/
 package org.eclipse.jface.viewers;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.jface.viewers.StyledString.Styler;
@@ -84,6 +86,54 @@ public abstract class StyledCellLabelProvider extends OwnerDrawLabelProvider {
 
 	private final HashMap<Font, Map<Integer /* style */, Font>> styledFonts = new HashMap<>();
 
+	/**
+	 * The maximum number of prepared style ranges that are remembered
+	 */
+	private static final int MAX_PREPARED_STYLE_RANGES = 1000;
+
+	/**
+	 * The style ranges prepared for the text layout, by the content of the
+	 * style ranges of the cells. Only used if {@link #prepareStyleRange} is not
+	 * overridden, as an override may depend on more than the style range.
+	 */
+	private final Map<StyleRangesKey, StyleRange[]> preparedStyleRanges;
+
+	/**
+	 * The style ranges of a cell, its font and whether colors are applied.
+	 */
+	private static final class StyleRangesKey {
+		private final StyleRange[] styleRanges;
+
+		private final Font font;
+
+		private final boolean applyColors;
+
+		private final int hashCode;
+
+		StyleRangesKey(StyleRange[] styleRanges, Font font, boolean applyColors) {
+			this.styleRanges = styleRanges;
+			this.font = font;
+			this.applyColors = applyColors;
+			this.hashCode = (Arrays.hashCode(styleRanges) * 31 + Objects.hashCode(font)) * 31
+					+ Boolean.hashCode(applyColors);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof StyleRangesKey)) {
+				return false;
+			}
+			StyleRangesKey other = (StyleRangesKey) obj;
+			return applyColors == other.applyColors && Objects.equals(font, other.font)
+					&& Arrays.equals(styleRanges, other.styleRanges);
+		}
+	}
+
 	/**
 	 * Creates a new StyledCellLabelProvider. By default, owner draw is enabled, focus is drawn and no
 	 * colors are painted on selected elements.
@@ -103,6 +153,19 @@ public abstract class StyledCellLabelProvider extends OwnerDrawLabelProvider {
 	public StyledCellLabelProvider(int style) {
 		this.style = style & (COLORS_ON_SELECTION | NO_FOCUS)
 							| OWNER_DRAW_ENABLED;
+		this.preparedStyleRanges = overridesPrepareStyleRange() ? null : new HashMap<>();
+	}
+
+	private boolean overridesPrepareStyleRange() {
+		for (Class<?> c = getClass(); c != StyledCellLabelProvider.class; c = c.getSuperclass()) {
+			try {
+				c.getDeclaredMethod("prepareStyleRange", StyleRange.class, boolean.class); //$NON-NLS-1$
+				return true;
+			} catch (NoSuchMethodException e) {
+				// not overridden in this class
+			}
+		}
+		return false;
 	}
 
 	/**
@@ -191,6 +254,9 @@ public abstract class StyledCellLabelProvider extends OwnerDrawLabelProvider {
 			styledFonts.clear();
 		});
 		this.styledFonts.clear();
+		if (this.preparedStyleRanges != null) {
+			this.preparedStyleRanges.clear();
+		}
 
 		super.dispose();
 	}
@@ -295,9 +361,8 @@ public abstract class StyledCellLabelProvider extends OwnerDrawLabelProvider {
 
 		StyleRange[] styleRanges = cell.getStyleRanges();
 		if (styleRanges != null) { // user didn't fill styled ranges
-			for (StyleRange styleRange : styleRanges) {
-				StyleRange curr = prepareStyleRange(styleRange, applyColors);
-				curr = transformFontStyleToFont(layout.getDevice(), cell.getFont(), curr);
+			for (StyleRange curr : getPreparedStyleRanges(styleRanges, layout.getDevice(), cell.getFont(),
+					applyColors)) {
 				layout.setStyle(curr, curr.start, curr.start + curr.length - 1);
 				if (curr.font != null) {
 					containsOtherFont= true;
@@ -311,6 +376,42 @@ public abstract class StyledCellLabelProvider extends OwnerDrawLabelProvider {
 		return textWidthDelta;
 	}
 
+	/**
+	 * Returns the given style ranges prepared for the text layout. The result
+	 * is remembered by the content of the style ranges, since the same cell is
+	 * measured and painted many times while scrolling.
+	 */
+	private StyleRange[] getPreparedStyleRanges(StyleRange[] styleRanges, Device layoutDevice, Font cellFont,
+			boolean applyColors) {
+		if (preparedStyleRanges == null) {
+			return prepareStyleRanges(styleRanges, layoutDevice, cellFont, applyColors);
+		}
+		StyleRange[] result = preparedStyleRanges.get(new StyleRangesKey(styleRanges, cellFont, applyColors));
+		if (result == null) {
+			// copies, the client may modify its style ranges later
+			StyleRange[] copies = new StyleRange[styleRanges.length];
+			for (int i = 0; i < styleRanges.length; i++) {
+				copies[i] = (StyleRange) styleRanges[i].clone();
+			}
+			result = prepareStyleRanges(copies, layoutDevice, cellFont, applyColors);
+			if (preparedStyleRanges.size() >= MAX_PREPARED_STYLE_RANGES) {
+				preparedStyleRanges.clear();
+			}
+			preparedStyleRanges.put(new StyleRangesKey(copies, cellFont, applyColors), result);
+		}
+		return result;
+	}
+
+	private StyleRange[] prepareStyleRanges(StyleRange[] styleRanges, Device layoutDevice, Font cellFont,
+			boolean applyColors) {
+		StyleRange[] result = new StyleRange[styleRanges.length];
+		for (int i = 0; i < styleRanges.length; i++) {
+			StyleRange curr = prepareStyleRange(styleRanges[i], applyColors);
+			result[i] = transformFontStyleToFont(layoutDevice, cellFont, curr);
+		}
+		return result;
+	}
+
 	private StyleRange transformFontStyleToFont(Device layoutDevice, Font cellFont, StyleRange styleRange) {
 		// as per the StyleRange contract, only consider fontStyle if font is not
 		// already set
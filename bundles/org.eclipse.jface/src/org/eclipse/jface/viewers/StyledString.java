@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2017 IBM Corporation and others.
+ * Copyright (c) 2008, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -214,7 +214,7 @@ public class StyledString implements CharSequence {
 	 * @return returns a reference to this object
 	 */
 	public StyledString append(char ch) {
-		return append(String.valueOf(ch), null);
+		return append(ch, null);
 	}
 
 	/**
@@ -230,7 +230,7 @@ public class StyledString implements CharSequence {
 		}
 
 		int offset = fBuffer.length();
-		fBuffer.append(string.toString());
+		fBuffer.append(string.fBuffer);
 
 		List<StyleRun> otherRuns = string.fStyleRuns;
 		if (otherRuns != null && !otherRuns.isEmpty()) {
@@ -264,7 +264,10 @@ public class StyledString implements CharSequence {
 	 * @return returns a reference to this object
 	 */
 	public StyledString append(char ch, Styler styler) {
-		return append(String.valueOf(ch), styler);
+		int offset = fBuffer.length(); // the length before appending
+		fBuffer.append(ch);
+		appendStyleRun(styler, offset);
+		return this;
 	}
 
 	/**
@@ -428,25 +431,50 @@ public class StyledString implements CharSequence {
 	 */
 	public StyleRange[] getStyleRanges() {
 		if (hasRuns()) {
-			ArrayList<StyleRange> res = new ArrayList<>();
-
-			int offset = 0;
-			Styler style = null;
-			for (StyleRun curr : getStyleRuns()) {
-				if (isDifferentStyle(curr.style, style)) {
-					if (curr.offset > offset && style != null) {
-						res.add(createStyleRange(offset, curr.offset, style));
+			int count = collectStyleRanges(null);
+			if (count == 0) {
+				return EMPTY;
+			}
+			StyleRange[] res = new StyleRange[count];
+			collectStyleRanges(res);
+			return res;
+		}
+		return EMPTY;
+	}
+
+	/**
+	 * Creates the style ranges of the style runs, so that the result array can
+	 * be allocated with the right size in advance.
+	 *
+	 * @param res the array to fill in or <code>null</code> to only count the
+	 *            style ranges
+	 * @return the number of style ranges
+	 */
+	private int collectStyleRanges(StyleRange[] res) {
+		int count = 0;
+		int offset = 0;
+		Styler style = null;
+		List<StyleRun> styleRuns = fStyleRuns;
+		for (int i = 0; i < styleRuns.size(); i++) {
+			StyleRun curr = styleRuns.get(i);
+			if (isDifferentStyle(curr.style, style)) {
+				if (curr.offset > offset && style != null) {
+					if (res != null) {
+						res[count] = createStyleRange(offset, curr.offset, style);
 					}
-					offset = curr.offset;
-					style = curr.style;
+					count++;
 				}
+				offset = curr.offset;
+				style = curr.style;
 			}
-			if (fBuffer.length() > offset && style != null) {
-				res.add(createStyleRange(offset, fBuffer.length(), style));
+		}
+		if (fBuffer.length() > offset && style != null) {
+			if (res != null) {
+				res[count] = createStyleRange(offset, fBuffer.length(), style);
 			}
-			return res.toArray(new StyleRange[res.size()]);
+			count++;
 		}
-		return EMPTY;
+		return count;
 	}
 
 	private int findRun(int offset) {
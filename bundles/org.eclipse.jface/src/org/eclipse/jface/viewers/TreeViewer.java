@@ -24,6 +24,7 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 
+import org.eclipse.core.runtime.Assert;
 import org.eclipse.jface.util.Policy;
 import org.eclipse.jface.viewers.internal.ExpandableNode;
 import org.eclipse.pde.api.tools.annotations.NoExtend;
@@ -63,6 +64,11 @@ import org.eclipse.swt.widgets.Widget;
  * {@link #setUseHashlookup(boolean)}.
  * </p>
  * <p>
+ * As of 3.35, a tree created with the {@link SWT#VIRTUAL} style bit can also
+ * create its items lazily with an <code>ITreeContentProvider</code>, see
+ * {@link #setUseLazyContentAdapter(boolean)}.
+ * </p>
+ * <p>
  * Users setting up an editable tree with more than 1 column <b>have</b> to pass the
  * SWT.FULL_SELECTION style bit
  * </p>
@@ -87,6 +93,14 @@ public class TreeViewer extends AbstractTreeViewer {
 
 	private boolean contentProviderIsTreeBased;
 
+	private boolean useLazyContentAdapter;
+
+	/**
+	 * Adapts an <code>ITreeContentProvider</code> to the lazy code paths, or
+	 * <code>null</code> if the lazy content adapter is not used.
+	 */
+	private LazyTreeContentAdapter lazyContentAdapter;
+
 	/**
 	 * The row object reused
 	 */
@@ -346,7 +360,7 @@ public class TreeViewer extends AbstractTreeViewer {
 
 	@Override
 	protected Object[] getRawChildren(Object parent) {
-		if (contentProviderIsLazy) {
+		if (contentProviderIsLazy && lazyContentAdapter == null) {
 			return new Object[0];
 		}
 		return super.getRawChildren(parent);
@@ -559,8 +573,7 @@ public class TreeViewer extends AbstractTreeViewer {
 		setBusy(true);
 		try {
 			if (contentProviderIsLazy && !contentProviderIsTreeBased && !(element instanceof TreePath)) {
-				ILazyTreeContentProvider lazyTreeContentProvider = (ILazyTreeContentProvider) getContentProvider();
-				return lazyTreeContentProvider.getParent(element);
+				return getLazyTreeContentProvider().getParent(element);
 			}
 			if (contentProviderIsLazy && contentProviderIsTreeBased && !(element instanceof TreePath)) {
 				ILazyTreePathContentProvider lazyTreePathContentProvider = (ILazyTreePathContentProvider) getContentProvider();
@@ -614,6 +627,17 @@ public class TreeViewer extends AbstractTreeViewer {
 	@Override
 	protected void internalAdd(Widget widget, Object parentElement,
 			Object[] childElements) {
+		if (lazyContentAdapter != null) {
+			// the filters and the comparator decide about the new child count
+			lazyContentAdapter.clear();
+			virtualLazyUpdateChildCount(widget, getChildren(widget).length);
+			if (widget instanceof TreeItem) {
+				((TreeItem) widget).clearAll(false);
+			} else {
+				((Tree) widget).clearAll(false);
+			}
+			return;
+		}
 		if (contentProviderIsLazy) {
 			if (widget instanceof TreeItem) {
 				TreeItem ti = (TreeItem) widget;
@@ -657,6 +681,11 @@ public class TreeViewer extends AbstractTreeViewer {
 	@Override
 	protected void internalRefreshStruct(Widget widget, Object element,
 			boolean updateLabels) {
+		if (lazyContentAdapter != null) {
+			lazyContentAdapter.clear();
+			virtualAdapterRefreshStruct(widget, element);
+			return;
+		}
 		if (contentProviderIsLazy) {
 			// clear all starting with the given widget
 			if (widget instanceof Tree) {
@@ -684,6 +713,69 @@ public class TreeViewer extends AbstractTreeViewer {
 		super.internalRefreshStruct(widget, element, updateLabels);
 	}
 
+	@Override
+	protected void internalRefresh(Widget widget, Object element, boolean doStruct, boolean updateLabels) {
+		if (doStruct && lazyContentAdapter != null) {
+			// the child count of the item is updated before its children
+			lazyContentAdapter.clear();
+		}
+		super.internalRefresh(widget, element, doStruct, updateLabels);
+	}
+
+	/**
+	 * Recreates the children of the given widget for the lazy content adapter.
+	 * The items of a virtual tree are matched to the elements by their index,
+	 * so the expanded items are remembered by element and only the items of
+	 * expanded elements are materialized again.
+	 *
+	 * @param widget the tree or the tree item to refresh
+	 * @param element the element of the widget
+	 */
+	private void virtualAdapterRefreshStruct(Widget widget, Object element) {
+		CustomHashtable expanded = newHashtable(CustomHashtable.DEFAULT_CAPACITY);
+		collectExpandedElements(widget, expanded);
+		if (widget instanceof Tree) {
+			((Tree) widget).setItemCount(0);
+			if (element == null) {
+				return;
+			}
+			virtualLazyUpdateChildCount(widget, 0);
+		} else {
+			TreeItem treeItem = (TreeItem) widget;
+			boolean wasExpanded = treeItem.getExpanded();
+			treeItem.setItemCount(0);
+			virtualLazyUpdateChildCount(treeItem, 0);
+			if (!wasExpanded) {
+				return;
+			}
+			setExpanded(treeItem, true);
+		}
+		restoreExpandedElements(widget, element, expanded);
+	}
+
+	private void collectExpandedElements(Widget widget, CustomHashtable expanded) {
+		for (Item item : getChildren(widget)) {
+			Object data = item.getData();
+			if (data != null && getExpanded(item)) {
+				expanded.put(data, data);
+				collectExpandedElements(item, expanded);
+			}
+		}
+	}
+
+	private void restoreExpandedElements(Widget widget, Object element, CustomHashtable expanded) {
+		Object[] children = lazyContentAdapter.getChildren(element);
+		for (int i = 0; i < children.length && expanded.size() > 0; i++) {
+			if (expanded.remove(children[i]) != null) {
+				virtualLazyUpdateWidget(widget, i);
+				TreeItem item = (TreeItem) getChild(widget, i);
+				virtualLazyUpdateChildCount(item, item.getItemCount());
+				setExpanded(item, true);
+				restoreExpandedElements(item, children[i], expanded);
+			}
+		}
+	}
+
 	/**
 	 * Traverses the visible (expanded) part of the tree and updates child
 	 * counts.
@@ -807,6 +899,9 @@ public class TreeViewer extends AbstractTreeViewer {
 	public void remove(final Object parentOrTreePath, final int index) {
 		if (checkBusy())
 			return;
+		if (lazyContentAdapter != null) {
+			lazyContentAdapter.clear();
+		}
 		// in case preservingSelection() is nested avoid getSelection():
 		final List<TreePath> oldSelection = insidePreservingSelection ? null : new LinkedList<>(
 				Arrays.asList(((TreeSelection) getSelection()).getPaths()));
@@ -925,10 +1020,103 @@ public class TreeViewer extends AbstractTreeViewer {
 	 */
 	@Override
 	public void setContentProvider(IContentProvider provider) {
+		updateContentProviderType(provider);
+		super.setContentProvider(provider);
+	}
+
+	private void updateContentProviderType(IContentProvider provider) {
 		contentProviderIsLazy = (provider instanceof ILazyTreeContentProvider)
 				|| (provider instanceof ILazyTreePathContentProvider);
 		contentProviderIsTreeBased = provider instanceof ILazyTreePathContentProvider;
-		super.setContentProvider(provider);
+		lazyContentAdapter = null;
+		if (useLazyContentAdapter && !contentProviderIsLazy && provider instanceof ITreeContentProvider) {
+			lazyContentAdapter = new LazyTreeContentAdapter(this, (ITreeContentProvider) provider);
+			contentProviderIsLazy = true;
+		}
+	}
+
+	/**
+	 * Configures whether this viewer creates the items of an
+	 * {@link ITreeContentProvider} lazily. When enabled, the children of an
+	 * element are fetched, filtered and sorted when the element is expanded,
+	 * but items are only created and labeled for the rows the tree actually
+	 * shows. This gives the benefits of an {@link ILazyTreeContentProvider}
+	 * without rewriting the content provider, and makes limiting the number of
+	 * items with {@link #setDisplayIncrementally(int)} unnecessary, so that
+	 * limit is ignored while the adapter is in use.
+	 * <p>
+	 * The adapter requires a tree created with the {@link SWT#VIRTUAL} style
+	 * bit and enables hash lookup, so it must be configured before the input
+	 * is set. Filters, sorting, selection, reveal and expanding keep working.
+	 * Content providers implementing {@link ITreePathContentProvider} are not
+	 * adapted.
+	 * </p>
+	 *
+	 * @param enable <code>true</code> to create the items of an
+	 *               <code>ITreeContentProvider</code> lazily, <code>false</code>
+	 *               to create all items of expanded elements
+	 * @since 3.35
+	 */
+	public void setUseLazyContentAdapter(boolean enable) {
+		Assert.isTrue(getInput() == null,
+				"Can only enable the lazy content adapter before input has been set");//$NON-NLS-1$
+		Assert.isTrue(!enable || (tree.getStyle() & SWT.VIRTUAL) != 0,
+				"The lazy content adapter requires a tree with the SWT.VIRTUAL style bit");//$NON-NLS-1$
+		useLazyContentAdapter = enable;
+		if (enable) {
+			setUseHashlookup(true);
+		}
+		updateContentProviderType(getContentProvider());
+	}
+
+	@Override
+	protected void inputChanged(Object input, Object oldInput) {
+		if (lazyContentAdapter != null) {
+			lazyContentAdapter.clear();
+		}
+		super.inputChanged(input, oldInput);
+	}
+
+	@Override
+	protected void internalRemove(Object[] elementsOrPaths) {
+		if (lazyContentAdapter != null) {
+			lazyContentAdapter.clear();
+		}
+		super.internalRemove(elementsOrPaths);
+	}
+
+	@Override
+	protected void internalRemove(Object parent, Object[] elements) {
+		if (lazyContentAdapter != null) {
+			lazyContentAdapter.clear();
+		}
+		super.internalRemove(parent, elements);
+	}
+
+	@Override
+	public void insert(Object parentElementOrTreePath, Object element, int position) {
+		if (lazyContentAdapter != null) {
+			// the position is given by the content provider
+			add(parentElementOrTreePath, element);
+			return;
+		}
+		super.insert(parentElementOrTreePath, element, position);
+	}
+
+	@Override
+	int getItemsLimit() {
+		if (lazyContentAdapter != null) {
+			return 0;
+		}
+		return super.getItemsLimit();
+	}
+
+	@Override
+	Object[] getBackgroundRefreshParents() {
+		if (contentProviderIsLazy) {
+			return null; // children are only fetched for the items being shown
+		}
+		return super.getBackgroundRefreshParents();
 	}
 
 	/**
@@ -974,6 +1162,13 @@ public class TreeViewer extends AbstractTreeViewer {
 		});
 	}
 
+	private ILazyTreeContentProvider getLazyTreeContentProvider() {
+		if (lazyContentAdapter != null) {
+			return lazyContentAdapter;
+		}
+		return (ILazyTreeContentProvider) getContentProvider();
+	}
+
 	/**
 	 * Update the widget at index.
 	 */
@@ -1000,7 +1195,7 @@ public class TreeViewer extends AbstractTreeViewer {
 				((ILazyTreePathContentProvider) getContentProvider())
 						.updateElement(treePath, index);
 			} else {
-				((ILazyTreeContentProvider) getContentProvider()).updateElement(
+				getLazyTreeContentProvider().updateElement(
 						widget.getData(), index);
 			}
 		} finally {
@@ -1025,7 +1220,7 @@ public class TreeViewer extends AbstractTreeViewer {
 				((ILazyTreePathContentProvider) getContentProvider())
 				.updateChildCount(treePath, currentChildCount);
 			} else {
-				((ILazyTreeContentProvider) getContentProvider()).updateChildCount(widget.getData(), currentChildCount);
+				getLazyTreeContentProvider().updateChildCount(widget.getData(), currentChildCount);
 			}
 		} finally {
 			setBusy(oldBusy);
@@ -1051,7 +1246,7 @@ public class TreeViewer extends AbstractTreeViewer {
 					.updateChildCount(treePath, currentChildCount);
 				}
 			} else {
-				((ILazyTreeContentProvider) getContentProvider()).updateChildCount(item.getData(), currentChildCount);
+				getLazyTreeContentProvider().updateChildCount(item.getData(), currentChildCount);
 			}
 		} finally {
 			setBusy(oldBusy);
@@ -19,6 +19,7 @@ package org.eclipse.jface.viewers;
 import java.util.LinkedList;
 
 import org.eclipse.core.runtime.Assert;
+import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.Image;
@@ -113,7 +114,12 @@ public class TreeViewerRow extends ViewerRow {
 
 	@Override
 	public void setText(int columnIndex, String text) {
-		item.setText(columnIndex, text == null ? "" : text); //$NON-NLS-1$
+		String newText = text == null ? "" : text; //$NON-NLS-1$
+		// skip unchanged labels, asking a virtual item for its text may
+		// materialize it
+		if ((item.getParent().getStyle() & SWT.VIRTUAL) != 0 || !newText.equals(item.getText(columnIndex))) {
+			item.setText(columnIndex, newText);
+		}
 	}
 
 	@Override
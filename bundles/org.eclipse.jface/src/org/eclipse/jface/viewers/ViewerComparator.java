@@ -16,6 +16,8 @@
 
 package org.eclipse.jface.viewers;
 
+import java.text.CollationKey;
+import java.text.Collator;
 import java.util.Arrays;
 import java.util.Comparator;
 
@@ -48,6 +50,17 @@ import org.eclipse.jface.util.Policy;
  */
 public class ViewerComparator {
 
+	/**
+	 * Number of elements from which sort keys are sorted in parallel.
+	 */
+	private static final int PARALLEL_SORT_THRESHOLD = 10000;
+
+	/**
+	 * Category and label of an element, computed once per sort.
+	 */
+	private record SortKey(Object element, int category, Object label) {
+	}
+
 	/**
 	 * The comparator to use to sort a viewer's contents.
 	 */
@@ -185,13 +198,37 @@ public class ViewerComparator {
 		return false;
 	}
 
+	/**
+	 * Returns whether {@link #sort(Viewer, Object[])} may compute the category
+	 * and the label of each element only once, instead of calling
+	 * {@link #compare(Viewer, Object, Object)} for each comparison. If the
+	 * comparator used to sort strings is a {@link Collator}, the labels are
+	 * compared by their {@link CollationKey}s, and large arrays are sorted in
+	 * parallel.
+	 * <p>
+	 * The default implementation returns <code>false</code>. Subclasses may
+	 * return <code>true</code> if they do not override
+	 * <code>compare</code>, or if their <code>compare</code> is equivalent to
+	 * comparing the category and then the label of the elements.
+	 * </p>
+	 *
+	 * @return <code>true</code> if the elements may be sorted by precomputed
+	 *         keys
+	 * @since 3.35
+	 */
+	protected boolean useSortKeys() {
+		return false;
+	}
+
 	/**
 	 * Sorts the given elements in-place, modifying the given array.
 	 * <p>
 	 * The default implementation of this method uses the
 	 * {@link java.util.Arrays#sort(Object[], Comparator)} algorithm on the
 	 * given array, calling {@link #compare(Viewer, Object, Object)} to compare
-	 * elements.
+	 * elements. If {@link #useSortKeys()} returns <code>true</code>, the
+	 * category and the label of each element are computed only once and the
+	 * elements are sorted by these keys.
 	 * </p>
 	 * <p>
 	 * Subclasses may reimplement this method to provide a more optimized implementation.
@@ -201,6 +238,10 @@ public class ViewerComparator {
 	 * @param elements the elements to sort
 	 */
 	public void sort(final Viewer viewer, Object[] elements) {
+		if (useSortKeys()) {
+			sortByKeys(viewer, elements);
+			return;
+		}
 		try {
 			Arrays.sort(elements, (a, b) -> ViewerComparator.this.compare(viewer, a, b));
 		} catch (IllegalArgumentException e) {
@@ -227,4 +268,36 @@ public class ViewerComparator {
 			throw e;
 		}
 	}
+
+	private void sortByKeys(Viewer viewer, Object[] elements) {
+		if (elements.length < 2) {
+			return;
+		}
+		Comparator<? super String> stringComparator = getComparator();
+		Collator collator = stringComparator instanceof Collator ? (Collator) stringComparator : null;
+		SortKey[] keys = new SortKey[elements.length];
+		for (int i = 0; i < elements.length; i++) {
+			Object element = elements[i];
+			String label = getLabel(viewer, element);
+			keys[i] = new SortKey(element, category(element), collator != null ? collator.getCollationKey(label) : label);
+		}
+
+		Comparator<SortKey> keyComparator;
+		if (collator != null) {
+			keyComparator = Comparator.comparingInt(SortKey::category)
+					.thenComparing(key -> (CollationKey) key.label());
+		} else {
+			keyComparator = Comparator.comparingInt(SortKey::category)
+					.thenComparing(key -> (String) key.label(), stringComparator);
+		}
+		// collation keys can be compared concurrently, arbitrary string comparators maybe not
+		if (collator != null && keys.length >= PARALLEL_SORT_THRESHOLD) {
+			Arrays.parallelSort(keys, keyComparator);
+		} else {
+			Arrays.sort(keys, keyComparator);
+		}
+		for (int i = 0; i < keys.length; i++) {
+			elements[i] = keys[i].element();
+		}
+	}
 }
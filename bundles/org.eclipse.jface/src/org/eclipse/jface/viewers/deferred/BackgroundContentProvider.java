@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2015 IBM Corporation and others.
+ * Copyright (c) 2005, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,7 @@ import java.util.Comparator;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jface.internal.BackgroundExecutor;
 import org.eclipse.jface.resource.JFaceResources;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.jface.viewers.AcceptAllFilter;
@@ -51,7 +52,16 @@ import org.eclipse.jface.viewers.deferred.ConcurrentTableUpdator.Range;
  * allows the content provider to locate and sort the visible range without fully sorting
  * all elements in the table. It also supports fast cancellation, allowing the visible range
  * to change in the middle of a sort without discarding partially-sorted information from
- * the previous range.
+ * the previous range. The collection is kept between sorts, and only the rows around the
+ * visible range and the rows the table already has are sorted and sent to the table. The
+ * other rows are sorted when they are scrolled into view.
+ * </p>
+ *
+ * <p>
+ * Sorting runs on the small thread pool shared by the background work of
+ * JFace. So that a model which changes all the time does not keep a thread
+ * to itself, a sort gives up its thread after {@link #TIME_SLICE} and queues
+ * the rest of its work behind the tasks of the other content providers.
  * </p>
  *
  * @since 3.1
@@ -63,6 +73,11 @@ import org.eclipse.jface.viewers.deferred.ConcurrentTableUpdator.Range;
 	 */
 	private static final String SORTING = JFaceResources.getString("Sorting"); //$NON-NLS-1$
 
+	/**
+	 * Nanoseconds a sort may process changes before it yields its thread
+	 */
+	private static final long TIME_SLICE = 100_000_000L;
+
 	/**
 	 * Table limit. -1 if unlimited
 	 */
@@ -122,12 +137,36 @@ import org.eclipse.jface.viewers.deferred.ConcurrentTableUpdator.Range;
 	private ConcurrentTableUpdator updator;
 
 	private IProgressMonitor sortingProgressMonitor = new NullProgressMonitor();
-	private Thread sortThread = null;
 
 	private volatile FastProgressReporter sortMon = new FastProgressReporter();
 
 	private volatile Range range = new Range(0,0);
 
+	/**
+	 * The rows that were sorted and sent to the table by the last sort.
+	 */
+	private volatile Range sortedRange = new Range(0, 0);
+
+	/**
+	 * True iff the visible range moved out of the sorted range
+	 */
+	private volatile boolean rangeChanged;
+
+	/**
+	 * The sorted and filtered elements. Only accessed by the sort task.
+	 */
+	private LazySortedCollection collection;
+
+	/**
+	 * The sort order of the collection. Only accessed by the sort task.
+	 */
+	private Comparator<?> collectionOrder;
+
+	/**
+	 * The filter applied to the collection. Only accessed by the sort task.
+	 */
+	private IFilter collectionFilter;
+
 	/**
 	 * Creates a new background content provider
 	 *
@@ -169,8 +208,10 @@ import org.eclipse.jface.viewers.deferred.ConcurrentTableUpdator.Range;
 	 * Schedules a UI update when finished.
 	 *
 	 * @param mon monitor where progress will be reported
+	 * @return <code>true</code> if the sort yielded its thread with changes
+	 *         left to process
 	 */
-	private void doSort(IProgressMonitor mon) {
+	private boolean doSort(IProgressMonitor mon) {
 
 		// Workaround for some weirdness in the Jobs framework: if you cancel a monitor
 		// for a job that has ended and reschedule that same job, it will start
@@ -182,22 +223,22 @@ import org.eclipse.jface.viewers.deferred.ConcurrentTableUpdator.Range;
 
 		mon.beginTask(SORTING, 100);
 
-		// Create a LazySortedCollection
-		Comparator order = sortOrder;
-		IFilter f = filter;
-		LazySortedCollection collection = new LazySortedCollection(order);
-
-		// Fill it in with all existing known objects
-		Object[] knownObjects = updator.getKnownObjects();
-		for (Object object : knownObjects) {
-			if (object != null) {
-				collection.add(object);
-			}
+		// Continue with the collection of the previous sort, it already
+		// contains all known elements
+		if (collection == null) {
+			collectionOrder = sortOrder;
+			collectionFilter = filter;
+			collection = new LazySortedCollection(collectionOrder);
 		}
+		Comparator<?> order = collectionOrder;
+		IFilter f = collectionFilter;
 
 		boolean dirty = false;
-		int prevSize = knownObjects.length;
-		updator.setTotalItems(prevSize);
+		// true if the rows sent before may be out of date
+		boolean changed = false;
+		int prevSize = updator.getKnownObjects().length;
+		long deadline = System.nanoTime() + TIME_SLICE;
+		boolean yielded = false;
 
 		// Start processing changes
 		while(true) {
@@ -205,6 +246,7 @@ import org.eclipse.jface.viewers.deferred.ConcurrentTableUpdator.Range;
 			// the new comparator
 			if (order != sortOrder) {
 				dirty = true;
+				changed = true;
 				order = sortOrder;
 				// Copy all elements from the old collection to the new one
 				LazySortedCollection newCollection = new LazySortedCollection(order);
@@ -221,13 +263,16 @@ import org.eclipse.jface.viewers.deferred.ConcurrentTableUpdator.Range;
 					continue;
 				}
 				collection = newCollection;
+				collectionOrder = order;
 				continue;
 			}
 
 			// If the filter has changed
 			if (f != filter) {
 				dirty = true;
+				changed = true;
 				f = filter;
+				collectionFilter = f;
 
 				Object[] items = collection.getItems(false);
 
@@ -242,9 +287,16 @@ import org.eclipse.jface.viewers.deferred.ConcurrentTableUpdator.Range;
 				continue;
 			}
 
+			// Once the time slice is used up, send the changes processed so far
+			// to the table and leave the rest to the next sort
+			if (!yielded && !changeQueue.isEmpty() && System.nanoTime() - deadline > 0) {
+				yielded = true;
+			}
+
 			// If there are pending changes, process one of them
-			if (!changeQueue.isEmpty()) {
+			if (!yielded && !changeQueue.isEmpty()) {
 				dirty = true;
+				changed = true;
 				ChangeQueue.Change next = changeQueue.dequeue();
 
 				switch(next.getType()) {
@@ -302,6 +354,12 @@ import org.eclipse.jface.viewers.deferred.ConcurrentTableUpdator.Range;
 				dirty = true;
 			}
 
+			// Sort the rows that were scrolled into view
+			if (rangeChanged) {
+				rangeChanged = false;
+				dirty = true;
+			}
+
 			// Terminate loop
 			if (!dirty) {
 				break;
@@ -318,6 +376,7 @@ import org.eclipse.jface.viewers.deferred.ConcurrentTableUpdator.Range;
 					collection.retainFirst(limit, sortMon);
 				}
 
+				sortStart = Math.min(sortStart, totalElements);
 				sortLength = Math.min(sortLength, totalElements - sortStart);
 				sortLength = Math.max(sortLength, 0);
 
@@ -331,16 +390,38 @@ import org.eclipse.jface.viewers.deferred.ConcurrentTableUpdator.Range;
 					updator.replace(object, sortStart + i);
 				}
 
-				objectsOfInterest = new Object[collection.size()];
-
-				collection.getFirst(objectsOfInterest, true, sortMon);
-
-				// Send the new elements to the table
-				for (int i = 0; i < totalElements; i++) {
-					Object object = objectsOfInterest[i];
-					updator.replace(object, i);
+				// Also sort one page before and after the visible range, so that
+				// scrolling does not show empty rows. The rest of the rows are only
+				// partitioned by the collection and sorted when they become visible.
+				int sortEnd = sortStart + sortLength;
+				int windowStart = Math.max(0, sortStart - sortLength);
+				int windowEnd = Math.min(totalElements, sortEnd + sortLength);
+				sendRange(windowStart, sortStart);
+				sendRange(sortEnd, windowEnd);
+
+				// The table does not ask again for the rows it already has, so
+				// update them if the elements or their order changed. Rows that
+				// are still valid stay as they are.
+				if (changed) {
+					// a copy, sending a row may clear the previous row of its element
+					Object[] known = updator.getKnownObjects().clone();
+					int end = Math.min(known.length, totalElements);
+					int runStart = -1;
+					for (int row = 0; row <= end; row++) {
+						boolean sent = row < end && (row < windowStart || row >= windowEnd)
+								&& known[row] != null;
+						if (sent && runStart == -1) {
+							runStart = row;
+						} else if (!sent && runStart != -1) {
+							sendRange(runStart, row);
+							runStart = -1;
+						}
+					}
+					changed = false;
 				}
 
+				sortedRange = new Range(windowStart, windowEnd - windowStart);
+
 			} catch (InterruptedException e) {
 				continue;
 			}
@@ -349,6 +430,26 @@ import org.eclipse.jface.viewers.deferred.ConcurrentTableUpdator.Range;
 		}
 
 		mon.done();
+		return yielded;
+	}
+
+	/**
+	 * Sorts the given rows and sends them to the table. Called from the sort
+	 * task.
+	 *
+	 * @param start first row to send
+	 * @param end row after the last row to send
+	 * @throws InterruptedException if the sort was cancelled
+	 */
+	private void sendRange(int start, int end) throws InterruptedException {
+		if (start >= end) {
+			return;
+		}
+		Object[] objects = new Object[end - start];
+		collection.getRange(objects, start, true, sortMon);
+		for (int i = 0; i < objects.length; i++) {
+			updator.replace(objects[i], start + i);
+		}
 	}
 
 	private static void filteredAdd(LazySortedCollection collection, Object[] toAdd, IFilter filter) {
@@ -424,50 +525,54 @@ import org.eclipse.jface.viewers.deferred.ConcurrentTableUpdator.Range;
 		if (newRange.start != oldRange.start || newRange.length != oldRange.length) {
 			sortMon.cancel();
 		}
+
+		// Sort the rows that were scrolled into view
+		Range sorted = sortedRange;
+		if (newRange.start < sorted.start || newRange.start + newRange.length > sorted.start + sorted.length) {
+			rangeChanged = true;
+			makeDirty();
+		}
 	}
 
 	/**
-	 * This lock protects the two boolean variables sortThreadStarted and resortScheduled.
+	 * This lock protects the two boolean variables sortTaskStarted and resortScheduled.
 	 */
 	private Object lock = new Object();
 
 	/**
-	 * true if the sort thread is running
+	 * true if the sort task is running
 	 */
-	private boolean sortThreadStarted = false;
+	private boolean sortTaskStarted = false;
 
 	/**
 	 * true if we need to sort
 	 */
 	private boolean sortScheduled = false;
 
-	private final class SortThread extends Thread {
-		private SortThread(String name) {
-			super(name);
-		}
-
+	private final Runnable sortTask = new Runnable() {
 		@Override
 		public void run() {
-			loop: while (true) {
-				synchronized (lock) {
-					sortScheduled = false;
-				}
-				try {
-					// this is the main work
-					doSort(sortingProgressMonitor);
-				} catch (Exception ex) {
-					// ignore
-				}
-				synchronized (lock) {
-					if (sortScheduled) {
-						continue loop;
-					}
-					sortThreadStarted = false;
-					break loop;
+			synchronized (lock) {
+				sortScheduled = false;
+			}
+			boolean yielded = false;
+			try {
+				// this is the main work
+				yielded = doSort(sortingProgressMonitor);
+			} catch (Exception ex) {
+				// ignore
+			}
+			synchronized (lock) {
+				if ((sortScheduled || yielded) && !updator.isDisposed()) {
+					// queue the next sort behind the tasks of the other content
+					// providers instead of looping on the shared thread
+					BackgroundExecutor.getExecutor().execute(this);
+					return;
 				}
+				sortTaskStarted = false;
 			}
 		}
-	}
+	};
 
 	/**
 	 * Must be called whenever the model changes. Dirties this object and triggers a sort
@@ -478,12 +583,9 @@ import org.eclipse.jface.viewers.deferred.ConcurrentTableUpdator.Range;
 			sortMon.cancel();
 			// request sorting
 			sortScheduled = true;
-			if (!sortThreadStarted) {
-				sortThreadStarted = true;
-				sortThread = new SortThread(SORTING);
-				sortThread.setDaemon(true);
-				sortThread.setPriority(Thread.NORM_PRIORITY - 1);
-				sortThread.start();
+			if (!sortTaskStarted && !updator.isDisposed()) {
+				sortTaskStarted = true;
+				BackgroundExecutor.getExecutor().execute(sortTask);
 			}
 		}
 	}
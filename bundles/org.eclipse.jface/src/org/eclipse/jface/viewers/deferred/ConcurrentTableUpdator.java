@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2015 IBM Corporation and others.
+ * Copyright (c) 2004, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,7 +19,8 @@ package org.eclipse.jface.viewers.deferred;
  * Allows a table to be accessed from a background thread. Provides a table-like public
  * interface that can accessed from a background thread. As updates arrive from the
  * background thread, it batches and schedules updates to the real table in the UI thread.
- * This class can be used with any widget that can be wrapped in the
+ * The more time the updates of the table take, the more updates are batched, so that the
+ * UI thread stays responsive. This class can be used with any widget that can be wrapped in the
  * <code>AbstractVirtualTable</code> interface.
  *
  * @since 3.1
@@ -81,6 +82,17 @@ package org.eclipse.jface.viewers.deferred;
 	 */
 	private volatile boolean disposed = false;
 
+	/**
+	 * The longest time to wait before updating the table
+	 */
+	private static final int MAX_DELAY_MILLIS = 100;
+
+	/**
+	 * Time the last update of the table took in nanoseconds. Only accessed in
+	 * the UI thread.
+	 */
+	private long lastUpdateNanos;
+
 	/**
 	 * Object that holds a start index and length. Allows
 	 * the visible range to be returned as an atomic operation.
@@ -102,7 +114,23 @@ package org.eclipse.jface.viewers.deferred;
 	Runnable uiRunnable = () -> {
 		updateScheduled = false;
 		if(!table.getControl().isDisposed()) {
+			long start = System.nanoTime();
 			updateTable();
+			lastUpdateNanos = System.nanoTime() - start;
+		}
+	};
+
+	/**
+	 * Runnable that is posted with an asyncExec. Waits twice as long as the
+	 * last update took before updating the table, so that updating the table
+	 * takes at most a third of the UI thread.
+	 */
+	private Runnable delayedUiRunnable = () -> {
+		int delay = (int) Math.min(MAX_DELAY_MILLIS, lastUpdateNanos * 2 / 1000000);
+		if (delay > 0 && !table.getControl().isDisposed()) {
+			table.getControl().getDisplay().timerExec(delay, uiRunnable);
+		} else {
+			uiRunnable.run();
 		}
 	};
 
@@ -207,7 +235,7 @@ package org.eclipse.jface.viewers.deferred;
 		sentObjects[toClear] = null;
 
 		if (lastClear >= pendingClears.length) {
-			int newCapacity = Math.min(MIN_FLUSHLENGTH, lastClear * 2);
+			int newCapacity = Math.max(MIN_FLUSHLENGTH, lastClear * 2);
 			int[] newPendingClears = new int[newCapacity];
 			System.arraycopy(pendingClears, 0, newPendingClears, 0, lastClear);
 			pendingClears = newPendingClears;
@@ -262,7 +290,7 @@ package org.eclipse.jface.viewers.deferred;
 			if (!updateScheduled) {
 				updateScheduled = true;
 				if(!table.getControl().isDisposed()) {
-					table.getControl().getDisplay().asyncExec(uiRunnable);
+					table.getControl().getDisplay().asyncExec(delayedUiRunnable);
 				}
 			}
 		}
@@ -296,7 +324,7 @@ package org.eclipse.jface.viewers.deferred;
 			// Resize the table if necessary
 			if (sentObjects.length != knownObjects.length) {
 				Object[] newSentObjects = new Object[knownObjects.length];
-				System.arraycopy(newSentObjects, 0, sentObjects, 0,
+				System.arraycopy(sentObjects, 0, newSentObjects, 0,
 						Math.min(newSentObjects.length, sentObjects.length));
 				sentObjects = newSentObjects;
 				table.setItemCount(newSentObjects.length);
@@ -354,9 +382,9 @@ package org.eclipse.jface.viewers.deferred;
 				int row = idx + start;
 
 				Object obj = knownObjects[row];
-				if (obj != null && obj != sentObjects[idx]) {
+				if (obj != null && obj != sentObjects[row]) {
 					table.replace(obj, row);
-					sentObjects[idx] = obj;
+					sentObjects[row] = obj;
 				}
 			}
 
@@ -21,6 +21,8 @@ import org.eclipse.core.runtime.Plugin;
 import org.eclipse.core.runtime.Status;
 
 import org.eclipse.search.internal.core.text.DirtyFileProvider;
+import org.eclipse.search.internal.core.text.FileMetadataCache;
+import org.eclipse.search.internal.core.text.ScopeFilesCache;
 import org.eclipse.search.internal.core.text.TextSearchEngineRegistry;
 
 public class SearchCorePlugin extends Plugin {
@@ -36,6 +38,8 @@ public class SearchCorePlugin extends Plugin {
 	private TextSearchEngineRegistry fTextSearchEngineRegistry;
 	private DirtyFileProvider fDirtyFileSearchParticipant;
 	private DirtyFileSearchParticipantServiceTracker fDirtyFileSearchParticipantTracker;
+	private FileMetadataCache fFileMetadataCache;
+	private ScopeFilesCache fScopeFilesCache;
 
 	/**
 	 * @return Returns the search plugin instance.
@@ -58,7 +62,16 @@ public class SearchCorePlugin extends Plugin {
 
 	@Override
 	public void stop(BundleContext context) throws Exception {
-		// do nothing
+		synchronized (this) {
+			if (fFileMetadataCache != null) {
+				fFileMetadataCache.dispose();
+				fFileMetadataCache = null;
+			}
+			if (fScopeFilesCache != null) {
+				fScopeFilesCache.dispose();
+				fScopeFilesCache = null;
+			}
+		}
 	}
 
 	public TextSearchEngineRegistry getTextSearchEngineRegistry() {
@@ -68,6 +81,20 @@ public class SearchCorePlugin extends Plugin {
 		return fTextSearchEngineRegistry;
 	}
 
+	public synchronized FileMetadataCache getFileMetadataCache() {
+		if (fFileMetadataCache == null) {
+			fFileMetadataCache = new FileMetadataCache();
+		}
+		return fFileMetadataCache;
+	}
+
+	public synchronized ScopeFilesCache getScopeFilesCache() {
+		if (fScopeFilesCache == null) {
+			fScopeFilesCache = new ScopeFilesCache();
+		}
+		return fScopeFilesCache;
+	}
+
 	public DirtyFileProvider getDirtyFileDiscovery() {
 		if (fDirtyFileSearchParticipant == null) {
 			this.fDirtyFileSearchParticipantTracker.open();
@@ -0,0 +1,245 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.filesystem.IFileInfo;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.QualifiedName;
+import org.eclipse.core.runtime.content.IContentTypeManager.IContentTypeChangeListener;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences.IPreferenceChangeListener;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences.PreferenceChangeEvent;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.search.internal.core.SearchCorePlugin;
+
+/**
+ * Remembers the results of expensive per-file probes done by the text searches:
+ * whether a file is binary, its charset and its size. The metadata is stored as
+ * a session property of the file, so it lives as long as the resource in the
+ * workspace session and is shared by all searches.
+ * <p>
+ * An entry is only valid for the modification stamp of the file it was recorded
+ * for. All entries are invalidated at once when an encoding or a content type
+ * association changes, as these influence the charset and binary detection
+ * without touching the file.
+ * </p>
+ */
+public class FileMetadataCache {
+
+	private static final QualifiedName METADATA_KEY= new QualifiedName(SearchCorePlugin.PLUGIN_ID, "fileMetadata"); //$NON-NLS-1$
+
+	/** Value of {@link #getSize(IFile)} if the size is unknown. */
+	public static final long UNKNOWN_SIZE= -1;
+
+	private static final class Entry {
+		final long fModificationStamp;
+		final int fGeneration;
+		final Boolean fBinary;
+		final String fCharset;
+		final long fSize;
+
+		Entry(long modificationStamp, int generation, Boolean binary, String charset, long size) {
+			fModificationStamp= modificationStamp;
+			fGeneration= generation;
+			fBinary= binary;
+			fCharset= charset;
+			fSize= size;
+		}
+	}
+
+	private final AtomicInteger fGeneration= new AtomicInteger();
+
+	private final IResourceChangeListener fEncodingListener= this::resourceChanged;
+	private final IContentTypeChangeListener fContentTypeListener= event -> invalidateAll();
+	private final IPreferenceChangeListener fPreferenceListener= this::preferenceChanged;
+
+	public FileMetadataCache() {
+		getWorkspace().addResourceChangeListener(fEncodingListener, IResourceChangeEvent.POST_CHANGE);
+		Platform.getContentTypeManager().addContentTypeChangeListener(fContentTypeListener);
+		getResourcesPreferences().addPreferenceChangeListener(fPreferenceListener);
+	}
+
+	/**
+	 * Releases the listeners of this cache.
+	 */
+	public void dispose() {
+		getWorkspace().removeResourceChangeListener(fEncodingListener);
+		Platform.getContentTypeManager().removeContentTypeChangeListener(fContentTypeListener);
+		getResourcesPreferences().removePreferenceChangeListener(fPreferenceListener);
+	}
+
+	/**
+	 * Returns whether the file has been detected to be binary.
+	 *
+	 * @param file the file
+	 * @return {@link Boolean#TRUE} if the file is binary, {@link Boolean#FALSE}
+	 *         if it is a text file and <code>null</code> if not known
+	 */
+	public Boolean isBinary(IFile file) {
+		Entry entry= getEntry(file);
+		return entry != null ? entry.fBinary : null;
+	}
+
+	/**
+	 * Records whether the file is binary.
+	 *
+	 * @param file the file
+	 * @param binary <code>true</code> if the file is binary
+	 */
+	public void setBinary(IFile file, boolean binary) {
+		Entry entry= getEntry(file);
+		putEntry(file, Boolean.valueOf(binary), entry != null ? entry.fCharset : null, entry != null ? entry.fSize : UNKNOWN_SIZE);
+	}
+
+	/**
+	 * Returns the charset of the file, see {@link IFile#getCharset()}. The
+	 * charset is resolved only once per modification of the file.
+	 *
+	 * @param file the file
+	 * @return the name of the charset of the file
+	 * @throws CoreException if the charset can not be determined
+	 */
+	public String getCharset(IFile file) throws CoreException {
+		Entry entry= getEntry(file);
+		if (entry != null && entry.fCharset != null) {
+			return entry.fCharset;
+		}
+		String charset= file.getCharset();
+		putEntry(file, entry != null ? entry.fBinary : null, charset, entry != null ? entry.fSize : UNKNOWN_SIZE);
+		return charset;
+	}
+
+	/**
+	 * Returns the size of the file in bytes. The size is fetched from the file
+	 * system only once per modification of the file.
+	 *
+	 * @param file the file
+	 * @return the size or {@link #UNKNOWN_SIZE} if it can not be determined
+	 */
+	public long getSize(IFile file) {
+		Entry entry= getEntry(file);
+		if (entry != null && entry.fSize != UNKNOWN_SIZE) {
+			return entry.fSize;
+		}
+		long size= fetchSize(file);
+		putEntry(file, entry != null ? entry.fBinary : null, entry != null ? entry.fCharset : null, size);
+		return size;
+	}
+
+	/**
+	 * Returns the size of the file in bytes if it is already known, without
+	 * accessing the file system.
+	 *
+	 * @param file the file
+	 * @return the size or {@link #UNKNOWN_SIZE} if it has not been fetched
+	 *         since the last modification of the file
+	 */
+	public long getCachedSize(IFile file) {
+		Entry entry= getEntry(file);
+		return entry != null ? entry.fSize : UNKNOWN_SIZE;
+	}
+
+	private Entry getEntry(IFile file) {
+		Object value;
+		try {
+			value= file.getSessionProperty(METADATA_KEY);
+		} catch (CoreException e) {
+			return null; // resource does not exist (anymore)
+		}
+		if (value instanceof Entry entry && entry.fGeneration == fGeneration.get()
+				&& entry.fModificationStamp == file.getModificationStamp()) {
+			return entry;
+		}
+		return null;
+	}
+
+	private void putEntry(IFile file, Boolean binary, String charset, long size) {
+		long modificationStamp= file.getModificationStamp();
+		if (modificationStamp == IResource.NULL_STAMP) {
+			return;
+		}
+		try {
+			file.setSessionProperty(METADATA_KEY, new Entry(modificationStamp, fGeneration.get(), binary, charset, size));
+		} catch (CoreException e) {
+			// resource does not exist (anymore), nothing to remember
+		}
+	}
+
+	private static long fetchSize(IFile file) {
+		URI location= file.getLocationURI();
+		if (location == null) {
+			return UNKNOWN_SIZE;
+		}
+		try {
+			IFileInfo info= EFS.getStore(location).fetchInfo();
+			return info.exists() ? info.getLength() : UNKNOWN_SIZE;
+		} catch (CoreException e) {
+			return UNKNOWN_SIZE;
+		}
+	}
+
+	private void invalidateAll() {
+		fGeneration.incrementAndGet();
+	}
+
+	private void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta= event.getDelta();
+		if (delta == null) {
+			return;
+		}
+		boolean[] encodingChanged= new boolean[1];
+		try {
+			delta.accept(child -> {
+				if ((child.getFlags() & IResourceDelta.ENCODING) != 0) {
+					encodingChanged[0]= true;
+				}
+				return !encodingChanged[0];
+			});
+		} catch (CoreException e) {
+			SearchCorePlugin.log(e);
+		}
+		if (encodingChanged[0]) {
+			invalidateAll();
+		}
+	}
+
+	private void preferenceChanged(PreferenceChangeEvent event) {
+		if (ResourcesPlugin.PREF_ENCODING.equals(event.getKey())) {
+			invalidateAll();
+		}
+	}
+
+	private static IWorkspace getWorkspace() {
+		return ResourcesPlugin.getWorkspace();
+	}
+
+	private static IEclipsePreferences getResourcesPreferences() {
+		return InstanceScope.INSTANCE.getNode(ResourcesPlugin.PI_RESOURCES);
+	}
+}
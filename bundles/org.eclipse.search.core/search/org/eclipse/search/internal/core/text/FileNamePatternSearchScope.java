@@ -17,6 +17,7 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -29,7 +30,7 @@ import org.eclipse.core.resources.IResourceProxy;
 
 import org.eclipse.search.core.text.TextSearchScope;
 
-public class FileNamePatternSearchScope extends TextSearchScope {
+public class FileNamePatternSearchScope extends TextSearchScope implements ICacheableSearchScope {
 
 	/**
 	 * Returns a scope for the given resources.
@@ -116,6 +117,12 @@ public class FileNamePatternSearchScope extends TextSearchScope {
 	}
 
 
+	@Override
+	public ScopeFilesCache.Key getFilesCacheKey() {
+		Pattern pattern= getFileNamePattern();
+		return new ScopeFilesCache.Key(new HashSet<>(Arrays.asList(fRootElements)), List.of(pattern.pattern(), Integer.valueOf(pattern.flags())), fVisitDerived);
+	}
+
 	private Matcher getFileNameMatcher() {
 		if (fFileNameMatcher == null) {
 			Pattern pattern;
@@ -14,55 +14,78 @@
 package org.eclipse.search.internal.core.text;
 
 import java.util.ArrayList;
+import java.util.Collection;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.MultiStatus;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
-import org.eclipse.core.resources.IResourceProxy;
 import org.eclipse.core.resources.IResourceProxyVisitor;
 
 import org.eclipse.search.core.text.TextSearchScope;
+import org.eclipse.search.internal.core.SearchCorePlugin;
 
-public class FilesOfScopeCalculator implements IResourceProxyVisitor {
+public class FilesOfScopeCalculator {
 
 	private final TextSearchScope fScope;
 	private final MultiStatus fStatus;
-	private ArrayList<IResource> fFiles;
 
 	public FilesOfScopeCalculator(TextSearchScope scope, MultiStatus status) {
 		fScope= scope;
 		fStatus= status;
 	}
 
-	@Override
-	public boolean visit(IResourceProxy proxy) {
-		boolean inScope= fScope.contains(proxy);
+	/**
+	 * Returns a visitor that adds the files of the visited resources that are
+	 * in the given scope to the given collection.
+	 *
+	 * @param scope the scope
+	 * @param files the collection to add the files to
+	 * @return the visitor
+	 */
+	static IResourceProxyVisitor collector(TextSearchScope scope, Collection<IFile> files) {
+		return proxy -> {
+			boolean inScope= scope.contains(proxy);
 
-		if (inScope && proxy.getType() == IResource.FILE) {
-			fFiles.add(proxy.requestResource());
-		}
-		return inScope;
+			if (inScope && proxy.getType() == IResource.FILE) {
+				files.add((IFile) proxy.requestResource());
+			}
+			return inScope;
+		};
 	}
 
 	public IFile[] process() {
-		fFiles= new ArrayList<>();
-		try {
-			IResource[] roots= fScope.getRoots();
-			for (IResource resource : roots) {
-				try {
-					if (resource.isAccessible()) {
-						resource.accept(this, 0);
-					}
-				} catch (CoreException ex) {
-					// report and ignore
-					fStatus.add(ex.getStatus());
+		ScopeFilesCache cache= null;
+		ScopeFilesCache.Key key= ScopeFilesCache.keyFor(fScope);
+		if (key != null) {
+			cache= SearchCorePlugin.getDefault().getScopeFilesCache();
+			IFile[] files= cache.getFiles(key);
+			if (files != null) {
+				return files;
+			}
+		}
+		int modificationStamp= cache != null ? cache.getModificationStamp() : 0;
+
+		ArrayList<IFile> files= new ArrayList<>();
+		IResourceProxyVisitor collector= collector(fScope, files);
+		boolean complete= true;
+		IResource[] roots= fScope.getRoots();
+		for (IResource resource : roots) {
+			try {
+				if (resource.isAccessible()) {
+					resource.accept(collector, 0);
 				}
+			} catch (CoreException ex) {
+				// report and ignore
+				fStatus.add(ex.getStatus());
+				complete= false;
 			}
-			return fFiles.toArray(new IFile[fFiles.size()]);
-		} finally {
-			fFiles= null;
 		}
+		IFile[] result= files.toArray(new IFile[files.size()]);
+		if (cache != null && complete) {
+			cache.putFiles(key, fScope, result, modificationStamp);
+		}
+		return result;
 	}
 }
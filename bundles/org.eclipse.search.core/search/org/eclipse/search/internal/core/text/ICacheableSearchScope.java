@@ -0,0 +1,31 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+/**
+ * Implemented by the text search scopes of this bundle whose files can be
+ * remembered in the {@link ScopeFilesCache}. This requires that the scope only
+ * depends on its roots, a file name filter and whether derived resources are
+ * included. Scopes of other bundles adapt to {@link ScopeFilesCache.Key}
+ * instead.
+ */
+public interface ICacheableSearchScope {
+
+	/**
+	 * Returns the key identifying the files of this scope.
+	 *
+	 * @return the key
+	 */
+	ScopeFilesCache.Key getFilesCacheKey();
+}
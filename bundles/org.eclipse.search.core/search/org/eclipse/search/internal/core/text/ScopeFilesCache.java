@@ -0,0 +1,262 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.Adapters;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.search.core.text.TextSearchScope;
+import org.eclipse.search.internal.core.SearchCorePlugin;
+
+/**
+ * Remembers the files of the most recently evaluated search scopes, so that
+ * searching the same scope again does not need to walk the resource tree. The
+ * remembered files are kept up to date with the resource deltas: added files
+ * are evaluated against the scope, removed files are dropped. Changes that can
+ * affect whole subtrees, like opening or closing a project or changing the
+ * derived flag, clear the cache.
+ * <p>
+ * Only scopes with a {@link Key} are cached, see {@link #keyFor(TextSearchScope)}.
+ * </p>
+ */
+public class ScopeFilesCache {
+
+	/**
+	 * Identifies the files of a scope. Scopes with equal keys must contain the
+	 * same resources.
+	 *
+	 * @param roots the roots of the scope
+	 * @param fileNameFilter an object describing the file names accepted by the
+	 *            scope, compared with {@link Object#equals(Object)}
+	 * @param includeDerived whether derived resources are part of the scope
+	 */
+	public record Key(Set<IResource> roots, Object fileNameFilter, boolean includeDerived) {
+	}
+
+	private static final int MAX_ENTRIES= 8;
+
+	private static final class CachedFiles {
+		final TextSearchScope fScope;
+		final LinkedHashSet<IFile> fFiles;
+
+		CachedFiles(TextSearchScope scope, Collection<IFile> files) {
+			fScope= scope;
+			fFiles= new LinkedHashSet<>(files);
+		}
+	}
+
+	/** The cached entries in access order, guarded by <code>this</code> */
+	private final Map<Key, CachedFiles> fEntries= new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID= 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, CachedFiles> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+
+	/**
+	 * Incremented with each resource change that adds, removes or moves
+	 * resources, guarded by <code>this</code>
+	 */
+	private int fModificationStamp;
+
+	/** Whether the visited delta changes the structure, guarded by <code>this</code> */
+	private boolean fStructureChanged;
+
+	private final IResourceChangeListener fListener= this::resourceChanged;
+
+	public ScopeFilesCache() {
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(fListener, IResourceChangeEvent.POST_CHANGE);
+	}
+
+	/**
+	 * Returns the key identifying the files of the given scope. Scopes of
+	 * other bundles provide their key as an adapter to {@link Key}.
+	 *
+	 * @param scope the scope
+	 * @return the key or <code>null</code> if the files of the scope can not be
+	 *         cached
+	 */
+	public static Key keyFor(TextSearchScope scope) {
+		if (scope instanceof ICacheableSearchScope cacheable) {
+			return cacheable.getFilesCacheKey();
+		}
+		return Adapters.adapt(scope, Key.class);
+	}
+
+	/**
+	 * Releases the listener of this cache.
+	 */
+	public void dispose() {
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(fListener);
+		synchronized (this) {
+			fEntries.clear();
+		}
+	}
+
+	/**
+	 * Returns the remembered files of the scope with the given key.
+	 *
+	 * @param key the key of the scope
+	 * @return the files or <code>null</code> if the files are not known
+	 */
+	public synchronized IFile[] getFiles(Key key) {
+		CachedFiles entry= fEntries.get(key);
+		return entry != null ? entry.fFiles.toArray(new IFile[entry.fFiles.size()]) : null;
+	}
+
+	/**
+	 * Returns a stamp to be passed to {@link #putFiles(Key, TextSearchScope, IFile[], int)}
+	 * to detect resource changes that happened while the files were evaluated.
+	 *
+	 * @return the current modification stamp
+	 */
+	public synchronized int getModificationStamp() {
+		return fModificationStamp;
+	}
+
+	/**
+	 * Remembers the files of a scope. The files are dropped if the workspace has
+	 * changed since the given stamp was taken.
+	 *
+	 * @param key the key of the scope
+	 * @param scope the scope, used to evaluate added resources
+	 * @param files the files of the scope
+	 * @param modificationStamp the stamp taken before the files were evaluated
+	 */
+	public synchronized void putFiles(Key key, TextSearchScope scope, IFile[] files, int modificationStamp) {
+		if (modificationStamp == fModificationStamp) {
+			fEntries.put(key, new CachedFiles(scope, List.of(files)));
+		}
+	}
+
+	private synchronized void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta= event.getDelta();
+		if (delta == null) {
+			return;
+		}
+		fStructureChanged= false;
+		try {
+			delta.accept(this::visitDelta);
+		} catch (CoreException e) {
+			SearchCorePlugin.log(e);
+			fEntries.clear();
+			fStructureChanged= true;
+		}
+		if (fStructureChanged) {
+			// content and marker changes do not affect the files of a scope
+			fModificationStamp++;
+		}
+	}
+
+	private boolean visitDelta(IResourceDelta delta) throws CoreException {
+		if (fStructureChanged && fEntries.isEmpty()) {
+			return false;
+		}
+		IResource resource= delta.getResource();
+		switch (delta.getKind()) {
+			case IResourceDelta.ADDED:
+				fStructureChanged= true;
+				for (CachedFiles entry : fEntries.values()) {
+					addFiles(entry, resource);
+				}
+				return false; // children have been visited
+			case IResourceDelta.REMOVED:
+				fStructureChanged= true;
+				for (CachedFiles entry : fEntries.values()) {
+					removeFiles(entry, resource);
+				}
+				return false;
+			default:
+				if ((delta.getFlags() & (IResourceDelta.OPEN | IResourceDelta.DERIVED_CHANGED)) != 0) {
+					fStructureChanged= true;
+					fEntries.clear(); // affects all members, rather walk again
+					return false;
+				}
+				return true;
+		}
+	}
+
+	private static void addFiles(CachedFiles entry, IResource resource) throws CoreException {
+		IPath path= resource.getFullPath();
+		for (IResource root : entry.fScope.getRoots()) {
+			IPath rootPath= root.getFullPath();
+			if (rootPath.isPrefixOf(path)) {
+				if (isVisitedFrom(entry.fScope, root, resource)) {
+					collectFiles(entry, resource);
+				}
+				return; // roots can not contain each other
+			}
+			if (path.isPrefixOf(rootPath) && root.isAccessible()) {
+				collectFiles(entry, root); // the root has been added along with its parent
+			}
+		}
+	}
+
+	/*
+	 * Tests if a walk from the root reaches the resource, see FilesOfScopeCalculator#process()
+	 */
+	private static boolean isVisitedFrom(TextSearchScope scope, IResource root, IResource resource) {
+		for (IResource curr= resource; !curr.equals(root); curr= curr.getParent()) {
+			if (curr.isHidden() || curr.isTeamPrivateMember()) {
+				return false;
+			}
+		}
+		if (!resource.equals(root)) {
+			for (IResource curr= resource.getParent(); curr != null; curr= curr.getParent()) {
+				if (!scope.contains(curr.createProxy())) {
+					return false;
+				}
+				if (curr.equals(root)) {
+					break;
+				}
+			}
+		}
+		return true;
+	}
+
+	private static void collectFiles(CachedFiles entry, IResource resource) throws CoreException {
+		resource.accept(FilesOfScopeCalculator.collector(entry.fScope, entry.fFiles), 0);
+	}
+
+	private static void removeFiles(CachedFiles entry, IResource resource) {
+		if (resource.getType() == IResource.FILE) {
+			entry.fFiles.remove(resource);
+			return;
+		}
+		IPath path= resource.getFullPath();
+		for (Iterator<IFile> iter= entry.fFiles.iterator(); iter.hasNext();) {
+			if (path.isPrefixOf(iter.next().getFullPath())) {
+				iter.remove();
+			}
+		}
+	}
+}
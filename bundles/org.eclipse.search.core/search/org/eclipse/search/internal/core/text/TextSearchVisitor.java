@@ -21,12 +21,15 @@ import java.nio.charset.IllegalCharsetNameException;
 import java.nio.charset.UnsupportedCharsetException;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -177,9 +180,6 @@ public class TextSearchVisitor {
 				// Stop processing and return the status for the completed jobs.
 			}
 			fileCharSequenceProvider= null;
-			synchronized (fLock) {
-				fLock.notify();
-			}
 			return multiStatus;
 		}
 
@@ -205,13 +205,23 @@ public class TextSearchVisitor {
 				} else {
 					try {
 						boolean reportTextOnly = !fCollector.reportBinaryFile(file);
-						if (reportTextOnly && hasBinaryContentType(file)) {
+						// known from a previous search of the unchanged file:
+						Boolean isBinary = reportTextOnly ? fMetadataCache.isBinary(file) : null;
+						if (Boolean.TRUE.equals(isBinary)) {
+							return Status.OK_STATUS;
+						}
+						if (reportTextOnly && isBinary == null && hasBinaryContentType(file)) {
 							// fail fast for binary file types without opening the file
+							fMetadataCache.setBinary(file, true);
 							return Status.OK_STATUS;
 						}
 						charsequence = fileCharSequenceProvider.newCharSequence(file);
-						if (reportTextOnly && hasBinaryContent(charsequence)) {
-							return Status.OK_STATUS;
+						if (reportTextOnly && isBinary == null) {
+							boolean binaryContent = hasBinaryContent(charsequence);
+							fMetadataCache.setBinary(file, binaryContent);
+							if (binaryContent) {
+								return Status.OK_STATUS;
+							}
 						}
 						occurences = locateMatches(file, charsequence, matcher, monitor);
 					} catch (FileCharSequenceProvider.FileCharSequenceException e) {
@@ -267,10 +277,8 @@ public class TextSearchVisitor {
 				String message= SearchCoreMessages.TextSearchVisitor_patterntoocomplex0;
 				return new Status(IStatus.ERROR, SearchCorePlugin.PLUGIN_ID, IStatus.ERROR, message, e);
 			} finally {
-				synchronized (fLock) {
-					fCurrentFile= file;
-					fNumberOfScannedFiles++;
-				}
+				fCurrentFile= file;
+				fNumberOfScannedFiles.incrementAndGet();
 			}
 			if (monitor.isCanceled()) {
 				fFatalError = true;
@@ -291,15 +299,16 @@ public class TextSearchVisitor {
 
 	private volatile IProgressMonitor fProgressMonitor;
 
-	private int fNumberOfScannedFiles;  // Protected by fLock
-	private IFile fCurrentFile;  // Protected by fLock
-	private final Object fLock = new Object();
+	// only used to report progress, written by the search jobs without locking:
+	private final AtomicInteger fNumberOfScannedFiles = new AtomicInteger();
+	private volatile IFile fCurrentFile;
 
 	private final MultiStatus fStatus;
 	private volatile boolean fFatalError; // If true, terminates the search.
 
 	private volatile boolean fIsLightweightAutoRefresh;
 	private DirtyFileProvider fDirtyDiscovery;
+	private final FileMetadataCache fMetadataCache;
 
 	public TextSearchVisitor(TextSearchRequestor collector, Pattern searchPattern, DirtyFileProvider dirtyDiscovery) {
 		fCollector= collector;
@@ -311,6 +320,7 @@ public class TextSearchVisitor {
 
 		fIsLightweightAutoRefresh= Platform.getPreferencesService().getBoolean(ResourcesPlugin.PI_RESOURCES, ResourcesPlugin.PREF_LIGHTWEIGHT_AUTO_REFRESH, false, null);
 		fileBatches = new ConcurrentLinkedQueue<>();
+		fMetadataCache = SearchCorePlugin.getDefault().getFileMetadataCache();
 	}
 
 	public IStatus search(IFile[] files, IProgressMonitor monitor) {
@@ -318,10 +328,8 @@ public class TextSearchVisitor {
 			return fStatus;
 		}
 		fProgressMonitor = monitor == null ? new NullProgressMonitor() : monitor;
-		synchronized (fLock) {
-			fNumberOfScannedFiles = 0;
-			fCurrentFile = null;
-		}
+		fNumberOfScannedFiles.set(0);
+		fCurrentFile = null;
 		int threadsNeeded = Math.min(files.length, NUMBER_OF_LOGICAL_THREADS);
 		// All but 1 threads should search. 1 thread does the UI updates:
 		int jobCount = fCollector.canRunInParallel() && threadsNeeded > 1 ? threadsNeeded - 1 : 1;
@@ -351,7 +359,7 @@ public class TextSearchVisitor {
 					filesByLocation.computeIfAbsent(key, k -> new ArrayList<>()).add(file);
 
 				}
-				localFilesByLocation.values().forEach(fileBatches::offer);
+				largestFirst(localFilesByLocation.values()).forEach(fileBatches::offer);
 				remoteFilesByLocation.values().forEach(fileBatches::offer);
 				int numberOfFilesToScan = fileBatches.size();
 				fProgressMonitor.beginTask(taskName, numberOfFilesToScan);
@@ -369,23 +377,18 @@ public class TextSearchVisitor {
 					job.schedule();
 				}
 				// update progress until finished or canceled:
-				int numberOfScannedFiles = 0;
 				int lastNumberOfScannedFiles = 0;
-				while (!fProgressMonitor.isCanceled() && !jobGroup.getActiveJobs().isEmpty()
-						&& numberOfScannedFiles != numberOfFilesToScan) {
-					IFile file;
-					synchronized (fLock) {
-						try {
-							// time only relevant on how often progress is
-							// updated, but cancel is notified immediately:
-							fLock.wait(100);
-						} catch (InterruptedException e) {
-							fProgressMonitor.setCanceled(true);
-							break;
-						}
-						file = fCurrentFile;
-						numberOfScannedFiles = fNumberOfScannedFiles;
+				boolean finished = false;
+				while (!finished && !fProgressMonitor.isCanceled()) {
+					try {
+						// time only relevant on how often progress is updated:
+						finished = jobGroup.join(100, null);
+					} catch (InterruptedException e) {
+						fProgressMonitor.setCanceled(true);
+						break;
 					}
+					IFile file = fCurrentFile;
+					int numberOfScannedFiles = fNumberOfScannedFiles.get();
 					if (file != null) {
 						String fileName = file.getName();
 						Object[] args = { fileName, Integer.valueOf(numberOfScannedFiles),
@@ -419,13 +422,35 @@ public class TextSearchVisitor {
 			fProgressMonitor.done();
 			fCollector.endReporting();
 			if (TRACING) {
-				Object[] args= { Integer.valueOf(fNumberOfScannedFiles), Integer.valueOf(jobCount), Integer.valueOf(NUMBER_OF_LOGICAL_THREADS), Long.valueOf(System.currentTimeMillis() - startTime) };
+				Object[] args= { Integer.valueOf(fNumberOfScannedFiles.get()), Integer.valueOf(jobCount), Integer.valueOf(NUMBER_OF_LOGICAL_THREADS), Long.valueOf(System.currentTimeMillis() - startTime) };
 				System.out.println(MessageFormat.format(
 						"[TextSearch] Search duration for {0} files in {1} jobs using {2} threads: {3}ms", args)); //$NON-NLS-1$
 			}
 		}
 	}
 
+	/**
+	 * Orders the batches of files by decreasing file size. Searching the largest
+	 * files first avoids that a single huge file picked up at the end keeps one
+	 * job busy while all other jobs are already idle. Only the sizes already in
+	 * the metadata cache are used, as the search jobs record the sizes of the
+	 * files they read; files of unknown size keep their order after the others.
+	 */
+	private List<List<IFile>> largestFirst(Collection<List<IFile>> batches) {
+		record SizedBatch(long size, List<IFile> files) {
+		}
+		List<SizedBatch> sized = new ArrayList<>(batches.size());
+		for (List<IFile> batch : batches) {
+			sized.add(new SizedBatch(fMetadataCache.getCachedSize(batch.get(0)), batch));
+		}
+		sized.sort(Comparator.comparingLong(SizedBatch::size).reversed()); // stable for unknown sizes
+		List<List<IFile>> result = new ArrayList<>(sized.size());
+		for (SizedBatch batch : sized) {
+			result.add(batch.files());
+		}
+		return result;
+	}
+
 	private Map<IFile, IDocument> findDirtyFiles() {
 		if (fDirtyDiscovery != null) {
 			Map<IFile, IDocument> ret = fDirtyDiscovery.dirtyFiles();
@@ -527,7 +552,7 @@ public class TextSearchVisitor {
 
 	private String getCharSetName(IFile file) {
 		try {
-			return file.getCharset();
+			return fMetadataCache.getCharset(file);
 		} catch (CoreException e) {
 			return "unknown"; //$NON-NLS-1$
 		}
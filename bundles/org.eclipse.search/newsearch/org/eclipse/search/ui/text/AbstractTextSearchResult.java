@@ -21,8 +21,6 @@ import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map.Entry;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -42,9 +40,10 @@ public abstract class AbstractTextSearchResult implements ISearchResult {
 
 	private static final Match[] EMPTY_ARRAY= new Match[0];
 
-	private final ConcurrentMap<Object, Set<Match>> fElementsToMatches;
+	private final ConcurrentMap<Object, ElementMatches> fElementsToMatches;
 	private final List<ISearchResultListener> fListeners;
 	private final MatchEvent fMatchEvent;
+	/** Total number of matches, maintained on every add and remove. */
 	private final AtomicInteger matchCount;
 
 	private MatchFilter[] fMatchFilters;
@@ -79,9 +78,9 @@ public abstract class AbstractTextSearchResult implements ISearchResult {
 		if (element == null) {
 			return EMPTY_ARRAY;
 		}
-		Set<Match> matches = fElementsToMatches.get(element);
+		ElementMatches matches = fElementsToMatches.get(element);
 		if (matches != null) {
-			Match[] sortingCopy = matches.toArray(new Match[matches.size()]);
+			Match[] sortingCopy = matches.toArray();
 			Arrays.sort(sortingCopy, AbstractTextSearchResult::compare);
 			return sortingCopy;
 		}
@@ -104,9 +103,9 @@ public abstract class AbstractTextSearchResult implements ISearchResult {
 		if (element == null) {
 			return Collections.emptyEnumeration();
 		}
-		Set<Match> matches = fElementsToMatches.get(element);
+		ElementMatches matches = fElementsToMatches.get(element);
 		if (matches != null) {
-			return Collections.enumeration(matches);
+			return Collections.enumeration(Arrays.asList(matches.toArray()));
 		}
 		return Collections.emptyEnumeration();
 	}
@@ -158,9 +157,21 @@ public abstract class AbstractTextSearchResult implements ISearchResult {
 	}
 
 	private boolean didAddMatch(Match match) {
-		matchCount.set(0);
 		updateFilterState(match);
-		return fElementsToMatches.computeIfAbsent(match.getElement(), k -> ConcurrentHashMap.newKeySet()).add(match);
+		boolean[] added = new boolean[1];
+		// adding inside compute() serializes with the removal of an emptied
+		// element in didRemoveMatch(), so no match can get lost
+		fElementsToMatches.compute(match.getElement(), (e, matches) -> {
+			if (matches == null) {
+				matches = new ElementMatches();
+			}
+			added[0] = matches.add(match);
+			return matches;
+		});
+		if (added[0]) {
+			matchCount.incrementAndGet();
+		}
+		return added[0];
 	}
 
 	private static int compare(Match match2, Match match1) {
@@ -181,8 +192,12 @@ public abstract class AbstractTextSearchResult implements ISearchResult {
 		fireChange(new RemoveAllEvent(this));
 	}
 	private void doRemoveAll() {
-		matchCount.set(0);
-		fElementsToMatches.clear();
+		for (Object element : fElementsToMatches.keySet()) {
+			ElementMatches removed = fElementsToMatches.remove(element);
+			if (removed != null) {
+				matchCount.addAndGet(-removed.size());
+			}
+		}
 	}
 
 	/**
@@ -219,7 +234,6 @@ public abstract class AbstractTextSearchResult implements ISearchResult {
 
 
 	private boolean didRemoveMatch(Match match) {
-		matchCount.set(0);
 		boolean[] existed = new boolean[1];
 		fElementsToMatches.computeIfPresent(match.getElement(), (f, matches) -> {
 			existed[0] = matches.remove(match);
@@ -228,6 +242,9 @@ public abstract class AbstractTextSearchResult implements ISearchResult {
 			}
 			return matches;
 		});
+		if (existed[0]) {
+			matchCount.decrementAndGet();
+		}
 		return existed[0];
 	}
 
@@ -307,21 +324,7 @@ public abstract class AbstractTextSearchResult implements ISearchResult {
 	 * @return total number of matches
 	 */
 	public int getMatchCount() {
-		final int oldCount = matchCount.get();
-		if (oldCount != 0) {
-			return oldCount;
-		}
-		// The oldCount is zero here => we have to calculate again
-		int newCount = 0;
-		for (Set<Match> element : fElementsToMatches.values()) {
-			newCount += element.size();
-		}
-		if (matchCount.compareAndSet(0, newCount)) {
-			// Only return if not changed meanwhile
-			return newCount;
-		}
-		// Changed once again, fetch again latest value
-		return getMatchCount();
+		return matchCount.get();
 	}
 
 	/**
@@ -329,12 +332,7 @@ public abstract class AbstractTextSearchResult implements ISearchResult {
 	 * @since 3.17
 	 */
 	public boolean hasMatches() {
-		for (Entry<Object, Set<Match>> entry : fElementsToMatches.entrySet()) {
-			if (!entry.getValue().isEmpty()) {
-				return true;
-			}
-		}
-		return false;
+		return matchCount.get() > 0;
 	}
 
 	/**
@@ -349,7 +347,7 @@ public abstract class AbstractTextSearchResult implements ISearchResult {
 		if (element == null) {
 			return 0;
 		}
-		Set<Match> matches = fElementsToMatches.get(element);
+		ElementMatches matches = fElementsToMatches.get(element);
 		if (matches != null)
 			return matches.size();
 		return 0;
@@ -445,4 +443,112 @@ public abstract class AbstractTextSearchResult implements ISearchResult {
 	 * @see IFileMatchAdapter
 	 */
 	public abstract IFileMatchAdapter getFileMatchAdapter();
+
+	/**
+	 * The matches reported against a single element. Stored in an open
+	 * addressing hash table with linear probing, which only needs one array
+	 * slot per match instead of a hash map node. Most elements only have a few
+	 * matches, so the table starts small.
+	 * <p>
+	 * All methods are synchronized; structural changes are in addition only
+	 * done from within the compute functions of the owning map.
+	 * </p>
+	 */
+	private static final class ElementMatches {
+
+		private static final int INITIAL_CAPACITY= 4;
+
+		private Match[] fTable= new Match[INITIAL_CAPACITY];
+		private int fSize;
+
+		synchronized boolean add(Match match) {
+			int mask= fTable.length - 1;
+			int i= indexFor(match, mask);
+			Match current;
+			while ((current= fTable[i]) != null) {
+				if (current.equals(match)) {
+					return false;
+				}
+				i= (i + 1) & mask;
+			}
+			fTable[i]= match;
+			fSize++;
+			// keep the load factor below 2/3
+			if (fSize * 3 > fTable.length * 2) {
+				rehash(fTable.length * 2);
+			}
+			return true;
+		}
+
+		synchronized boolean remove(Match match) {
+			int mask= fTable.length - 1;
+			int i= indexFor(match, mask);
+			Match current;
+			while ((current= fTable[i]) != null) {
+				if (current.equals(match)) {
+					deleteAt(i, mask);
+					fSize--;
+					return true;
+				}
+				i= (i + 1) & mask;
+			}
+			return false;
+		}
+
+		synchronized boolean isEmpty() {
+			return fSize == 0;
+		}
+
+		synchronized int size() {
+			return fSize;
+		}
+
+		synchronized Match[] toArray() {
+			Match[] result= new Match[fSize];
+			int n= 0;
+			for (Match match : fTable) {
+				if (match != null) {
+					result[n++]= match;
+				}
+			}
+			return result;
+		}
+
+		/*
+		 * Backward shift deletion: moves following entries of the probe
+		 * sequence into the hole, so no tombstones are needed.
+		 */
+		private void deleteAt(int hole, int mask) {
+			int i= hole;
+			Match current;
+			while ((current= fTable[i= (i + 1) & mask]) != null) {
+				int home= indexFor(current, mask);
+				if (((i - home) & mask) >= ((i - hole) & mask)) {
+					fTable[hole]= current;
+					hole= i;
+				}
+			}
+			fTable[hole]= null;
+		}
+
+		private void rehash(int capacity) {
+			Match[] old= fTable;
+			fTable= new Match[capacity];
+			int mask= capacity - 1;
+			for (Match match : old) {
+				if (match != null) {
+					int i= indexFor(match, mask);
+					while (fTable[i] != null) {
+						i= (i + 1) & mask;
+					}
+					fTable[i]= match;
+				}
+			}
+		}
+
+		private static int indexFor(Match match, int mask) {
+			int h= match.hashCode() * 0x9E3779B9;
+			return (h ^ (h >>> 16)) & mask;
+		}
+	}
 }
@@ -227,6 +227,11 @@ public final class SearchMessages extends NLS {
 	public static String TextSearchEngineRegistry_defaulttextsearch_label;
 	public static String FileSearchQuery_singularPatternWithFileExt;
 	public static String FileSearchQuery_pluralPatternWithFileExt;
+	public static String FileSearchQuery_searchInResults_scope;
+	public static String SearchInResultsAction_label;
+	public static String SearchInResultsAction_dialog_title;
+	public static String SearchInResultsAction_dialog_message;
+	public static String SearchInResultsAction_matchedLinesOnly;
 	public static String DragAdapter_title;
 	public static String DragAdapter_checkDeleteMessage;
 }
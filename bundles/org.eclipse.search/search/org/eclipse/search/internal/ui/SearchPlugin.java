@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -47,9 +47,11 @@ import org.eclipse.ui.plugin.AbstractUIPlugin;
 
 import org.eclipse.search.internal.core.SearchCorePlugin;
 import org.eclipse.search.internal.core.text.TextSearchEngineRegistry;
+import org.eclipse.search.internal.ui.text.FileTextSearchScopeAdapterFactory;
 import org.eclipse.search.internal.ui.util.ExceptionHandler;
 import org.eclipse.search.ui.IContextMenuConstants;
 import org.eclipse.search.ui.NewSearchUI;
+import org.eclipse.search.ui.text.FileTextSearchScope;
 
 import org.eclipse.search2.internal.ui.InternalSearchUI;
 import org.eclipse.search2.internal.ui.text2.TextSearchQueryProviderRegistry;
@@ -93,6 +95,7 @@ public class SearchPlugin extends AbstractUIPlugin {
 	private List<SearchPageDescriptor> fPageDescriptors;
 	private List<SorterDescriptor> fSorterDescriptors;
 	private TextSearchQueryProviderRegistry fTextSearchQueryProviderRegistry;
+	private FileTextSearchScopeAdapterFactory fScopeAdapterFactory;
 
 	public SearchPlugin() {
 		super();
@@ -202,11 +205,15 @@ public class SearchPlugin extends AbstractUIPlugin {
 	@Override
 	public void start(BundleContext context) throws Exception {
 		super.start(context);
+		fScopeAdapterFactory= new FileTextSearchScopeAdapterFactory();
+		Platform.getAdapterManager().registerAdapters(fScopeAdapterFactory, FileTextSearchScope.class);
 	}
 
 	@Override
 	public void stop(BundleContext context) throws Exception {
 		InternalSearchUI.shutdown();
+		Platform.getAdapterManager().unregisterAdapters(fScopeAdapterFactory);
+		fScopeAdapterFactory= null;
 		super.stop(context);
 		fgSearchPlugin= null;
 	}
@@ -311,6 +311,7 @@ public class FileSearchPage extends AbstractTextSearchViewPage implements IAdapt
 			replaceAll.setText(SearchMessages.ReplaceAction_label_all);
 			mgr.appendToGroup(IContextMenuConstants.GROUP_REORGANIZE, replaceAll);
 		}
+		mgr.appendToGroup(IContextMenuConstants.GROUP_SEARCH, new SearchInResultsAction(getSite().getShell(), (FileSearchResult) getInput()));
 	}
 
 	private void addSortActions(IMenuManager mgr) {
@@ -19,7 +19,11 @@
 package org.eclipse.search.internal.ui.text;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
@@ -56,12 +60,14 @@ public class FileSearchQuery implements ISearchQuery {
 
 		private final boolean fIsLightweightAutoRefresh;
 		private final ConcurrentHashMap<IFile, ArrayList<FileMatch>> fCachedMatches;
+		private final Map<IFile, BitSet> fMatchedLines;
 		private volatile boolean stop;
 
-		private TextSearchResultCollector(AbstractTextSearchResult result, boolean isFileSearchOnly, boolean searchInBinaries) {
+		private TextSearchResultCollector(AbstractTextSearchResult result, boolean isFileSearchOnly, boolean searchInBinaries, Map<IFile, BitSet> matchedLines) {
 			fResult= result;
 			fIsFileSearchOnly= isFileSearchOnly;
 			fSearchInBinaries= searchInBinaries;
+			fMatchedLines= matchedLines;
 			fIsLightweightAutoRefresh= Platform.getPreferencesService().getBoolean(ResourcesPlugin.PI_RESOURCES, ResourcesPlugin.PREF_LIGHTWEIGHT_AUTO_REFRESH, false, null);
 			fCachedMatches = new ConcurrentHashMap<>();
 		}
@@ -179,20 +185,32 @@ public class FileSearchQuery implements ISearchQuery {
 		@Override
 		public void flushMatches(IFile file) {
 			List<FileMatch> matches = fCachedMatches.remove(file);
-			if (matches != null && !matches.isEmpty()) {
-				fResult.addMatches(matches.toArray(new Match[matches.size()]));
+			if (matches != null) {
+				addMatches(file, matches);
 			}
 		}
 
 		private void flushMatches() {
-			fCachedMatches.values().removeIf(matches -> {
+			fCachedMatches.entrySet().removeIf(entry -> {
+				List<FileMatch> matches = entry.getValue();
 				if (matches != null && !matches.isEmpty()) {
-					fResult.addMatches(matches.toArray(new Match[matches.size()]));
+					addMatches(entry.getKey(), matches);
 					return true;
 				}
 				return false;
 			});
 		}
+
+		private void addMatches(IFile file, List<FileMatch> matches) {
+			// filtered only now, the line elements of all matches are needed to compute the next ones
+			BitSet lines = fMatchedLines != null ? fMatchedLines.get(file) : null;
+			if (lines != null) {
+				matches.removeIf(match -> !lines.get(match.getLineElement().getLine()));
+			}
+			if (!matches.isEmpty()) {
+				fResult.addMatches(matches.toArray(new Match[matches.size()]));
+			}
+		}
 	}
 
 	private final FileTextSearchScope fScope;
@@ -203,18 +221,80 @@ public class FileSearchQuery implements ISearchQuery {
 	private FileSearchResult fResult;
 	private boolean fSearchInBinaries;
 
+	/** The files to search in or <code>null</code> to search {@link #fScope} */
+	private final IFile[] fFiles;
+	/** The lines to report matches for per file or <code>null</code> to report all matches */
+	private final Map<IFile, BitSet> fMatchedLines;
+
 
 	public FileSearchQuery(String searchText, boolean isRegEx, boolean isCaseSensitive, FileTextSearchScope scope) {
 		this(searchText, isRegEx, isCaseSensitive, false, false, scope);
 	}
 
 	public FileSearchQuery(String searchText, boolean isRegEx, boolean isCaseSensitive, boolean isWholeWord, boolean searchInBinaries, FileTextSearchScope scope) {
+		this(searchText, isRegEx, isCaseSensitive, isWholeWord, searchInBinaries, scope, null, null);
+	}
+
+	private FileSearchQuery(String searchText, boolean isRegEx, boolean isCaseSensitive, boolean isWholeWord, boolean searchInBinaries, FileTextSearchScope scope, IFile[] files, Map<IFile, BitSet> matchedLines) {
 		fSearchText= searchText;
 		fIsRegEx= isRegEx;
 		fIsCaseSensitive= isCaseSensitive;
 		fIsWholeWord= isWholeWord;
 		fScope= scope;
 		fSearchInBinaries= searchInBinaries;
+		fFiles= files;
+		fMatchedLines= matchedLines;
+	}
+
+	/**
+	 * Creates a query that only searches the files with matches in the given
+	 * result, instead of walking the whole scope again. The files and lines are
+	 * taken from the result when the query is created, so rerunning the query
+	 * searches the same files.
+	 *
+	 * @param result the result to search in
+	 * @param searchText the text to search for
+	 * @param isRegEx whether the search text is a regular expression
+	 * @param isCaseSensitive whether the search is case sensitive
+	 * @param isWholeWord whether only whole words are matched
+	 * @param matchedLinesOnly if set, only matches on lines that contain a match
+	 *            of the result are reported
+	 * @return the query
+	 */
+	public static FileSearchQuery newSearchInResultsQuery(FileSearchResult result, String searchText, boolean isRegEx, boolean isCaseSensitive, boolean isWholeWord, boolean matchedLinesOnly) {
+		FileSearchQuery query= (FileSearchQuery) result.getQuery();
+		Object[] elements= result.getElements();
+		List<IFile> files= new ArrayList<>(elements.length);
+		Map<IFile, BitSet> matchedLines= matchedLinesOnly ? new HashMap<>() : null;
+		for (Object element : elements) {
+			if (!(element instanceof IFile file)) {
+				continue;
+			}
+			files.add(file);
+			if (matchedLines != null) {
+				BitSet lines= getMatchedLines(result, file);
+				if (lines != null) {
+					matchedLines.put(file, lines);
+				}
+			}
+		}
+		return new FileSearchQuery(searchText, isRegEx, isCaseSensitive, isWholeWord, query.fSearchInBinaries, query.fScope,
+				files.toArray(new IFile[files.size()]), matchedLines);
+	}
+
+	/*
+	 * Returns the lines with matches or null if the matches of the file are not line based (file name search)
+	 */
+	private static BitSet getMatchedLines(FileSearchResult result, IFile file) {
+		BitSet lines= new BitSet();
+		for (Enumeration<Match> matches= result.getMatchSet(file); matches.hasMoreElements();) {
+			LineElement lineElement= ((FileMatch) matches.nextElement()).getLineElement();
+			if (lineElement == null) {
+				return null;
+			}
+			lines.set(lineElement.getLine());
+		}
+		return lines;
 	}
 
 	public FileTextSearchScope getSearchScope() {
@@ -233,7 +313,11 @@ public class FileSearchQuery implements ISearchQuery {
 
 		Pattern searchPattern= getSearchPattern();
 
-		TextSearchResultCollector collector= new TextSearchResultCollector(textResult, isFileNameSearch(), fSearchInBinaries);
+		TextSearchResultCollector collector= new TextSearchResultCollector(textResult, isFileNameSearch(), fSearchInBinaries, fMatchedLines);
+		if (fFiles != null) {
+			// no need to walk the scope, the files are known
+			return TextSearchEngine.create().search(fFiles, collector, searchPattern, monitor);
+		}
 		return TextSearchEngine.create().search(fScope, collector, searchPattern, monitor);
 	}
 
@@ -263,34 +347,42 @@ public class FileSearchQuery implements ISearchQuery {
 
 	public String getResultLabel(int nMatches) {
 		String searchString= getSearchString();
+		String scopeDescription= getScopeDescription();
 		if (!searchString.isEmpty()) {
 			// text search
 			if (isScopeAllFileTypes()) {
 				// search all file extensions
 				if (nMatches == 1) {
-					Object[] args= { searchString, fScope.getDescription() };
+					Object[] args= { searchString, scopeDescription };
 					return Messages.format(SearchMessages.FileSearchQuery_singularLabel, args);
 				}
-				Object[] args= { searchString, Integer.valueOf(nMatches), fScope.getDescription() };
+				Object[] args= { searchString, Integer.valueOf(nMatches), scopeDescription };
 				return Messages.format(SearchMessages.FileSearchQuery_pluralPattern, args);
 			}
 			// search selected file extensions
 			if (nMatches == 1) {
-				Object[] args= { searchString, fScope.getDescription(), fScope.getFilterDescription() };
+				Object[] args= { searchString, scopeDescription, fScope.getFilterDescription() };
 				return Messages.format(SearchMessages.FileSearchQuery_singularPatternWithFileExt, args);
 			}
-			Object[] args= { searchString, Integer.valueOf(nMatches), fScope.getDescription(), fScope.getFilterDescription() };
+			Object[] args= { searchString, Integer.valueOf(nMatches), scopeDescription, fScope.getFilterDescription() };
 			return Messages.format(SearchMessages.FileSearchQuery_pluralPatternWithFileExt, args);
 		}
 		// file search
 		if (nMatches == 1) {
-			Object[] args= { fScope.getFilterDescription(), fScope.getDescription() };
+			Object[] args= { fScope.getFilterDescription(), scopeDescription };
 			return Messages.format(SearchMessages.FileSearchQuery_singularLabel_fileNameSearch, args);
 		}
-		Object[] args= { fScope.getFilterDescription(), Integer.valueOf(nMatches), fScope.getDescription() };
+		Object[] args= { fScope.getFilterDescription(), Integer.valueOf(nMatches), scopeDescription };
 		return Messages.format(SearchMessages.FileSearchQuery_pluralPattern_fileNameSearch, args);
 	}
 
+	private String getScopeDescription() {
+		if (fFiles != null) {
+			return Messages.format(SearchMessages.FileSearchQuery_searchInResults_scope, fScope.getDescription());
+		}
+		return fScope.getDescription();
+	}
+
 	/**
 	 * @param result all result are added to this search result
 	 * @param monitor the progress monitor to use
@@ -301,7 +393,7 @@ public class FileSearchQuery implements ISearchQuery {
 		FileTextSearchScope scope= FileTextSearchScope.newSearchScope(new IResource[] { file }, new String[] { "*" }, true); //$NON-NLS-1$
 
 		Pattern searchPattern= getSearchPattern();
-		TextSearchResultCollector collector= new TextSearchResultCollector(result, isFileNameSearch(), fSearchInBinaries);
+		TextSearchResultCollector collector= new TextSearchResultCollector(result, isFileNameSearch(), fSearchInBinaries, fMatchedLines);
 
 		return TextSearchEngine.create().search(scope, collector, searchPattern, monitor);
 	}
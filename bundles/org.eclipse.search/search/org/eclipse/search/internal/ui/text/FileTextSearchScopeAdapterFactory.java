@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.ui.text;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IAdapterFactory;
+
+import org.eclipse.search.internal.core.text.ScopeFilesCache;
+import org.eclipse.search.ui.text.FileTextSearchScope;
+
+/**
+ * Adapts a {@link FileTextSearchScope} to the key of its files in the
+ * {@link ScopeFilesCache}. The scope only depends on its roots, its file name
+ * patterns and whether derived resources are included.
+ */
+public class FileTextSearchScopeAdapterFactory implements IAdapterFactory {
+
+	private static final Class<?>[] ADAPTER_LIST= new Class<?>[] { ScopeFilesCache.Key.class };
+
+	@Override
+	public <T> T getAdapter(Object adaptableObject, Class<T> adapterType) {
+		if (adapterType == ScopeFilesCache.Key.class && adaptableObject instanceof FileTextSearchScope scope) {
+			String[] fileNamePatterns= scope.getFileNamePatterns();
+			Set<String> patterns= fileNamePatterns != null ? new HashSet<>(Arrays.asList(fileNamePatterns)) : Set.of();
+			return adapterType.cast(new ScopeFilesCache.Key(new HashSet<>(Arrays.asList(scope.getRoots())), patterns, scope.includeDerived()));
+		}
+		return null;
+	}
+
+	@Override
+	public Class<?>[] getAdapterList() {
+		return ADAPTER_LIST;
+	}
+}
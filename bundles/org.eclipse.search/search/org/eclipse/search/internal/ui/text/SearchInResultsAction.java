@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.ui.text;
+
+import java.util.regex.PatternSyntaxException;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.SelectionListener;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Shell;
+
+import org.eclipse.jface.action.Action;
+import org.eclipse.jface.dialogs.InputDialog;
+import org.eclipse.jface.window.Window;
+
+import org.eclipse.search.internal.core.text.PatternConstructor;
+import org.eclipse.search.internal.ui.SearchMessages;
+import org.eclipse.search.ui.NewSearchUI;
+
+/**
+ * Runs a new file search that only searches in the files of an existing
+ * result, optionally restricted to the lines that have matches.
+ */
+public class SearchInResultsAction extends Action {
+
+	private static class SearchInResultsDialog extends InputDialog {
+
+		private boolean fIsRegEx;
+		private boolean fIsCaseSensitive;
+		private boolean fIsWholeWord;
+		private boolean fMatchedLinesOnly;
+		private final boolean fHasLines;
+
+		private Button fRegExButton;
+		private Button fCaseSensitiveButton;
+		private Button fWholeWordButton;
+		private Button fMatchedLinesOnlyButton;
+
+		public SearchInResultsDialog(Shell parentShell, FileSearchQuery query) {
+			super(parentShell, SearchMessages.SearchInResultsAction_dialog_title, SearchMessages.SearchInResultsAction_dialog_message, "", null); //$NON-NLS-1$
+			fIsRegEx= query.isRegexSearch();
+			fIsCaseSensitive= query.isCaseSensitive();
+			fIsWholeWord= query.isWholeWord();
+			fHasLines= !query.isFileNameSearch();
+			fMatchedLinesOnly= fHasLines;
+		}
+
+		@Override
+		protected Control createDialogArea(Composite parent) {
+			Composite composite= (Composite) super.createDialogArea(parent);
+			fCaseSensitiveButton= createCheckbox(composite, SearchMessages.SearchPage_caseSensitive, fIsCaseSensitive);
+			fRegExButton= createCheckbox(composite, SearchMessages.SearchPage_regularExpression, fIsRegEx);
+			fWholeWordButton= createCheckbox(composite, SearchMessages.SearchPage_wholeWord, fIsWholeWord);
+			fMatchedLinesOnlyButton= createCheckbox(composite, SearchMessages.SearchInResultsAction_matchedLinesOnly, fMatchedLinesOnly);
+			fMatchedLinesOnlyButton.setEnabled(fHasLines); // a file name search has no lines
+			return composite;
+		}
+
+		private Button createCheckbox(Composite parent, String label, boolean selection) {
+			Button button= new Button(parent, SWT.CHECK);
+			button.setText(label);
+			button.setSelection(selection);
+			button.addSelectionListener(SelectionListener.widgetSelectedAdapter(e -> validateInput()));
+			return button;
+		}
+
+		@Override
+		protected void validateInput() {
+			if (fRegExButton == null) {
+				return; // not yet created
+			}
+			fIsRegEx= fRegExButton.getSelection();
+			fIsCaseSensitive= fCaseSensitiveButton.getSelection();
+			fIsWholeWord= fWholeWordButton.getSelection();
+			fMatchedLinesOnly= fMatchedLinesOnlyButton.getSelection();
+			fWholeWordButton.setEnabled(!fIsRegEx);
+
+			String errorMessage= null;
+			if (fIsRegEx) {
+				try {
+					PatternConstructor.createPattern(getText().getText(), true, true, fIsCaseSensitive, false);
+				} catch (PatternSyntaxException e) {
+					errorMessage= e.getDescription();
+				}
+			}
+			setErrorMessage(errorMessage);
+		}
+	}
+
+	private final Shell fShell;
+	private final FileSearchResult fResult;
+
+	/**
+	 * Creates the action.
+	 *
+	 * @param shell the parent shell
+	 * @param result the result to search in
+	 */
+	public SearchInResultsAction(Shell shell, FileSearchResult result) {
+		super(SearchMessages.SearchInResultsAction_label);
+		fShell= shell;
+		fResult= result;
+		setEnabled(result.getElementsCount() > 0);
+	}
+
+	@Override
+	public void run() {
+		FileSearchQuery query= (FileSearchQuery) fResult.getQuery();
+		SearchInResultsDialog dialog= new SearchInResultsDialog(fShell, query);
+		if (dialog.open() != Window.OK || dialog.getValue().isEmpty()) {
+			return;
+		}
+		boolean isWholeWord= dialog.fIsWholeWord && !dialog.fIsRegEx;
+		FileSearchQuery refined= FileSearchQuery.newSearchInResultsQuery(fResult, dialog.getValue(), dialog.fIsRegEx,
+				dialog.fIsCaseSensitive, isWholeWord, dialog.fMatchedLinesOnly);
+		NewSearchUI.runQueryInBackground(refined);
+	}
+}
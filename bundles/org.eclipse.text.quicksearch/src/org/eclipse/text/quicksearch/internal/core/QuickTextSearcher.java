@@ -32,6 +32,8 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.ISchedulingRule;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.search.internal.core.SearchCorePlugin;
+import org.eclipse.search.internal.core.text.FileMetadataCache;
 import org.eclipse.text.quicksearch.internal.core.pathmatch.ResourceMatcher;
 import org.eclipse.text.quicksearch.internal.core.pathmatch.ResourceMatchers;
 import org.eclipse.text.quicksearch.internal.core.priority.PriorityFunction;
@@ -185,11 +187,13 @@ public class QuickTextSearcher {
 		}
 
 		private static Reader getReader(IFile f) throws UnsupportedEncodingException, CoreException {
-			String shortString = toShortString(f);
+			FileMetadataCache metadataCache = SearchCorePlugin.getDefault().getFileMetadataCache();
+			String charset = metadataCache.getCharset(f);
+			String shortString = toShortString(f, charset, metadataCache);
 			if (shortString != null) {
 				return new StringReader(shortString);
 			} else {
-				return new InputStreamReader(f.getContents(true), f.getCharset());
+				return new InputStreamReader(f.getContents(true), charset);
 			}
 		}
 
@@ -205,18 +209,20 @@ public class QuickTextSearcher {
 	/**
 	 * Try to get a content as String. Avoids Streaming.
 	 */
-	private static String toShortString(IFile file) {
+	private static String toShortString(IFile file, String charset, FileMetadataCache metadataCache) {
 		/**
 		 * Just any number such that the most source files will fit in. And not too
 		 * big to avoid out of memory.
 		 **/
+		if (metadataCache.getSize(file) >= MAX_BUFFER_LENGTH) {
+			return null; // don't read what is thrown away anyway
+		}
 		try {
 			byte[] content = file.readNBytes(MAX_BUFFER_LENGTH);
 			int length = content.length;
 			if (length >= MAX_BUFFER_LENGTH) {
 				return null;
 			}
-			String charset = file.getCharset();
 			return new String(content, charset);
 		} catch (Exception e) {
 			return null;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -34,6 +34,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
@@ -45,6 +46,8 @@ import java.util.Dictionary;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Hashtable;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -99,6 +102,7 @@ import org.eclipse.e4.ui.model.application.commands.MCommandsFactory;
 import org.eclipse.e4.ui.model.application.commands.impl.CommandsFactoryImpl;
 import org.eclipse.e4.ui.model.application.descriptor.basic.MPartDescriptor;
 import org.eclipse.e4.ui.model.application.ui.MElementContainer;
+import org.eclipse.e4.ui.model.application.ui.MUILabel;
 import org.eclipse.e4.ui.model.application.ui.basic.MPart;
 import org.eclipse.e4.ui.model.application.ui.basic.MWindow;
 import org.eclipse.e4.ui.model.application.ui.basic.impl.BasicFactoryImpl;
@@ -570,6 +574,9 @@ public final class Workbench extends EventManager implements IWorkbench, org.ecl
 				MApplication appModel = e4Workbench.getApplication();
 				IEclipseContext context = e4Workbench.getContext();
 
+				// decode the icons of the restored windows while the workbench starts
+				prefetchModelImages(appModel, display);
+
 				// create the workbench instance
 				Workbench workbench = new Workbench(display, advisor, appModel, context);
 
@@ -833,6 +840,32 @@ public final class Workbench extends EventManager implements IWorkbench, org.ecl
 		}
 	}
 
+	/**
+	 * Starts loading the icons of the parts, tool items and other labeled
+	 * elements of the restored windows on background threads, so that only the
+	 * images have to be created when the windows are rendered.
+	 */
+	private static void prefetchModelImages(MApplication application, Display display) {
+		Set<ImageDescriptor> descriptors = new LinkedHashSet<>();
+		for (MWindow window : application.getChildren()) {
+			for (Iterator<EObject> iterator = ((EObject) window).eAllContents(); iterator.hasNext();) {
+				if (iterator.next() instanceof MUILabel label) {
+					String iconURI = label.getIconURI();
+					if (iconURI != null && !iconURI.isEmpty()) {
+						try {
+							descriptors.add(ImageDescriptor.createFromURL(new URL(iconURI)));
+						} catch (MalformedURLException e) {
+							// reported when the element is rendered
+						}
+					}
+				}
+			}
+		}
+		// SWT scales images by whole multiples of 100% by default
+		int zoom = Math.max(100, (display.getPrimaryMonitor().getZoom() + 25) / 100 * 100);
+		ImageDescriptor.prefetch(descriptors, zoom);
+	}
+
 	/**
 	 * Load an image from a filesystem path.
 	 *
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.databinding.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.databinding.observable.Realm;
+import org.eclipse.core.databinding.observable.list.MultiList;
+import org.eclipse.core.databinding.observable.list.WritableList;
+import org.eclipse.core.databinding.observable.set.UnionSet;
+import org.eclipse.core.databinding.observable.set.WritableSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how changes of the child collections of a {@link MultiList} and a
+ * {@link UnionSet} are translated into changes of the aggregate, for the given
+ * number of children with the given number of elements each.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class AggregationBenchmark {
+
+	@Param({ "2", "16" })
+	int children;
+
+	@Param({ "100" })
+	int size;
+
+	private WritableList<Integer>[] lists;
+
+	private MultiList<Integer> multiList;
+
+	private WritableSet<Integer>[] sets;
+
+	private UnionSet<Integer> unionSet;
+
+	private final Integer element = Integer.valueOf(-1);
+
+	/**
+	 * Written by the listeners, so that the events are not optimized away
+	 */
+	int sink;
+
+	@SuppressWarnings("unchecked")
+	@Setup
+	public void setUp() {
+		BenchmarkRealm.runWithNewDefault(() -> {
+			Realm realm = Realm.getDefault();
+			lists = (WritableList<Integer>[]) new WritableList<?>[children];
+			sets = (WritableSet<Integer>[]) new WritableSet<?>[children];
+			for (int i = 0; i < children; i++) {
+				lists[i] = new WritableList<>(realm, new ArrayList<>(), Integer.class);
+				sets[i] = new WritableSet<>(realm, new HashSet<>(), Integer.class);
+				for (int j = 0; j < size; j++) {
+					lists[i].add(Integer.valueOf(i * size + j));
+					// every element is contained in two neighboring sets
+					sets[i].add(Integer.valueOf(i * size + j));
+					sets[i].add(Integer.valueOf(((i + 1) % children) * size + j));
+				}
+			}
+			multiList = new MultiList<>(realm, lists);
+			multiList.addListChangeListener(event -> sink += event.diff.getDifferences().length);
+			unionSet = new UnionSet<>(sets);
+			unionSet.addSetChangeListener(event -> sink += event.diff.getAdditions().size());
+		});
+	}
+
+	@Benchmark
+	public Integer multiListAddAndRemove() {
+		WritableList<Integer> list = lists[children - 1];
+		list.add(element);
+		return list.remove(size);
+	}
+
+	@Benchmark
+	public Integer multiListGet() {
+		return multiList.get(children * size / 2);
+	}
+
+	@Benchmark
+	public boolean unionSetAddAndRemove() {
+		sets[0].add(element);
+		return sets[0].remove(element);
+	}
+
+	/**
+	 * Removing and adding back an element which stays in the union through
+	 * another set
+	 */
+	@Benchmark
+	public boolean unionSetRemoveAndAddShared() {
+		Integer shared = Integer.valueOf(size);
+		sets[0].remove(shared);
+		return sets[0].add(shared);
+	}
+}
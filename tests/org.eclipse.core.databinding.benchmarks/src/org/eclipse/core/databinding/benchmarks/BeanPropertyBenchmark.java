@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.databinding.benchmarks;
+
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.databinding.beans.typed.BeanProperties;
+import org.eclipse.core.databinding.observable.value.IObservableValue;
+import org.eclipse.core.databinding.property.value.IValueProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures reading and writing a bean property through a bean value property,
+ * which invokes the accessors through cached method handles, against invoking
+ * the accessors reflectively, and writing an observed bean property.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class BeanPropertyBenchmark {
+
+	/**
+	 * A bean with a bound property.
+	 */
+	public static class Person {
+		private final PropertyChangeSupport changeSupport = new PropertyChangeSupport(this);
+
+		private String name = "Alice"; //$NON-NLS-1$
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			changeSupport.firePropertyChange("name", this.name, this.name = name); //$NON-NLS-1$
+		}
+
+		public void addPropertyChangeListener(String propertyName, PropertyChangeListener listener) {
+			changeSupport.addPropertyChangeListener(propertyName, listener);
+		}
+
+		public void removePropertyChangeListener(String propertyName, PropertyChangeListener listener) {
+			changeSupport.removePropertyChangeListener(propertyName, listener);
+		}
+	}
+
+	private static final String[] NAMES = { "Alice", "Bob" }; //$NON-NLS-1$ //$NON-NLS-2$
+
+	private Person bean;
+
+	private IValueProperty<Person, String> property;
+
+	private Method getter;
+
+	private Method setter;
+
+	private IObservableValue<String> observable;
+
+	private int counter;
+
+	/**
+	 * Written by the listener, so that the events are not optimized away
+	 */
+	int sink;
+
+	@Setup
+	public void setUp() throws NoSuchMethodException {
+		bean = new Person();
+		property = BeanProperties.value(Person.class, "name", String.class); //$NON-NLS-1$
+		getter = Person.class.getMethod("getName"); //$NON-NLS-1$
+		setter = Person.class.getMethod("setName", String.class); //$NON-NLS-1$
+
+		Person observed = new Person();
+		observable = property.observe(new BenchmarkRealm(), observed);
+		observable.addValueChangeListener(event -> sink++);
+	}
+
+	private String nextName() {
+		return NAMES[counter++ & 1];
+	}
+
+	@Benchmark
+	public String propertyGetValue() {
+		return property.getValue(bean);
+	}
+
+	@Benchmark
+	public Object reflectiveGetValue() throws ReflectiveOperationException {
+		return getter.invoke(bean);
+	}
+
+	@Benchmark
+	public void propertySetValue() {
+		property.setValue(bean, nextName());
+	}
+
+	@Benchmark
+	public void reflectiveSetValue() throws ReflectiveOperationException {
+		setter.invoke(bean, nextName());
+	}
+
+	@Benchmark
+	public void observableSetValue() {
+		observable.setValue(nextName());
+	}
+}
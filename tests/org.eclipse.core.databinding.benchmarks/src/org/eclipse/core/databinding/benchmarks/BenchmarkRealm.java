@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.databinding.benchmarks;
+
+import org.eclipse.core.databinding.observable.Realm;
+
+/**
+ * A realm which is current on every thread and runs posted runnables right
+ * away, so that the benchmarks measure the observables and not the realm.
+ */
+final class BenchmarkRealm extends Realm {
+
+	@Override
+	public boolean isCurrent() {
+		return true;
+	}
+
+	@Override
+	public void asyncExec(Runnable runnable) {
+		safeRun(runnable);
+	}
+
+	/**
+	 * Runs the given runnable with a new benchmark realm as the default realm,
+	 * for the observables which are always created in the default realm.
+	 *
+	 * @param runnable the runnable
+	 * @return the realm
+	 */
+	static BenchmarkRealm runWithNewDefault(Runnable runnable) {
+		BenchmarkRealm realm = new BenchmarkRealm();
+		runWithDefault(realm, runnable);
+		return realm;
+	}
+}
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.databinding.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.databinding.observable.Diffs;
+import org.eclipse.core.databinding.observable.list.ListDiffEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the computation of list, set and map diffs between two states
+ * differing in about one percent of the elements. The lazy set and map diffs
+ * are measured both for a single membership check, which is what most
+ * listeners need, and for iterating the changes. List diffs are also measured
+ * for a block of a tenth of the elements moved to another position and for
+ * a reversed list, which need many more diff entries.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class DiffsBenchmark {
+
+	@Param({ "100", "10000" })
+	int size;
+
+	private List<Integer> oldList;
+
+	private List<Integer> newList;
+
+	private List<Integer> movedBlockList;
+
+	private List<Integer> reversedList;
+
+	private Set<Integer> oldSet;
+
+	private Set<Integer> newSet;
+
+	private Map<Integer, Integer> oldMap;
+
+	private Map<Integer, Integer> newMap;
+
+	private Integer probe;
+
+	@Setup
+	public void setUp() {
+		// a fixed seed, so that all runs diff the same states
+		Random random = new Random(42);
+		oldList = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			oldList.add(Integer.valueOf(i));
+		}
+		Collections.shuffle(oldList, random);
+		newList = new ArrayList<>(oldList);
+		int changes = Math.max(1, size / 100);
+		for (int i = 0; i < changes; i++) {
+			newList.remove(random.nextInt(newList.size()));
+			newList.add(random.nextInt(newList.size()), Integer.valueOf(size + i));
+			newList.add(random.nextInt(newList.size()), newList.remove(random.nextInt(newList.size())));
+		}
+
+		movedBlockList = new ArrayList<>(oldList);
+		List<Integer> block = movedBlockList.subList(size / 5, size / 5 + size / 10);
+		List<Integer> moved = new ArrayList<>(block);
+		block.clear();
+		movedBlockList.addAll(movedBlockList.size() - size / 5, moved);
+
+		reversedList = new ArrayList<>(oldList);
+		Collections.reverse(reversedList);
+
+		oldSet = new HashSet<>(oldList);
+		newSet = new HashSet<>(newList);
+		oldMap = new HashMap<>();
+		newMap = new HashMap<>();
+		for (int i = 0; i < oldList.size(); i++) {
+			oldMap.put(oldList.get(i), Integer.valueOf(i));
+		}
+		for (int i = 0; i < newList.size(); i++) {
+			newMap.put(newList.get(i), Integer.valueOf(i));
+		}
+		probe = newList.get(random.nextInt(newList.size()));
+	}
+
+	@Benchmark
+	public ListDiffEntry<Integer>[] computeListDiff() {
+		return Diffs.computeListDiff(oldList, newList).getDifferences();
+	}
+
+	@Benchmark
+	public ListDiffEntry<Integer>[] computeListDiffMovedBlock() {
+		return Diffs.computeListDiff(oldList, movedBlockList).getDifferences();
+	}
+
+	@Benchmark
+	public ListDiffEntry<Integer>[] computeListDiffReversed() {
+		return Diffs.computeListDiff(oldList, reversedList).getDifferences();
+	}
+
+	@Benchmark
+	public boolean computeSetDiffContains() {
+		return Diffs.computeSetDiff(oldSet, newSet).getAdditions().contains(probe);
+	}
+
+	@Benchmark
+	public boolean computeLazySetDiffContains() {
+		return Diffs.computeLazySetDiff(oldSet, newSet).getAdditions().contains(probe);
+	}
+
+	@Benchmark
+	public int computeSetDiffIterate() {
+		return sum(Diffs.computeSetDiff(oldSet, newSet).getAdditions());
+	}
+
+	@Benchmark
+	public int computeLazySetDiffIterate() {
+		return sum(Diffs.computeLazySetDiff(oldSet, newSet).getAdditions());
+	}
+
+	@Benchmark
+	public boolean computeMapDiffContains() {
+		return Diffs.computeMapDiff(oldMap, newMap).getChangedKeys().contains(probe);
+	}
+
+	@Benchmark
+	public boolean computeLazyMapDiffContains() {
+		return Diffs.computeLazyMapDiff(oldMap, newMap).getChangedKeys().contains(probe);
+	}
+
+	@Benchmark
+	public int computeMapDiffIterate() {
+		return sum(Diffs.computeMapDiff(oldMap, newMap).getChangedKeys());
+	}
+
+	@Benchmark
+	public int computeLazyMapDiffIterate() {
+		return sum(Diffs.computeLazyMapDiff(oldMap, newMap).getChangedKeys());
+	}
+
+	private static int sum(Set<Integer> elements) {
+		int sum = 0;
+		for (Integer element : elements) {
+			sum += element.intValue();
+		}
+		return sum;
+	}
+}
@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.databinding.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.databinding.observable.IChangeListener;
+import org.eclipse.core.databinding.observable.IObservable;
+import org.eclipse.core.databinding.observable.ObservableTracker;
+import org.eclipse.core.databinding.observable.Realm;
+import org.eclipse.core.databinding.observable.value.ComputedValue;
+import org.eclipse.core.databinding.observable.value.IObservableValue;
+import org.eclipse.core.databinding.observable.value.WritableValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the dependency tracking of {@link ObservableTracker} and the
+ * recomputation of a {@link ComputedValue} reading the given number of
+ * values.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ObservableTrackerBenchmark {
+
+	@Param({ "1", "10", "100" })
+	int dependencies;
+
+	private WritableValue<Integer>[] values;
+
+	private Runnable readValues;
+
+	private final IChangeListener changeListener = event -> {
+		// only tracked
+	};
+
+	private IObservable[] previousDependencies;
+
+	private IObservableValue<Integer> sum;
+
+	private int counter;
+
+	@SuppressWarnings("unchecked")
+	@Setup
+	public void setUp() {
+		Realm realm = new BenchmarkRealm();
+		values = (WritableValue<Integer>[]) new WritableValue<?>[dependencies];
+		for (int i = 0; i < dependencies; i++) {
+			values[i] = new WritableValue<>(realm, Integer.valueOf(i), Integer.class);
+		}
+		readValues = () -> {
+			for (WritableValue<Integer> value : values) {
+				value.getValue();
+			}
+		};
+		previousDependencies = ObservableTracker.runAndMonitor(readValues, changeListener, null);
+
+		sum = new ComputedValue<>(realm, Integer.class) {
+			@Override
+			protected Integer calculate() {
+				int result = 0;
+				for (WritableValue<Integer> value : values) {
+					result += value.getValue().intValue();
+				}
+				return Integer.valueOf(result);
+			}
+		};
+		// keeps the computed value listening to its dependencies
+		sum.addChangeListener(changeListener);
+	}
+
+	@Benchmark
+	public IObservable[] runAndMonitor() {
+		return ObservableTracker.runAndMonitor(readValues, null, null);
+	}
+
+	/**
+	 * Reading the same observables as last time, as a computed observable
+	 * does when it is recomputed
+	 */
+	@Benchmark
+	public IObservable[] runAndMonitorPrevious() {
+		previousDependencies = ObservableTracker.runAndMonitor(readValues, changeListener, null,
+				previousDependencies);
+		return previousDependencies;
+	}
+
+	@Benchmark
+	public Integer computedValueRecompute() {
+		values[0].setValue(Integer.valueOf(counter++));
+		return sum.getValue();
+	}
+}
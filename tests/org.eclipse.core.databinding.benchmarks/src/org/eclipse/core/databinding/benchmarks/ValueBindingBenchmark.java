@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.databinding.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.databinding.DataBindingContext;
+import org.eclipse.core.databinding.observable.Realm;
+import org.eclipse.core.databinding.observable.value.WritableValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of value bindings, copying values of the same type
+ * and converting between strings and integers with the default converters and
+ * validators.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ValueBindingBenchmark {
+
+	private static final String[] TEXTS = { "1", "2" }; //$NON-NLS-1$ //$NON-NLS-2$
+
+	private static final Integer[] NUMBERS = { Integer.valueOf(1), Integer.valueOf(2) };
+
+	private DataBindingContext context;
+
+	private WritableValue<String> target;
+
+	private WritableValue<String> model;
+
+	private WritableValue<String> textTarget;
+
+	private WritableValue<Integer> numberModel;
+
+	private int counter;
+
+	@Setup
+	public void setUp() {
+		BenchmarkRealm.runWithNewDefault(() -> {
+			Realm realm = Realm.getDefault();
+			context = new DataBindingContext(realm);
+			target = new WritableValue<>(realm, null, String.class);
+			model = new WritableValue<>(realm, null, String.class);
+			context.bindValue(target, model);
+			textTarget = new WritableValue<>(realm, null, String.class);
+			numberModel = new WritableValue<>(realm, null, Integer.class);
+			context.bindValue(textTarget, numberModel);
+		});
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.dispose();
+	}
+
+	@Benchmark
+	public String targetToModel() {
+		target.setValue(TEXTS[counter++ & 1]);
+		return model.getValue();
+	}
+
+	@Benchmark
+	public String modelToTarget() {
+		model.setValue(TEXTS[counter++ & 1]);
+		return target.getValue();
+	}
+
+	@Benchmark
+	public Integer targetToModelConverted() {
+		textTarget.setValue(TEXTS[counter++ & 1]);
+		return numberModel.getValue();
+	}
+
+	@Benchmark
+	public String modelToTargetConverted() {
+		numberModel.setValue(NUMBERS[counter++ & 1]);
+		return textTarget.getValue();
+	}
+}
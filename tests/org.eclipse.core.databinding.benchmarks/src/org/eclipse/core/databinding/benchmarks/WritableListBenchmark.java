@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.databinding.benchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.databinding.observable.list.WritableList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the mutations of a {@link WritableList}, including the fan-out of
+ * the change events to the given number of list change listeners. Each
+ * benchmark undoes its change, so the list keeps its size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class WritableListBenchmark {
+
+	@Param({ "0", "1", "10" })
+	int listeners;
+
+	@Param({ "1000" })
+	int size;
+
+	private WritableList<Integer> list;
+
+	private final Integer element = Integer.valueOf(-1);
+
+	/**
+	 * Written by the listeners, so that the events are not optimized away
+	 */
+	int sink;
+
+	@Setup
+	public void setUp() {
+		list = new WritableList<>(new BenchmarkRealm(), new ArrayList<>(), Integer.class);
+		for (int i = 0; i < size; i++) {
+			list.add(Integer.valueOf(i));
+		}
+		for (int i = 0; i < listeners; i++) {
+			list.addListChangeListener(event -> sink += event.diff.getDifferences().length);
+		}
+	}
+
+	@Benchmark
+	public Integer addAndRemoveLast() {
+		list.add(element);
+		return list.remove(size);
+	}
+
+	@Benchmark
+	public Integer addAndRemoveFirst() {
+		list.add(0, element);
+		return list.remove(0);
+	}
+
+	@Benchmark
+	public Integer set() {
+		int index = size / 2;
+		return list.set(index, list.set(index, element));
+	}
+
+	@Benchmark
+	public Integer move() {
+		list.move(0, size - 1);
+		return list.move(size - 1, 0);
+	}
+}
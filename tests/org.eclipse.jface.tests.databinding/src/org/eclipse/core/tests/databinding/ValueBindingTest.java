@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2018	 Brad Reynolds and others.
+ * Copyright (c) 2006, 2024	 Brad Reynolds and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -28,6 +28,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.eclipse.core.databinding.Binding;
 import org.eclipse.core.databinding.DataBindingContext;
@@ -35,6 +36,7 @@ import org.eclipse.core.databinding.UpdateValueStrategy;
 import org.eclipse.core.databinding.conversion.Converter;
 import org.eclipse.core.databinding.conversion.IConverter;
 import org.eclipse.core.databinding.observable.Diffs;
+import org.eclipse.core.databinding.observable.Realm;
 import org.eclipse.core.databinding.observable.value.AbstractObservableValue;
 import org.eclipse.core.databinding.observable.value.IObservableValue;
 import org.eclipse.core.databinding.observable.value.ValueDiff;
@@ -433,6 +435,169 @@ public class ValueBindingTest extends AbstractDefaultRealmTestCase {
 		};
 	}
 
+	@Test
+	public void testThrottleDelay_OnlyLatestValueHandedOver() throws Exception {
+		ManualRealm modelRealm = new ManualRealm();
+		ManualRealm targetRealm = new ManualRealm();
+		WritableValue<String> throttledModel = new WritableValue<>(modelRealm, "a", String.class);
+		WritableValue<String> throttledTarget = new WritableValue<>(targetRealm, null, String.class);
+		List<String> targetValues = new ArrayList<>();
+		targetRealm.run(() -> throttledTarget.addValueChangeListener(e -> targetValues.add(e.diff.getNewValue())));
+
+		dbc.bindValue(throttledTarget, throttledModel, new UpdateValueStrategy<>(POLICY_NEVER),
+				new UpdateValueStrategy<String, String>().setThrottleDelay(16));
+		modelRealm.runPending();
+		modelRealm.run(() -> {
+			throttledModel.setValue("b");
+			throttledModel.setValue("c");
+		});
+
+		assertEquals(1, targetRealm.pending.size());
+		assertEquals(Integer.valueOf(16), targetRealm.delays.get(0));
+		targetRealm.runPending();
+		assertEquals(Arrays.asList("c"), targetValues);
+
+		modelRealm.run(() -> throttledModel.setValue("d"));
+		targetRealm.runPending();
+		assertEquals(Arrays.asList("c", "d"), targetValues);
+	}
+
+	@Test
+	public void testThrottleDelay_SameRealm_NotThrottled() throws Exception {
+		dbc.bindValue(target, model, new UpdateValueStrategy<>(POLICY_NEVER),
+				new UpdateValueStrategy<String, Object>().setThrottleDelay(16));
+
+		model.setValue("value");
+		assertEquals("value", target.getValue());
+	}
+
+	@Test
+	public void testThrottleDelay_DisposedBinding_DropsPendingValue() throws Exception {
+		ManualRealm modelRealm = new ManualRealm();
+		ManualRealm targetRealm = new ManualRealm();
+		WritableValue<String> throttledModel = new WritableValue<>(modelRealm, "a", String.class);
+		WritableValue<String> throttledTarget = new WritableValue<>(targetRealm, null, String.class);
+
+		Binding throttledBinding = dbc.bindValue(throttledTarget, throttledModel,
+				new UpdateValueStrategy<>(POLICY_NEVER), new UpdateValueStrategy<String, String>().setThrottleDelay(0));
+		modelRealm.runPending();
+		throttledBinding.dispose();
+		targetRealm.runPending();
+
+		targetRealm.run(() -> assertNull(throttledTarget.getValue()));
+	}
+
+	@Test
+	public void testThrottleDelay_FailedValidation_DropsPendingValue() throws Exception {
+		ManualRealm modelRealm = new ManualRealm();
+		ManualRealm targetRealm = new ManualRealm();
+		WritableValue<String> throttledModel = new WritableValue<>(modelRealm, "a", String.class);
+		WritableValue<String> throttledTarget = new WritableValue<>(targetRealm, null, String.class);
+
+		Binding throttledBinding = dbc.bindValue(throttledTarget, throttledModel,
+				new UpdateValueStrategy<>(POLICY_NEVER), new UpdateValueStrategy<String, String>()
+						.setAfterGetValidator(value -> "bad".equals(value) ? ValidationStatus.error("bad")
+								: ValidationStatus.ok())
+						.setThrottleDelay(16));
+		modelRealm.runPending();
+		targetRealm.runPending();
+		modelRealm.run(() -> {
+			throttledModel.setValue("b");
+			throttledModel.setValue("bad");
+		});
+		targetRealm.runPending();
+
+		targetRealm.run(() -> assertEquals("a", throttledTarget.getValue()));
+		assertEquals(IStatus.ERROR, throttledBinding.getValidationStatus().getValue().getSeverity());
+	}
+
+	@Test
+	public void testThrottleDelay_ChangedDelay() throws Exception {
+		ManualRealm modelRealm = new ManualRealm();
+		ManualRealm targetRealm = new ManualRealm();
+		WritableValue<String> throttledModel = new WritableValue<>(modelRealm, "a", String.class);
+		WritableValue<String> throttledTarget = new WritableValue<>(targetRealm, null, String.class);
+		UpdateValueStrategy<String, String> modelToTarget = new UpdateValueStrategy<String, String>()
+				.setThrottleDelay(16);
+
+		dbc.bindValue(throttledTarget, throttledModel, new UpdateValueStrategy<>(POLICY_NEVER), modelToTarget);
+		modelRealm.runPending();
+		targetRealm.runPending();
+		modelToTarget.setThrottleDelay(32);
+		modelRealm.run(() -> throttledModel.setValue("b"));
+
+		assertEquals(Arrays.asList(16, 32), targetRealm.delays);
+	}
+
+	@Test
+	public void testThrottleDelay_RejectedRunnable_LaterUpdatesScheduled() throws Exception {
+		ManualRealm modelRealm = new ManualRealm();
+		ManualRealm targetRealm = new ManualRealm();
+		WritableValue<String> throttledModel = new WritableValue<>(modelRealm, "a", String.class);
+		WritableValue<String> throttledTarget = new WritableValue<>(targetRealm, null, String.class);
+
+		Binding throttledBinding = dbc.bindValue(throttledTarget, throttledModel,
+				new UpdateValueStrategy<>(POLICY_NEVER), new UpdateValueStrategy<String, String>().setThrottleDelay(16));
+		modelRealm.runPending();
+		targetRealm.runPending();
+		targetRealm.rejecting = true;
+		modelRealm.run(() -> throttledModel.setValue("b"));
+		assertEquals(IStatus.ERROR, throttledBinding.getValidationStatus().getValue().getSeverity());
+
+		targetRealm.rejecting = false;
+		modelRealm.run(() -> throttledModel.setValue("c"));
+		targetRealm.runPending();
+		targetRealm.run(() -> assertEquals("c", throttledTarget.getValue()));
+	}
+
+	/**
+	 * Realm running its runnables when asked to, on the current thread.
+	 */
+	private static class ManualRealm extends Realm {
+		final List<Runnable> pending = new ArrayList<>();
+
+		final List<Integer> delays = new ArrayList<>();
+
+		private boolean current;
+
+		boolean rejecting;
+
+		@Override
+		public boolean isCurrent() {
+			return current;
+		}
+
+		@Override
+		public void asyncExec(Runnable runnable) {
+			pending.add(runnable);
+		}
+
+		@Override
+		public void timerExec(int milliseconds, Runnable runnable) {
+			if (rejecting) {
+				throw new RejectedExecutionException();
+			}
+			delays.add(milliseconds);
+			pending.add(runnable);
+		}
+
+		void run(Runnable runnable) {
+			boolean wasCurrent = current;
+			current = true;
+			try {
+				runnable.run();
+			} finally {
+				current = wasCurrent;
+			}
+		}
+
+		void runPending() {
+			while (!pending.isEmpty()) {
+				run(pending.remove(0));
+			}
+		}
+	}
+
 	private IValidator<Object> warningValidator() {
 		return value -> ValidationStatus.warning("");
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2018 Matthew Hall and others.
+ * Copyright (c) 2009, 2024 Matthew Hall and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -27,6 +27,8 @@ import org.eclipse.core.databinding.observable.ChangeSupport;
 import org.eclipse.core.databinding.observable.IDisposeListener;
 import org.eclipse.core.databinding.observable.IStaleListener;
 import org.eclipse.core.databinding.observable.Realm;
+import org.eclipse.core.databinding.observable.StaleEvent;
+import org.eclipse.core.databinding.observable.value.WritableValue;
 import org.eclipse.jface.tests.databinding.AbstractDefaultRealmTestCase;
 import org.junit.Before;
 import org.junit.Test;
@@ -71,6 +73,53 @@ public class ChangeSupportTest extends AbstractDefaultRealmTestCase {
 		assertEquals(Arrays.asList(new Object[] { ADD_FIRST, REMOVE_LAST }), changeSupport.log);
 	}
 
+	@Test
+	public void testAddListenerTwice_NotifiedOnce() {
+		List<IStaleListener> notified = new ArrayList<>();
+		IStaleListener listener = new IStaleListener() {
+			@Override
+			public void handleStale(StaleEvent staleEvent) {
+				notified.add(this);
+			}
+		};
+
+		changeSupport.addStaleListener(listener);
+		changeSupport.addStaleListener(listener);
+		fireStale();
+		assertEquals(Collections.singletonList(listener), notified);
+
+		changeSupport.removeStaleListener(listener);
+		assertFalse(changeSupport.hasListeners());
+		assertEquals(Arrays.asList(ADD_FIRST, REMOVE_LAST), changeSupport.log);
+	}
+
+	@Test
+	public void testFireEvent_ListenersChangedDuringEvent() {
+		List<String> notified = new ArrayList<>();
+		IStaleListener added = staleEvent -> notified.add("added");
+		IStaleListener removed = staleEvent -> notified.add("removed");
+		IStaleListener listener = staleEvent -> {
+			notified.add("listener");
+			changeSupport.addStaleListener(added);
+			changeSupport.removeStaleListener(removed);
+		};
+		changeSupport.addStaleListener(listener);
+		changeSupport.addStaleListener(removed);
+
+		// the listeners at the time the event is fired are notified
+		fireStale();
+		assertEquals(Arrays.asList("listener", "removed"), notified);
+
+		notified.clear();
+		changeSupport.removeStaleListener(listener);
+		fireStale();
+		assertEquals(Collections.singletonList("added"), notified);
+	}
+
+	private void fireStale() {
+		changeSupport.fireEvent(new StaleEvent(new WritableValue<>()));
+	}
+
 	private static final String ADD_FIRST = "firstListenerAdded";
 	private static final String REMOVE_LAST = "lastListenerRemoved";
 
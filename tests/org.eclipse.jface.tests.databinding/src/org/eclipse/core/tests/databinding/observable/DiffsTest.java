@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2007 IBM Corporation and others.
+ * Copyright (c) 2006, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,8 +14,18 @@
 
 package org.eclipse.core.tests.databinding.observable;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
+import org.eclipse.core.databinding.observable.Diffs;
+import org.eclipse.core.databinding.observable.map.MapDiff;
 import org.eclipse.core.databinding.observable.set.SetDiff;
 import org.eclipse.core.databinding.observable.value.ValueDiff;
 import org.junit.Test;
@@ -66,4 +76,100 @@ public class DiffsTest {
 		diff.toString();
 	}
 
+	@Test
+	public void testComputeLazySetDiff() {
+		Set<String> oldSet = Set.of("a", "b", "c");
+		Set<String> newSet = Set.of("b", "c", "d", "e");
+		SetDiff<String> diff = Diffs.computeLazySetDiff(oldSet, newSet);
+
+		assertEquals(Set.of("d", "e"), diff.getAdditions());
+		assertEquals(Set.of("a"), diff.getRemovals());
+		assertEquals(2, diff.getAdditions().size());
+		assertTrue(diff.getAdditions().contains("d"));
+		assertFalse(diff.getAdditions().contains("b"));
+		assertTrue(diff.getRemovals().contains("a"));
+		assertFalse(diff.getRemovals().contains("e"));
+		assertFalse(diff.isEmpty());
+		assertEquals(Diffs.computeSetDiff(oldSet, newSet).getAdditions(), diff.getAdditions());
+	}
+
+	@Test
+	public void testComputeLazySetDiff_Empty() {
+		SetDiff<String> diff = Diffs.computeLazySetDiff(Set.of("a", "b"), new HashSet<>(Set.of("b", "a")));
+
+		assertTrue(diff.isEmpty());
+		assertTrue(diff.getAdditions().isEmpty());
+		assertFalse(diff.getRemovals().iterator().hasNext());
+	}
+
+	@Test
+	public void testComputeLazySetDiff_ElementsCollectedOnce() {
+		Set<String> oldSet = new HashSet<>(Set.of("a", "b"));
+		SetDiff<String> diff = Diffs.computeLazySetDiff(oldSet, Set.of("b"));
+
+		assertEquals(1, diff.getRemovals().size());
+		diff.applyTo(oldSet);
+
+		assertEquals(Set.of("a"), diff.getRemovals());
+		assertTrue(diff.getRemovals().contains("a"));
+		assertEquals(Set.of("b"), oldSet);
+	}
+
+	@Test
+	public void testComputeLazySetDiff_ComputedOnFirstAccess() {
+		Set<String> oldSet = new HashSet<>(Set.of("a", "b"));
+		SetDiff<String> diff = Diffs.computeLazySetDiff(oldSet, Set.of("b"));
+
+		assertTrue(diff.getRemovals().contains("a"));
+		oldSet.remove("a");
+
+		assertTrue(diff.getRemovals().contains("a"));
+		assertEquals(Set.of("a"), diff.getRemovals());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testComputeLazySetDiff_Unmodifiable() {
+		Set<String> oldSet = new HashSet<>(Set.of("a"));
+		SetDiff<String> diff = Diffs.computeLazySetDiff(oldSet, Set.of());
+
+		diff.getRemovals().clear();
+	}
+
+	@Test
+	public void testComputeLazyMapDiff() {
+		Map<String, Integer> oldMap = new HashMap<>();
+		oldMap.put("removed", 1);
+		oldMap.put("changed", 2);
+		oldMap.put("unchanged", 3);
+		oldMap.put("null", null);
+		Map<String, Integer> newMap = new HashMap<>();
+		newMap.put("changed", 4);
+		newMap.put("unchanged", 3);
+		newMap.put("null", 5);
+		newMap.put("added", 6);
+		MapDiff<String, Integer> diff = Diffs.computeLazyMapDiff(oldMap, newMap);
+		MapDiff<String, Integer> expected = Diffs.computeMapDiff(oldMap, newMap);
+
+		assertEquals(expected.getAddedKeys(), diff.getAddedKeys());
+		assertEquals(expected.getRemovedKeys(), diff.getRemovedKeys());
+		assertEquals(expected.getChangedKeys(), diff.getChangedKeys());
+		assertEquals(Set.of("changed", "null"), diff.getChangedKeys());
+		for (String key : Set.of("removed", "changed", "unchanged", "null", "added", "absent")) {
+			assertEquals(key, expected.getOldValue(key), diff.getOldValue(key));
+			assertEquals(key, expected.getNewValue(key), diff.getNewValue(key));
+		}
+		assertNull(diff.getOldValue("unchanged"));
+
+		Map<String, Integer> applied = new HashMap<>(oldMap);
+		diff.applyTo(applied);
+		assertEquals(newMap, applied);
+	}
+
+	@Test
+	public void testComputeLazyMapDiff_Empty() {
+		Map<String, Integer> map = Map.of("a", 1, "b", 2);
+
+		assertTrue(Diffs.computeLazyMapDiff(map, new HashMap<>(map)).isEmpty());
+	}
+
 }
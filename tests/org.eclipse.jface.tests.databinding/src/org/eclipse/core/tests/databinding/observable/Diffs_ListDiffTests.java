@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2008 IBM Corporation and others.
+ * Copyright (c) 2007, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,7 +19,10 @@ import static org.junit.Assert.assertEquals;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Random;
 
 import org.eclipse.core.databinding.observable.Diffs;
 import org.eclipse.core.databinding.observable.list.ListDiff;
@@ -225,7 +228,7 @@ public class Diffs_ListDiffTests {
 		assertEntry(diff.getDifferences()[2], true, 0, "c");
 	}
 
-	private static void assertEntry(ListDiffEntry<?> entry, boolean addition, int position, String element) {
+	private static void assertEntry(ListDiffEntry<?> entry, boolean addition, int position, Object element) {
 		assertEquals("addition", addition, entry.isAddition());
 		assertEquals("position", position, entry.getPosition());
 		assertEquals("element", element, entry.getElement());
@@ -268,7 +271,116 @@ public class Diffs_ListDiffTests {
 		checkComputedListDiff(List.of("a", "b", "c"), List.of("c", "a", "b"));
 	}
 
-	private static void checkComputedListDiff(List<Object> oldList, List<Object> newList) {
+	@Test
+	public void testComputeListDiff_Duplicates() {
+		checkComputedListDiff(Arrays.asList("a", "b", "a", null, "b"), Arrays.asList(null, "b", "a", "b", "a", null));
+		checkComputedListDiff(Arrays.asList("a", "a", "a"), Arrays.asList("a"));
+		checkComputedListDiff(Arrays.asList("a"), Arrays.asList("a", "a", "a"));
+	}
+
+	@Test
+	public void testComputeListDiff_NotRandomAccess() {
+		checkComputedListDiff(new LinkedList<>(List.of("a", "b", "c", "d")),
+				new LinkedList<>(List.of("d", "a", "e", "c")));
+	}
+
+	@Test
+	public void testComputeListDiff_Reorder() {
+		Random random = new Random(1);
+		for (int round = 0; round < 50; round++) {
+			List<Object> oldList = new ArrayList<>();
+			for (int i = 0; i < 200; i++) {
+				// some duplicates
+				oldList.add(Integer.valueOf(random.nextInt(150)));
+			}
+			List<Object> newList = new ArrayList<>(oldList);
+			switch (round % 5) {
+			case 0:
+				Collections.shuffle(newList, random);
+				break;
+			case 1:
+				Collections.reverse(newList);
+				break;
+			case 2:
+				newList.add(random.nextInt(newList.size()), newList.remove(random.nextInt(newList.size())));
+				break;
+			case 3:
+				newList.subList(20, 40).clear();
+				newList.addAll(100, List.of("x", "y", "z"));
+				break;
+			default:
+				Collections.sort(newList, (a, b) -> Integer.compare(a.hashCode(), b.hashCode()));
+				break;
+			}
+			checkComputedListDiff(oldList, newList);
+		}
+	}
+
+	@Test
+	public void testComputeListDiff_ReportsMoves() {
+		Random random = new Random(2);
+		for (int round = 0; round < 20; round++) {
+			List<Object> oldList = new ArrayList<>();
+			for (int i = 0; i < 100; i++) {
+				oldList.add(Integer.valueOf(i));
+			}
+			List<Object> newList = new ArrayList<>(oldList);
+			Collections.shuffle(newList, random);
+
+			final List<Object> list = new ArrayList<>(oldList);
+			Diffs.computeListDiff(oldList, newList).accept(new ListDiffVisitor<>() {
+				@Override
+				public void handleAdd(int index, Object element) {
+					throw new AssertionError("addition of " + element);
+				}
+
+				@Override
+				public void handleRemove(int index, Object element) {
+					throw new AssertionError("removal of " + element);
+				}
+
+				@Override
+				public void handleMove(int oldIndex, int newIndex, Object element) {
+					assertEquals(element, list.remove(oldIndex));
+					list.add(newIndex, element);
+				}
+			});
+			assertEquals(newList, list);
+		}
+	}
+
+	@Test
+	public void testComputeListDiff_MinimalMove() {
+		List<Object> oldList = new ArrayList<>();
+		for (int i = 0; i < 50000; i++) {
+			oldList.add(Integer.valueOf(i));
+		}
+		List<Object> newList = new ArrayList<>(oldList);
+		newList.add(newList.remove(10));
+
+		ListDiff<?> diff = checkComputedListDiff(oldList, newList);
+		assertEquals(2, diff.getDifferences().length);
+		assertEntry(diff.getDifferences()[0], false, 10, 10);
+		assertEntry(diff.getDifferences()[1], true, 49999, 10);
+	}
+
+	@Test
+	public void testComputeListDiff_Append() {
+		List<Object> oldList = new ArrayList<>();
+		for (int i = 0; i < 50000; i++) {
+			oldList.add(Integer.valueOf(i));
+		}
+		List<Object> newList = new ArrayList<>(oldList);
+		newList.add("a");
+		newList.add("b");
+
+		ListDiff<?> diff = checkComputedListDiff(oldList, newList);
+		assertEquals(2, diff.getDifferences().length);
+		assertEntry(diff.getDifferences()[0], true, 50000, "a");
+		assertEntry(diff.getDifferences()[1], true, 50001, "b");
+	}
+
+	private static ListDiff<?> checkComputedListDiff(List<Object> oldList, List<Object> newList) {
 		ListDiff<?> diff = Diffs.computeListDiff(oldList, newList);
 
 		final List<Object> list = new ArrayList<>(oldList);
@@ -291,5 +403,6 @@ public class Diffs_ListDiffTests {
 		diff.accept(listDiffVisitor);
 
 		assertEquals("Applying diff to old list should make it equal to new list", newList, list);
+		return diff;
 	}
 }
@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.tests.databinding.observable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.databinding.observable.ExecutorRealm;
+import org.eclipse.core.databinding.observable.Realm;
+import org.eclipse.core.databinding.observable.value.WritableValue;
+import org.junit.Test;
+
+public class ExecutorRealmTest {
+	private final List<Runnable> tasks = new ArrayList<>();
+
+	private final ExecutorRealm realm = new ExecutorRealm(tasks::add);
+
+	@Test
+	public void testAsyncExec_RunsInOrderOnExecutor() {
+		List<Integer> log = new ArrayList<>();
+		realm.asyncExec(() -> log.add(1));
+		realm.asyncExec(() -> log.add(2));
+
+		assertEquals(1, tasks.size());
+		assertTrue(log.isEmpty());
+
+		runTasks();
+		assertEquals(Arrays.asList(1, 2), log);
+	}
+
+	@Test
+	public void testAsyncExec_RejectedByExecutor_LaterRunnablesSubmitted() {
+		boolean[] rejecting = { true };
+		ExecutorRealm rejectingRealm = new ExecutorRealm(task -> {
+			if (rejecting[0]) {
+				throw new RejectedExecutionException();
+			}
+			tasks.add(task);
+		});
+		List<Integer> log = new ArrayList<>();
+		assertThrows(RejectedExecutionException.class, () -> rejectingRealm.asyncExec(() -> log.add(1)));
+
+		rejecting[0] = false;
+		rejectingRealm.asyncExec(() -> log.add(2));
+		assertEquals(1, tasks.size());
+		runTasks();
+		assertEquals(Arrays.asList(2), log);
+	}
+
+	@Test
+	public void testIsCurrent() {
+		boolean[] current = new boolean[1];
+		realm.asyncExec(() -> current[0] = realm.isCurrent());
+
+		assertFalse(realm.isCurrent());
+		runTasks();
+		assertTrue(current[0]);
+		assertFalse(realm.isCurrent());
+	}
+
+	@Test
+	public void testIsDefaultWhileRunning() {
+		Realm[] defaultRealm = new Realm[1];
+		WritableValue<?>[] value = new WritableValue[1];
+		realm.asyncExec(() -> {
+			defaultRealm[0] = Realm.getDefault();
+			value[0] = new WritableValue<>();
+		});
+
+		runTasks();
+		assertSame(realm, defaultRealm[0]);
+		assertSame(realm, value[0].getRealm());
+	}
+
+	@Test
+	public void testExec_FromWithinRealm_RunsImmediately() {
+		List<Integer> log = new ArrayList<>();
+		realm.asyncExec(() -> {
+			realm.exec(() -> log.add(1));
+			log.add(2);
+		});
+
+		runTasks();
+		assertEquals(Arrays.asList(1, 2), log);
+	}
+
+	@Test
+	public void testManyRunnables_GivesExecutorAChance() {
+		int[] count = new int[1];
+		for (int i = 0; i < 1000; i++) {
+			realm.asyncExec(() -> count[0]++);
+		}
+
+		assertEquals(1, tasks.size());
+		tasks.remove(0).run();
+		assertTrue(count[0] < 1000);
+		assertEquals(1, tasks.size());
+
+		runTasks();
+		assertEquals(1000, count[0]);
+	}
+
+	@Test
+	public void testThreadPool_RunsOneAtATime() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			ExecutorRealm poolRealm = new ExecutorRealm(executor);
+			int count = 10000;
+			CountDownLatch done = new CountDownLatch(count);
+			int[] running = new int[1];
+			boolean[] overlap = new boolean[1];
+			boolean[] notCurrent = new boolean[1];
+			for (int i = 0; i < count; i++) {
+				poolRealm.asyncExec(() -> {
+					if (running[0]++ != 0) {
+						overlap[0] = true;
+					}
+					if (!poolRealm.isCurrent()) {
+						notCurrent[0] = true;
+					}
+					running[0]--;
+					done.countDown();
+				});
+			}
+
+			assertTrue(done.await(10, TimeUnit.SECONDS));
+			assertFalse(overlap[0]);
+			assertFalse(notCurrent[0]);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private void runTasks() {
+		while (!tasks.isEmpty()) {
+			tasks.remove(0).run();
+		}
+	}
+}
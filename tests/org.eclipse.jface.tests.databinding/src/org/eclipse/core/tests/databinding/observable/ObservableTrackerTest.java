@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2018 Matthew Hall and others.
+ * Copyright (c) 2007, 2024 Matthew Hall and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,6 +16,7 @@
 package org.eclipse.core.tests.databinding.observable;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
@@ -26,9 +27,12 @@ import java.util.List;
 import java.util.Set;
 
 import org.eclipse.core.databinding.observable.AbstractObservable;
+import org.eclipse.core.databinding.observable.IChangeListener;
 import org.eclipse.core.databinding.observable.IObservable;
 import org.eclipse.core.databinding.observable.ObservableTracker;
 import org.eclipse.core.databinding.observable.Realm;
+import org.eclipse.core.databinding.observable.value.ComputedValue;
+import org.eclipse.core.databinding.observable.value.WritableValue;
 import org.eclipse.core.databinding.util.Policy;
 import org.eclipse.core.internal.databinding.IdentitySet;
 import org.eclipse.core.runtime.AssertionFailedException;
@@ -186,6 +190,181 @@ public class ObservableTrackerTest extends AbstractDefaultRealmTestCase {
 		assertThrows(IllegalStateException.class, () -> ObservableTracker.setIgnore(false));
 	}
 
+	@Test
+	public void testRunAndMonitor_SameDependencies_ReusesListeners() throws Exception {
+		CountingObservable a = new CountingObservable();
+		CountingObservable b = new CountingObservable();
+		IChangeListener listener = event -> {
+		};
+		Runnable runnable = () -> {
+			ObservableTracker.getterCalled(a);
+			ObservableTracker.getterCalled(b);
+			ObservableTracker.getterCalled(a);
+		};
+
+		IObservable[] first = ObservableTracker.runAndMonitor(runnable, listener, null, null);
+		assertEquals(Arrays.asList(a, b), Arrays.asList(first));
+		assertEquals(1, a.added);
+		assertEquals(1, b.added);
+
+		IObservable[] second = ObservableTracker.runAndMonitor(runnable, listener, null, first);
+		assertSame(first, second);
+		assertEquals(1, a.added);
+		assertEquals(1, b.added);
+		assertEquals(0, a.removed);
+		assertEquals(0, b.removed);
+	}
+
+	@Test
+	public void testRunAndMonitor_ChangedDependencies_UpdatesListeners() throws Exception {
+		CountingObservable a = new CountingObservable();
+		CountingObservable b = new CountingObservable();
+		CountingObservable c = new CountingObservable();
+		IChangeListener listener = event -> {
+		};
+
+		IObservable[] first = ObservableTracker.runAndMonitor(() -> {
+			ObservableTracker.getterCalled(a);
+			ObservableTracker.getterCalled(b);
+		}, listener, null, null);
+		IObservable[] second = ObservableTracker.runAndMonitor(() -> {
+			ObservableTracker.getterCalled(c);
+			ObservableTracker.getterCalled(a);
+		}, listener, null, first);
+
+		assertEquals(Arrays.asList(c, a), Arrays.asList(second));
+		assertEquals(1, a.added);
+		assertEquals(0, a.removed);
+		assertEquals(1, b.added);
+		assertEquals(1, b.removed);
+		assertEquals(1, c.added);
+		assertEquals(0, c.removed);
+	}
+
+	@Test
+	public void testRunAndMonitor_SubsetOfDependencies_ReturnsNewArray() throws Exception {
+		CountingObservable a = new CountingObservable();
+		CountingObservable b = new CountingObservable();
+		IChangeListener listener = event -> {
+		};
+
+		IObservable[] first = ObservableTracker.runAndMonitor(() -> {
+			ObservableTracker.getterCalled(a);
+			ObservableTracker.getterCalled(b);
+		}, listener, null, null);
+		IObservable[] second = ObservableTracker.runAndMonitor(() -> ObservableTracker.getterCalled(b), listener,
+				null, first);
+
+		assertEquals(Arrays.asList(b), Arrays.asList(second));
+		assertEquals(1, a.removed);
+		assertEquals(0, b.removed);
+	}
+
+	@Test
+	public void testRunAndMonitor_Exception_KeepsPreviousListeners() throws Exception {
+		CountingObservable a = new CountingObservable();
+		CountingObservable b = new CountingObservable();
+		IChangeListener listener = event -> {
+		};
+
+		IObservable[] first = ObservableTracker.runAndMonitor(() -> ObservableTracker.getterCalled(a), listener,
+				null, null);
+		assertThrows(IllegalStateException.class, () -> ObservableTracker.runAndMonitor(() -> {
+			ObservableTracker.getterCalled(b);
+			throw new IllegalStateException();
+		}, listener, null, first));
+
+		assertEquals(0, a.removed);
+		assertEquals(1, b.added);
+		assertEquals(1, b.removed);
+	}
+
+	@Test
+	public void testRunAndMonitor_ManyDependencies() throws Exception {
+		CountingObservable[] observables = new CountingObservable[100];
+		for (int i = 0; i < observables.length; i++) {
+			observables[i] = new CountingObservable();
+		}
+		IChangeListener listener = event -> {
+		};
+		Runnable runnable = () -> {
+			for (CountingObservable observable : observables) {
+				ObservableTracker.getterCalled(observable);
+			}
+		};
+
+		IObservable[] first = ObservableTracker.runAndMonitor(runnable, listener, null, null);
+		assertEquals(Arrays.asList(observables), Arrays.asList(first));
+		assertSame(first, ObservableTracker.runAndMonitor(runnable, listener, null, first));
+		for (CountingObservable observable : observables) {
+			assertEquals(1, observable.added);
+			assertEquals(0, observable.removed);
+		}
+	}
+
+	@Test
+	public void testRunAndMonitor_Nested_SeparatesDependencies() throws Exception {
+		IObservable outer = new ObservableStub();
+		IObservable inner = new ObservableStub();
+		IObservable[][] innerResult = new IObservable[1][];
+
+		IObservable[] outerResult = ObservableTracker.runAndMonitor(() -> {
+			ObservableTracker.getterCalled(outer);
+			innerResult[0] = ObservableTracker.runAndMonitor(() -> ObservableTracker.getterCalled(inner), null,
+					null);
+		}, null, null);
+
+		assertEquals(Arrays.asList(outer), Arrays.asList(outerResult));
+		assertEquals(Arrays.asList(inner), Arrays.asList(innerResult[0]));
+	}
+
+	@Test
+	public void testComputedValue_Recalculation_ReusesListeners() throws Exception {
+		WritableValue<Integer> value = new WritableValue<>(1, null);
+		CountingObservable other = new CountingObservable();
+		ComputedValue<Integer> computed = new ComputedValue<>() {
+			@Override
+			protected Integer calculate() {
+				ObservableTracker.getterCalled(other);
+				return value.getValue() * 2;
+			}
+		};
+		computed.addValueChangeListener(event -> event.diff.getNewValue());
+
+		value.setValue(2);
+		value.setValue(3);
+
+		assertEquals(Integer.valueOf(6), computed.getValue());
+		assertEquals(1, other.added);
+		assertEquals(0, other.removed);
+
+		computed.dispose();
+		assertEquals(1, other.removed);
+		assertFalse(other.hasChangeListeners());
+	}
+
+	private static class CountingObservable extends ObservableStub {
+		int added;
+
+		int removed;
+
+		@Override
+		public synchronized void addChangeListener(IChangeListener listener) {
+			super.addChangeListener(listener);
+			added++;
+		}
+
+		@Override
+		public synchronized void removeChangeListener(IChangeListener listener) {
+			super.removeChangeListener(listener);
+			removed++;
+		}
+
+		boolean hasChangeListeners() {
+			return hasListeners();
+		}
+	}
+
 	public static class ObservableStub extends AbstractObservable {
 		public ObservableStub() {
 			this(Realm.getDefault());
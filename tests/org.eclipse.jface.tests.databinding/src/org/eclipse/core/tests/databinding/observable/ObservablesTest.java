@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2007 Cerner Corporation and others.
+ * Copyright (c) 2006, 2024 Cerner Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,15 +14,23 @@
 
 package org.eclipse.core.tests.databinding.observable;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.eclipse.core.databinding.observable.ChangeEvent;
+import org.eclipse.core.databinding.observable.IChangeListener;
 import org.eclipse.core.databinding.observable.Observables;
 import org.eclipse.core.databinding.observable.list.IObservableList;
 import org.eclipse.core.databinding.observable.list.ObservableList;
+import org.eclipse.core.databinding.observable.value.IValueChangeListener;
+import org.eclipse.core.databinding.observable.value.WritableValue;
 import org.eclipse.core.internal.databinding.observable.UnmodifiableObservableList;
 import org.eclipse.jface.tests.databinding.AbstractDefaultRealmTestCase;
 import org.junit.Test;
@@ -45,4 +53,69 @@ public class ObservablesTest extends AbstractDefaultRealmTestCase {
 			super(wrappedList, elementType);
 		}
 	}
+
+	@Test
+	public void testAddWeakValueChangeListener() {
+		WritableValueStub value = new WritableValueStub();
+		List<Object> newValues = new ArrayList<>();
+		IValueChangeListener<Object> listener = event -> newValues.add(event.diff.getNewValue());
+
+		Observables.addWeakValueChangeListener(value, listener);
+		assertTrue(value.hasListeners());
+		value.setValue("a");
+		assertEquals(List.of("a"), newValues);
+
+		value.removeValueChangeListener(listener);
+		assertFalse(value.hasListeners());
+		value.setValue("b");
+		assertEquals(List.of("a"), newValues);
+	}
+
+	@Test
+	public void testAddWeakChangeListener_RemovedWhenCollected() throws InterruptedException {
+		WritableValueStub value = new WritableValueStub();
+		WeakReference<IChangeListener> reference = addCollectableListener(value);
+		for (int i = 0; i < 100 && reference.get() != null; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		assertNull(reference.get());
+		assertTrue(value.hasListeners());
+
+		// the collected listener is removed when the next event is fired
+		value.setValue("a");
+		assertFalse(value.hasListeners());
+	}
+
+	@Test
+	public void testAddWeakChangeListener_StrongListenersKept() {
+		WritableValueStub value = new WritableValueStub();
+		List<ChangeEvent> events = new ArrayList<>();
+		IChangeListener listener = events::add;
+		value.addChangeListener(listener);
+		addCollectableListener(value);
+		System.gc();
+
+		value.setValue("a");
+		value.setValue("b");
+		assertEquals(2, events.size());
+		assertTrue(value.hasListeners());
+	}
+
+	private static WeakReference<IChangeListener> addCollectableListener(WritableValueStub value) {
+		IChangeListener listener = new IChangeListener() {
+			@Override
+			public void handleChange(ChangeEvent event) {
+			}
+		};
+		Observables.addWeakChangeListener(value, listener);
+		return new WeakReference<>(listener);
+	}
+
+	private static class WritableValueStub extends WritableValue<Object> {
+		@Override
+		public boolean hasListeners() {
+			return super.hasListeners();
+		}
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2018 Brad Reynolds and others.
+ * Copyright (c) 2006, 2024 Brad Reynolds and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,8 +15,21 @@
 package org.eclipse.core.tests.databinding.observable;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
 
 import org.eclipse.core.databinding.observable.Realm;
+import org.eclipse.core.databinding.observable.list.ListDiffEntry;
+import org.eclipse.core.databinding.observable.list.ListDiffVisitor;
+import org.eclipse.core.databinding.observable.list.WritableList;
+import org.eclipse.core.databinding.observable.map.WritableMap;
+import org.eclipse.core.databinding.observable.set.WritableSet;
+import org.eclipse.core.databinding.observable.value.WritableValue;
 import org.eclipse.jface.databinding.conformance.util.CurrentRealm;
 import org.eclipse.jface.databinding.conformance.util.RealmTester;
 import org.junit.Test;
@@ -35,4 +48,183 @@ public class RealmTest {
 
 		assertEquals("old realm should have been restored", oldRealm, Realm.getDefault());
 	}
+
+	@Test
+	public void testBatchMergesValueChanges() {
+		Realm realm = new CurrentRealm(true);
+		WritableValue<String> value = new WritableValue<>(realm, "a", String.class);
+		List<String> events = new ArrayList<>();
+		value.addChangeListener(event -> events.add("change"));
+		value.addValueChangeListener(event -> events.add(event.diff.getOldValue() + "->" + event.diff.getNewValue()));
+
+		realm.batch(() -> {
+			value.setValue("b");
+			value.setValue("c");
+			assertTrue("listeners must not be notified during the batch", events.isEmpty());
+		});
+
+		assertEquals(List.of("change", "a->c"), events);
+	}
+
+	@Test
+	public void testBatchSkipsValueChangedBack() {
+		Realm realm = new CurrentRealm(true);
+		WritableValue<String> value = new WritableValue<>(realm, "a", String.class);
+		List<String> events = new ArrayList<>();
+		value.addValueChangeListener(event -> events.add(event.diff.getOldValue() + "->" + event.diff.getNewValue()));
+
+		realm.batch(() -> {
+			value.setValue("b");
+			value.setValue("a");
+		});
+		assertEquals(List.of(), events);
+
+		realm.batch(() -> {
+			value.setValue("b");
+			value.setValue("a");
+			value.setValue("c");
+		});
+		assertEquals(List.of("a->c"), events);
+	}
+
+	@Test
+	public void testBatchMergesListChanges() {
+		Realm realm = new CurrentRealm(true);
+		WritableList<String> list = new WritableList<>(realm, new ArrayList<>(List.of("a", "b")), String.class);
+		List<String> copy = new ArrayList<>(list);
+		int[] count = new int[1];
+		list.addListChangeListener(event -> {
+			count[0]++;
+			event.diff.accept(new ListDiffVisitor<String>() {
+				@Override
+				public void handleAdd(int index, String element) {
+					copy.add(index, element);
+				}
+
+				@Override
+				public void handleRemove(int index, String element) {
+					assertEquals(element, copy.remove(index));
+				}
+			});
+		});
+
+		realm.batch(() -> {
+			list.add("c");
+			list.remove("a");
+			list.add(0, "d");
+			list.set(1, "e");
+		});
+
+		assertEquals(1, count[0]);
+		assertEquals(list, copy);
+	}
+
+	@Test
+	public void testBatchMergesListChanges_AddThenRemove() {
+		Realm realm = new CurrentRealm(true);
+		WritableList<String> list = new WritableList<>(realm, new ArrayList<>(List.of("a")), String.class);
+		List<String> copy = new ArrayList<>(list);
+		List<String> entries = new ArrayList<>();
+		list.addListChangeListener(event -> {
+			for (ListDiffEntry<? extends String> entry : event.diff.getDifferences()) {
+				entries.add((entry.isAddition() ? "add " : "remove ") + entry.getPosition() + " " + entry.getElement());
+			}
+			event.diff.applyTo(copy);
+		});
+
+		realm.batch(() -> {
+			list.add("b");
+			list.remove(0);
+			list.add("c");
+			list.remove("c");
+		});
+
+		assertEquals(List.of("b"), copy);
+		assertEquals(List.of("remove 0 a", "add 0 b"), entries);
+	}
+
+	@Test
+	public void testBatchMergesListChanges_Random() {
+		Realm realm = new CurrentRealm(true);
+		Random random = new Random(3);
+		for (int round = 0; round < 50; round++) {
+			List<Integer> initial = new ArrayList<>();
+			for (int i = random.nextInt(20); i > 0; i--) {
+				initial.add(Integer.valueOf(random.nextInt(100)));
+			}
+			WritableList<Integer> list = new WritableList<>(realm, new ArrayList<>(initial), Integer.class);
+			List<Integer> copy = new ArrayList<>(initial);
+			list.addListChangeListener(event -> event.diff.applyTo(copy));
+
+			realm.batch(() -> {
+				for (int i = 0; i < 30; i++) {
+					if (list.isEmpty() || random.nextBoolean()) {
+						list.add(random.nextInt(list.size() + 1), Integer.valueOf(random.nextInt(100)));
+					} else {
+						list.remove(random.nextInt(list.size()));
+					}
+				}
+			});
+
+			assertEquals(list, copy);
+		}
+	}
+
+	@Test
+	public void testBatchMergesSetChanges() {
+		Realm realm = new CurrentRealm(true);
+		WritableSet<String> set = new WritableSet<>(realm, Set.of("a", "b"), String.class);
+		List<String> events = new ArrayList<>();
+		set.addSetChangeListener(event -> events.add(event.diff.getAdditions() + "-" + event.diff.getRemovals()));
+
+		realm.batch(() -> {
+			set.remove("a");
+			set.add("c");
+			set.add("a");
+			set.remove("b");
+			set.remove("c");
+			set.add("d");
+		});
+
+		assertEquals(List.of("[d]-[b]"), events);
+	}
+
+	@Test
+	public void testBatchMergesMapChanges() {
+		Realm realm = new CurrentRealm(true);
+		WritableMap<String, String> map = new WritableMap<>(realm);
+		map.put("a", "1");
+		map.put("b", "2");
+		List<String> events = new ArrayList<>();
+		map.addMapChangeListener(event -> events.add(event.diff.getAddedKeys() + " " + event.diff.getRemovedKeys()
+				+ " " + event.diff.getChangedKeys() + " " + event.diff.getOldValue("b") + "->"
+				+ event.diff.getNewValue("b")));
+
+		realm.batch(() -> {
+			map.put("b", "3");
+			map.put("c", "4");
+			map.remove("a");
+			map.remove("c");
+			map.put("b", "5");
+		});
+
+		assertEquals(List.of("[] [a] [b] 2->5"), events);
+		assertEquals(Map.of("b", "5"), map);
+	}
+
+	@Test
+	public void testNestedBatch() {
+		Realm realm = new CurrentRealm(true);
+		WritableValue<String> value = new WritableValue<>(realm, "a", String.class);
+		List<String> events = new ArrayList<>();
+		value.addValueChangeListener(event -> events.add(event.diff.getNewValue()));
+
+		realm.batch(() -> {
+			value.setValue("b");
+			realm.batch(() -> value.setValue("c"));
+			assertTrue(events.isEmpty());
+		});
+
+		assertEquals(List.of("c"), events);
+	}
 }
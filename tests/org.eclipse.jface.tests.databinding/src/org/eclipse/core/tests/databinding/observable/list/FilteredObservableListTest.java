@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.tests.databinding.observable.list;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.eclipse.core.databinding.observable.IObservable;
+import org.eclipse.core.databinding.observable.ObservableTracker;
+import org.eclipse.core.databinding.observable.list.FilteredObservableList;
+import org.eclipse.core.databinding.observable.list.ListDiffEntry;
+import org.eclipse.core.databinding.observable.list.WritableList;
+import org.eclipse.core.databinding.observable.value.WritableValue;
+import org.eclipse.jface.databinding.conformance.util.ListChangeEventTracker;
+import org.eclipse.jface.tests.databinding.AbstractDefaultRealmTestCase;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FilteredObservableListTest extends AbstractDefaultRealmTestCase {
+	private WritableList<Integer> source;
+
+	private FilteredObservableList<Integer> filtered;
+
+	private ListChangeEventTracker<Integer> tracker;
+
+	/**
+	 * A copy of the filtered list, updated by applying the diffs
+	 */
+	private List<Integer> mirror;
+
+	@Override
+	@Before
+	public void setUp() throws Exception {
+		super.setUp();
+		source = new WritableList<>(new ArrayList<>(Arrays.asList(1, 2, 3, 4, 5, 6)), Integer.class);
+		filtered = new FilteredObservableList<>(source, i -> i % 2 == 0);
+		tracker = ListChangeEventTracker.observe(filtered);
+		mirror = new ArrayList<>(filtered);
+		filtered.addListChangeListener(event -> event.diff.applyTo(mirror));
+	}
+
+	@Test
+	public void testInitialContents() {
+		assertEquals(Arrays.asList(2, 4, 6), filtered);
+		assertEquals(Integer.class, filtered.getElementType());
+	}
+
+	@Test
+	public void testAddMatching() {
+		source.add(2, 8);
+		assertEquals(Arrays.asList(2, 8, 4, 6), filtered);
+		assertEquals(1, tracker.count);
+		assertEntries(entry(1, true, 8));
+		assertDiffApplies();
+	}
+
+	@Test
+	public void testAddNotMatching() {
+		source.add(2, 7);
+		assertEquals(Arrays.asList(2, 4, 6), filtered);
+		assertEquals(0, tracker.count);
+	}
+
+	@Test
+	public void testRemove() {
+		source.remove(Integer.valueOf(4));
+		source.remove(Integer.valueOf(1));
+		assertEquals(Arrays.asList(2, 6), filtered);
+		assertEquals(1, tracker.count);
+		assertEntries(entry(1, false, 4));
+	}
+
+	@Test
+	public void testSetContents() {
+		source.clear();
+		source.addAll(Arrays.asList(10, 11, 12));
+		assertEquals(Arrays.asList(10, 12), filtered);
+		assertDiffApplies();
+	}
+
+	@Test
+	public void testSetFilter_OnlyChangedElements() {
+		filtered.setFilter(i -> i >= 4);
+		assertEquals(Arrays.asList(4, 5, 6), filtered);
+		assertEquals(1, tracker.count);
+		assertEntries(entry(0, false, 2), entry(1, true, 5));
+		assertDiffApplies();
+	}
+
+	@Test
+	public void testRandomChanges() {
+		Random random = new Random(3);
+		for (int round = 0; round < 200; round++) {
+			int operation = random.nextInt(4);
+			if (operation == 0 || source.isEmpty()) {
+				source.add(random.nextInt(source.size() + 1), random.nextInt(20));
+			} else if (operation == 1) {
+				source.remove(random.nextInt(source.size()));
+			} else if (operation == 2) {
+				source.move(random.nextInt(source.size()), random.nextInt(source.size()));
+			} else {
+				List<Integer> contents = new ArrayList<>(source);
+				contents.removeIf(i -> random.nextBoolean());
+				contents.add(random.nextInt(20));
+				source.clear();
+				source.addAll(contents);
+			}
+			assertEquals(source.stream().filter(i -> i % 2 == 0).collect(Collectors.toList()), filtered);
+			assertDiffApplies();
+		}
+	}
+
+	@Test
+	public void testCachedWithoutListeners() {
+		AtomicInteger calls = new AtomicInteger();
+		FilteredObservableList<Integer> list = new FilteredObservableList<>(source, i -> {
+			calls.incrementAndGet();
+			return i % 2 == 0;
+		});
+		for (int i = 0; i < list.size(); i++) {
+			list.get(i);
+		}
+		assertEquals(source.size(), calls.get());
+
+		source.add(10);
+		assertEquals(Arrays.asList(2, 4, 6, 10), list);
+		assertEquals(2 * source.size() - 1, calls.get());
+	}
+
+	@Test
+	public void testListensToSourceOnlyWhileListened() {
+		ListenedList listened = new ListenedList(Arrays.asList(1, 2, 3, 4));
+		FilteredObservableList<Integer> list = new FilteredObservableList<>(listened, i -> i % 2 == 0);
+		assertFalse(listened.hasListeners());
+		assertEquals(Arrays.asList(2, 4), list);
+
+		listened.add(8);
+		// the cached elements are dropped on the change
+		assertFalse(listened.hasListeners());
+		assertEquals(Arrays.asList(2, 4, 8), list);
+
+		ListChangeEventTracker<Integer> listTracker = ListChangeEventTracker.observe(list);
+		assertTrue(listened.hasListeners());
+		listened.remove(Integer.valueOf(2));
+		assertEquals(1, listTracker.count);
+
+		list.removeListChangeListener(listTracker);
+		assertFalse(listened.hasListeners());
+	}
+
+	@Test
+	public void testFilterGettersNotTracked() {
+		WritableValue<Integer> minimum = new WritableValue<>(0, Integer.class);
+		filtered.setFilter(i -> i % 2 == 0 && i >= minimum.getValue());
+		IObservable[] observables = ObservableTracker.runAndMonitor(() -> source.add(10), null, null);
+		assertEquals(0, observables.length);
+		assertEquals(Arrays.asList(2, 4, 6, 10), filtered);
+	}
+
+	@Test
+	public void testRandomChanges_LargeList() {
+		Random random = new Random(5);
+		List<Integer> contents = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			contents.add(random.nextInt(100));
+		}
+		source.clear();
+		source.addAll(contents);
+		for (int round = 0; round < 100; round++) {
+			List<Integer> changed = new ArrayList<>(source);
+			for (int i = 0; i < 20; i++) {
+				int index = random.nextInt(changed.size());
+				if (random.nextBoolean()) {
+					changed.remove(index);
+				} else {
+					changed.add(index, random.nextInt(100));
+				}
+			}
+			source.clear();
+			source.addAll(changed);
+			assertEquals(source.stream().filter(i -> i % 2 == 0).collect(Collectors.toList()), filtered);
+			assertDiffApplies();
+		}
+	}
+
+	@Test
+	public void testDisposedWithSource() {
+		source.dispose();
+		assertTrue(filtered.isDisposed());
+	}
+
+	private void assertDiffApplies() {
+		assertEquals(filtered, mirror);
+	}
+
+	@SafeVarargs
+	private final void assertEntries(Object[]... expected) {
+		ListDiffEntry<? extends Integer>[] entries = tracker.event.diff.getDifferences();
+		assertEquals(expected.length, entries.length);
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i][0], entries[i].getPosition());
+			assertEquals(expected[i][1], entries[i].isAddition());
+			assertEquals(expected[i][2], entries[i].getElement());
+		}
+	}
+
+	private static Object[] entry(int position, boolean addition, Integer element) {
+		return new Object[] { position, addition, element };
+	}
+	private static class ListenedList extends WritableList<Integer> {
+		ListenedList(List<Integer> elements) {
+			super(new ArrayList<>(elements), Integer.class);
+		}
+
+		@Override
+		public boolean hasListeners() {
+			return super.hasListeners();
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2009 Matthew Hall and others.
+ * Copyright (c) 2007, 2024 Matthew Hall and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -91,6 +91,12 @@ public class ListDiffTest {
 		assertEquals("replace(0,element0,element1)", visitor.log);
 	}
 
+	@Test
+	public void testAccept_Replace_AddAfterRemove() {
+		createListDiff(add(1, "element1"), remove(0, "element0")).accept(visitor);
+		assertEquals("replace(0,element0,element1)", visitor.log);
+	}
+
 	@Test
 	public void testAccept_AllPatterns() {
 		createListDiff(
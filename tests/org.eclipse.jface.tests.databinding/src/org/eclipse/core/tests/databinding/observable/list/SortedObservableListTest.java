@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.tests.databinding.observable.list;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.databinding.observable.list.SortedObservableList;
+import org.eclipse.core.databinding.observable.list.ListDiffEntry;
+import org.eclipse.core.databinding.observable.list.WritableList;
+import org.eclipse.jface.databinding.conformance.util.ListChangeEventTracker;
+import org.eclipse.jface.tests.databinding.AbstractDefaultRealmTestCase;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SortedObservableListTest extends AbstractDefaultRealmTestCase {
+	private WritableList<Integer> source;
+
+	private SortedObservableList<Integer> sorted;
+
+	private ListChangeEventTracker<Integer> tracker;
+
+	/**
+	 * A copy of the sorted list, updated by applying the diffs
+	 */
+	private List<Integer> mirror;
+
+	@Override
+	@Before
+	public void setUp() throws Exception {
+		super.setUp();
+		source = new WritableList<>(new ArrayList<>(Arrays.asList(5, 3, 8, 1, 5, 2)), Integer.class);
+		sorted = new SortedObservableList<>(source, Comparator.naturalOrder());
+		tracker = ListChangeEventTracker.observe(sorted);
+		mirror = new ArrayList<>(sorted);
+		sorted.addListChangeListener(event -> event.diff.applyTo(mirror));
+	}
+
+	@Test
+	public void testInitialContents() {
+		assertEquals(Arrays.asList(1, 2, 3, 5, 5, 8), sorted);
+		assertEquals(Integer.class, sorted.getElementType());
+	}
+
+	@Test
+	public void testAdd() {
+		source.add(0, 4);
+		assertEquals(Arrays.asList(1, 2, 3, 4, 5, 5, 8), sorted);
+		assertEquals(1, tracker.count);
+		assertEntries(entry(3, true, 4));
+		assertDiffApplies();
+	}
+
+	@Test
+	public void testAddEqual_PlacedAfterEqualElements() {
+		Integer five = Integer.valueOf(5);
+		source.add(0, five);
+		assertEntries(entry(5, true, five));
+		assertDiffApplies();
+	}
+
+	@Test
+	public void testRemove() {
+		source.remove(Integer.valueOf(3));
+		assertEquals(Arrays.asList(1, 2, 5, 5, 8), sorted);
+		assertEquals(1, tracker.count);
+		assertEntries(entry(2, false, 3));
+		assertDiffApplies();
+	}
+
+	@Test
+	public void testMove_NoChange() {
+		source.move(0, 4);
+		assertEquals(0, tracker.count);
+		assertEquals(Arrays.asList(1, 2, 3, 5, 5, 8), sorted);
+	}
+
+	@Test
+	public void testSetComparator() {
+		sorted.setComparator(Comparator.reverseOrder());
+		assertEquals(Arrays.asList(8, 5, 5, 3, 2, 1), sorted);
+		assertEquals(1, tracker.count);
+		assertDiffApplies();
+	}
+
+	@Test
+	public void testRandomChanges() {
+		Random random = new Random(5);
+		for (int round = 0; round < 200; round++) {
+			int operation = random.nextInt(4);
+			if (operation == 0 || source.isEmpty()) {
+				source.add(random.nextInt(source.size() + 1), random.nextInt(20));
+			} else if (operation == 1) {
+				source.remove(random.nextInt(source.size()));
+			} else if (operation == 2) {
+				source.move(random.nextInt(source.size()), random.nextInt(source.size()));
+			} else {
+				List<Integer> contents = new ArrayList<>(source);
+				Collections.shuffle(contents, random);
+				contents.removeIf(i -> random.nextInt(4) == 0);
+				contents.add(random.nextInt(20));
+				source.clear();
+				source.addAll(contents);
+			}
+			List<Integer> expected = new ArrayList<>(source);
+			Collections.sort(expected);
+			assertEquals(expected, sorted);
+			assertDiffApplies();
+		}
+	}
+
+	@Test
+	public void testCachedWithoutListeners() {
+		AtomicInteger calls = new AtomicInteger();
+		SortedObservableList<Integer> list = new SortedObservableList<>(source, (a, b) -> {
+			calls.incrementAndGet();
+			return a.compareTo(b);
+		});
+		for (int i = 0; i < list.size(); i++) {
+			list.get(i);
+		}
+		int sortCalls = calls.get();
+
+		list.get(0);
+		assertEquals(sortCalls, calls.get());
+		source.add(0);
+		assertEquals(0, list.get(0).intValue());
+		assertTrue(calls.get() > sortCalls);
+	}
+
+	@Test
+	public void testListensToSourceOnlyWhileListened() {
+		ListenedList listened = new ListenedList(Arrays.asList(3, 1, 2));
+		SortedObservableList<Integer> list = new SortedObservableList<>(listened, Comparator.naturalOrder());
+		assertFalse(listened.hasListeners());
+		assertEquals(Arrays.asList(1, 2, 3), list);
+
+		listened.add(8);
+		// the cached elements are dropped on the change
+		assertFalse(listened.hasListeners());
+		assertEquals(Arrays.asList(1, 2, 3, 8), list);
+
+		ListChangeEventTracker<Integer> listTracker = ListChangeEventTracker.observe(list);
+		assertTrue(listened.hasListeners());
+		listened.remove(Integer.valueOf(2));
+		assertEquals(1, listTracker.count);
+
+		list.removeListChangeListener(listTracker);
+		assertFalse(listened.hasListeners());
+	}
+
+	@Test
+	public void testDisposedWithSource() {
+		source.dispose();
+		assertTrue(sorted.isDisposed());
+	}
+
+	private void assertDiffApplies() {
+		assertEquals(sorted, mirror);
+	}
+
+	@SafeVarargs
+	private final void assertEntries(Object[]... expected) {
+		ListDiffEntry<? extends Integer>[] entries = tracker.event.diff.getDifferences();
+		assertEquals(expected.length, entries.length);
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i][0], entries[i].getPosition());
+			assertEquals(expected[i][1], entries[i].isAddition());
+			assertEquals(expected[i][2], entries[i].getElement());
+		}
+	}
+
+	private static Object[] entry(int position, boolean addition, Integer element) {
+		return new Object[] { position, addition, element };
+	}
+	private static class ListenedList extends WritableList<Integer> {
+		ListenedList(List<Integer> elements) {
+			super(new ArrayList<>(elements), Integer.class);
+		}
+
+		@Override
+		public boolean hasListeners() {
+			return super.hasListeners();
+		}
+	}
+}
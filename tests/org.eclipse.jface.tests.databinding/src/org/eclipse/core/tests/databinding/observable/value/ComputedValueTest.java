@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2007 IBM Corporation and others.
+ * Copyright (c) 2006, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -158,4 +158,48 @@ public class ComputedValueTest extends AbstractDefaultRealmTestCase {
 
 		assertThrows(UnsupportedOperationException.class, () -> cv.setValue(new Object()));
 	}
+
+	@Test
+	public void testDiamondDependencyIsConsistentAndComputedOnce() throws Exception {
+		WritableValue<Integer> value = new WritableValue<>(1, Integer.TYPE);
+		ComputedValue<Integer> left = (ComputedValue<Integer>) ComputedValue.create(() -> value.getValue() * 2);
+		ComputedValue<Integer> right = (ComputedValue<Integer>) ComputedValue.create(() -> value.getValue() * 3);
+		ComputedValue<String> sum = (ComputedValue<String>) ComputedValue
+				.create(() -> value.getValue() + ":" + (left.getValue() + right.getValue()));
+		List<String> seen = new ArrayList<>();
+		// reading in the listener recomputes the value right away
+		sum.addValueChangeListener(event -> seen.add(event.diff.getNewValue()));
+		assertEquals("1:5", sum.getValue());
+		long sumCount = sum.getCalculationCount();
+		long leftCount = left.getCalculationCount();
+
+		value.setValue(2);
+		value.setValue(3);
+
+		assertEquals("listeners must never see an inconsistent state", List.of("2:10", "3:15"), seen);
+		assertEquals(sumCount + 2, sum.getCalculationCount());
+		assertEquals(leftCount + 2, left.getCalculationCount());
+	}
+
+	@Test
+	public void testDependentValueIsNotifiedAfterItsDependencies() throws Exception {
+		WritableValue<Integer> value = new WritableValue<>(1, Integer.TYPE);
+		ComputedValue<Integer> first = (ComputedValue<Integer>) ComputedValue.create(() -> value.getValue() + 1);
+		ComputedValue<Integer> second = (ComputedValue<Integer>) ComputedValue.create(() -> first.getValue() + 1);
+		// depends on the value directly and through two computed values
+		ComputedValue<Integer> last = (ComputedValue<Integer>) ComputedValue
+				.create(() -> value.getValue() + second.getValue());
+		List<Integer> seen = new ArrayList<>();
+		last.addValueChangeListener(event -> seen.add(event.diff.getNewValue()));
+		assertEquals(Integer.valueOf(4), last.getValue());
+
+		value.setValue(2);
+		value.setValue(3);
+
+		assertEquals(List.of(6, 8), seen);
+		// the order is learned during the first change
+		long count = last.getCalculationCount();
+		value.setValue(4);
+		assertEquals(count + 1, last.getCalculationCount());
+	}
 }
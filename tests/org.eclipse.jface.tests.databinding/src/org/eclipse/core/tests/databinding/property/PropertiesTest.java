@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.tests.databinding.property;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.databinding.property.Properties;
+import org.eclipse.core.databinding.property.map.IMapProperty;
+import org.eclipse.core.databinding.property.set.ISetProperty;
+import org.junit.Test;
+
+/**
+ * Tests for {@link Properties}
+ */
+public class PropertiesTest {
+	@Test
+	public void testSelfSet_SetSet() {
+		ISetProperty<Set<String>, String> property = Properties.selfSet(String.class);
+		Set<String> source = new HashSet<>(Set.of("a", "b", "c"));
+
+		property.setSet(source, Set.of("a", "d"));
+
+		assertEquals(Set.of("a", "d"), source);
+	}
+
+	@Test
+	public void testSelfMap_SetMap() {
+		IMapProperty<Map<String, String>, String, String> property = Properties.selfMap(String.class, String.class);
+		Map<String, String> source = new HashMap<>(Map.of("a", "1", "b", "2", "c", "3"));
+
+		property.setMap(source, Map.of("a", "1", "b", "4", "d", "5"));
+
+		assertEquals(Map.of("a", "1", "b", "4", "d", "5"), source);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2018 Matthew Hall and others.
+ * Copyright (c) 2009, 2024 Matthew Hall and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,10 +16,19 @@
 package org.eclipse.core.tests.internal.databinding.beans;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
 
 import java.beans.PropertyDescriptor;
+import java.util.ArrayList;
+import java.util.List;
 
+import org.eclipse.core.databinding.util.ILogger;
+import org.eclipse.core.databinding.util.Policy;
 import org.eclipse.core.internal.databinding.beans.BeanPropertyHelper;
+import org.eclipse.core.runtime.IStatus;
+import org.junit.After;
 import org.junit.Test;
 
 /**
@@ -53,4 +62,95 @@ public class BeanPropertyHelperTest {
 		assertEquals(IBean.class.getMethod("setValue", String.class), pd.getWriteMethod());
 	}
 
+	@After
+	public void tearDown() {
+		Policy.setLog(null);
+	}
+
+	@Test
+	public void testReadWriteProperty() {
+		Bean bean = new Bean("old");
+		PropertyDescriptor pd = BeanPropertyHelper.getPropertyDescriptor(Bean.class, "value");
+
+		assertEquals("old", BeanPropertyHelper.readProperty(bean, pd));
+		BeanPropertyHelper.writeProperty(bean, pd, "new");
+		assertEquals("new", bean.getValue());
+		BeanPropertyHelper.writeProperty(bean, pd, null);
+		assertNull(BeanPropertyHelper.readProperty(bean, pd));
+	}
+
+	@Test
+	public void testReadWriteProperty_Primitive() {
+		PrimitiveBean bean = new PrimitiveBean();
+		PropertyDescriptor pd = BeanPropertyHelper.getPropertyDescriptor(PrimitiveBean.class, "count");
+
+		BeanPropertyHelper.writeProperty(bean, pd, Long.valueOf(3));
+		assertEquals(3, bean.count);
+		assertEquals(Long.valueOf(3), BeanPropertyHelper.readProperty(bean, pd));
+
+		// widening conversions work as with reflection
+		BeanPropertyHelper.writeProperty(bean, pd, Integer.valueOf(5));
+		assertEquals(5, bean.count);
+	}
+
+	@Test
+	public void testWriteProperty_NullToPrimitive_LogsWarning() {
+		List<IStatus> log = new ArrayList<>();
+		Policy.setLog((ILogger) log::add);
+		PrimitiveBean bean = new PrimitiveBean();
+		bean.count = 7;
+		PropertyDescriptor pd = BeanPropertyHelper.getPropertyDescriptor(PrimitiveBean.class, "count");
+
+		BeanPropertyHelper.writeProperty(bean, pd, null);
+
+		assertEquals(7, bean.count);
+		assertEquals(1, log.size());
+		assertEquals(IStatus.WARNING, log.get(0).getSeverity());
+	}
+
+	@Test
+	public void testReadProperty_WrongSource_LogsWarning() {
+		List<IStatus> log = new ArrayList<>();
+		Policy.setLog((ILogger) log::add);
+		PropertyDescriptor pd = BeanPropertyHelper.getPropertyDescriptor(Bean.class, "value");
+
+		assertNull(BeanPropertyHelper.readProperty(new PrimitiveBean(), pd));
+		assertEquals(1, log.size());
+		assertEquals(IStatus.WARNING, log.get(0).getSeverity());
+	}
+
+	@Test
+	public void testReadWriteProperty_ExceptionIsWrapped() {
+		ThrowingBean bean = new ThrowingBean();
+		PropertyDescriptor pd = BeanPropertyHelper.getPropertyDescriptor(ThrowingBean.class, "value");
+
+		RuntimeException e = assertThrows(RuntimeException.class, () -> BeanPropertyHelper.readProperty(bean, pd));
+		assertSame(ThrowingBean.EXCEPTION, e.getCause());
+		e = assertThrows(RuntimeException.class, () -> BeanPropertyHelper.writeProperty(bean, pd, "value"));
+		assertSame(ThrowingBean.EXCEPTION, e.getCause());
+	}
+
+	public static class PrimitiveBean {
+		long count;
+
+		public long getCount() {
+			return count;
+		}
+
+		public void setCount(long count) {
+			this.count = count;
+		}
+	}
+
+	public static class ThrowingBean {
+		static final IllegalStateException EXCEPTION = new IllegalStateException();
+
+		public String getValue() {
+			throw EXCEPTION;
+		}
+
+		public void setValue(String value) {
+			throw EXCEPTION;
+		}
+	}
 }
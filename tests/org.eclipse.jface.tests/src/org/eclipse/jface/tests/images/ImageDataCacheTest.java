@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.tests.images;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assume.assumeFalse;
+
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import org.eclipse.jface.dialogs.Dialog;
+import org.eclipse.jface.resource.ImageDataCache;
+import org.eclipse.jface.resource.ImageDescriptor;
+import org.eclipse.jface.resource.JFaceResources;
+import org.eclipse.jface.viewers.DecorationOverlayIcon;
+import org.eclipse.jface.viewers.IDecoration;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+import org.junit.Test;
+
+public class ImageDataCacheTest {
+
+	private final AtomicInteger loadCount = new AtomicInteger();
+
+	private final IntFunction<ImageData> loader = zoom -> {
+		loadCount.incrementAndGet();
+		int size = 16 * zoom / 100;
+		return new ImageData(size, size, 24, new PaletteData(0xFF, 0xFF00, 0xFF0000));
+	};
+
+	@Test
+	public void testHitAndMiss() {
+		ImageDataCache cache = new ImageDataCache(1024 * 1024);
+		ImageData data1 = cache.get("key", 100, loader);
+		ImageData data2 = cache.get("key", 100, loader);
+		assertEquals(1, loadCount.get());
+		assertEquals(1, cache.getMissCount());
+		assertEquals(1, cache.getHitCount());
+		assertNotSame("cached image data must be copied", data1, data2);
+		assertEquals(data1.width, data2.width);
+
+		ImageData data200 = cache.get("key", 200, loader);
+		assertEquals("zoom levels are cached separately", 2, loadCount.get());
+		assertEquals(32, data200.width);
+	}
+
+	@Test
+	public void testMissingImageIsRemembered() {
+		ImageDataCache cache = new ImageDataCache(1024 * 1024);
+		IntFunction<ImageData> missing = zoom -> {
+			loadCount.incrementAndGet();
+			return null;
+		};
+		assertNull(cache.get("missing", 150, missing));
+		assertNull(cache.get("missing", 150, missing));
+		assertEquals(1, loadCount.get());
+	}
+
+	@Test
+	public void testEviction() {
+		ImageDataCache cache = new ImageDataCache(1024);
+		cache.get("key1", 100, loader);
+		cache.get("key2", 100, loader);
+		assertEquals(1, cache.getEvictionCount());
+		cache.get("key2", 100, loader);
+		assertEquals(2, loadCount.get());
+		cache.get("key1", 100, loader);
+		assertEquals(3, loadCount.get());
+
+		cache.setMaximumSize(0);
+		assertEquals(0, cache.getSize());
+		cache.get("key1", 100, loader);
+		assertEquals("disabled cache must not remember", 0, cache.getSize());
+	}
+
+	@Test
+	public void testRemoveAndClear() {
+		ImageDataCache cache = new ImageDataCache(1024 * 1024);
+		cache.get("key1", 100, loader);
+		cache.get("key1", 200, loader);
+		cache.get("key2", 100, loader);
+		cache.remove("key1");
+		cache.get("key1", 100, loader);
+		cache.get("key2", 100, loader);
+		assertEquals(4, loadCount.get());
+		cache.clear();
+		assertEquals(0, cache.getSize());
+	}
+
+	@Test
+	public void testPrefetch() throws Exception {
+		URL url = ImageDataCacheTest.class.getResource("/icons/imagetests/zoomIn.png");
+		assumeFalse("file URLs are not cached", "file".equals(url.getProtocol()));
+		ImageDescriptor descriptor = ImageDescriptor.createFromURL(url);
+		ImageDataCache cache = ImageDataCache.getDefault();
+		cache.clear();
+
+		ImageDescriptor.prefetch(List.of(descriptor), 200).get(10, TimeUnit.SECONDS);
+		long misses = cache.getMissCount();
+		assertNotNull(descriptor.getImageData(100));
+		assertNotNull(descriptor.getImageData(200));
+		assertEquals("prefetched image data must be cached", misses, cache.getMissCount());
+	}
+
+	@Test
+	public void testDecorationOverlayIconIsComposedOnce() {
+		ImageDescriptor base = JFaceResources.getImageRegistry().getDescriptor(Dialog.DLG_IMG_HELP);
+		ImageDescriptor overlay = JFaceResources.getImageRegistry().getDescriptor(Dialog.DLG_IMG_MESSAGE_INFO);
+		ImageDataCache cache = ImageDataCache.getDefault();
+
+		ImageData data1 = new DecorationOverlayIcon(base, overlay, IDecoration.BOTTOM_RIGHT).getImageData(100);
+		long hits = cache.getHitCount();
+		ImageData data2 = new DecorationOverlayIcon(base, overlay, IDecoration.BOTTOM_RIGHT).getImageData(100);
+		assertNotNull(data2);
+		assertEquals(hits + 1, cache.getHitCount());
+		assertEquals(data1.width, data2.width);
+	}
+
+	@Test
+	public void testDecorationOverlayIconOfFileIsNotCached() throws Exception {
+		ImageDescriptor base = ImageDescriptor.createFromURL(new URL("file", null, "/does/not/exist.png"));
+		ImageDescriptor overlay = ImageDescriptor.createFromImageDataProvider(loader::apply);
+		ImageDataCache cache = ImageDataCache.getDefault();
+
+		new DecorationOverlayIcon(base, overlay, IDecoration.BOTTOM_RIGHT).getImageData(100);
+		long hits = cache.getHitCount();
+		new DecorationOverlayIcon(base, overlay, IDecoration.BOTTOM_RIGHT).getImageData(100);
+		assertEquals("files may change", hits, cache.getHitCount());
+	}
+}
@@ -18,6 +18,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
@@ -25,8 +26,11 @@ import java.util.List;
 
 import org.eclipse.jface.viewers.AbstractTreeViewer;
 import org.eclipse.jface.viewers.IStructuredSelection;
+import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.jface.viewers.ViewerComparator;
 import org.eclipse.swt.widgets.Item;
 import org.eclipse.swt.widgets.Tree;
+import org.eclipse.swt.widgets.TreeItem;
 import org.eclipse.swt.widgets.Widget;
 import org.eclipse.ui.tests.harness.util.DisplayHelper;
 import org.junit.After;
@@ -155,6 +159,30 @@ public abstract class AbstractTreeViewerTest extends StructuredItemViewerTest {
 		assertNotNull("first3 is visible", fViewer.testFindItem(first3));
 	}
 
+	@Test
+	public void testReorderKeepsItems() {
+		TestElement first = fRootElement.getFirstChild();
+		TestElement last = fRootElement.getLastChild();
+		fTreeViewer.expandToLevel(first, 1);
+		Widget firstItem = fViewer.testFindItem(first);
+
+		// move the last element to the front
+		fTreeViewer.setComparator(new ViewerComparator() {
+			@Override
+			public int compare(Viewer viewer, Object e1, Object e2) {
+				if (e1 == e2) {
+					return 0;
+				}
+				return e1 == last ? -1 : e2 == last ? 1 : 0;
+			}
+		});
+
+		assertSame("item of unmoved element is kept", firstItem, fViewer.testFindItem(first));
+		assertTrue("first is expanded", fTreeViewer.getExpandedState(first));
+		Tree tree = (Tree) fTreeViewer.getControl();
+		assertEquals(0, tree.indexOf((TreeItem) fViewer.testFindItem(last)));
+	}
+
 	@Test
 	public void testAutoExpandOnSingleChild() {
 		TestElement modelRoot = TestElement.createModel(5, 1);
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.tests.viewers;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Comparator;
+
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.viewers.StructuredViewer;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.jface.viewers.deferred.DeferredContentProvider;
+import org.eclipse.jface.viewers.deferred.SetModel;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.ui.tests.harness.util.DisplayHelper;
+import org.junit.Test;
+
+/**
+ * Tests the background sorting of the {@link DeferredContentProvider}.
+ */
+public class DeferredContentProviderTest extends ViewerTestCase {
+
+	private static final int NUM_ELEMENTS = 10000;
+
+	private static final Comparator<Object> DESCENDING = (a, b) -> Integer.compare((Integer) b, (Integer) a);
+
+	private SetModel model;
+
+	private DeferredContentProvider contentProvider;
+
+	@Override
+	protected StructuredViewer createViewer(Composite parent) {
+		TableViewer viewer = new TableViewer(parent, SWT.VIRTUAL);
+		contentProvider = new DeferredContentProvider(Comparator.naturalOrder());
+		viewer.setContentProvider(contentProvider);
+		viewer.setLabelProvider(new LabelProvider());
+		return viewer;
+	}
+
+	@Override
+	protected void setInput() {
+		model = new SetModel();
+		Integer[] elements = new Integer[NUM_ELEMENTS];
+		for (int i = 0; i < NUM_ELEMENTS; i++) {
+			// add the elements in a scrambled order
+			elements[i] = Integer.valueOf(i * 7919 % NUM_ELEMENTS);
+		}
+		model.addAll(elements);
+		fViewer.setInput(model);
+	}
+
+	private Table getTable() {
+		return ((TableViewer) fViewer).getTable();
+	}
+
+	private void assertRowText(int row, String expected) {
+		DisplayHelper.waitAndAssertCondition(fShell.getDisplay(), () -> {
+			assertEquals(NUM_ELEMENTS, getTable().getItemCount());
+			assertEquals(expected, getTable().getItem(row).getText());
+		});
+	}
+
+	@Test
+	public void testVisibleRowsAreSorted() {
+		assertRowText(0, "0");
+		assertRowText(1, "1");
+	}
+
+	@Test
+	public void testScrolledRowsAreSorted() {
+		assertRowText(0, "0");
+		getTable().setTopIndex(5000);
+		assertRowText(getTable().getTopIndex() + 1, Integer.toString(getTable().getTopIndex() + 1));
+	}
+
+	@Test
+	public void testSortOrderChange() {
+		assertRowText(0, "0");
+		contentProvider.setSortOrder(DESCENDING);
+		assertRowText(0, Integer.toString(NUM_ELEMENTS - 1));
+	}
+
+	@Test
+	public void testSortOrderChangeUpdatesRowsOutOfView() {
+		assertRowText(0, "0");
+		getTable().setTopIndex(5000);
+		assertRowText(getTable().getTopIndex(), Integer.toString(getTable().getTopIndex()));
+		contentProvider.setSortOrder(DESCENDING);
+		assertRowText(0, Integer.toString(NUM_ELEMENTS - 1));
+	}
+
+	@Test
+	public void testRemove() {
+		assertRowText(0, "0");
+		model.removeAll(new Object[] { Integer.valueOf(0) });
+		assertRowText(0, "1");
+	}
+}
@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.tests.viewers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
+
+import org.eclipse.jface.viewers.ITreeContentProvider;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.viewers.StructuredSelection;
+import org.eclipse.jface.viewers.StructuredViewer;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.jface.viewers.ViewerComparator;
+import org.eclipse.jface.viewers.ViewerFilter;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Tree;
+import org.eclipse.swt.widgets.TreeItem;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests TreeViewer's VIRTUAL support with a regular tree content provider.
+ */
+public class LazyTreeContentAdapterTest extends ViewerTestCase {
+	private static final int NUM_ROOTS = 200;
+	private static final int NUM_CHILDREN = 10;
+
+	private int getTextCallCount = 0;
+
+	private boolean setDataCalled = false;
+
+	private static class StringTreeContentProvider implements ITreeContentProvider {
+		@Override
+		public Object[] getElements(Object inputElement) {
+			return createChildren(inputElement, NUM_ROOTS);
+		}
+
+		@Override
+		public Object[] getChildren(Object parentElement) {
+			return createChildren(parentElement, NUM_CHILDREN);
+		}
+
+		@Override
+		public Object getParent(Object element) {
+			String string = (String) element;
+			int index = string.lastIndexOf('-');
+			return index < 0 ? null : string.substring(0, index);
+		}
+
+		@Override
+		public boolean hasChildren(Object element) {
+			return ((String) element).indexOf('-') == ((String) element).lastIndexOf('-');
+		}
+
+		private static Object[] createChildren(Object parent, int count) {
+			Object[] children = new Object[count];
+			for (int i = 0; i < count; i++) {
+				children[i] = parent + "-" + i;
+			}
+			return children;
+		}
+	}
+
+	public TreeViewer getTreeViewer() {
+		return (TreeViewer) fViewer;
+	}
+
+	@Before
+	@Override
+	public void setUp() {
+		super.setUp();
+		processEvents(); // run events for SetData precondition test
+	}
+
+	@Override
+	protected void setInput() {
+		getTreeViewer().setInput("R");
+	}
+
+	@Override
+	protected StructuredViewer createViewer(Composite parent) {
+		Tree tree = new Tree(fShell, SWT.VIRTUAL | SWT.MULTI);
+		TreeViewer treeViewer = new TreeViewer(tree);
+		treeViewer.setUseLazyContentAdapter(true);
+		treeViewer.setContentProvider(new StringTreeContentProvider());
+		treeViewer.setLabelProvider(new LabelProvider() {
+			@Override
+			public String getText(Object element) {
+				getTextCallCount++;
+				return super.getText(element);
+			}
+		});
+		tree.addListener(SWT.SetData, event -> setDataCalled = true);
+		return treeViewer;
+	}
+
+	@Test
+	public void testCreation() {
+		assumeFalse("disabled due to Bug 347491", disableTestsBug347491);
+
+		assertTrue("SWT.SetData not received", setDataCalled);
+		Tree tree = getTreeViewer().getTree();
+		assertEquals(NUM_ROOTS, tree.getItemCount());
+		assertTrue("expected labels for less than half of the items", getTextCallCount < NUM_ROOTS / 2);
+		assertEquals("R-0", tree.getItem(0).getText());
+	}
+
+	@Test
+	public void testFilterAndSort() {
+		fViewer.addFilter(new ViewerFilter() {
+			@Override
+			public boolean select(Viewer viewer, Object parentElement, Object element) {
+				return !((String) element).endsWith("0");
+			}
+		});
+		fViewer.setComparator(new ViewerComparator() {
+			@Override
+			public int compare(Viewer viewer, Object e1, Object e2) {
+				return ((String) e2).compareTo((String) e1);
+			}
+		});
+
+		Tree tree = getTreeViewer().getTree();
+		assertEquals(NUM_ROOTS - NUM_ROOTS / 10, tree.getItemCount());
+		assertEquals("R-99", tree.getItem(0).getText());
+
+		getTreeViewer().expandToLevel("R-99", 1);
+		TreeItem item = tree.getItem(0);
+		assertEquals(NUM_CHILDREN - 1, item.getItemCount());
+		assertEquals("R-99-9", item.getItem(0).getText());
+	}
+
+	@Test
+	public void testExpandPreCheckFilters() {
+		getTreeViewer().setExpandPreCheckFilters(true);
+		fViewer.addFilter(new ViewerFilter() {
+			@Override
+			public boolean select(Viewer viewer, Object parentElement, Object element) {
+				return !((String) element).startsWith("R-0-");
+			}
+		});
+		assertFalse("children of R-0 are filtered out", getTreeViewer().isExpandable("R-0"));
+		assertTrue("R-1 has children", getTreeViewer().isExpandable("R-1"));
+	}
+
+	@Test
+	public void testSelectionAndReveal() {
+		getTreeViewer().setSelection(new StructuredSelection("R-150-3"), true);
+
+		assertEquals("R-150-3", getTreeViewer().getStructuredSelection().getFirstElement());
+		assertTrue("parent is expanded", getTreeViewer().getExpandedState("R-150"));
+	}
+
+	@Test
+	public void testRefresh() {
+		getTreeViewer().expandToLevel("R-5", 1);
+		Tree tree = getTreeViewer().getTree();
+		assertEquals(NUM_CHILDREN, tree.getItem(5).getItemCount());
+
+		fViewer.addFilter(new ViewerFilter() {
+			@Override
+			public boolean select(Viewer viewer, Object parentElement, Object element) {
+				return !((String) element).endsWith("-1");
+			}
+		});
+		assertEquals(NUM_ROOTS - 1, tree.getItemCount());
+		assertEquals("R-5", tree.getItem(4).getText());
+		assertEquals(NUM_CHILDREN - 1, tree.getItem(4).getItemCount());
+	}
+}
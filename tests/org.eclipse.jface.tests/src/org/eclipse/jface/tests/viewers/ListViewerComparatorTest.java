@@ -14,8 +14,13 @@
 
 package org.eclipse.jface.tests.viewers;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
+import java.text.Collator;
+import java.util.Arrays;
+import java.util.Random;
+
 import org.eclipse.jface.viewers.ListViewer;
 import org.eclipse.jface.viewers.StructuredViewer;
 import org.eclipse.jface.viewers.ViewerComparator;
@@ -64,6 +69,49 @@ public class ListViewerComparatorTest extends ViewerComparatorTest {
 		assertSortedResult(TEAM1_SORTED_WITH_INSERT);
 	}
 
+	@Test
+	public void testViewerComparatorSortKeys() {
+		fViewer.setComparator(new ViewerComparator() {
+			@Override
+			protected boolean useSortKeys() {
+				return true;
+			}
+		});
+		team1.addMember("Duong");
+		assertSortedResult(TEAM1_SORTED_WITH_INSERT);
+	}
+
+	@Test
+	public void testViewerComparatorSortKeysWithCollator() {
+		Collator collator = Collator.getInstance();
+		ViewerComparator comparator = new ViewerComparator(collator) {
+			@Override
+			protected boolean useSortKeys() {
+				return true;
+			}
+
+			@Override
+			public int category(Object element) {
+				return ((String) element).length() % 3;
+			}
+		};
+		// large enough to be sorted in parallel
+		Random random = new Random(42);
+		String[] elements = new String[20000];
+		for (int i = 0; i < elements.length; i++) {
+			elements[i] = Integer.toString(random.nextInt(100000), 36) + (i % 2 == 0 ? "a" : "A");
+		}
+		String[] expected = elements.clone();
+		Arrays.sort(expected, (e1, e2) -> {
+			int cat1 = comparator.category(e1);
+			int cat2 = comparator.category(e2);
+			return cat1 != cat2 ? cat1 - cat2 : collator.compare(e1, e2);
+		});
+
+		comparator.sort(null, elements);
+		assertArrayEquals(expected, elements);
+	}
+
 	private void assertSortedResult(String[] expected) {
 		String[] items = getListViewer().getList().getItems();
 		for (int i = 0; i < items.length; i++) {
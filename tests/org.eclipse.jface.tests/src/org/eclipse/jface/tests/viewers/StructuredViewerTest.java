@@ -208,6 +208,28 @@ public abstract class StructuredViewerTest extends ViewerTestCase {
 
 	}
 
+	@Test
+	public void testRefreshInBackground() {
+		fViewer.addFilter(new TestLabelFilter());
+		fViewer.setComparator(new TestLabelComparator());
+		TestElement newElement = fRootElement.basicAddChild();
+		newElement.setLabel("name-9998");
+		fViewer.refreshInBackground(true);
+		assertTrue("background refresh not applied", DisplayHelper.waitForCondition(fShell.getDisplay(), 5000,
+				() -> getItemCount() == 6));
+		assertEquals("sorted first", newElement.toString(), getItemText(0));
+	}
+
+	@Test
+	public void testRefreshInBackgroundSuperseded() {
+		fViewer.refreshInBackground(true);
+		fRootElement.basicAddChild();
+		fViewer.refresh();
+		assertEquals(11, getItemCount());
+		DisplayHelper.sleep(fShell.getDisplay(), 200);
+		assertEquals("superseded background refresh applied", 11, getItemCount());
+	}
+
 	@Test
 	public void testSetFilters() {
 		ViewerFilter filter = new TestLabelFilter();
@@ -35,6 +35,7 @@ import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Table;
 import org.eclipse.swt.widgets.TableColumn;
 import org.eclipse.swt.widgets.TableItem;
+import org.eclipse.ui.tests.harness.util.DisplayHelper;
 import org.junit.Test;
 
 public class TableViewerTest extends StructuredItemViewerTest {
@@ -183,6 +184,29 @@ public class TableViewerTest extends StructuredItemViewerTest {
 		fViewer.refresh();
 	}
 
+	@Test
+	public void testCoalesceLabelUpdates() {
+		TableViewer tableviewer = (TableViewer) fViewer;
+		TableTestLabelProvider provider = (TableTestLabelProvider) tableviewer.getLabelProvider();
+		TestElement first = fRootElement.getFirstChild();
+		String oldLabel = getItemText(0);
+
+		tableviewer.setCoalesceLabelUpdates(true);
+		provider.fExtended = true;
+		tableviewer.update(first, null);
+		tableviewer.update(first, null);
+		assertEquals("label updated before the next frame", oldLabel, getItemText(0));
+
+		String newLabel = providedString(first);
+		DisplayHelper.waitAndAssertCondition(fShell.getDisplay(),
+				() -> assertEquals("rendered label", newLabel, getItemText(0)));
+
+		tableviewer.setCoalesceLabelUpdates(false);
+		provider.fExtended = false;
+		tableviewer.update(first, null);
+		assertEquals("label not updated immediately", oldLabel, getItemText(0));
+	}
+
 	@Test
 	public void testRemove() {
 		TableViewer tableviewer = (TableViewer) fViewer;
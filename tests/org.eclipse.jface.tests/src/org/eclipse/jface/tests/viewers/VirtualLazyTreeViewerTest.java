@@ -209,4 +209,18 @@ public class VirtualLazyTreeViewerTest extends TreeViewerTest {
 		super.testAutoExpandOnSingleChildThroughEvent();
 	}
 
+	@Ignore("no need to test since virtual trees do not support filtering and sorting")
+	@Override
+	public void testRefreshInBackground() {
+	}
+
+	@Ignore("no need to test since virtual trees do not support filtering and sorting")
+	@Override
+	public void testRefreshInBackgroundSuperseded() {
+	}
+
+	@Ignore("no need to test since virtual trees do not support sorting")
+	@Override
+	public void testReorderKeepsItems() {
+	}
 }
@@ -283,4 +283,14 @@ public class VirtualTableViewerTest extends TableViewerTest {
 		Set<?> selectedSet = new HashSet<Object>(result.toList());
 		assertTrue("Elements do not match ", childrenSet.equals(selectedSet));
 	}
+
+	@Ignore("This test is no use here as it is based on the assumption that all items are created.")
+	@Override
+	public void testRefreshInBackground() {
+	}
+
+	@Ignore("This test is no use here as it is based on the assumption that all items are created.")
+	@Override
+	public void testRefreshInBackgroundSuperseded() {
+	}
 }
@@ -235,4 +235,40 @@ public class TestSearchResult {
 		result.removeMatches(new Match[] { match2 });
 		assertFalse(wasRemoved[0]);
 	}
+
+	@Test
+	public void testMatchCountManyMatches() {
+		ISearchQuery query= new NullQuery();
+		AbstractTextSearchResult result= (AbstractTextSearchResult) query.getSearchResult();
+
+		String object1= "object1"; //$NON-NLS-1$
+		String object2= "object2"; //$NON-NLS-1$
+		assertFalse(result.hasMatches());
+
+		Match[] matches= new Match[1000];
+		for (int i= 0; i < matches.length; i++) {
+			matches[i]= new Match(i % 2 == 0 ? object1 : object2, i, 1);
+		}
+		result.addMatches(matches);
+		assertTrue(result.hasMatches());
+		assertEquals(1000, result.getMatchCount());
+		assertEquals(500, result.getMatchCount(object1));
+		assertEquals(500, result.getMatchCount(object2));
+
+		for (int i= 0; i < matches.length; i+= 4) {
+			result.removeMatch(matches[i]);
+		}
+		assertEquals(750, result.getMatchCount());
+		assertEquals(250, result.getMatchCount(object1));
+		Match[] remaining= result.getMatches(object1);
+		assertEquals(250, remaining.length);
+		for (int i= 0; i < remaining.length; i++) {
+			assertSame(matches[4 * i + 2], remaining[i]);
+		}
+
+		result.removeAll();
+		assertFalse(result.hasMatches());
+		assertEquals(0, result.getMatchCount());
+		assertEquals(0, result.getElementsCount());
+	}
 }
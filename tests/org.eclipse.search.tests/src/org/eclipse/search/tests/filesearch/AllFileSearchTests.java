@@ -21,10 +21,13 @@ import org.junit.runners.Suite.SuiteClasses;
 @RunWith(Suite.class)
 @SuiteClasses({
 		AnnotationManagerTest.class,
+		FileMetadataCacheTest.class,
 		FileSearchTests.class,
 		LineAnnotationManagerTest.class,
 		PositionTrackerTest.class,
 		ResultUpdaterTest.class,
+		ScopeFilesCacheTest.class,
+		SearchInResultsTest.class,
 		SearchResultPageTest.class,
 		SortingTest.class
 })
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.tests.filesearch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+
+import org.eclipse.search.internal.core.SearchCorePlugin;
+import org.eclipse.search.internal.core.text.FileMetadataCache;
+import org.eclipse.search.tests.ResourceHelper;
+
+public class FileMetadataCacheTest {
+
+	private IProject fProject;
+	private FileMetadataCache fCache;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= ResourceHelper.createProject("my-project"); //$NON-NLS-1$
+		fCache= SearchCorePlugin.getDefault().getFileMetadataCache();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		ResourceHelper.deleteProject("my-project"); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testBinaryStateInvalidatedByModification() throws Exception {
+		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder1"));
+		IFile file= ResourceHelper.createFile(folder, "file1", "content");
+
+		assertNull(fCache.isBinary(file));
+		fCache.setBinary(file, true);
+		assertEquals(Boolean.TRUE, fCache.isBinary(file));
+
+		file.setContents(new ByteArrayInputStream("changed".getBytes(StandardCharsets.ISO_8859_1)), true, false, null);
+		assertNull(fCache.isBinary(file));
+	}
+
+	@Test
+	public void testSize() throws Exception {
+		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder1"));
+		IFile file= ResourceHelper.createFile(folder, "file1", "content");
+		assertEquals(FileMetadataCache.UNKNOWN_SIZE, fCache.getCachedSize(file));
+		assertEquals(7, fCache.getSize(file));
+		assertEquals(7, fCache.getCachedSize(file));
+
+		file.setContents(new ByteArrayInputStream("changed content".getBytes(StandardCharsets.ISO_8859_1)), true, false, null);
+		assertEquals(FileMetadataCache.UNKNOWN_SIZE, fCache.getCachedSize(file));
+		assertEquals(15, fCache.getSize(file));
+	}
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.tests.filesearch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.MultiStatus;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.search.internal.core.SearchCorePlugin;
+import org.eclipse.search.internal.core.text.ScopeFilesCache;
+import org.eclipse.search.tests.ResourceHelper;
+import org.eclipse.search.ui.text.FileTextSearchScope;
+
+public class ScopeFilesCacheTest {
+
+	private IProject fProject;
+	private IFolder fFolder;
+	private FileTextSearchScope fScope;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= ResourceHelper.createProject("my-project"); //$NON-NLS-1$
+		fFolder= ResourceHelper.createFolder(fProject.getFolder("folder1"));
+		fScope= FileTextSearchScope.newSearchScope(new IResource[] { fProject }, new String[] { "*.txt" }, false);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		ResourceHelper.deleteProject("my-project"); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testFilesAreCached() throws Exception {
+		IFile file1= ResourceHelper.createFile(fFolder, "file1.txt", "content");
+		ResourceHelper.createFile(fFolder, "file2.java", "content");
+
+		assertEquals(Set.of(file1), evaluateFiles());
+		assertNotNull(SearchCorePlugin.getDefault().getScopeFilesCache().getFiles(ScopeFilesCache.keyFor(fScope)));
+
+		FileTextSearchScope equalScope= FileTextSearchScope.newSearchScope(new IResource[] { fProject }, new String[] { "*.txt" }, false);
+		assertEquals(ScopeFilesCache.keyFor(fScope), ScopeFilesCache.keyFor(equalScope));
+	}
+
+	@Test
+	public void testAddedAndRemovedFiles() throws Exception {
+		IFile file1= ResourceHelper.createFile(fFolder, "file1.txt", "content");
+		assertEquals(Set.of(file1), evaluateFiles());
+
+		IFile file2= ResourceHelper.createFile(fFolder, "file2.txt", "content");
+		ResourceHelper.createFile(fFolder, "file3.java", "content");
+		assertEquals(Set.of(file1, file2), evaluateFiles());
+
+		file1.delete(true, null);
+		assertEquals(Set.of(file2), evaluateFiles());
+
+		fFolder.delete(true, null);
+		assertEquals(Set.of(), evaluateFiles());
+
+		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder1"));
+		IFile file4= ResourceHelper.createFile(folder, "file4.txt", "content");
+		assertEquals(Set.of(file4), evaluateFiles());
+	}
+
+	@Test
+	public void testDerivedFolder() throws Exception {
+		IFile file1= ResourceHelper.createFile(fFolder, "file1.txt", "content");
+		IFolder derived= ResourceHelper.createFolder(fProject.getFolder("derived"));
+		IFile file2= ResourceHelper.createFile(derived, "file2.txt", "content");
+		assertEquals(Set.of(file1, file2), evaluateFiles());
+
+		derived.setDerived(true, null);
+		assertEquals(Set.of(file1), evaluateFiles());
+
+		ResourceHelper.createFile(derived, "file3.txt", "content");
+		assertEquals(Set.of(file1), evaluateFiles());
+	}
+
+	@Test
+	public void testMarkerChangeKeepsStamp() throws Exception {
+		IFile file1= ResourceHelper.createFile(fFolder, "file1.txt", "content");
+		ScopeFilesCache cache= SearchCorePlugin.getDefault().getScopeFilesCache();
+		int stamp= cache.getModificationStamp();
+
+		file1.createMarker(IMarker.BOOKMARK);
+		assertEquals(stamp, cache.getModificationStamp());
+
+		ResourceHelper.createFile(fFolder, "file2.txt", "content");
+		assertNotEquals(stamp, cache.getModificationStamp());
+	}
+
+	private Set<IFile> evaluateFiles() {
+		MultiStatus status= new MultiStatus(SearchCorePlugin.PLUGIN_ID, 0, "", null); //$NON-NLS-1$
+		return Set.of(fScope.evaluateFilesInScope(status));
+	}
+}
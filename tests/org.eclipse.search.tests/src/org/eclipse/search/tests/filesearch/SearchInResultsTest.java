@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.tests.filesearch;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.search.internal.ui.text.FileMatch;
+import org.eclipse.search.internal.ui.text.FileSearchQuery;
+import org.eclipse.search.internal.ui.text.FileSearchResult;
+import org.eclipse.search.tests.ResourceHelper;
+import org.eclipse.search.ui.text.FileTextSearchScope;
+import org.eclipse.search.ui.text.Match;
+
+public class SearchInResultsTest {
+
+	private IProject fProject;
+	private IFile fFile1;
+	private IFile fFile2;
+	private IFile fFile3;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= ResourceHelper.createProject("my-project"); //$NON-NLS-1$
+		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder1"));
+		fFile1= ResourceHelper.createFile(folder, "file1", "foo bar\nbar\nfoo\n");
+		fFile2= ResourceHelper.createFile(folder, "file2", "bar\nfoo\n");
+		fFile3= ResourceHelper.createFile(folder, "file3", "bar\nbar\n");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		ResourceHelper.deleteProject("my-project"); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testSearchInResultFiles() throws Exception {
+		FileSearchResult result= search();
+
+		FileSearchQuery refined= FileSearchQuery.newSearchInResultsQuery(result, "bar", false, true, false, false);
+		refined.run(null);
+		FileSearchResult refinedResult= (FileSearchResult) refined.getSearchResult();
+
+		assertEquals(2, refinedResult.getMatchCount(fFile1));
+		assertEquals(1, refinedResult.getMatchCount(fFile2));
+		assertEquals("file without a match in the result must not be searched", 0, refinedResult.getMatchCount(fFile3));
+	}
+
+	@Test
+	public void testSearchInMatchedLines() throws Exception {
+		FileSearchResult result= search();
+
+		FileSearchQuery refined= FileSearchQuery.newSearchInResultsQuery(result, "bar", false, true, false, true);
+		refined.run(null);
+		FileSearchResult refinedResult= (FileSearchResult) refined.getSearchResult();
+
+		Match[] matches= refinedResult.getMatches(fFile1);
+		assertEquals(1, matches.length);
+		assertEquals(1, ((FileMatch) matches[0]).getLineElement().getLine());
+		assertEquals(0, refinedResult.getMatchCount(fFile2));
+		assertEquals(0, refinedResult.getMatchCount(fFile3));
+	}
+
+	@Test
+	public void testRerunSearchesSameFiles() throws Exception {
+		FileSearchResult result= search();
+		FileSearchQuery refined= FileSearchQuery.newSearchInResultsQuery(result, "bar", false, true, false, false);
+
+		// files that match the original query later on are not added to the refined search
+		ResourceHelper.createFile(fProject.getFolder("folder1"), "file4", "foo bar\n");
+		refined.run(null);
+
+		FileSearchResult refinedResult= (FileSearchResult) refined.getSearchResult();
+		assertEquals(2, refinedResult.getElements().length);
+	}
+
+	private FileSearchResult search() {
+		FileTextSearchScope scope= FileTextSearchScope.newSearchScope(new IResource[] { fProject }, new String[] { "*" }, false);
+		FileSearchQuery query= new FileSearchQuery("foo", false, true, scope);
+		query.run(null);
+		return (FileSearchResult) query.getSearchResult();
+	}
+}
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.tests.performance;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.jface.viewers.ArrayContentProvider;
+import org.eclipse.jface.viewers.IElementComparer;
+import org.eclipse.jface.viewers.StructuredViewer;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.TableItem;
+import org.eclipse.swt.widgets.Widget;
+
+/**
+ * Measures adding, finding and removing a million elements in the element map
+ * of a viewer.
+ */
+public class ElementMapPerformanceTest extends ViewerTest {
+
+	private static final int ELEMENT_COUNT = 1000000;
+
+	private static Object[] elements;
+
+	private static Object[] shuffledElements;
+
+	private MappingTableViewer viewer;
+
+	/**
+	 * Gives access to the element map.
+	 */
+	private static class MappingTableViewer extends TableViewer {
+
+		MappingTableViewer(Shell shell) {
+			super(shell);
+		}
+
+		void map(Object element, Widget item) {
+			mapElement(element, item);
+		}
+
+		Widget[] find(Object element) {
+			return findItems(element);
+		}
+
+		void unmap(Object element, Widget item) {
+			unmapElement(element, item);
+		}
+	}
+
+	public ElementMapPerformanceTest(String testName) {
+		super(testName);
+		generateElements();
+	}
+
+	@Override
+	protected StructuredViewer createViewer(Shell shell) {
+		viewer = new MappingTableViewer(shell);
+		viewer.setContentProvider(ArrayContentProvider.getInstance());
+		return viewer;
+	}
+
+	@Override
+	protected Object getInitialInput() {
+		return new Object[0];
+	}
+
+	/**
+	 * Test the time for mapping, finding and unmapping all elements.
+	 */
+	public void testAddFindRemove() throws Throwable {
+		openBrowser();
+		exerciseElementMap();
+	}
+
+	/**
+	 * Test the time for mapping, finding and unmapping all elements with an
+	 * element comparer.
+	 */
+	public void testAddFindRemoveWithComparer() throws Throwable {
+		openBrowser();
+		viewer.setComparer(new IElementComparer() {
+			@Override
+			public boolean equals(Object a, Object b) {
+				return a.equals(b);
+			}
+
+			@Override
+			public int hashCode(Object element) {
+				return element.hashCode();
+			}
+		});
+		exerciseElementMap();
+	}
+
+	private void exerciseElementMap() throws Throwable {
+		Widget item = new TableItem(viewer.getTable(), SWT.NONE);
+
+		exercise(() -> {
+			startMeasuring();
+			for (Object element : elements) {
+				viewer.map(element, item);
+			}
+			for (Object element : shuffledElements) {
+				assertEquals(1, viewer.find(element).length);
+			}
+			for (Object element : shuffledElements) {
+				viewer.unmap(element, item);
+			}
+			stopMeasuring();
+		}, MIN_ITERATIONS / 2, MIN_ITERATIONS, JFacePerformanceSuite.MAX_TIME);
+
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	private static void generateElements() {
+		if (elements == null) {
+			elements = new Object[ELEMENT_COUNT];
+			for (int i = 0; i < ELEMENT_COUNT; i++) {
+				elements[i] = "element" + i; //$NON-NLS-1$
+			}
+			List<Object> shuffled = Arrays.asList(elements.clone());
+			Collections.shuffle(shuffled, new Random(1));
+			shuffledElements = shuffled.toArray();
+		}
+	}
+}
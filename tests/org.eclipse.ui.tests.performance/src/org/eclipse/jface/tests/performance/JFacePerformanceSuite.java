@@ -45,6 +45,8 @@ public class JFacePerformanceSuite extends FilteredTestSuite {
 		addTestSuite(ProgressMonitorDialogPerformanceTest.class);
 		addTestSuite(ShrinkingTreeTest.class);
 		addTestSuite(CollatorPerformanceTest.class);
+		addTestSuite(ElementMapPerformanceTest.class);
+		addTestSuite(StyledLabelScrollPerformanceTest.class);
 
 	}
 }
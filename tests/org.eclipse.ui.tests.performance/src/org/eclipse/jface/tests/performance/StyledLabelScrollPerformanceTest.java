@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.tests.performance;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import org.eclipse.jface.viewers.ArrayContentProvider;
+import org.eclipse.jface.viewers.DelegatingStyledCellLabelProvider;
+import org.eclipse.jface.viewers.DelegatingStyledCellLabelProvider.IStyledLabelProvider;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.viewers.StructuredViewer;
+import org.eclipse.jface.viewers.StyledString;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Table;
+
+/**
+ * Measures scrolling through a table with styled labels, which measures and
+ * paints the style ranges of every visible row again and again.
+ */
+public class StyledLabelScrollPerformanceTest extends ViewerTest {
+
+	private static final int ELEMENT_COUNT = 2000;
+
+	private TableViewer viewer;
+
+	private static class StyledLabelProvider extends LabelProvider implements IStyledLabelProvider {
+		@Override
+		public StyledString getStyledText(Object element) {
+			String text = element.toString();
+			StyledString styledString = new StyledString(text);
+			styledString.append(' ');
+			styledString.append("(qualifier)", StyledString.QUALIFIER_STYLER); //$NON-NLS-1$
+			styledString.append(" - ", StyledString.DECORATIONS_STYLER); //$NON-NLS-1$
+			styledString.append(text, StyledString.COUNTER_STYLER);
+			return styledString;
+		}
+	}
+
+	public StyledLabelScrollPerformanceTest(String testName) {
+		super(testName);
+	}
+
+	@Override
+	protected StructuredViewer createViewer(Shell shell) {
+		viewer = new TableViewer(shell);
+		viewer.setContentProvider(ArrayContentProvider.getInstance());
+		viewer.setLabelProvider(new DelegatingStyledCellLabelProvider(new StyledLabelProvider()));
+		return viewer;
+	}
+
+	@Override
+	protected Object getInitialInput() {
+		String[] elements = new String[ELEMENT_COUNT];
+		for (int i = 0; i < ELEMENT_COUNT; i++) {
+			elements[i] = "element" + i; //$NON-NLS-1$
+		}
+		return elements;
+	}
+
+	/**
+	 * Test the time for scrolling from the top to the bottom of the table.
+	 */
+	public void testScroll() throws Throwable {
+		openBrowser();
+		Table table = viewer.getTable();
+
+		exercise(() -> {
+			startMeasuring();
+			scrollThrough(table);
+			stopMeasuring();
+		}, MIN_ITERATIONS / 2, MIN_ITERATIONS, JFacePerformanceSuite.MAX_TIME);
+
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	/**
+	 * Measures the memory allocated by the UI thread while scrolling from the
+	 * top to the bottom of the table, once every row was painted before.
+	 */
+	public void testScrollAllocation() throws Throwable {
+		ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+		if (!(threadBean instanceof com.sun.management.ThreadMXBean allocationBean)
+				|| !allocationBean.isThreadAllocatedMemorySupported()) {
+			return;
+		}
+		allocationBean.setThreadAllocatedMemoryEnabled(true);
+		openBrowser();
+		Table table = viewer.getTable();
+		scrollThrough(table);
+
+		long threadId = Thread.currentThread().getId();
+		long start = allocationBean.getThreadAllocatedBytes(threadId);
+		scrollThrough(table);
+		long allocated = allocationBean.getThreadAllocatedBytes(threadId) - start;
+		System.out.println(getName() + ": " + allocated / (ELEMENT_COUNT / 10) + " bytes per scroll step"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private void scrollThrough(Table table) {
+		for (int i = 0; i < ELEMENT_COUNT; i += 10) {
+			table.setTopIndex(i);
+			table.update();
+		}
+		table.setTopIndex(0);
+		table.update();
+	}
+}